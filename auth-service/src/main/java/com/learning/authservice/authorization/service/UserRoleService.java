@@ -4,12 +4,11 @@ import com.learning.authservice.authorization.domain.Role;
 import com.learning.authservice.authorization.domain.UserRole;
 import com.learning.authservice.authorization.repository.RoleRepository;
 import com.learning.authservice.authorization.repository.UserRoleRepository;
-import com.learning.common.infra.cache.CacheNames;
+import com.learning.common.infra.cache.CacheTagEvictor;
 import com.learning.common.infra.openfga.OpenFgaWriter;
 import com.learning.common.infra.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +24,10 @@ import java.util.List;
  * - When roles are assigned, tuples are written to OpenFGA
  * - When roles are revoked, tuples are deleted from OpenFGA
  * - Tuples: user:userId -> roleId -> organization:tenantId
+ *
+ * Cache Invalidation:
+ * - Role changes evict all of the user's cached permission/role entries by
+ * user tag (after commit), whatever their exact keys
  */
 @Service
 @RequiredArgsConstructor
@@ -35,6 +38,7 @@ public class UserRoleService {
     private final UserRoleRepository userRoleRepository;
     private final RoleRepository roleRepository;
     private final OpenFgaWriter fgaWriter;
+    private final CacheTagEvictor cacheTagEvictor;
 
     /**
      * Assign a role to a user.
@@ -44,7 +48,6 @@ public class UserRoleService {
      * @param roleId     Role ID (e.g., "admin", "editor", "viewer")
      * @param assignedBy User ID of the admin performing the assignment
      */
-    @CacheEvict(value = { CacheNames.USER_PERMISSIONS, CacheNames.USER_ALL_PERMISSIONS }, key = "#userId")
     public void assignRole(String userId, String roleId, String assignedBy) {
         log.info("Assigning role {} to user {} by {}", roleId, userId, assignedBy);
 
@@ -73,6 +76,7 @@ public class UserRoleService {
 
         userRoleRepository.save(userRole);
         log.info("Role assigned successfully");
+        cacheTagEvictor.evictUser(userId);
 
         // 5. Write tuple to OpenFGA (non-blocking)
         writeOpenFgaTuple(userId, roleId);
@@ -84,7 +88,6 @@ public class UserRoleService {
      * @param userId Cognito user ID
      * @param roleId Role ID
      */
-    @CacheEvict(value = { "userPermissions", "userAllPermissions" }, key = "#userId")
     public void revokeRole(String userId, String roleId) {
         log.info("Revoking role {} from user {}", roleId, userId);
 
@@ -95,6 +98,7 @@ public class UserRoleService {
 
         userRoleRepository.deleteByUserIdAndRoleId(userId, roleId);
         log.info("Role revoked successfully");
+        cacheTagEvictor.evictUser(userId);
 
         // Delete tuple from OpenFGA (non-blocking)
         deleteOpenFgaTuple(userId, roleId);
@@ -115,7 +119,6 @@ public class UserRoleService {
      * Update a user's role by revoking existing roles and assigning the new one.
      * Assumes single-role-per-user model for this operation.
      */
-    @CacheEvict(value = { "userPermissions", "userAllPermissions" }, key = "#userId")
     public void updateUserRole(String userId, String newRoleId, String assignedBy) {
         log.info("Updating role for user {} to {}", userId, newRoleId);
 
@@ -204,8 +207,9 @@ public class UserRoleService {
      * Write a role tuple to OpenFGA.
      * Format: user:userId -> roleId -> organization:tenantId
      * 
-     * Non-blocking: OpenFgaWriter.writeTuple is non-throwing.
-     * Errors are logged in the wrapper but don't fail role assignment.
+     * Non-blocking: OpenFgaWriter.writeTuple is non-throwing, and with the
+     * outbox enabled it is queued once the transaction commits.
+     * Errors are logged in the writer but don't fail role assignment.
      */
     private void writeOpenFgaTuple(String userId, String roleId) {
         String tenantId = TenantContext.getCurrentTenant();
@@ -221,7 +225,8 @@ public class UserRoleService {
     /**
      * Delete a role tuple from OpenFGA.
      * 
-     * Non-blocking: OpenFgaWriter.deleteTuple is non-throwing.
+     * Non-blocking: OpenFgaWriter.deleteTuple is non-throwing, and with the
+     * outbox enabled it is queued once the transaction commits.
      */
     private void deleteOpenFgaTuple(String userId, String roleId) {
         String tenantId = TenantContext.getCurrentTenant();
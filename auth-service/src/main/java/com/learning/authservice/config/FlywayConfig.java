@@ -19,13 +19,12 @@ public class FlywayConfig {
 
     /**
      * Platform Flyway configuration.
-     * Runs migrations on the shared 'cloud-infra' database for platform-level tables.
-     * Currently auth-service has no platform tables (tenant table is in
-     * platform-service).
+     * Runs migrations on the shared 'cloud-infra' database for platform-level tables:
+     * the OpenFGA tuple outbox (tenant table is in platform-service).
      */
     @Bean(name = "platformFlyway", initMethod = "migrate")
     @ConditionalOnProperty(prefix = "app.flyway.platform", name = "enabled", havingValue = "true", matchIfMissing = false)
-    public Flyway platformFlyway(@Qualifier("platformDataSource") DataSource platformDataSource) {
+    public Flyway platformFlyway(@Qualifier("defaultDataSource") DataSource platformDataSource) {
         log.info("Configuring Platform Flyway for cloud-infra database");
 
         Flyway flyway = Flyway.configure()
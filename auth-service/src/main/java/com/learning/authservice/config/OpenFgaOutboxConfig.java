@@ -0,0 +1,34 @@
+package com.learning.authservice.config;
+
+import com.learning.common.infra.openfga.OpenFgaCheckCache;
+import com.learning.common.infra.openfga.OpenFgaClientWrapper;
+import com.learning.common.infra.openfga.OpenFgaProperties;
+import com.learning.common.infra.openfga.OpenFgaTupleWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * Queues OpenFGA tuple writes (role assignments, signup, OpenFgaTupleService)
+ * in the cloud-infra database instead of sending them on the request thread.
+ * The outbox table is created by the platform Flyway migrations.
+ */
+@Configuration
+@ConditionalOnProperty(name = { "openfga.enabled", "openfga.outbox.enabled" }, havingValue = "true")
+public class OpenFgaOutboxConfig {
+
+    @Bean
+    @Primary
+    public OpenFgaTupleWriter openFgaTupleWriter(OpenFgaProperties properties,
+            OpenFgaClientWrapper fgaClient,
+            OpenFgaCheckCache checkCache,
+            @Qualifier("defaultDataSource") DataSource defaultDataSource,
+            MeterRegistry meterRegistry) {
+        return new OpenFgaTupleWriter(properties, fgaClient, checkCache, defaultDataSource, meterRegistry);
+    }
+}
@@ -2,11 +2,14 @@ package com.learning.authservice.controller;
 
 import com.learning.common.dto.MigrationResult;
 import com.learning.common.dto.TenantDbConfig;
+import com.learning.common.infra.tenant.TenantDataSourcePoolManager;
+import com.learning.common.infra.tenant.TenantSchemas;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
 import org.flywaydb.core.api.output.MigrateResult;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.sql.DataSource;
 import java.util.UUID;
 
 /**
@@ -30,12 +34,15 @@ public class TenantInternalController {
 
         private final com.learning.common.infra.openfga.OpenFgaStoreService openFgaStoreService;
         private final org.springframework.jdbc.core.JdbcTemplate jdbcTemplate;
+        private final TenantDataSourcePoolManager tenantPoolManager;
 
         public TenantInternalController(
                         com.learning.common.infra.openfga.OpenFgaStoreService openFgaStoreService,
-                        @org.springframework.beans.factory.annotation.Qualifier("tenantDataSource") javax.sql.DataSource tenantDataSource) {
+                        @org.springframework.beans.factory.annotation.Qualifier("tenantDataSource") javax.sql.DataSource tenantDataSource,
+                        TenantDataSourcePoolManager tenantPoolManager) {
                 this.openFgaStoreService = openFgaStoreService;
                 this.jdbcTemplate = new org.springframework.jdbc.core.JdbcTemplate(tenantDataSource);
+                this.tenantPoolManager = tenantPoolManager;
         }
 
         @PostMapping("/{tenantId}/migrate")
@@ -44,18 +51,29 @@ public class TenantInternalController {
                         @RequestBody @Valid TenantDbConfig dbConfig) {
                 log.info("Starting auth-service tenant migration: tenantId={}", tenantId);
 
-                try (HikariDataSource tenantDataSource = createTenantDataSource(dbConfig)) {
+                boolean schemaMode = TenantSchemas.isSchemaMode(dbConfig);
+
+                // SCHEMA tenants migrate through the shared schema pool; others get a throwaway pool
+                try (HikariDataSource dedicatedDataSource = schemaMode ? null : createTenantDataSource(dbConfig)) {
+
+                        DataSource tenantDataSource = schemaMode
+                                        ? tenantPoolManager.getSchemaDataSource(tenantId, dbConfig)
+                                        : dedicatedDataSource;
 
                         // Configure Flyway for tenant database using tenant credentials
-                        // This ensures tables are owned by tenant user
-                        Flyway flyway = Flyway.configure()
+                        // This ensures tables are owned by tenant user (DATABASE mode)
+                        FluentConfiguration flywayConfig = Flyway.configure()
                                         .dataSource(tenantDataSource)
                                         .locations("classpath:db/migration")
                                         .table("flyway_auth_history") // Auth-service specific history table
                                         .baselineOnMigrate(true)
                                         .baselineVersion("0")
-                                        .validateOnMigrate(true)
-                                        .load();
+                                        .validateOnMigrate(true);
+                        if (schemaMode) {
+                                // Creates the schema if needed and keeps the history table inside it
+                                flywayConfig.schemas(TenantSchemas.schemaOf(dbConfig.jdbcUrl()));
+                        }
+                        Flyway flyway = flywayConfig.load();
 
                         // Execute migrations
                         MigrateResult result = flyway.migrate();
@@ -0,0 +1,11 @@
+-- Write-behind queue of OpenFGA tuple writes (OpenFgaTupleWriter).
+-- Rows are relayed oldest first and deleted once applied.
+CREATE TABLE IF NOT EXISTS openfga_tuple_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    store_id VARCHAR(64) NOT NULL,
+    operation VARCHAR(8) NOT NULL CHECK (operation IN ('WRITE', 'DELETE')),
+    user_ref VARCHAR(256) NOT NULL,
+    relation VARCHAR(64) NOT NULL,
+    object_ref VARCHAR(256) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,6 @@
+-- Relay claims on openfga_tuple_outbox rows: set while a relay sends the batch
+-- outside any transaction, cleared (or the row deleted) once it is done.
+ALTER TABLE openfga_tuple_outbox ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMPTZ;
+
+CREATE INDEX IF NOT EXISTS idx_openfga_tuple_outbox_claimed
+    ON openfga_tuple_outbox (claimed_until) WHERE claimed_until IS NOT NULL;
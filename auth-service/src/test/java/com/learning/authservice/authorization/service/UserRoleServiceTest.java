@@ -4,6 +4,7 @@ import com.learning.authservice.authorization.domain.Role;
 import com.learning.authservice.authorization.domain.UserRole;
 import com.learning.authservice.authorization.repository.RoleRepository;
 import com.learning.authservice.authorization.repository.UserRoleRepository;
+import com.learning.common.infra.cache.CacheTagEvictor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -25,6 +26,9 @@ class UserRoleServiceTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private CacheTagEvictor cacheTagEvictor;
+
     @InjectMocks
     private UserRoleService userRoleService;
 
@@ -41,6 +45,7 @@ class UserRoleServiceTest {
         userRoleService.assignRole(userId, roleId, assignedBy);
 
         verify(userRoleRepository).save(any(UserRole.class));
+        verify(cacheTagEvictor).evictUser(userId);
     }
 
     @Test
@@ -71,6 +76,7 @@ class UserRoleServiceTest {
         userRoleService.revokeRole(userId, roleId);
 
         verify(userRoleRepository).deleteByUserIdAndRoleId(userId, roleId);
+        verify(cacheTagEvictor).evictUser(userId);
     }
 
     @Test
@@ -1,14 +1,21 @@
 package com.learning.backendservice.config;
 
 import com.learning.common.infra.tenant.PlatformServiceTenantRegistry;
+import com.learning.common.infra.tenant.ReplicatedTenantRegistry;
+import com.learning.common.infra.tenant.TenantDataSourcePoolManager;
 import com.learning.common.infra.tenant.TenantDataSourceRouter;
 import com.learning.common.infra.tenant.TenantLocalCache;
+import com.learning.common.infra.tenant.TenantPoolProperties;
+import com.learning.common.infra.tenant.TenantRegistryCacheProperties;
+import com.learning.common.infra.tenant.TenantRegistryReplicationProperties;
 import com.learning.common.infra.tenant.TenantRegistryService;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManagerFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,6 +36,8 @@ import javax.sql.DataSource;
  */
 @Configuration
 @EnableTransactionManagement
+@EnableConfigurationProperties({TenantPoolProperties.class, TenantRegistryCacheProperties.class,
+        TenantRegistryReplicationProperties.class})
 @EnableJpaRepositories(basePackages = "com.learning.backendservice.repository", entityManagerFactoryRef = "tenantEntityManagerFactory", transactionManagerRef = "tenantTransactionManager")
 @Slf4j
 public class DataSourceConfig {
@@ -52,21 +61,31 @@ public class DataSourceConfig {
     private String personalSharedPassword;
 
     /**
-     * Local cache for tenant DB configs.
+     * Local cache for tenant DB configs (single-flight, stale-while-revalidate).
      */
     @Bean
-    public TenantLocalCache tenantLocalCache() {
-        return new TenantLocalCache();
+    public TenantLocalCache tenantLocalCache(
+            TenantRegistryCacheProperties cacheProperties,
+            MeterRegistry meterRegistry) {
+        return new TenantLocalCache(cacheProperties, meterRegistry);
     }
 
     /**
      * Tenant registry that fetches config from platform-service.
+     * With replication enabled, lookups are served from a local replica kept
+     * current by platform-service's change feed.
      */
     @Bean
     public TenantRegistryService tenantRegistryService(
             @Qualifier("platformWebClient") WebClient platformWebClient,
-            TenantLocalCache tenantLocalCache) {
-        return new PlatformServiceTenantRegistry(platformWebClient, tenantLocalCache);
+            TenantLocalCache tenantLocalCache,
+            TenantRegistryReplicationProperties replicationProperties,
+            MeterRegistry meterRegistry) {
+        TenantRegistryService direct = new PlatformServiceTenantRegistry(platformWebClient, tenantLocalCache);
+        if (!replicationProperties.isEnabled()) {
+            return direct;
+        }
+        return new ReplicatedTenantRegistry(platformWebClient, direct, replicationProperties, meterRegistry);
     }
 
     /**
@@ -108,6 +127,16 @@ public class DataSourceConfig {
         return dataSource;
     }
 
+    /**
+     * Bounded set of per-tenant connection pools (LRU + idle eviction).
+     */
+    @Bean
+    public TenantDataSourcePoolManager tenantDataSourcePoolManager(
+            TenantPoolProperties tenantPoolProperties,
+            MeterRegistry meterRegistry) {
+        return new TenantDataSourcePoolManager(tenantPoolProperties, meterRegistry);
+    }
+
     /**
      * Tenant DataSource Router - dynamically routes to tenant databases.
      */
@@ -116,9 +145,11 @@ public class DataSourceConfig {
     public DataSource tenantDataSource(
             TenantRegistryService tenantRegistryService,
             @Qualifier("defaultDataSource") DataSource defaultDataSource,
-            @Qualifier("personalSharedDataSource") DataSource personalSharedDataSource) {
+            @Qualifier("personalSharedDataSource") DataSource personalSharedDataSource,
+            TenantDataSourcePoolManager tenantDataSourcePoolManager) {
         log.info("Configuring tenant data source router for backend-service");
-        return new TenantDataSourceRouter(tenantRegistryService, defaultDataSource, personalSharedDataSource);
+        return new TenantDataSourceRouter(tenantRegistryService, defaultDataSource, personalSharedDataSource,
+                tenantDataSourcePoolManager);
     }
 
     /**
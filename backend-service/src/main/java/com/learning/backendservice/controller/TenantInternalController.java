@@ -2,11 +2,15 @@ package com.learning.backendservice.controller;
 
 import com.learning.common.dto.MigrationResult;
 import com.learning.common.dto.TenantDbConfig;
+import com.learning.common.infra.tenant.TenantDataSourcePoolManager;
+import com.learning.common.infra.tenant.TenantSchemas;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
 import org.flywaydb.core.api.output.MigrateResult;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,30 +20,45 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.sql.DataSource;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/internal/tenants")
 @Slf4j
+@RequiredArgsConstructor
 public class TenantInternalController {
 
+        private final TenantDataSourcePoolManager tenantPoolManager;
+
         @PostMapping("/{tenantId}/migrate")
         public ResponseEntity<MigrationResult> migrateTenant(
                         @PathVariable String tenantId,
                         @RequestBody @Valid TenantDbConfig dbConfig) {
                 log.info("Starting tenant migration: tenantId={}", tenantId);
 
-                try (HikariDataSource tenantDataSource = createTenantDataSource(dbConfig)) {
+                boolean schemaMode = TenantSchemas.isSchemaMode(dbConfig);
+
+                // SCHEMA tenants migrate through the shared schema pool; others get a throwaway pool
+                try (HikariDataSource dedicatedDataSource = schemaMode ? null : createTenantDataSource(dbConfig)) {
+
+                        DataSource tenantDataSource = schemaMode
+                                        ? tenantPoolManager.getSchemaDataSource(tenantId, dbConfig)
+                                        : dedicatedDataSource;
 
                         // Configure Flyway for tenant database
-                        Flyway flyway = Flyway.configure()
+                        FluentConfiguration flywayConfig = Flyway.configure()
                                         .dataSource(tenantDataSource)
                                         .locations("classpath:db/migration")
                                         .table("flyway_backend_history")  // Backend-service specific history table
                                         .baselineOnMigrate(true)
                                         .baselineVersion("0")
-                                        .validateOnMigrate(true)
-                                        .load();
+                                        .validateOnMigrate(true);
+                        if (schemaMode) {
+                                // Creates the schema if needed and keeps the history table inside it
+                                flywayConfig.schemas(TenantSchemas.schemaOf(dbConfig.jdbcUrl()));
+                        }
+                        Flyway flyway = flywayConfig.load();
 
                         // Execute migrations
                         MigrateResult result = flyway.migrate();
@@ -0,0 +1,14 @@
+package com.learning.common.dto;
+
+/**
+ * One entry of the tenant registry change feed: the full current state of a
+ * tenant as of {@code version}.
+ *
+ * The password in {@code dbConfig} is encrypted, as in the db-info endpoint.
+ */
+public record TenantChange(
+        String tenantId,
+        long version,
+        String status,
+        TenantDbConfig dbConfig) {
+}
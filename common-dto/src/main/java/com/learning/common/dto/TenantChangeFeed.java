@@ -0,0 +1,16 @@
+package com.learning.common.dto;
+
+import java.util.List;
+
+/**
+ * A page of the tenant registry change feed, ordered by version.
+ *
+ * @param version highest version in this page (or the requested one if the
+ *                page is empty); pass it as {@code since} on the next poll
+ * @param hasMore true if more changes are waiting beyond this page
+ */
+public record TenantChangeFeed(
+        long version,
+        boolean hasMore,
+        List<TenantChange> changes) {
+}
@@ -9,19 +9,28 @@ public record TenantDbConfig(
         String username,
         String password,
         String fgaStoreId,   // OpenFGA store ID for this tenant (null if not enabled)
-        String storageMode   // DATABASE or SHARED
+        String storageMode,  // DATABASE, SCHEMA or SHARED
+        String slaTier       // STANDARD, PREMIUM or ENTERPRISE (null if unknown)
 ) {
     /**
      * Constructor without fgaStoreId and storageMode for backward compatibility.
      */
     public TenantDbConfig(String jdbcUrl, String username, String password) {
-        this(jdbcUrl, username, password, null, "DATABASE");
+        this(jdbcUrl, username, password, null, "DATABASE", null);
     }
 
     /**
      * Constructor without storageMode for backward compatibility.
      */
     public TenantDbConfig(String jdbcUrl, String username, String password, String fgaStoreId) {
-        this(jdbcUrl, username, password, fgaStoreId, "DATABASE");
+        this(jdbcUrl, username, password, fgaStoreId, "DATABASE", null);
+    }
+
+    /**
+     * Constructor without slaTier for backward compatibility.
+     */
+    public TenantDbConfig(String jdbcUrl, String username, String password, String fgaStoreId,
+            String storageMode) {
+        this(jdbcUrl, username, password, fgaStoreId, storageMode, null);
     }
 }
@@ -0,0 +1,70 @@
+package com.learning.common.infra.cache;
+
+import lombok.Data;
+import org.redisson.client.codec.Codec;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Codec used to store values in the Redis backed caches: the DISTRIBUTED
+ * Spring caches and the caches of RedissonCacheService.
+ *
+ * Example:
+ *
+ * <pre>
+ * app:
+ *   cache:
+ *     codec:
+ *       type: compact
+ *       caches:
+ *         userRoles: redisson
+ * </pre>
+ *
+ * Switching a cache to compact is safe while old entries are still in Redis:
+ * the compact codec treats values it did not write as a miss. Switching back
+ * is not, so flush the cache (or wait out its TTL) first.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache.codec")
+public class CacheCodecProperties {
+
+    /**
+     * Default codec for caches without an entry in {@link #caches}.
+     */
+    private Type type = Type.REDISSON;
+
+    /**
+     * Per-cache overrides, keyed by cache name (see CacheNames).
+     */
+    private Map<String, Type> caches = new HashMap<>();
+
+    public Type typeFor(String cacheName) {
+        return caches.getOrDefault(cacheName, type);
+    }
+
+    /**
+     * Codec for one cache.
+     *
+     * @param redissonCodec the RedissonClient's codec, used for REDISSON
+     */
+    Codec codecFor(String cacheName, Codec redissonCodec) {
+        return typeFor(cacheName) == Type.COMPACT ? CompactCacheCodec.INSTANCE : redissonCodec;
+    }
+
+    public enum Type {
+
+        /**
+         * The RedissonClient's codec (Kryo5Codec unless configured otherwise),
+         * which writes the class name of every unregistered type.
+         */
+        REDISSON,
+
+        /**
+         * {@link CompactCacheCodec}: Kryo with the cached JDK and common-dto
+         * types registered under fixed ids.
+         */
+        COMPACT
+    }
+}
@@ -0,0 +1,14 @@
+package com.learning.common.infra.cache;
+
+import java.time.Duration;
+
+/**
+ * One entry for {@link CacheService#putAll(String, java.util.Collection)},
+ * carrying its own TTL.
+ *
+ * @param key   the cache key
+ * @param value the value to cache
+ * @param ttl   time-to-live duration
+ */
+public record CacheEntry(String key, Object value, Duration ttl) {
+}
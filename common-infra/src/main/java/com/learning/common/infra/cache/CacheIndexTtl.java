@@ -0,0 +1,47 @@
+package com.learning.common.infra.cache;
+
+import org.redisson.api.RBatch;
+import org.redisson.api.RScript;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Expiry of the Redis sets that index cache entries by cache name or tag.
+ *
+ * <p>
+ * An index set must live at least as long as the longest-lived entry it
+ * lists, so each put only ever extends its TTL. That is EXPIRE NX followed by
+ * EXPIRE GT, which need Redis 7; the script below does the same on any
+ * version.
+ * </p>
+ */
+final class CacheIndexTtl {
+
+    /**
+     * KEYS[1] = index set; ARGV[1] = TTL (ms). PTTL is -1 for a set without a
+     * TTL yet, and -2 (a no-op PEXPIRE) for a missing one.
+     */
+    static final String SCRIPT = """
+            if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[1]) then
+              redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            end
+            return 0
+            """;
+
+    private CacheIndexTtl() {
+    }
+
+    /**
+     * Queue the TTL extension on the batch, after the index update it covers.
+     * A non-positive TTL (entries that never expire) leaves the index alone.
+     */
+    static void extend(RBatch batch, String indexKey, Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        batch.getScript(StringCodec.INSTANCE).evalAsync(RScript.Mode.READ_WRITE, SCRIPT,
+                RScript.ReturnType.INTEGER, List.<Object>of(indexKey), String.valueOf(ttl.toMillis()));
+    }
+}
@@ -0,0 +1,30 @@
+package com.learning.common.infra.cache;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspect ending the {@link StampedeProtectedCache} loads a {@code @Cacheable}
+ * call started but never put: the method threw, or {@code unless} rejected
+ * its result. Runs outside the caching interceptor, so a successful put has
+ * already ended its load by the time this one returns.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CacheLoadReleaseAspect {
+
+    @Around("@annotation(org.springframework.cache.annotation.Cacheable)")
+    public Object releaseAbandonedLoads(ProceedingJoinPoint joinPoint) throws Throwable {
+        int depth = StampedeProtectedCache.pendingLoads();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            StampedeProtectedCache.releaseLoadsAbove(depth);
+        }
+    }
+}
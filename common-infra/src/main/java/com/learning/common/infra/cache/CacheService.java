@@ -1,6 +1,8 @@
 package com.learning.common.infra.cache;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -29,6 +31,16 @@ public interface CacheService {
      */
     <T> Optional<T> get(String cacheName, String key, Class<T> type);
 
+    /**
+     * Get several cached values in one round trip.
+     *
+     * @param cacheName the cache namespace
+     * @param keys      the cache keys
+     * @param type      expected value type
+     * @return values by key; missing keys and values of another type are absent
+     */
+    <T> Map<String, T> getAll(String cacheName, Collection<String> keys, Class<T> type);
+
     /**
      * Put a value in cache with default TTL.
      *
@@ -48,6 +60,35 @@ public interface CacheService {
      */
     void put(String cacheName, String key, Object value, Duration ttl);
 
+    /**
+     * Put a value in cache with custom TTL, indexed under the given tags so it
+     * can later be removed with {@link #evictByTag(String)}.
+     *
+     * @param cacheName the cache namespace
+     * @param key       the cache key
+     * @param value     the value to cache
+     * @param ttl       time-to-live duration
+     * @param tags      tags to index the entry under (see CacheTags)
+     */
+    void put(String cacheName, String key, Object value, Duration ttl, Set<String> tags);
+
+    /**
+     * Put several values in one round trip, all with the same TTL.
+     *
+     * @param cacheName the cache namespace
+     * @param values    values by cache key
+     * @param ttl       time-to-live duration
+     */
+    void putAll(String cacheName, Map<String, ?> values, Duration ttl);
+
+    /**
+     * Put several values in one round trip, each with its own TTL.
+     *
+     * @param cacheName the cache namespace
+     * @param entries   entries to cache
+     */
+    void putAll(String cacheName, Collection<CacheEntry> entries);
+
     /**
      * Evict a single key from cache.
      *
@@ -56,6 +97,14 @@ public interface CacheService {
      */
     void evict(String cacheName, String key);
 
+    /**
+     * Evict several keys in one round trip.
+     *
+     * @param cacheName the cache namespace
+     * @param keys      the cache keys
+     */
+    void evictAll(String cacheName, Collection<String> keys);
+
     /**
      * Evict all entries from a cache.
      *
@@ -63,6 +112,14 @@ public interface CacheService {
      */
     void evictAll(String cacheName);
 
+    /**
+     * Evict every entry put with the given tag, across all caches.
+     *
+     * @param tag the tag (see CacheTags)
+     * @return number of entries evicted
+     */
+    long evictByTag(String tag);
+
     /**
      * Get all keys in a cache (for debugging/monitoring).
      *
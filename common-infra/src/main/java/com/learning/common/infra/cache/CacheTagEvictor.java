@@ -0,0 +1,84 @@
+package com.learning.common.infra.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Evicts Spring cache entries by tag rather than by exact key.
+ *
+ * <p>
+ * {@code @CacheEvict(key = "#userId")} only removes an entry whose key is
+ * exactly the user id, which misses keys like {@code userId:resource:action}.
+ * Use {@link #evictUser(String)} instead when a user's roles or permissions
+ * change.
+ * </p>
+ *
+ * <p>
+ * Inside a transaction the eviction runs after commit, so a concurrent read
+ * cannot re-cache the pre-commit state.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheTagEvictor {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Evict every entry of a user from all DISTRIBUTED caches.
+     *
+     * @param userId the user whose entries to evict
+     */
+    public void evictUser(String userId) {
+        evictByTag(CacheTags.user(userId), CacheNames.DISTRIBUTED_CACHES);
+    }
+
+    /**
+     * Evict every entry carrying the tag from the given caches.
+     *
+     * @param tag        the tag (see CacheTags)
+     * @param cacheNames caches to evict from
+     */
+    public void evictByTag(String tag, Collection<String> cacheNames) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(tag, cacheNames);
+                }
+            });
+        } else {
+            doEvict(tag, cacheNames);
+        }
+    }
+
+    private void doEvict(String tag, Collection<String> cacheNames) {
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                continue;
+            }
+            try {
+                if (cache instanceof TagEvictableCache tagged) {
+                    long evicted = tagged.evictByTag(tag);
+                    log.debug("Evicted {} entries for {} from {}", evicted, tag, cacheName);
+                } else if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> local) {
+                    // Caffeine-only fallback: the cache is local, so matching its keys is cheap
+                    local.asMap().keySet().removeIf(key -> CacheTags.forKey(key).contains(tag));
+                } else {
+                    cache.clear();
+                }
+            } catch (Exception e) {
+                log.warn("Cache evictByTag failed: {} {} - {}", cacheName, tag, e.getMessage());
+            }
+        }
+    }
+}
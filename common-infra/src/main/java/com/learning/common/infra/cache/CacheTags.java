@@ -0,0 +1,61 @@
+package com.learning.common.infra.cache;
+
+import java.util.Set;
+
+/**
+ * Tag constants and helpers for tag-indexed cache invalidation.
+ *
+ * <p>
+ * An entry put with tags is added to one Redis set per tag; evicting a tag
+ * deletes exactly the entries in its set, instead of scanning the keyspace
+ * for a key pattern.
+ * </p>
+ *
+ * <h2>User-scoped Spring caches</h2>
+ * <p>
+ * Keys of the DISTRIBUTED caches all start with the user id
+ * ({@code userId:resource:action}, {@code userId:tenantId}, ...), so entries
+ * put through the Spring cache abstraction are tagged with
+ * {@link #user(String)} automatically.
+ * </p>
+ */
+public final class CacheTags {
+
+    private static final String USER_PREFIX = "user:";
+    private static final String TENANT_PREFIX = "tenant:";
+    private static final char KEY_SEPARATOR = ':';
+
+    /**
+     * Tag for every entry belonging to a user.
+     */
+    public static String user(String userId) {
+        return USER_PREFIX + userId;
+    }
+
+    /**
+     * Tag for every entry belonging to a tenant.
+     */
+    public static String tenant(String tenantId) {
+        return TENANT_PREFIX + tenantId;
+    }
+
+    /**
+     * Tags derived from a user-scoped cache key: the user tag for the segment
+     * before the first ':'.
+     *
+     * @param key Spring cache key
+     * @return tags for the key, empty if it is not a user-scoped string key
+     */
+    static Set<String> forKey(Object key) {
+        if (!(key instanceof String stringKey) || stringKey.isEmpty()) {
+            return Set.of();
+        }
+        int separator = stringKey.indexOf(KEY_SEPARATOR);
+        String userId = separator < 0 ? stringKey : stringKey.substring(0, separator);
+        return userId.isEmpty() ? Set.of() : Set.of(user(userId));
+    }
+
+    private CacheTags() {
+        // Prevent instantiation
+    }
+}
@@ -1,12 +1,19 @@
 package com.learning.common.infra.cache;
 
 import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.learning.common.infra.cache.LocalCacheBuilders.TimedValue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -24,66 +31,148 @@ import java.util.concurrent.ConcurrentMap;
  * <li>Test environments without Redis</li>
  * <li>Fallback when Redis is unavailable</li>
  * </ul>
+ *
+ * <p>
+ * Each cache is sized from {@link LocalCacheProperties} by name, and every
+ * entry expires after the TTL it was put with (or the cache's default expiry).
+ * Caches publish the standard {@code cache.*} Micrometer meters, tagged
+ * cache={cacheName} and cache.manager=cacheService.
+ * </p>
  */
 @Slf4j
 @Service
 @Profile("test")
 public class CaffeineCacheService implements CacheService {
 
-    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
-    private static final long DEFAULT_MAX_SIZE = 1000;
+    private final ConcurrentMap<String, Cache<String, TimedValue>> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<TaggedKey>> tagIndex = new ConcurrentHashMap<>();
+    private final LocalCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private record TaggedKey(String cacheName, String key) {
+    }
+
+    public CaffeineCacheService() {
+        this(new LocalCacheProperties(), Metrics.globalRegistry);
+    }
 
-    private final ConcurrentMap<String, Cache<String, Object>> caches = new ConcurrentHashMap<>();
+    @Autowired
+    public CaffeineCacheService(LocalCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> Optional<T> get(String cacheName, String key, Class<T> type) {
-        Cache<String, Object> cache = getOrCreateCache(cacheName);
-        Object value = cache.getIfPresent(key);
+        TimedValue timed = getOrCreateCache(cacheName).getIfPresent(key);
 
-        if (value == null) {
+        if (timed == null) {
             log.debug("Cache miss: {}:{}", cacheName, key);
             return Optional.empty();
         }
 
         log.debug("Cache hit: {}:{}", cacheName, key);
-        return Optional.of((T) value);
+        return Optional.of(type.cast(timed.value()));
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(String cacheName, Collection<String> keys, Class<T> type) {
+        Map<String, T> result = new HashMap<>();
+        getOrCreateCache(cacheName).getAllPresent(keys).forEach((key, timed) -> {
+            if (type.isInstance(timed.value())) {
+                result.put(key, type.cast(timed.value()));
+            }
+        });
+        log.debug("Cache getAll: {} of {} keys found in {}", result.size(), keys.size(), cacheName);
+        return result;
     }
 
+    /**
+     * Puts with the cache's default expiry from LocalCacheProperties.
+     */
     @Override
     public void put(String cacheName, String key, Object value) {
-        put(cacheName, key, value, DEFAULT_TTL);
+        putTimed(cacheName, key, value, null);
     }
 
     @Override
     public void put(String cacheName, String key, Object value, Duration ttl) {
-        // Note: Caffeine doesn't support per-entry TTL, using cache-level TTL
-        Cache<String, Object> cache = getOrCreateCache(cacheName);
-        cache.put(key, value);
-        log.debug("Cache put: {}:{}", cacheName, key);
+        putTimed(cacheName, key, value, ttl);
+    }
+
+    @Override
+    public void put(String cacheName, String key, Object value, Duration ttl, Set<String> tags) {
+        put(cacheName, key, value, ttl);
+        for (String tag : tags) {
+            tagIndex.computeIfAbsent(tag, t -> ConcurrentHashMap.newKeySet()).add(new TaggedKey(cacheName, key));
+        }
+    }
+
+    @Override
+    public void putAll(String cacheName, Map<String, ?> values, Duration ttl) {
+        LocalCacheProperties.Spec spec = properties.specFor(cacheName);
+        Map<String, TimedValue> timed = new HashMap<>();
+        values.forEach((key, value) -> timed.put(key, LocalCacheBuilders.timed(value, ttl, spec)));
+        getOrCreateCache(cacheName).putAll(timed);
+        log.debug("Cache putAll: {} entries into {}", values.size(), cacheName);
+    }
+
+    @Override
+    public void putAll(String cacheName, Collection<CacheEntry> entries) {
+        LocalCacheProperties.Spec spec = properties.specFor(cacheName);
+        Map<String, TimedValue> timed = new HashMap<>();
+        entries.forEach(entry -> timed.put(entry.key(), LocalCacheBuilders.timed(entry.value(), entry.ttl(), spec)));
+        getOrCreateCache(cacheName).putAll(timed);
+        log.debug("Cache putAll: {} entries into {}", entries.size(), cacheName);
     }
 
     @Override
     public void evict(String cacheName, String key) {
-        Cache<String, Object> cache = caches.get(cacheName);
+        Cache<String, TimedValue> cache = caches.get(cacheName);
         if (cache != null) {
             cache.invalidate(key);
             log.debug("Cache evict: {}:{}", cacheName, key);
         }
     }
 
+    @Override
+    public void evictAll(String cacheName, Collection<String> keys) {
+        Cache<String, TimedValue> cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.invalidateAll(keys);
+            log.debug("Cache evictAll: {} keys from {}", keys.size(), cacheName);
+        }
+    }
+
     @Override
     public void evictAll(String cacheName) {
-        Cache<String, Object> cache = caches.get(cacheName);
+        Cache<String, TimedValue> cache = caches.get(cacheName);
         if (cache != null) {
             cache.invalidateAll();
             log.debug("Cache evictAll: {}", cacheName);
         }
     }
 
+    @Override
+    public long evictByTag(String tag) {
+        Set<TaggedKey> tagged = tagIndex.remove(tag);
+        if (tagged == null) {
+            return 0;
+        }
+        long evicted = 0;
+        for (TaggedKey taggedKey : tagged) {
+            Cache<String, TimedValue> cache = caches.get(taggedKey.cacheName());
+            if (cache != null && cache.asMap().remove(taggedKey.key()) != null) {
+                evicted++;
+            }
+        }
+        log.debug("Cache evictByTag: {} keys evicted for {}", evicted, tag);
+        return evicted;
+    }
+
     @Override
     public Set<String> keys(String cacheName) {
-        Cache<String, Object> cache = caches.get(cacheName);
+        Cache<String, TimedValue> cache = caches.get(cacheName);
         if (cache != null) {
             return cache.asMap().keySet();
         }
@@ -95,11 +184,17 @@ public class CaffeineCacheService implements CacheService {
         return true; // Local cache is always available
     }
 
-    private Cache<String, Object> getOrCreateCache(String cacheName) {
-        return caches.computeIfAbsent(cacheName, name -> Caffeine.newBuilder()
-                .expireAfterWrite(DEFAULT_TTL)
-                .maximumSize(DEFAULT_MAX_SIZE)
-                .recordStats()
-                .build());
+    private void putTimed(String cacheName, String key, Object value, Duration ttl) {
+        TimedValue timed = LocalCacheBuilders.timed(value, ttl, properties.specFor(cacheName));
+        getOrCreateCache(cacheName).put(key, timed);
+        log.debug("Cache put: {}:{} (TTL: {})", cacheName, key, ttl);
+    }
+
+    private Cache<String, TimedValue> getOrCreateCache(String cacheName) {
+        return caches.computeIfAbsent(cacheName, name -> {
+            Cache<String, TimedValue> cache = LocalCacheBuilders.forTimedValues(properties.specFor(name)).build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name, "cache.manager", "cacheService");
+            return cache;
+        });
     }
 }
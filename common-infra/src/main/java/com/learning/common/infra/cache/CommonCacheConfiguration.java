@@ -1,10 +1,14 @@
 package com.learning.common.infra.cache;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
 import org.redisson.spring.cache.RedissonSpringCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -27,8 +31,14 @@ import java.util.Map;
  * <h2>Routing Strategy</h2>
  * <ul>
  * <li><b>DISTRIBUTED</b> (Redisson): permissions, userPermissions,
- * userAllPermissions</li>
- * <li><b>LOCAL</b> (Caffeine): tenantConfig</li>
+ * userAllPermissions, userRoles - each fronted by a per-instance Caffeine
+ * near cache (see {@link NearCache}) unless app.cache.near.enabled=false,
+ * and stored with the codec chosen in app.cache.codec (see
+ * {@link CacheCodecProperties}), with loads single-flighted and hot keys
+ * refreshed early unless app.cache.stampede.enabled=false (see
+ * {@link StampedeProtectedCache})</li>
+ * <li><b>LOCAL</b> (Caffeine): tenantConfig - sized and expired per cache
+ * from app.cache.local (see {@link LocalCacheProperties})</li>
  * </ul>
  * 
  * <p>
@@ -38,10 +48,11 @@ import java.util.Map;
 @Slf4j
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties({NearCacheProperties.class, LocalCacheProperties.class, CacheCodecProperties.class,
+        StampedeProperties.class})
 public class CommonCacheConfiguration {
 
     private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
-    private static final long DEFAULT_MAX_SIZE = 1000;
 
     /**
      * Primary cache manager with hybrid routing.
@@ -51,16 +62,24 @@ public class CommonCacheConfiguration {
     @Bean
     @Primary
     public CacheManager cacheManager(
-            org.springframework.beans.factory.ObjectProvider<RedissonClient> redissonProvider) {
+            ObjectProvider<RedissonClient> redissonProvider,
+            NearCacheProperties nearCacheProperties,
+            LocalCacheProperties localCacheProperties,
+            CacheCodecProperties codecProperties,
+            StampedeProperties stampedeProperties,
+            ObjectProvider<DistributedLockService> lockServiceProvider,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
 
         RedissonClient redissonClient = redissonProvider.getIfAvailable();
 
         if (redissonClient != null && !redissonClient.isShutdown()) {
             log.info("✅ Redisson available - using hybrid caching (Redisson + Caffeine)");
-            return createHybridCacheManager(redissonClient);
+            return createHybridCacheManager(redissonClient, nearCacheProperties, localCacheProperties,
+                    codecProperties, stampedeProperties, lockServiceProvider.getIfAvailable(),
+                    meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
         } else {
             log.info("⚠️ Redisson not available - using Caffeine for all caches");
-            return createCaffeineCacheManager();
+            return createCaffeineCacheManager(localCacheProperties);
         }
     }
 
@@ -69,12 +88,17 @@ public class CommonCacheConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean(CacheService.class)
-    public CacheService caffeineCacheService() {
+    public CacheService caffeineCacheService(LocalCacheProperties localCacheProperties,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
         log.info("Creating CaffeineCacheService for local caching");
-        return new CaffeineCacheService();
+        return new CaffeineCacheService(localCacheProperties,
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
     }
 
-    private CacheManager createHybridCacheManager(RedissonClient redissonClient) {
+    private CacheManager createHybridCacheManager(RedissonClient redissonClient,
+            NearCacheProperties nearCacheProperties, LocalCacheProperties localCacheProperties,
+            CacheCodecProperties codecProperties, StampedeProperties stampedeProperties,
+            DistributedLockService lockService, MeterRegistry meterRegistry) {
         SimpleCacheManager cacheManager = new SimpleCacheManager();
         List<Cache> caches = new ArrayList<>();
 
@@ -87,27 +111,45 @@ public class CommonCacheConfiguration {
             redissonCacheConfigs.put(cacheName, config);
         }
 
-        RedissonSpringCacheManager redissonCacheManager = new RedissonSpringCacheManager(redissonClient,
-                redissonCacheConfigs);
+        // One Redisson manager per codec in use, as the codec is set per manager
+        Map<Codec, RedissonSpringCacheManager> redissonCacheManagers = new HashMap<>();
+
+        NearCacheInvalidationBus invalidationBus = nearCacheProperties.isEnabled()
+                ? new NearCacheInvalidationBus(redissonClient, nearCacheProperties.getTopic())
+                : null;
 
         for (String cacheName : CacheNames.DISTRIBUTED_CACHES) {
-            Cache redissonCache = redissonCacheManager.getCache(cacheName);
-            if (redissonCache != null) {
-                caches.add(redissonCache);
-                log.debug("Registered DISTRIBUTED cache: {} (Redisson)", cacheName);
+            Codec codec = codecProperties.codecFor(cacheName, redissonClient.getConfig().getCodec());
+            Cache redissonCache = redissonCacheManagers
+                    .computeIfAbsent(codec, c -> new RedissonSpringCacheManager(redissonClient, redissonCacheConfigs, c))
+                    .getCache(cacheName);
+            if (redissonCache == null) {
+                continue;
+            }
+            // Keys are user-scoped; index them by user for CacheTagEvictor
+            Cache cache = new TaggedRedissonCache(redissonCache, redissonClient,
+                    Duration.ofMillis(redissonCacheConfigs.get(cacheName).getTTL()));
+            if (invalidationBus != null) {
+                NearCacheProperties.Spec spec = nearCacheProperties.specFor(cacheName);
+                cache = new NearCache(cache, spec, invalidationBus, meterRegistry);
+                log.debug("Registered DISTRIBUTED cache: {} (Caffeine L1 {} entries/{} + Redisson, {} codec)",
+                        cacheName, spec.getMaximumSize(), spec.getTtl(), codecProperties.typeFor(cacheName));
+            } else {
+                log.debug("Registered DISTRIBUTED cache: {} (Redisson, {} codec)", cacheName,
+                        codecProperties.typeFor(cacheName));
             }
+            // Outermost, so L1 hits count towards early refresh too
+            if (stampedeProperties.isEnabled()) {
+                cache = new StampedeProtectedCache(cache, lockService, DEFAULT_TTL, stampedeProperties, meterRegistry);
+            }
+            caches.add(cache);
         }
 
         // Caffeine caches for local
         for (String cacheName : CacheNames.LOCAL_CACHES) {
-            CaffeineCache caffeineCache = new CaffeineCache(cacheName,
-                    Caffeine.newBuilder()
-                            .expireAfterWrite(DEFAULT_TTL)
-                            .maximumSize(DEFAULT_MAX_SIZE)
-                            .recordStats()
-                            .build());
-            caches.add(caffeineCache);
-            log.debug("Registered LOCAL cache: {} (Caffeine)", cacheName);
+            LocalCacheProperties.Spec spec = localCacheProperties.specFor(cacheName);
+            caches.add(new CaffeineCache(cacheName, LocalCacheBuilders.forSpringCache(spec).build()));
+            log.debug("Registered LOCAL cache: {} (Caffeine {})", cacheName, spec);
         }
 
         cacheManager.setCaches(caches);
@@ -115,13 +157,14 @@ public class CommonCacheConfiguration {
         return cacheManager;
     }
 
-    private CacheManager createCaffeineCacheManager() {
+    private CacheManager createCaffeineCacheManager(LocalCacheProperties localCacheProperties) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCacheNames(CacheNames.all());
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .expireAfterWrite(DEFAULT_TTL)
-                .maximumSize(DEFAULT_MAX_SIZE)
-                .recordStats());
+        // Caches created on demand for other names get the defaults
+        cacheManager.setCaffeine(LocalCacheBuilders.forSpringCache(localCacheProperties.specFor("")));
+        for (String cacheName : CacheNames.all()) {
+            cacheManager.registerCustomCache(cacheName,
+                    LocalCacheBuilders.forSpringCache(localCacheProperties.specFor(cacheName)).build());
+        }
         return cacheManager;
     }
 }
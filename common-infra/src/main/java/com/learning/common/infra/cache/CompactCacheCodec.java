@@ -0,0 +1,241 @@
+package com.learning.common.infra.cache;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.DefaultSerializers;
+import com.esotericsoftware.kryo.serializers.ImmutableCollectionsSerializers;
+import com.esotericsoftware.kryo.serializers.ImmutableSerializer;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+import com.esotericsoftware.kryo.util.Pool;
+import com.learning.common.dto.IdpType;
+import com.learning.common.dto.TenantChange;
+import com.learning.common.dto.TenantDbConfig;
+import com.learning.common.dto.TenantType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+import org.redisson.spring.cache.NullValue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Kryo codec for cached values, more compact than Redisson's Kryo5Codec.
+ *
+ * <p>
+ * The types the caches actually hold (wrappers, JDK collections including
+ * the List.of/Set.of implementations, Optional, the common-dto records and
+ * enums, Redisson's NullValue) are
+ * registered under fixed ids, so a value carries a one-byte class id instead
+ * of its class name. References are not tracked, as cached values are trees.
+ * Other types still work, written with their class name.
+ * </p>
+ *
+ * <p>
+ * Every value starts with a magic byte and a 16-bit fingerprint of the
+ * registered types' fields. A value that does not match - written by another codec, or
+ * before a registered DTO changed shape - decodes to null, which the caches
+ * treat as a miss, and is overwritten by the next put.
+ * </p>
+ */
+@Slf4j
+final class CompactCacheCodec extends BaseCodec {
+
+    private static final byte MAGIC = (byte) 0xC5;
+    private static final int HEADER_BYTES = 1 + Short.BYTES;
+    private static final int FIRST_ID = 20;
+    private static final int BUFFER_SIZE = 256;
+    private static final int POOL_SIZE = 64;
+
+    /**
+     * Registration order fixes the ids: only append.
+     */
+    private static final List<Class<?>> REGISTERED = List.of(
+            ArrayList.class,
+            HashSet.class,
+            LinkedHashSet.class,
+            TreeSet.class,
+            HashMap.class,
+            LinkedHashMap.class,
+            TreeMap.class,
+            List.of().getClass(),
+            List.of(1).getClass(),
+            Set.of().getClass(),
+            Set.of(1).getClass(),
+            Map.of().getClass(),
+            Map.of(1, 1).getClass(),
+            Optional.class,
+            UUID.class,
+            Instant.class,
+            Duration.class,
+            TenantDbConfig.class,
+            TenantChange.class,
+            TenantType.class,
+            IdpType.class);
+
+    static final CompactCacheCodec INSTANCE = new CompactCacheCodec();
+
+    private final short fingerprint = fingerprint(REGISTERED);
+
+    private final Pool<Kryo> kryoPool = new Pool<>(true, false, POOL_SIZE) {
+        @Override
+        protected Kryo create() {
+            return createKryo();
+        }
+    };
+
+    private final Pool<Input> inputPool = new Pool<>(true, false, POOL_SIZE) {
+        @Override
+        protected Input create() {
+            return new Input(BUFFER_SIZE);
+        }
+    };
+
+    private final Pool<Output> outputPool = new Pool<>(true, false, POOL_SIZE) {
+        @Override
+        protected Output create() {
+            return new Output(BUFFER_SIZE, -1);
+        }
+    };
+
+    private final Encoder encoder = this::encode;
+
+    private final Decoder<Object> decoder = this::decode;
+
+    private CompactCacheCodec() {
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    private ByteBuf encode(Object value) throws IOException {
+        ByteBuf out = ByteBufAllocator.DEFAULT.buffer();
+        Kryo kryo = kryoPool.obtain();
+        Output output = outputPool.obtain();
+        try {
+            out.writeByte(MAGIC).writeShort(fingerprint);
+            output.setOutputStream(new ByteBufOutputStream(out));
+            kryo.writeClassAndObject(output, value);
+            output.flush();
+            return out;
+        } catch (RuntimeException e) {
+            out.release();
+            throw new IOException("Cannot encode " + value.getClass().getName(), e);
+        } finally {
+            output.setOutputStream(null);
+            outputPool.free(output);
+            kryoPool.free(kryo);
+        }
+    }
+
+    private Object decode(ByteBuf buf, State state) {
+        if (buf.readableBytes() < HEADER_BYTES || buf.readByte() != MAGIC || buf.readShort() != fingerprint) {
+            log.debug("Ignoring cached value not written by this codec version");
+            return null;
+        }
+        Kryo kryo = kryoPool.obtain();
+        Input input = inputPool.obtain();
+        try {
+            input.setInputStream(new ByteBufInputStream(buf));
+            return kryo.readClassAndObject(input);
+        } catch (KryoException e) {
+            log.debug("Ignoring undecodable cached value: {}", e.getMessage());
+            return null;
+        } finally {
+            input.setInputStream(null);
+            inputPool.free(input);
+            kryoPool.free(kryo);
+        }
+    }
+
+    private static Kryo createKryo() {
+        Kryo kryo = new Kryo();
+        kryo.setClassLoader(CompactCacheCodec.class.getClassLoader());
+        kryo.setRegistrationRequired(false);
+        kryo.setReferences(false);
+        kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+        ImmutableCollectionsSerializers.addDefaultSerializers(kryo);
+        kryo.addDefaultSerializer(UUID.class, new DefaultSerializers.UUIDSerializer());
+
+        int id = FIRST_ID;
+        for (Class<?> type : REGISTERED) {
+            kryo.register(type, id++);
+        }
+        kryo.register(NullValue.class, new ImmutableSerializer<NullValue>() {
+            @Override
+            public void write(Kryo kryo, Output output, NullValue value) {
+            }
+
+            @Override
+            public NullValue read(Kryo kryo, Input input, Class<? extends NullValue> type) {
+                return NullValue.INSTANCE;
+            }
+        }, id);
+        return kryo;
+    }
+
+    /**
+     * CRC of the registered class names and, for application types, their
+     * record components, fields or enum constants.
+     */
+    static short fingerprint(List<Class<?>> types) {
+        StringBuilder shape = new StringBuilder();
+        for (Class<?> type : types) {
+            shape.append(type.getName()).append('{');
+            if (type.getName().startsWith("java.")) {
+                // JDK types are written by Kryo's own serializers
+            } else if (type.isRecord()) {
+                for (RecordComponent component : type.getRecordComponents()) {
+                    shape.append(component.getName()).append(':').append(component.getType().getName()).append(',');
+                }
+            } else if (type.isEnum()) {
+                Arrays.stream(type.getEnumConstants()).forEach(constant -> shape.append(constant).append(','));
+            } else {
+                for (Field field : type.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                        shape.append(field.getName()).append(':').append(field.getType().getName()).append(',');
+                    }
+                }
+            }
+            shape.append('}');
+        }
+        CRC32 crc = new CRC32();
+        crc.update(shape.toString().getBytes(StandardCharsets.UTF_8));
+        return (short) crc.getValue();
+    }
+}
@@ -0,0 +1,117 @@
+package com.learning.common.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Caffeine builders for a {@link LocalCacheProperties.Spec}.
+ */
+final class LocalCacheBuilders {
+
+    /**
+     * A cached value together with how long it may live. A write TTL counts
+     * from the last write; a sliding TTL is also extended by every read.
+     */
+    record TimedValue(Object value, long ttlNanos, boolean sliding) {
+    }
+
+    /**
+     * Builder for Spring caches, which have no per-entry TTL.
+     */
+    static Caffeine<Object, Object> forSpringCache(LocalCacheProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight())
+                    .weigher((Object key, Object value) -> weigh(value));
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return builder;
+    }
+
+    /**
+     * Builder for caches holding {@link TimedValue}s, expiring each entry after
+     * its own TTL. Caffeine does not combine a custom Expiry with
+     * expireAfterWrite/Access, so the spec's expiry only supplies the TTL of
+     * entries put without one (see {@link #timed}).
+     */
+    static Caffeine<String, TimedValue> forTimedValues(LocalCacheProperties.Spec spec) {
+        Caffeine<String, TimedValue> builder = Caffeine.newBuilder()
+                .recordStats()
+                .expireAfter(new PerEntryExpiry());
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight())
+                    .weigher((String key, TimedValue timed) -> weigh(timed.value()));
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        return builder;
+    }
+
+    /**
+     * Wrap a value for a {@link #forTimedValues} cache.
+     *
+     * @param ttl explicit TTL, or null to use the spec's write expiry, else
+     *            its (sliding) access expiry, else no expiry
+     */
+    static TimedValue timed(Object value, Duration ttl, LocalCacheProperties.Spec spec) {
+        if (ttl != null) {
+            return new TimedValue(value, ttl.toNanos(), false);
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            return new TimedValue(value, spec.getExpireAfterWrite().toNanos(), false);
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            return new TimedValue(value, spec.getExpireAfterAccess().toNanos(), true);
+        }
+        return new TimedValue(value, Long.MAX_VALUE, false);
+    }
+
+    /**
+     * Approximate element count, used as the weight of a cached value.
+     */
+    static int weigh(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Math.max(1, map.size());
+        }
+        if (value instanceof Object[] array) {
+            return Math.max(1, array.length);
+        }
+        return 1;
+    }
+
+    private static final class PerEntryExpiry implements Expiry<String, TimedValue> {
+
+        @Override
+        public long expireAfterCreate(String key, TimedValue value, long currentTime) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TimedValue value, long currentTime, long currentDuration) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, TimedValue value, long currentTime, long currentDuration) {
+            return value.sliding() ? value.ttlNanos() : currentDuration;
+        }
+    }
+
+    private LocalCacheBuilders() {
+        // Prevent instantiation
+    }
+}
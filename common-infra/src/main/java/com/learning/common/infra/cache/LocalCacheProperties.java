@@ -0,0 +1,97 @@
+package com.learning.common.infra.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sizing and expiry of the Caffeine caches: the LOCAL Spring caches, every
+ * cache when Redis is unavailable, and the caches of CaffeineCacheService.
+ *
+ * Top-level values are the defaults; entries under {@code caches} override
+ * them per cache name. Set either maximum-size (entries) or maximum-weight
+ * (approximate element count, so a cached Set of 50 permissions weighs 50).
+ *
+ * Example:
+ *
+ * <pre>
+ * app:
+ *   cache:
+ *     local:
+ *       maximum-size: 1000
+ *       expire-after-write: 10m
+ *       caches:
+ *         tenantConfig:
+ *           maximum-size: 5000
+ *           expire-after-write: 30m
+ *         billingStatus:
+ *           expire-after-write: 30s
+ *         roleDefinitions:
+ *           maximum-weight: 100000
+ *           expire-after-access: 1h
+ * </pre>
+ *
+ * Hit/miss/eviction stats are recorded for every cache and published as the
+ * standard {@code cache.*} Micrometer meters.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache.local")
+public class LocalCacheProperties {
+
+    private Long maximumSize = 1000L;
+
+    private Long maximumWeight;
+
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    private Duration expireAfterAccess;
+
+    /**
+     * Per-cache overrides, keyed by cache name (see CacheNames).
+     */
+    private Map<String, Spec> caches = new HashMap<>();
+
+    /**
+     * Settings for one cache, falling back to the defaults above. A cache
+     * that overrides its bound (size or weight) or its expiry (write or
+     * access) replaces the default one rather than combining with it.
+     */
+    public Spec specFor(String cacheName) {
+        Spec override = caches.getOrDefault(cacheName, new Spec());
+        Spec spec = new Spec();
+
+        if (override.getMaximumWeight() != null) {
+            spec.setMaximumWeight(override.getMaximumWeight());
+        } else if (override.getMaximumSize() != null) {
+            spec.setMaximumSize(override.getMaximumSize());
+        } else if (maximumWeight != null) {
+            spec.setMaximumWeight(maximumWeight);
+        } else {
+            spec.setMaximumSize(maximumSize);
+        }
+
+        if (override.getExpireAfterWrite() != null || override.getExpireAfterAccess() != null) {
+            spec.setExpireAfterWrite(override.getExpireAfterWrite());
+            spec.setExpireAfterAccess(override.getExpireAfterAccess());
+        } else {
+            spec.setExpireAfterWrite(expireAfterWrite);
+            spec.setExpireAfterAccess(expireAfterAccess);
+        }
+        return spec;
+    }
+
+    @Data
+    public static class Spec {
+
+        private Long maximumSize;
+
+        private Long maximumWeight;
+
+        private Duration expireAfterWrite;
+
+        private Duration expireAfterAccess;
+    }
+}
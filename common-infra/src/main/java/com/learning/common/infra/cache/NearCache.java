@@ -0,0 +1,230 @@
+package com.learning.common.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier cache: a small per-instance Caffeine L1 in front of a shared Redis
+ * (Redisson) L2.
+ *
+ * <ul>
+ * <li>Reads are served from L1 when possible and fall through to L2 on a
+ * miss, populating L1 with what L2 returned</li>
+ * <li>Writes and evicts go to L2 first, then update the local L1 and
+ * broadcast an invalidation so every other instance drops its L1 copy</li>
+ * <li>Tag evictions (see CacheTags) are applied to L2 through the wrapped
+ * cache's tag index, then to each instance's L1 by matching its keys</li>
+ * </ul>
+ *
+ * A read that races with a write or invalidation, local or remote, could
+ * otherwise re-populate L1 with the value it fetched just before. Each of
+ * them bumps an epoch once L2 has changed, and an L2 result is only copied
+ * into L1 if the epoch did not move while it was being fetched.
+ *
+ * Metrics (hit ratio per tier = hit / (hit + miss)):
+ * <ul>
+ * <li>cache.near.gets{cache, tier=l1|l2, result=hit|miss}</li>
+ * <li>cache.near.invalidations.received{cache}</li>
+ * <li>cache.near.l1.size{cache}</li>
+ * </ul>
+ */
+@Slf4j
+class NearCache implements Cache, TagEvictableCache {
+
+    private final String name;
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> local;
+    private final NearCacheInvalidationBus bus;
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter invalidationsReceived;
+
+    NearCache(Cache remote, NearCacheProperties.Spec spec, NearCacheInvalidationBus bus,
+            MeterRegistry meterRegistry) {
+        this.name = remote.getName();
+        this.remote = remote;
+        this.bus = bus;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getTtl())
+                .build();
+
+        this.l1Hits = getCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = getCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = getCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = getCounter(meterRegistry, "l2", "miss");
+        this.invalidationsReceived = Counter.builder("cache.near.invalidations.received")
+                .description("L1 invalidations received from other instances")
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("cache.near.l1.size", local, c -> c.estimatedSize())
+                .description("Entries held in the per-instance L1")
+                .tag("cache", name)
+                .register(meterRegistry);
+
+        bus.register(this);
+    }
+
+    private Counter getCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.near.gets")
+                .description("Near cache lookups by tier")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = local.getIfPresent(key);
+        if (cached != null) {
+            l1Hits.increment();
+            return cached;
+        }
+        l1Misses.increment();
+
+        long observed = epoch.get();
+        ValueWrapper value = remote.get(key);
+        if (value == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        populate(key, value, observed);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object stored = value != null ? value.get() : null;
+        if (stored != null && type != null && !type.isInstance(stored)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + stored);
+        }
+        return (T) stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = local.getIfPresent(key);
+        if (cached != null) {
+            l1Hits.increment();
+            return (T) cached.get();
+        }
+        l1Misses.increment();
+
+        // L2 serialises concurrent loaders of a key across instances
+        long observed = epoch.get();
+        T value = remote.get(key, valueLoader);
+        populate(key, new SimpleValueWrapper(value), observed);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        epoch.incrementAndGet();
+        local.put(key, new SimpleValueWrapper(value));
+        bus.publishEvict(name, key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        // Whichever value won lives in L2; let the next read pick it up
+        epoch.incrementAndGet();
+        local.invalidate(key);
+        if (existing == null) {
+            bus.publishEvict(name, key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        epoch.incrementAndGet();
+        local.invalidate(key);
+        bus.publishEvict(name, key);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        epoch.incrementAndGet();
+        local.invalidateAll();
+        bus.publishClear(name);
+    }
+
+    @Override
+    public long evictByTag(String tag) {
+        long evicted = remote instanceof TagEvictableCache tagged ? tagged.evictByTag(tag) : 0;
+        epoch.incrementAndGet();
+        local.asMap().keySet().removeIf(key -> CacheTags.forKey(key).contains(tag));
+        bus.publishEvictTag(name, tag);
+        return evicted;
+    }
+
+    /**
+     * Drop an entry because another instance changed it.
+     */
+    void invalidateLocal(Object key) {
+        epoch.incrementAndGet();
+        local.invalidate(key);
+        invalidationsReceived.increment();
+    }
+
+    /**
+     * Drop the entries carrying a tag because another instance evicted it.
+     * L1 is small, so a scan of its keys is cheap.
+     */
+    void invalidateTagLocal(String tag) {
+        epoch.incrementAndGet();
+        local.asMap().keySet().removeIf(key -> CacheTags.forKey(key).contains(tag));
+        invalidationsReceived.increment();
+    }
+
+    /**
+     * Drop every entry because another instance cleared the cache, or
+     * invalidations may have been missed (e.g. Redis reconnect).
+     */
+    void invalidateAllLocal() {
+        epoch.incrementAndGet();
+        local.invalidateAll();
+        invalidationsReceived.increment();
+    }
+
+    private void populate(Object key, ValueWrapper value, long observed) {
+        local.put(key, value);
+        // Re-check after the put so an invalidation landing in between wins
+        if (epoch.get() != observed) {
+            local.invalidate(key);
+            log.debug("Dropped L1 fill for {}:{} - invalidated during fetch", name, key);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.learning.common.infra.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.BaseStatusListener;
+import org.redisson.codec.SerializationCodec;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Broadcasts near cache invalidations between service instances over a Redis
+ * topic.
+ *
+ * Each instance tags what it publishes with a random node id and ignores its
+ * own messages, since the publishing NearCache has already updated its L1.
+ * Pub/sub is at-most-once, so on every (re)subscribe - including after a
+ * Redis reconnect - all L1 tiers are cleared rather than trusting that no
+ * message was missed.
+ */
+@Slf4j
+class NearCacheInvalidationBus {
+
+    /**
+     * One invalidation of a key or of every key carrying a tag; with neither
+     * set, the whole cache is cleared.
+     */
+    record Invalidation(String origin, String cacheName, Object key, String tag) implements Serializable {
+    }
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final RTopic topic;
+    private final Map<String, NearCache> caches = new ConcurrentHashMap<>();
+
+    NearCacheInvalidationBus(RedissonClient redissonClient, String topicName) {
+        this(redissonClient.getTopic(topicName, new SerializationCodec()));
+    }
+
+    NearCacheInvalidationBus(RTopic topic) {
+        this.topic = topic;
+        topic.addListener(Invalidation.class, (channel, message) -> onMessage(message));
+        topic.addListener(new BaseStatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                log.info("Near cache invalidation topic subscribed ({}), clearing L1 caches", channel);
+                caches.values().forEach(NearCache::invalidateAllLocal);
+            }
+        });
+    }
+
+    void register(NearCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    void publishEvict(String cacheName, Object key) {
+        publish(new Invalidation(nodeId, cacheName, key, null));
+    }
+
+    void publishEvictTag(String cacheName, String tag) {
+        publish(new Invalidation(nodeId, cacheName, null, tag));
+    }
+
+    void publishClear(String cacheName) {
+        publish(new Invalidation(nodeId, cacheName, null, null));
+    }
+
+    private void publish(Invalidation invalidation) {
+        // Fire-and-forget: the L2 write already happened, and L1 TTL bounds
+        // staleness on other instances if the broadcast is lost
+        topic.publishAsync(invalidation).whenComplete((receivers, error) -> {
+            if (error != null) {
+                log.warn("Near cache invalidation publish failed: {}:{} - {}",
+                        invalidation.cacheName(), invalidation.key(), error.getMessage());
+            }
+        });
+    }
+
+    void onMessage(Invalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        NearCache cache = caches.get(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+        if (invalidation.key() != null) {
+            cache.invalidateLocal(invalidation.key());
+        } else if (invalidation.tag() != null) {
+            cache.invalidateTagLocal(invalidation.tag());
+        } else {
+            cache.invalidateAllLocal();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.learning.common.infra.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for the per-instance Caffeine L1 placed in front of the Redis
+ * backed DISTRIBUTED caches.
+ *
+ * Example:
+ *
+ * <pre>
+ * app:
+ *   cache:
+ *     near:
+ *       enabled: true
+ *       maximum-size: 1000
+ *       ttl: 1m
+ *       caches:
+ *         permissions:
+ *           maximum-size: 10000
+ *           ttl: 30s
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache.near")
+public class NearCacheProperties {
+
+    /**
+     * When false, DISTRIBUTED caches go straight to Redis.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Redis topic carrying evict/clear broadcasts between instances.
+     */
+    private String topic = "cache:near:invalidations";
+
+    /**
+     * Default L1 size for caches without an entry in {@link #caches}.
+     */
+    private long maximumSize = 1000;
+
+    /**
+     * Default L1 time-to-live. Invalidations are broadcast over pub/sub, which
+     * is at-most-once, so this bounds how long a missed message can leave a
+     * stale entry behind.
+     */
+    private Duration ttl = Duration.ofMinutes(1);
+
+    /**
+     * Per-cache overrides, keyed by cache name (see CacheNames).
+     */
+    private Map<String, Spec> caches = new HashMap<>();
+
+    /**
+     * L1 settings for one cache, falling back to the defaults above.
+     */
+    public Spec specFor(String cacheName) {
+        Spec override = caches.get(cacheName);
+        Spec spec = new Spec();
+        spec.setMaximumSize(override != null && override.getMaximumSize() != null
+                ? override.getMaximumSize()
+                : maximumSize);
+        spec.setTtl(override != null && override.getTtl() != null ? override.getTtl() : ttl);
+        return spec;
+    }
+
+    @Data
+    public static class Spec {
+
+        private Long maximumSize;
+
+        private Duration ttl;
+    }
+}
@@ -2,14 +2,23 @@ package com.learning.common.infra.cache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
 import org.redisson.api.RBucket;
-import org.redisson.api.RKeys;
+import org.redisson.api.RFuture;
+import org.redisson.api.RSet;
+import org.redisson.api.RSetAsync;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -20,6 +29,18 @@ import java.util.Set;
  * <p>
  * Key format: {cacheName}:{key}
  * </p>
+ *
+ * <p>
+ * No operation scans the keyspace (KEYS/SCAN). Every put also records the key
+ * in a per-cache index set ({@code cache:index:{cacheName}}) and one set per
+ * tag ({@code cache:tag:{tag}}); evictAll, keys and evictByTag read those
+ * sets and delete the listed entries in a single pipelined batch.
+ * </p>
+ *
+ * <p>
+ * Values are stored with the codec configured for the cache in
+ * app.cache.codec (see {@link CacheCodecProperties}).
+ * </p>
  * 
  * <p>
  * Advantages over Lettuce:
@@ -39,14 +60,17 @@ public class RedissonCacheService implements CacheService {
 
     private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
     private static final String KEY_SEPARATOR = ":";
+    private static final String INDEX_PREFIX = "cache:index:";
+    private static final String TAG_PREFIX = "cache:tag:";
 
     private final RedissonClient redissonClient;
+    private final CacheCodecProperties codecProperties;
 
     @Override
     public <T> Optional<T> get(String cacheName, String key, Class<T> type) {
         try {
             String fullKey = buildKey(cacheName, key);
-            RBucket<T> bucket = redissonClient.getBucket(fullKey);
+            RBucket<T> bucket = redissonClient.getBucket(fullKey, codec(cacheName));
             T value = bucket.get();
 
             if (value == null) {
@@ -62,6 +86,34 @@ public class RedissonCacheService implements CacheService {
         }
     }
 
+    /**
+     * One MGET through RBuckets; Redisson splits it by hash slot in cluster
+     * mode.
+     */
+    @Override
+    public <T> Map<String, T> getAll(String cacheName, Collection<String> keys, Class<T> type) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            String[] fullKeys = keys.stream().map(key -> buildKey(cacheName, key)).toArray(String[]::new);
+            Map<String, Object> found = redissonClient.getBuckets(codec(cacheName)).get(fullKeys);
+
+            Map<String, T> result = new HashMap<>(found.size());
+            int prefixLength = cacheName.length() + KEY_SEPARATOR.length();
+            found.forEach((fullKey, value) -> {
+                if (type.isInstance(value)) {
+                    result.put(fullKey.substring(prefixLength), type.cast(value));
+                }
+            });
+            log.debug("Cache getAll: {} of {} keys found in {}", result.size(), keys.size(), cacheName);
+            return result;
+        } catch (Exception e) {
+            log.warn("Cache getAll failed: {} ({} keys) - {}", cacheName, keys.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+
     @Override
     public void put(String cacheName, String key, Object value) {
         put(cacheName, key, value, DEFAULT_TTL);
@@ -69,47 +121,150 @@ public class RedissonCacheService implements CacheService {
 
     @Override
     public void put(String cacheName, String key, Object value, Duration ttl) {
+        put(cacheName, key, value, ttl, Set.of());
+    }
+
+    @Override
+    public void put(String cacheName, String key, Object value, Duration ttl, Set<String> tags) {
         try {
             String fullKey = buildKey(cacheName, key);
-            RBucket<Object> bucket = redissonClient.getBucket(fullKey);
-            bucket.set(value, ttl);
-            log.debug("Cache put: {} (TTL: {})", fullKey, ttl);
+            RBatch batch = redissonClient.createBatch();
+            batch.getBucket(fullKey, codec(cacheName)).setAsync(value, ttl);
+            addToIndex(batch, indexKey(cacheName), key, ttl);
+            for (String tag : tags) {
+                addToIndex(batch, tagKey(tag), fullKey, ttl);
+            }
+            batch.execute();
+            log.debug("Cache put: {} (TTL: {}, tags: {})", fullKey, ttl, tags);
         } catch (Exception e) {
             log.warn("Cache put failed: {}:{} - {}", cacheName, key, e.getMessage());
         }
     }
 
+    @Override
+    public void putAll(String cacheName, Map<String, ?> values, Duration ttl) {
+        putAll(cacheName, values.entrySet().stream()
+                .map(entry -> new CacheEntry(entry.getKey(), entry.getValue(), ttl))
+                .toList());
+    }
+
+    @Override
+    public void putAll(String cacheName, Collection<CacheEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            RBatch batch = redissonClient.createBatch();
+            Codec codec = codec(cacheName);
+            Duration maxTtl = Duration.ZERO;
+            for (CacheEntry entry : entries) {
+                batch.getBucket(buildKey(cacheName, entry.key()), codec).setAsync(entry.value(), entry.ttl());
+                if (entry.ttl().compareTo(maxTtl) > 0) {
+                    maxTtl = entry.ttl();
+                }
+            }
+            addToIndex(batch, indexKey(cacheName), entries.stream().map(CacheEntry::key).toList(), maxTtl);
+            batch.execute();
+            log.debug("Cache putAll: {} entries into {}", entries.size(), cacheName);
+        } catch (Exception e) {
+            log.warn("Cache putAll failed: {} ({} entries) - {}", cacheName, entries.size(), e.getMessage());
+        }
+    }
+
     @Override
     public void evict(String cacheName, String key) {
         try {
             String fullKey = buildKey(cacheName, key);
-            RBucket<Object> bucket = redissonClient.getBucket(fullKey);
-            boolean deleted = bucket.delete();
-            log.debug("Cache evict: {} (deleted: {})", fullKey, deleted);
+            RBatch batch = redissonClient.createBatch();
+            RFuture<Boolean> deleted = batch.getBucket(fullKey).deleteAsync();
+            batch.getSet(indexKey(cacheName), StringCodec.INSTANCE).removeAsync(key);
+            batch.execute();
+            log.debug("Cache evict: {} (deleted: {})", fullKey, deleted.toCompletableFuture().join());
         } catch (Exception e) {
             log.warn("Cache evict failed: {}:{} - {}", cacheName, key, e.getMessage());
         }
     }
 
+    @Override
+    public void evictAll(String cacheName, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            String[] fullKeys = keys.stream().map(key -> buildKey(cacheName, key)).toArray(String[]::new);
+            RBatch batch = redissonClient.createBatch();
+            RFuture<Long> deleted = batch.getKeys().deleteAsync(fullKeys);
+            batch.getSet(indexKey(cacheName), StringCodec.INSTANCE).removeAllAsync(keys);
+            batch.execute();
+            log.debug("Cache evictAll: {} of {} keys deleted from {}",
+                    deleted.toCompletableFuture().join(), keys.size(), cacheName);
+        } catch (Exception e) {
+            log.warn("Cache evictAll failed: {} ({} keys) - {}", cacheName, keys.size(), e.getMessage());
+        }
+    }
+
     @Override
     public void evictAll(String cacheName) {
         try {
-            String pattern = cacheName + KEY_SEPARATOR + "*";
-            RKeys keys = redissonClient.getKeys();
-            long deleted = keys.deleteByPattern(pattern);
+            String indexKey = indexKey(cacheName);
+            Set<String> fullKeys = new HashSet<>();
+            for (String key : redissonClient.<String>getSet(indexKey, StringCodec.INSTANCE).readAll()) {
+                fullKeys.add(buildKey(cacheName, key));
+            }
+            long deleted = deleteAll(fullKeys, indexKey);
             log.debug("Cache evictAll: {} keys deleted from {}", deleted, cacheName);
         } catch (Exception e) {
             log.warn("Cache evictAll failed: {} - {}", cacheName, e.getMessage());
         }
     }
 
+    @Override
+    public long evictByTag(String tag) {
+        try {
+            String tagKey = tagKey(tag);
+            Set<String> fullKeys = redissonClient.<String>getSet(tagKey, StringCodec.INSTANCE).readAll();
+            long deleted = deleteAll(fullKeys, tagKey);
+            log.debug("Cache evictByTag: {} keys deleted for {}", deleted, tag);
+            return deleted;
+        } catch (Exception e) {
+            log.warn("Cache evictByTag failed: {} - {}", tag, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Lists the cache index rather than scanning the keyspace. Members whose
+     * entry has expired are pruned from the index on the way.
+     */
     @Override
     public Set<String> keys(String cacheName) {
         try {
-            String pattern = cacheName + KEY_SEPARATOR + "*";
-            RKeys rKeys = redissonClient.getKeys();
+            String indexKey = indexKey(cacheName);
+            RSet<String> index = redissonClient.getSet(indexKey, StringCodec.INSTANCE);
+            Set<String> members = index.readAll();
+            if (members.isEmpty()) {
+                return Set.of();
+            }
+
+            RBatch batch = redissonClient.createBatch();
+            Map<String, RFuture<Boolean>> exists = new HashMap<>();
+            for (String key : members) {
+                exists.put(key, batch.getBucket(buildKey(cacheName, key)).isExistsAsync());
+            }
+            batch.execute();
+
             Set<String> result = new HashSet<>();
-            rKeys.getKeysByPattern(pattern).forEach(result::add);
+            Set<String> expired = new HashSet<>();
+            exists.forEach((key, future) -> {
+                if (Boolean.TRUE.equals(future.toCompletableFuture().join())) {
+                    result.add(key);
+                } else {
+                    expired.add(key);
+                }
+            });
+            if (!expired.isEmpty()) {
+                index.removeAllAsync(expired);
+            }
             return result;
         } catch (Exception e) {
             log.warn("Cache keys failed: {} - {}", cacheName, e.getMessage());
@@ -131,4 +286,44 @@ public class RedissonCacheService implements CacheService {
     private String buildKey(String cacheName, String key) {
         return cacheName + KEY_SEPARATOR + key;
     }
+
+    private Codec codec(String cacheName) {
+        return codecProperties.codecFor(cacheName, redissonClient.getConfig().getCodec());
+    }
+
+    private static String indexKey(String cacheName) {
+        return INDEX_PREFIX + cacheName;
+    }
+
+    private static String tagKey(String tag) {
+        return TAG_PREFIX + tag;
+    }
+
+    /**
+     * Index sets live at least as long as the longest-lived entry in them
+     * (see {@link CacheIndexTtl}).
+     */
+    private static void addToIndex(RBatch batch, String indexKey, String member, Duration ttl) {
+        addToIndex(batch, indexKey, List.of(member), ttl);
+    }
+
+    private static void addToIndex(RBatch batch, String indexKey, Collection<String> members, Duration ttl) {
+        RSetAsync<String> index = batch.getSet(indexKey, StringCodec.INSTANCE);
+        index.addAllAsync(members);
+        CacheIndexTtl.extend(batch, indexKey, ttl);
+    }
+
+    /**
+     * Delete the given entries and the index that listed them in one pipelined
+     * round trip.
+     */
+    private long deleteAll(Set<String> fullKeys, String indexKey) {
+        RBatch batch = redissonClient.createBatch();
+        RFuture<Long> deleted = fullKeys.isEmpty()
+                ? null
+                : batch.getKeys().deleteAsync(fullKeys.toArray(String[]::new));
+        batch.getSet(indexKey, StringCodec.INSTANCE).deleteAsync();
+        batch.execute();
+        return deleted != null ? deleted.toCompletableFuture().join() : 0;
+    }
 }
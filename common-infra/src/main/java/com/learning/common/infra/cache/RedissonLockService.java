@@ -60,13 +60,11 @@ public class RedissonLockService implements DistributedLockService {
     @Override
     public void unlock(String lockName) {
         try {
-            RLock lock = redissonClient.getLock(LOCK_PREFIX + lockName);
-            if (lock.isHeldByCurrentThread()) {
-                lock.unlock();
-                log.debug("Lock released: {}", lockName);
-            } else {
-                log.warn("Cannot unlock {} - not held by current thread", lockName);
-            }
+            // unlock checks the holder itself; asking first would cost another round trip
+            redissonClient.getLock(LOCK_PREFIX + lockName).unlock();
+            log.debug("Lock released: {}", lockName);
+        } catch (IllegalMonitorStateException e) {
+            log.warn("Cannot unlock {} - not held by current thread", lockName);
         } catch (Exception e) {
             log.error("Unlock failed: {} - {}", lockName, e.getMessage());
         }
@@ -0,0 +1,60 @@
+package com.learning.common.infra.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Stampede protection for the DISTRIBUTED caches (see
+ * {@link StampedeProtectedCache}).
+ *
+ * Example:
+ *
+ * <pre>
+ * app:
+ *   cache:
+ *     stampede:
+ *       enabled: true
+ *       beta: 1.0
+ *       lease-time: 5s
+ *       wait-time: 200ms
+       maximum-tracked: 10000
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache.stampede")
+public class StampedeProperties {
+
+    /**
+     * When false, every miss loads on its own.
+     */
+    private boolean enabled = true;
+
+    /**
+     * XFetch aggressiveness: above 1 refreshes earlier, below 1 later, 0
+     * never before expiry.
+     */
+    private double beta = 1.0;
+
+    /**
+     * Longest a loader holds the lease on a key. Bounds how long a crashed or
+     * skipped load (e.g. {@code unless}) blocks other loaders.
+     */
+    private Duration leaseTime = Duration.ofSeconds(5);
+
+    /**
+     * Longest a miss waits for another loader before loading itself.
+     */
+    private Duration waitTime = Duration.ofMillis(200);
+
+    /**
+     * How often a miss re-reads the cache while another instance loads.
+     */
+    private Duration pollInterval = Duration.ofMillis(20);
+
+    /**
+     * Most keys per cache whose load time is kept for early refresh.
+     */
+    private long maximumTracked = 10_000;
+}
@@ -0,0 +1,416 @@
+package com.learning.common.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cache decorator that keeps a hot key from being loaded by every caller at
+ * once when it expires.
+ *
+ * <ul>
+ * <li><b>Single flight</b>: the first miss on a key becomes its loader. It
+ * takes a local in-flight slot, then a cross-instance lease through
+ * DistributedLockService. Other misses on the same instance wait for the
+ * loader's put; misses on other instances poll the cache. Either gives up
+ * after wait-time and loads itself.</li>
+ * <li><b>Early refresh (XFetch)</b>: the instance that loads a key remembers
+ * how long the load took (delta) and when the entry expires. A hit refreshes
+ * early with probability rising as expiry nears,
+ * {@code now + delta * beta * -ln(rand) >= expiry}, so one caller reloads a
+ * hot key while everyone else keeps getting the old value.</li>
+ * </ul>
+ *
+ * Values reach the delegate unchanged, so the cache can be switched off (or
+ * the release rolled back) without touching stored entries.
+ *
+ * Works with plain {@code @Cacheable}, including {@code unless}: Spring calls
+ * get and then put on the same thread, so a load is tracked per thread from
+ * the miss to the put. {@link CacheLoadReleaseAspect} releases loads that
+ * never put (the method threw, or {@code unless} skipped the put) when the
+ * cached method returns; the lease timing out covers any other caller.
+ *
+ * Metrics: cache.stampede.requests{cache, outcome=load|early_refresh|stale|
+ * joined|timeout}
+ */
+@Slf4j
+class StampedeProtectedCache implements Cache, TagEvictableCache {
+
+    private static final String LOCK_PREFIX = "cache:load:";
+
+    /**
+     * Loads this thread has started and not yet put, across all caches, most
+     * recent first.
+     */
+    private static final ThreadLocal<Deque<Load>> PENDING_LOADS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final Cache delegate;
+    private final DistributedLockService lockService;
+    private final Duration ttl;
+    private final StampedeProperties properties;
+    private final ConcurrentMap<Object, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Refresh> refreshes;
+
+    private final Counter loads;
+    private final Counter earlyRefreshes;
+    private final Counter staleServed;
+    private final Counter joined;
+    private final Counter timeouts;
+
+    /**
+     * @param lockService cross-instance leases, or null for local single
+     *                    flight only
+     * @param ttl         expiry of entries in the delegate
+     */
+    StampedeProtectedCache(Cache delegate, DistributedLockService lockService, Duration ttl,
+            StampedeProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.lockService = lockService;
+        this.ttl = ttl;
+        this.properties = properties;
+        this.refreshes = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumTracked())
+                .expireAfterWrite(ttl)
+                .build();
+
+        this.loads = getCounter(meterRegistry, "load");
+        this.earlyRefreshes = getCounter(meterRegistry, "early_refresh");
+        this.staleServed = getCounter(meterRegistry, "stale");
+        this.joined = getCounter(meterRegistry, "joined");
+        this.timeouts = getCounter(meterRegistry, "timeout");
+    }
+
+    private Counter getCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("cache.stampede.requests")
+                .description("Stampede-protected lookups by outcome")
+                .tag("cache", delegate.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        // A second miss on a key this thread is loading means the first load was dropped
+        release(key, null);
+
+        ValueWrapper stored = delegate.get(key);
+        if (stored == null) {
+            return awaitOrLoad(key);
+        }
+        Refresh refresh = refreshes.getIfPresent(key);
+        if (refresh != null && shouldRefreshEarly(refresh)) {
+            if (tryLead(key)) {
+                earlyRefreshes.increment();
+                log.debug("Early refresh of {}:{}", getName(), key);
+                return null;
+            }
+            staleServed.increment();
+        }
+        return stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object stored = value != null ? value.get() : null;
+        if (stored != null && type != null && !type.isInstance(stored)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + stored);
+        }
+        return (T) stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        int depth = pendingLoads();
+        try {
+            ValueWrapper cached = get(key);
+            if (cached != null) {
+                return (T) cached.get();
+            }
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            put(key, value);
+            return value;
+        } finally {
+            releaseLoadsAbove(depth);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Load load = pendingLoad(key);
+        delegate.put(key, value);
+        if (load == null) {
+            refreshes.invalidate(key);
+            return;
+        }
+        long deltaMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - load.startNanos());
+        refreshes.put(key, new Refresh(deltaMillis, System.currentTimeMillis() + ttl.toMillis()));
+        release(key, new SimpleValueWrapper(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        refreshes.invalidate(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        refreshes.invalidate(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        refreshes.invalidateAll();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        refreshes.invalidateAll();
+        return delegate.invalidate();
+    }
+
+    @Override
+    public long evictByTag(String tag) {
+        return delegate instanceof TagEvictableCache tagged ? tagged.evictByTag(tag) : 0;
+    }
+
+    /**
+     * Number of loads this thread has started and not yet put.
+     */
+    static int pendingLoads() {
+        return PENDING_LOADS.get().size();
+    }
+
+    /**
+     * Abandon this thread's loads started after {@link #pendingLoads()}
+     * returned {@code depth}: local waiters load themselves and the leases
+     * are released.
+     */
+    static void releaseLoadsAbove(int depth) {
+        Deque<Load> pending = PENDING_LOADS.get();
+        while (pending.size() > depth) {
+            Load load = pending.pop();
+            load.cache().end(load, null);
+        }
+    }
+
+    private boolean shouldRefreshEarly(Refresh refresh) {
+        if (refresh.deltaMillis() <= 0 || properties.getBeta() <= 0) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble(); // (0, 1]
+        double gap = refresh.deltaMillis() * properties.getBeta() * -Math.log(random);
+        return System.currentTimeMillis() + gap >= refresh.expiresAtMillis();
+    }
+
+    /**
+     * Take the local slot and the cross-instance lease on a key. Leaves the
+     * caller as the key's loader and returns true, or returns false with
+     * nothing held.
+     */
+    private boolean tryLead(Object key) {
+        InFlight mine = new InFlight(System.nanoTime());
+        if (claim(key, mine) != mine) {
+            return false;
+        }
+        if (!tryLease(key)) {
+            inFlight.remove(key, mine);
+            mine.future().complete(null);
+            return false;
+        }
+        start(key, mine, lockService != null);
+        return true;
+    }
+
+    private ValueWrapper awaitOrLoad(Object key) {
+        InFlight mine = new InFlight(System.nanoTime());
+        InFlight current = claim(key, mine);
+
+        if (current != mine) {
+            // Another thread of this instance is loading the key
+            ValueWrapper loaded = current.await(properties.getWaitTime());
+            if (loaded != null) {
+                joined.increment();
+                return loaded;
+            }
+            timeouts.increment();
+            start(key, null, false);
+            return null;
+        }
+
+        if (tryLease(key)) {
+            loads.increment();
+            start(key, mine, lockService != null);
+            return null;
+        }
+
+        // Another instance is loading the key; its put lands in the shared cache
+        ValueWrapper loaded = poll(key);
+        if (loaded != null) {
+            inFlight.remove(key, mine);
+            mine.future().complete(loaded);
+            joined.increment();
+            return loaded;
+        }
+        timeouts.increment();
+        start(key, mine, false);
+        return null;
+    }
+
+    /**
+     * Register an in-flight load unless a live one exists. A load older than
+     * the lease time is treated as abandoned and replaced.
+     */
+    private InFlight claim(Object key, InFlight mine) {
+        long leaseNanos = properties.getLeaseTime().toNanos();
+        return inFlight.merge(key, mine,
+                (existing, fresh) -> System.nanoTime() - existing.startNanos() > leaseNanos ? fresh : existing);
+    }
+
+    private boolean tryLease(Object key) {
+        return lockService == null || lockService.tryLock(lockName(key), Duration.ZERO, properties.getLeaseTime());
+    }
+
+    private ValueWrapper poll(Object key) {
+        long deadline = System.nanoTime() + properties.getWaitTime().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(properties.getPollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            ValueWrapper stored = delegate.get(key);
+            if (stored != null) {
+                return stored;
+            }
+        }
+        return null;
+    }
+
+    private void start(Object key, InFlight mine, boolean leased) {
+        PENDING_LOADS.get().push(new Load(this, key, System.nanoTime(), mine, leased));
+    }
+
+    private Load pendingLoad(Object key) {
+        for (Load load : PENDING_LOADS.get()) {
+            if (load.cache() == this && Objects.equals(load.key(), key)) {
+                return load;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * End this thread's load of a key, if any, with its result (null if the
+     * load was abandoned).
+     */
+    private void release(Object key, ValueWrapper result) {
+        Iterator<Load> pending = PENDING_LOADS.get().iterator();
+        while (pending.hasNext()) {
+            Load load = pending.next();
+            if (load.cache() == this && Objects.equals(load.key(), key)) {
+                pending.remove();
+                end(load, result);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Hand the result to local waiters and release the lease.
+     */
+    private void end(Load load, ValueWrapper result) {
+        if (load.inFlight() != null) {
+            inFlight.remove(load.key(), load.inFlight());
+            load.inFlight().future().complete(result);
+        }
+        if (load.leased()) {
+            lockService.unlock(lockName(load.key()));
+        }
+    }
+
+    private String lockName(Object key) {
+        return LOCK_PREFIX + getName() + ":" + key;
+    }
+
+    /**
+     * How long the last load of a key on this instance took, and when the
+     * entry it stored expires.
+     */
+    private record Refresh(long deltaMillis, long expiresAtMillis) {
+    }
+
+    /**
+     * A load in progress on this instance; completes with the loaded value,
+     * or null if the loader gave up.
+     */
+    private record InFlight(long startNanos, CompletableFuture<ValueWrapper> future) {
+
+        InFlight(long startNanos) {
+            this(startNanos, new CompletableFuture<>());
+        }
+
+        ValueWrapper await(Duration timeout) {
+            try {
+                return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException | TimeoutException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A load this thread is running: started by a miss (or early refresh)
+     * and ended by the matching put.
+     */
+    private record Load(StampedeProtectedCache cache, Object key, long startNanos, InFlight inFlight,
+            boolean leased) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.learning.common.infra.cache;
+
+/**
+ * A Spring cache whose entries can be evicted by tag (see CacheTags).
+ */
+interface TagEvictableCache {
+
+    /**
+     * Evict every entry in this cache carrying the tag.
+     *
+     * @return number of entries evicted from the backing store
+     */
+    long evictByTag(String tag);
+}
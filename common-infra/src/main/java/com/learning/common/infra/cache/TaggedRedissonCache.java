@@ -0,0 +1,144 @@
+package com.learning.common.infra.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Redisson Spring cache that indexes every put under the tags derived from its
+ * key ({@link CacheTags#forKey}), so a user's entries can be evicted without
+ * knowing their exact keys.
+ *
+ * <p>
+ * Index sets are named {@code cache:map-tag:{cacheName}:{tag}} and carry the
+ * TTL the cache stores entries with, so they expire along with the entries
+ * they list (see {@link CacheIndexTtl}). Evicting a tag
+ * removes the listed map fields and the index in one pipelined batch.
+ * </p>
+ */
+@Slf4j
+class TaggedRedissonCache implements Cache, TagEvictableCache {
+
+    private static final String INDEX_PREFIX = "cache:map-tag:";
+
+    private final Cache delegate;
+    private final RedissonClient redissonClient;
+    private final Duration ttl;
+
+    /**
+     * @param ttl TTL of the cache's entries; non-positive if they never expire
+     */
+    TaggedRedissonCache(Cache delegate, RedissonClient redissonClient, Duration ttl) {
+        this.delegate = delegate;
+        this.redissonClient = redissonClient;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value = delegate.get(key, valueLoader);
+        index(key);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        index(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            index(key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        // A stale index member only costs a no-op HDEL on the next tag evict
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public long evictByTag(String tag) {
+        String indexKey = indexKey(tag);
+        Set<String> keys = redissonClient.<String>getSet(indexKey, StringCodec.INSTANCE).readAll();
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        RMap<?, ?> map = (RMap<?, ?>) delegate.getNativeCache();
+        RBatch batch = redissonClient.createBatch();
+        RFuture<Long> removed = batch.getMapCache(map.getName(), map.getCodec())
+                .fastRemoveAsync(keys.toArray());
+        batch.getSet(indexKey, StringCodec.INSTANCE).deleteAsync();
+        batch.execute();
+
+        long evicted = removed.toCompletableFuture().join();
+        log.debug("Cache evictByTag: {} entries evicted from {} for {}", evicted, getName(), tag);
+        return evicted;
+    }
+
+    private void index(Object key) {
+        Set<String> tags = CacheTags.forKey(key);
+        if (tags.isEmpty()) {
+            return;
+        }
+        try {
+            RBatch batch = redissonClient.createBatch();
+            for (String tag : tags) {
+                String indexKey = indexKey(tag);
+                batch.getSet(indexKey, StringCodec.INSTANCE).addAsync(key.toString());
+                CacheIndexTtl.extend(batch, indexKey, ttl);
+            }
+            batch.execute();
+        } catch (Exception e) {
+            log.warn("Cache tag index update failed: {}:{} - {}", getName(), key, e.getMessage());
+        }
+    }
+
+    private String indexKey(String tag) {
+        return INDEX_PREFIX + getName() + ":" + tag;
+    }
+}
@@ -0,0 +1,163 @@
+package com.learning.common.infra.openfga;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Postgres outbox table:
+ *
+ * <pre>
+ * id BIGSERIAL PRIMARY KEY, store_id, operation (WRITE|DELETE), user_ref,
+ * relation, object_ref, created_at TIMESTAMPTZ DEFAULT NOW(),
+ * claimed_until TIMESTAMPTZ
+ * </pre>
+ *
+ * The relay claims a batch in a short transaction (under an advisory lock,
+ * and only while no other claim is live), sends it with no transaction or
+ * connection held, then deletes what was applied and releases the rest in a
+ * second one. A failed batch is therefore retried before anything queued
+ * after it; a relay that dies mid-batch holds it until claim-time passes.
+ */
+class JdbcOpenFgaTupleOutbox implements OpenFgaTupleOutbox {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_.]*");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long relayLockKey;
+    private final long claimMillis;
+    private final String insertSql;
+    private final String claimSql;
+    private final String deleteSql;
+    private final String releaseSql;
+    private final String remainingSql;
+    private final String statsSql;
+
+    JdbcOpenFgaTupleOutbox(DataSource dataSource, String table, Duration claimTime) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid OpenFGA outbox table name: " + table);
+        }
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.relayLockKey = ("openfga-outbox:" + table).hashCode();
+        this.claimMillis = claimTime.toMillis();
+        this.insertSql = "INSERT INTO " + table + " (store_id, operation, user_ref, relation, object_ref)"
+                + " VALUES (?, ?, ?, ?, ?) RETURNING id";
+        this.claimSql = "UPDATE " + table + " SET claimed_until = now() + CAST(? AS double precision)"
+                + " * INTERVAL '1 millisecond'"
+                + " WHERE id IN (SELECT id FROM " + table + " ORDER BY id LIMIT ?)"
+                + " AND NOT EXISTS (SELECT 1 FROM " + table + " WHERE claimed_until > now())"
+                + " RETURNING id, store_id, operation, user_ref, relation, object_ref, created_at";
+        this.deleteSql = "DELETE FROM " + table + " WHERE id = ANY(?)";
+        this.releaseSql = "UPDATE " + table + " SET claimed_until = NULL WHERE id = ANY(?)";
+        this.remainingSql = "SELECT id FROM " + table + " WHERE id = ANY(?)";
+        this.statsSql = "SELECT count(*), min(created_at) FROM " + table;
+    }
+
+    @Override
+    public long append(String storeId, Operation operation, String user, String relation, String object) {
+        Long id = jdbcTemplate.queryForObject(insertSql, Long.class, storeId, operation.name(), user, relation,
+                object);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * JdbcTemplate runs on the connection a transaction manager bound to this
+     * DataSource, if there is one.
+     */
+    @Override
+    public boolean joinsCurrentTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.hasResource(dataSource);
+    }
+
+    @Override
+    public int relay(int limit, Function<List<Entry>, Collection<Long>> relay) {
+        List<Entry> entries = transactionTemplate.execute(status -> claim(limit));
+        if (entries == null || entries.isEmpty()) {
+            return 0;
+        }
+        Collection<Long> done = List.of();
+        try {
+            done = relay.apply(entries);
+        } finally {
+            finish(entries, done);
+        }
+        return entries.size();
+    }
+
+    private List<Entry> claim(int limit) {
+        // Serializes the check for a live claim with taking one
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                relayLockKey);
+        if (!Boolean.TRUE.equals(locked)) {
+            return List.of();
+        }
+        List<Entry> entries = jdbcTemplate.query(claimSql, JdbcOpenFgaTupleOutbox::entry, claimMillis, limit);
+        // RETURNING does not keep the subquery's order
+        return entries.stream().sorted(Comparator.comparingLong(Entry::id)).toList();
+    }
+
+    private void finish(List<Entry> entries, Collection<Long> done) {
+        List<Long> claimed = entries.stream().map(Entry::id).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!done.isEmpty()) {
+                jdbcTemplate.update(connection -> idsStatement(connection.prepareStatement(deleteSql), done));
+            }
+            jdbcTemplate.update(connection -> idsStatement(connection.prepareStatement(releaseSql), claimed));
+        });
+    }
+
+    @Override
+    public Set<Long> remaining(Collection<Long> ids) {
+        Set<Long> remaining = new HashSet<>();
+        jdbcTemplate.query(connection -> idsStatement(connection.prepareStatement(remainingSql), ids),
+                (ResultSet rs) -> {
+                    remaining.add(rs.getLong(1));
+                });
+        return remaining;
+    }
+
+    @Override
+    public Stats stats() {
+        return jdbcTemplate.queryForObject(statsSql, (rs, rowNum) -> {
+            Timestamp oldest = rs.getTimestamp(2);
+            return new Stats(rs.getLong(1), oldest != null ? oldest.toInstant() : null);
+        });
+    }
+
+    private static PreparedStatement idsStatement(PreparedStatement statement, Collection<Long> ids)
+            throws SQLException {
+        statement.setArray(1, statement.getConnection().createArrayOf("bigint", ids.toArray()));
+        return statement;
+    }
+
+    private static Entry entry(ResultSet rs, int rowNum) throws SQLException {
+        return new Entry(
+                rs.getLong("id"),
+                rs.getString("store_id"),
+                Operation.valueOf(rs.getString("operation")),
+                rs.getString("user_ref"),
+                rs.getString("relation"),
+                rs.getString("object_ref"),
+                rs.getTimestamp("created_at").toInstant());
+    }
+}
@@ -0,0 +1,36 @@
+package com.learning.common.infra.openfga;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link OpenFgaReader}: no thread waits on the
+ * OpenFGA round trip or on retries.
+ * 
+ * The tenant's store is resolved on the calling thread (TenantContext), so
+ * call these on the request thread; the futures complete on OpenFGA client
+ * threads. Reactive callers can wrap them, e.g.
+ * Mono.fromFuture(() -> reader.checkAsync(...)).
+ * 
+ * The futures never complete exceptionally: like the blocking methods,
+ * failed checks deny (default deny) and failed listings are empty.
+ */
+public interface OpenFgaAsyncReader {
+
+    /**
+     * @see OpenFgaReader#check
+     */
+    CompletableFuture<Boolean> checkAsync(String userId, String relation, String resourceType, String resourceId);
+
+    /**
+     * @see OpenFgaReader#listObjects
+     */
+    CompletableFuture<List<String>> listObjectsAsync(String userId, String relation, String resourceType);
+
+    /**
+     * @see OpenFgaReader#checkAll
+     */
+    CompletableFuture<Map<OpenFgaReader.CheckRequest, Boolean>> checkAllAsync(
+            List<OpenFgaReader.CheckRequest> checks);
+}
@@ -0,0 +1,30 @@
+package com.learning.common.infra.openfga;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link OpenFgaWriter}.
+ * 
+ * The tenant's store is resolved on the calling thread (TenantContext). The
+ * futures complete once OpenFGA has applied the change, and complete
+ * exceptionally (already logged) if it could not be applied; the blocking
+ * OpenFgaWriter methods ignore the failure.
+ */
+public interface OpenFgaAsyncWriter {
+
+    /**
+     * @see OpenFgaWriter#writeTuple
+     */
+    CompletableFuture<Void> writeTupleAsync(String userId, String relation, String resourceType, String resourceId);
+
+    /**
+     * @see OpenFgaWriter#deleteTuple
+     */
+    CompletableFuture<Void> deleteTupleAsync(String userId, String relation, String resourceType, String resourceId);
+
+    /**
+     * @see OpenFgaWriter#writeParentRelation
+     */
+    CompletableFuture<Void> writeParentRelationAsync(String childType, String childId, String parentType,
+            String parentId);
+}
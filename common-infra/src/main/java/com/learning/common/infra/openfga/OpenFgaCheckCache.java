@@ -0,0 +1,312 @@
+package com.learning.common.infra.openfga;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.BaseStatusListener;
+import org.redisson.codec.SerializationCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-instance cache of OpenFGA check decisions, scoped by store (one store
+ * per tenant) and keyed by user, relation and object.
+ *
+ * Writes through {@link OpenFgaClientWrapper} invalidate what they can
+ * affect: a user's tuple write or delete drops every decision cached for that
+ * user in the store (relations are computed, so any object may change), and a
+ * parent relation, or any tuple whose subject is an object rather than a
+ * user, drops the whole store. Invalidations are broadcast to the
+ * other instances over a Redis topic; pub/sub is at-most-once, so every
+ * (re)subscribe clears the cache and the short TTL bounds anything missed.
+ *
+ * Like NearCache, a check that races with an invalidation is not cached.
+ * Failed checks (denied by the resilience fallback) are never cached.
+ *
+ * Metrics (hit ratio = hit / (hit + miss)):
+ * <ul>
+ * <li>openfga.check.cache.gets{result=hit|miss}</li>
+ * <li>openfga.check.cache.loads - latency of the checks (and batch checks)
+ * sent to OpenFGA</li>
+ * <li>openfga.check.cache.saved - OpenFGA time avoided by hits, at the mean
+ * load latency</li>
+ * <li>openfga.check.cache.invalidations{source=local|remote}</li>
+ * <li>openfga.check.cache.size</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "openfga.enabled", havingValue = "true")
+public class OpenFgaCheckCache {
+
+    /**
+     * One invalidation of a user's decisions in a store; without a user, of
+     * the whole store.
+     */
+    record Invalidation(String origin, String storeId, String userId) implements Serializable {
+    }
+
+    record Key(String storeId, String userId, String relation, String object) {
+    }
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final boolean enabled;
+    private final RTopic topic;
+    private final Cache<Key, Boolean> decisions;
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer loads;
+    private final Counter saved;
+    private final Counter localInvalidations;
+    private final Counter remoteInvalidations;
+
+    @Autowired
+    public OpenFgaCheckCache(OpenFgaProperties properties, ObjectProvider<RedissonClient> redissonProvider,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(properties.getCheckCache(), topic(properties.getCheckCache(), redissonProvider.getIfAvailable()),
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * @param topic invalidation broadcast, or null to invalidate this instance only
+     */
+    OpenFgaCheckCache(OpenFgaProperties.CheckCache properties, RTopic topic, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.topic = enabled ? topic : null;
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+
+        this.hits = Counter.builder("openfga.check.cache.gets")
+                .description("OpenFGA check decisions looked up in the cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("openfga.check.cache.gets")
+                .description("OpenFGA check decisions looked up in the cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.loads = Timer.builder("openfga.check.cache.loads")
+                .description("Checks sent to OpenFGA on a cache miss")
+                .register(meterRegistry);
+        this.saved = Counter.builder("openfga.check.cache.saved")
+                .description("OpenFGA check time avoided by cache hits")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.localInvalidations = Counter.builder("openfga.check.cache.invalidations")
+                .description("Check cache invalidations")
+                .tag("source", "local")
+                .register(meterRegistry);
+        this.remoteInvalidations = Counter.builder("openfga.check.cache.invalidations")
+                .description("Check cache invalidations")
+                .tag("source", "remote")
+                .register(meterRegistry);
+        Gauge.builder("openfga.check.cache.size", decisions, Cache::estimatedSize)
+                .description("Check decisions held in the cache")
+                .register(meterRegistry);
+
+        if (this.topic != null) {
+            subscribe(this.topic);
+        }
+    }
+
+    /**
+     * The cached decision, else the loader's, cached unless it failed.
+     *
+     * @param loader the OpenFGA check; null when it failed
+     * @return the decision, false if the check failed
+     */
+    public boolean check(String storeId, String userId, String relation, String object, Supplier<Boolean> loader) {
+        return checkAsync(storeId, userId, relation, object,
+                () -> CompletableFuture.completedFuture(loader.get())).join();
+    }
+
+    /**
+     * {@link #check} without waiting on the loader.
+     *
+     * @param loader starts the OpenFGA check; completes with null when it failed
+     */
+    public CompletableFuture<Boolean> checkAsync(String storeId, String userId, String relation, String object,
+            Supplier<CompletableFuture<Boolean>> loader) {
+        if (!enabled) {
+            return loader.get().thenApply(Boolean.TRUE::equals);
+        }
+        Key key = new Key(storeId, userId, relation, object);
+        Boolean cached = decisions.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            saved.increment(loads.mean(TimeUnit.SECONDS));
+            return CompletableFuture.completedFuture(cached);
+        }
+        misses.increment();
+
+        long observed = epoch.get();
+        long start = System.nanoTime();
+        return loader.get().thenApply(allowed -> {
+            loads.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (allowed == null) {
+                return false;
+            }
+            decisions.put(key, allowed);
+            // Re-check after the put so an invalidation landing in between wins
+            if (epoch.get() != observed) {
+                decisions.invalidate(key);
+            }
+            return allowed;
+        });
+    }
+
+    /**
+     * The cached decisions, the rest from one call of the loader, cached
+     * unless they failed. Used by OpenFgaReader.checkAll.
+     *
+     * @param loader starts checking the misses; a missing result means that
+     *               check failed
+     * @return decision per distinct key, in order; false for failed checks
+     */
+    CompletableFuture<Map<Key, Boolean>> checkAll(List<Key> keys,
+            Function<List<Key>, CompletableFuture<Map<Key, Boolean>>> loader) {
+        Map<Key, Boolean> results = new LinkedHashMap<>();
+        List<Key> missing = new ArrayList<>();
+        for (Key key : keys) {
+            if (results.containsKey(key)) {
+                continue;
+            }
+            Boolean cached = enabled ? decisions.getIfPresent(key) : null;
+            if (cached != null) {
+                hits.increment();
+                saved.increment(loads.mean(TimeUnit.SECONDS));
+            } else {
+                misses.increment();
+                missing.add(key);
+            }
+            // Misses keep their place in the order until loaded
+            results.put(key, cached);
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(results);
+        }
+
+        long observed = epoch.get();
+        long start = System.nanoTime();
+        return loader.apply(missing).thenApply(loaded -> {
+            loads.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            for (Key key : missing) {
+                Boolean allowed = loaded.get(key);
+                results.put(key, Boolean.TRUE.equals(allowed));
+                if (enabled && allowed != null) {
+                    decisions.put(key, allowed);
+                }
+            }
+            // Re-check after the puts so an invalidation landing in between wins
+            if (enabled && epoch.get() != observed) {
+                decisions.invalidateAll(missing);
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Drop the user's decisions in the store here and on every other instance.
+     */
+    public void invalidateUser(String storeId, String userId) {
+        if (!enabled) {
+            return;
+        }
+        invalidateLocal(storeId, userId);
+        localInvalidations.increment();
+        publish(new Invalidation(nodeId, storeId, userId));
+    }
+
+    /**
+     * Drop every decision in the store here and on every other instance.
+     */
+    public void invalidateStore(String storeId) {
+        invalidateUser(storeId, null);
+    }
+
+    /**
+     * Drop what a tuple written or deleted for userId can change: the user's
+     * decisions for a plain user id, every decision in the store when the
+     * subject is another object or a userset (e.g. "organization:o1" from
+     * OpenFgaTupleService.setParent), which reaches users through the
+     * hierarchy.
+     */
+    public void invalidateSubject(String storeId, String userId) {
+        if (userId.indexOf(':') >= 0 || userId.indexOf('#') >= 0) {
+            invalidateStore(storeId);
+        } else {
+            invalidateUser(storeId, userId);
+        }
+    }
+
+    void onMessage(Invalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        invalidateLocal(invalidation.storeId(), invalidation.userId());
+        remoteInvalidations.increment();
+    }
+
+    private void invalidateLocal(String storeId, String userId) {
+        epoch.incrementAndGet();
+        decisions.asMap().keySet().removeIf(key -> key.storeId().equals(storeId)
+                && (userId == null || key.userId().equals(userId)));
+    }
+
+    private void subscribe(RTopic topic) {
+        topic.addListener(Invalidation.class, (channel, message) -> onMessage(message));
+        topic.addListener(new BaseStatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                log.info("OpenFGA check invalidation topic subscribed ({}), clearing check cache", channel);
+                epoch.incrementAndGet();
+                decisions.invalidateAll();
+            }
+        });
+    }
+
+    private void publish(Invalidation invalidation) {
+        if (topic == null) {
+            return;
+        }
+        // Fire-and-forget: the TTL bounds staleness on other instances if the broadcast is lost
+        topic.publishAsync(invalidation).whenComplete((receivers, error) -> {
+            if (error != null) {
+                log.warn("OpenFGA check invalidation publish failed for store {}: {}",
+                        invalidation.storeId(), error.getMessage());
+            }
+        });
+    }
+
+    private static RTopic topic(OpenFgaProperties.CheckCache properties, RedissonClient redissonClient) {
+        if (redissonClient == null) {
+            log.info("No Redisson client, OpenFGA check cache invalidations stay local");
+            return null;
+        }
+        return redissonClient.getTopic(properties.getTopic(), new SerializationCodec());
+    }
+}
@@ -8,16 +8,23 @@ import dev.openfga.sdk.api.client.model.ClientCheckRequest;
 import dev.openfga.sdk.api.client.model.ClientListObjectsRequest;
 import dev.openfga.sdk.api.client.model.ClientTupleKey;
 import dev.openfga.sdk.api.client.model.ClientWriteRequest;
-import dev.openfga.sdk.api.configuration.ClientConfiguration;
+import dev.openfga.sdk.api.model.BatchCheckItem;
+import dev.openfga.sdk.api.model.BatchCheckRequest;
+import dev.openfga.sdk.api.model.CheckRequestTupleKey;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * OpenFGA client wrapper implementing SOLID principles.
@@ -29,8 +36,15 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Uses the current tenant from TenantContext to determine which store to use
  * 
  * Performance Optimization:
- * - Clients are cached per store ID to avoid re-creation overhead
- * - Cache is thread-safe using ConcurrentHashMap
+ * - One HTTP transport (OpenFgaTransport) serves every store; store-bound
+ * clients over it are kept in a bounded cache
+ * - Check decisions are cached per store in OpenFgaCheckCache; writes through
+ * this wrapper invalidate them on every instance
+ * - checkAll sends the uncached checks as batch checks (OpenFGA 1.8+), in
+ * bounded chunks run in parallel
+ * - Every operation is async underneath (OpenFgaAsyncReader/Writer): SDK
+ * futures are composed, retries scheduled, and the blocking methods only
+ * join the result
  * 
  * SOLID Compliance:
  * - SRP: Single class wrapping SDK operations
@@ -42,25 +56,30 @@ import java.util.concurrent.ConcurrentHashMap;
  * Service Usage:
  * - Backend-service: Inject OpenFgaReader (check permissions only)
  * - Auth-service: Inject OpenFgaWriter (manage tuples)
+ * - Reactive callers: Inject OpenFgaAsyncReader/OpenFgaAsyncWriter
  */
 @Service
 @Slf4j
 @ConditionalOnProperty(name = "openfga.enabled", havingValue = "true")
-public class OpenFgaClientWrapper implements OpenFgaReader, OpenFgaWriter {
+public class OpenFgaClientWrapper implements OpenFgaReader, OpenFgaWriter, OpenFgaAsyncReader,
+        OpenFgaAsyncWriter {
 
     private final OpenFgaProperties properties;
     private final TenantRegistryService tenantRegistry;
     private final OpenFgaResilienceConfig resilience;
-
-    // Cache clients per store ID to avoid per-request creation overhead
-    private final Map<String, OpenFgaClient> clientCache = new ConcurrentHashMap<>();
+    private final OpenFgaCheckCache checkCache;
+    private final OpenFgaTransport transport;
 
     public OpenFgaClientWrapper(OpenFgaProperties properties,
             TenantRegistryService tenantRegistry,
-            OpenFgaResilienceConfig resilience) {
+            OpenFgaResilienceConfig resilience,
+            OpenFgaCheckCache checkCache,
+            OpenFgaTransport transport) {
         this.properties = Objects.requireNonNull(properties, "OpenFgaProperties cannot be null");
         this.tenantRegistry = Objects.requireNonNull(tenantRegistry, "TenantRegistryService cannot be null");
         this.resilience = Objects.requireNonNull(resilience, "OpenFgaResilienceConfig cannot be null");
+        this.checkCache = Objects.requireNonNull(checkCache, "OpenFgaCheckCache cannot be null");
+        this.transport = Objects.requireNonNull(transport, "OpenFgaTransport cannot be null");
         log.info("OpenFGA client wrapper initialized: url={}, resilience enabled",
                 properties.getApiUrl());
     }
@@ -70,7 +89,7 @@ public class OpenFgaClientWrapper implements OpenFgaReader, OpenFgaWriter {
      * 
      * @return Store ID for the current tenant, or empty if not configured
      */
-    private Optional<String> getCurrentStoreId() {
+    Optional<String> getCurrentStoreId() {
         String tenantId = TenantContext.getCurrentTenant();
 
         // Fallback to global store ID if no tenant context (e.g. system tasks)
@@ -106,27 +125,20 @@ public class OpenFgaClientWrapper implements OpenFgaReader, OpenFgaWriter {
     }
 
     /**
-     * Get or create an OpenFGA client for the given store ID.
-     * Clients are cached to avoid per-request creation overhead.
+     * Get the OpenFGA client for the given store ID, from the transport's
+     * bounded cache.
      */
     private OpenFgaClient getOrCreateClient(String storeId) {
-        return clientCache.computeIfAbsent(storeId, id -> {
-            try {
-                var configuration = new ClientConfiguration()
-                        .apiUrl(properties.getApiUrl())
-                        .storeId(id);
-
-                if (properties.getAuthorizationModelId() != null && !properties.getAuthorizationModelId().isBlank()) {
-                    configuration.authorizationModelId(properties.getAuthorizationModelId());
-                }
+        return transport.client(storeId);
+    }
 
-                log.debug("Created OpenFGA client for store: {}", id);
-                return new OpenFgaClient(configuration);
-            } catch (Exception e) {
-                log.error("Failed to create OpenFGA client for store {}: {}", id, e.getMessage());
-                throw new OpenFgaException("Failed to create OpenFGA client", e);
-            }
-        });
+    /**
+     * Send one write request to the store, without retry or circuit breaking:
+     * the OpenFgaTupleWriter relay keeps failed writes queued and retries them
+     * itself.
+     */
+    void write(String storeId, ClientWriteRequest request) throws Exception {
+        getOrCreateClient(storeId).write(request).get();
     }
 
     /**
@@ -140,7 +152,7 @@ public class OpenFgaClientWrapper implements OpenFgaReader, OpenFgaWriter {
     // Input Validation
     // ========================================================================
 
-    private void validateCheckParams(String userId, String relation, String objectType, String objectId) {
+    static void validateCheckParams(String userId, String relation, String objectType, String objectId) {
         if (userId == null || userId.isBlank()) {
             throw new IllegalArgumentException("userId cannot be null or blank");
         }
@@ -170,116 +182,266 @@ public class OpenFgaClientWrapper implements OpenFgaReader, OpenFgaWriter {
      */
     @Override
     public boolean check(String userId, String relation, String objectType, String objectId) {
+        return checkAsync(userId, relation, objectType, objectId).join();
+    }
+
+    /**
+     * Check many (user, relation, object) triples. Cached decisions are served
+     * from the check cache; the rest are sent as batch checks of at most
+     * openfga.batch-check.max-batch-size, up to max-parallel-requests at a
+     * time, each with the same retry and circuit breaker as check().
+     */
+    @Override
+    public Map<CheckRequest, Boolean> checkAll(List<CheckRequest> checks) {
+        return checkAllAsync(checks).join();
+    }
+
+    /**
+     * List all objects of a type that a user has a specific relation to.
+     */
+    @Override
+    public List<String> listObjects(String userId, String relation, String objectType) {
+        return listObjectsAsync(userId, relation, objectType).join();
+    }
+
+    /**
+     * Read all tuples (access grants) for a specific object.
+     * Used to list who has access to a resource.
+     * 
+     * @param objectType Type of object (folder, document)
+     * @param objectId   Object identifier
+     * @return List of TupleInfo with userId and relation
+     */
+    public List<OpenFgaTupleService.TupleInfo> readTuples(String objectType, String objectId) {
+        return readTuplesAsync(objectType, objectId).join();
+    }
+
+    // ========================================================================
+    // OpenFgaAsyncReader Implementation
+    // ========================================================================
+
+    @Override
+    public CompletableFuture<Boolean> checkAsync(String userId, String relation, String objectType,
+            String objectId) {
         validateCheckParams(userId, relation, objectType, objectId);
 
-        var clientOpt = getClientForCurrentTenant();
-        if (clientOpt.isEmpty()) {
+        var storeOpt = getCurrentStoreId();
+        if (storeOpt.isEmpty()) {
             log.debug("No OpenFGA client available for tenant, denying access by default");
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
+        String storeId = storeOpt.get();
+        OpenFgaClient client = getOrCreateClient(storeId);
+
+        return checkCache.checkAsync(storeId, userId, relation, objectType + ":" + objectId,
+                () -> checkRemote(client, userId, relation, objectType, objectId));
+    }
+
+    /**
+     * One check against OpenFGA.
+     *
+     * @return the decision, or null if it failed (never cached)
+     */
+    private CompletableFuture<Boolean> checkRemote(OpenFgaClient client, String userId, String relation,
+            String objectType, String objectId) {
+        var request = new ClientCheckRequest()
+                .user("user:" + userId)
+                .relation(relation)
+                ._object(objectType + ":" + objectId);
 
         // Use resilience wrapper for retry and circuit breaker
-        return resilience.executeWithResilience("check", () -> {
-            try {
-                var request = new ClientCheckRequest()
-                        .user("user:" + userId)
-                        .relation(relation)
-                        ._object(objectType + ":" + objectId);
-
-                var response = clientOpt.get().check(request).get();
-                boolean allowed = Boolean.TRUE.equals(response.getAllowed());
-
-                log.debug("OpenFGA check: user={}, relation={}, object={}:{} -> {}",
-                        userId, relation, objectType, objectId, allowed);
-
-                return allowed;
-            } catch (Exception e) {
-                throw new RuntimeException("OpenFGA check failed", e);
-            }
-        }, false); // Fail-safe: deny on error
+        return resilience.executeAsync("check", () -> client.check(request).thenApply(response -> {
+            boolean allowed = Boolean.TRUE.equals(response.getAllowed());
+
+            log.debug("OpenFGA check: user={}, relation={}, object={}:{} -> {}",
+                    userId, relation, objectType, objectId, allowed);
+
+            return allowed;
+        }), (Boolean) null); // Fail-safe: the cache denies on error
+    }
+
+    @Override
+    public CompletableFuture<Map<CheckRequest, Boolean>> checkAllAsync(List<CheckRequest> checks) {
+        checks.forEach(check -> validateCheckParams(check.userId(), check.relation(), check.resourceType(),
+                check.resourceId()));
+
+        Map<CheckRequest, Boolean> results = new LinkedHashMap<>();
+        var storeOpt = getCurrentStoreId();
+        if (storeOpt.isEmpty()) {
+            log.debug("No OpenFGA client available for tenant, denying {} checks by default", checks.size());
+            checks.forEach(check -> results.put(check, false));
+            return CompletableFuture.completedFuture(results);
+        }
+        String storeId = storeOpt.get();
+
+        Map<CheckRequest, OpenFgaCheckCache.Key> keys = new LinkedHashMap<>();
+        checks.forEach(check -> keys.computeIfAbsent(check, c -> new OpenFgaCheckCache.Key(storeId, c.userId(),
+                c.relation(), c.resourceType() + ":" + c.resourceId())));
+        return checkCache.checkAll(new ArrayList<>(keys.values()), missing -> batchCheckRemote(storeId, missing))
+                .thenApply(decisions -> {
+                    keys.forEach((check, key) -> results.put(check, decisions.get(key)));
+                    return results;
+                });
     }
 
     /**
-     * List all objects of a type that a user has a specific relation to.
+     * Batch checks against OpenFGA, chunked, with at most
+     * max-parallel-requests chunks in flight.
+     *
+     * @return decision per key; failed checks are left out
      */
+    private CompletableFuture<Map<OpenFgaCheckCache.Key, Boolean>> batchCheckRemote(String storeId,
+            List<OpenFgaCheckCache.Key> keys) {
+        int batchSize = Math.max(1, properties.getBatchCheck().getMaxBatchSize());
+        if (keys.size() <= batchSize) {
+            return batchCheckChunk(storeId, keys);
+        }
+
+        List<List<OpenFgaCheckCache.Key>> chunks = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            chunks.add(keys.subList(from, Math.min(from + batchSize, keys.size())));
+        }
+        Map<OpenFgaCheckCache.Key, Boolean> results = new ConcurrentHashMap<>();
+        AtomicInteger next = new AtomicInteger();
+        int lanes = Math.min(chunks.size(), Math.max(1, properties.getBatchCheck().getMaxParallelRequests()));
+        CompletableFuture<?>[] running = new CompletableFuture<?>[lanes];
+        for (int i = 0; i < lanes; i++) {
+            running[i] = batchCheckLane(storeId, chunks, next, results);
+        }
+        return CompletableFuture.allOf(running).thenApply(done -> results);
+    }
+
+    /**
+     * Sends the remaining chunks one after another.
+     */
+    private CompletableFuture<Void> batchCheckLane(String storeId, List<List<OpenFgaCheckCache.Key>> chunks,
+            AtomicInteger next, Map<OpenFgaCheckCache.Key, Boolean> results) {
+        int chunk = next.getAndIncrement();
+        if (chunk >= chunks.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return batchCheckChunk(storeId, chunks.get(chunk)).thenCompose(decisions -> {
+            results.putAll(decisions);
+            return batchCheckLane(storeId, chunks, next, results);
+        });
+    }
+
+    private CompletableFuture<Map<OpenFgaCheckCache.Key, Boolean>> batchCheckChunk(String storeId,
+            List<OpenFgaCheckCache.Key> chunk) {
+        List<BatchCheckItem> items = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            OpenFgaCheckCache.Key key = chunk.get(i);
+            items.add(new BatchCheckItem()
+                    .tupleKey(new CheckRequestTupleKey()
+                            .user("user:" + key.userId())
+                            .relation(key.relation())
+                            ._object(key.object()))
+                    .correlationId(Integer.toString(i)));
+        }
+        var request = new BatchCheckRequest().checks(items);
+        if (properties.getAuthorizationModelId() != null && !properties.getAuthorizationModelId().isBlank()) {
+            request.authorizationModelId(properties.getAuthorizationModelId());
+        }
+
+        // Use resilience wrapper for retry and circuit breaker
+        // Store-agnostic API: OpenFgaClient.batchCheck (SDK 0.7.2) never
+        // completes when a request fails
+        return resilience.executeAsync("batchCheck", () -> transport.api().batchCheck(storeId, request)
+                .thenApply(apiResponse -> {
+                    Map<OpenFgaCheckCache.Key, Boolean> decisions = new HashMap<>();
+                    apiResponse.getData().getResult().forEach((correlationId, result) -> {
+                        OpenFgaCheckCache.Key key = chunk.get(Integer.parseInt(correlationId));
+                        if (result.getError() != null) {
+                            log.debug("OpenFGA batch check item failed: user={}, relation={}, object={}: {}",
+                                    key.userId(), key.relation(), key.object(), result.getError().getMessage());
+                            return;
+                        }
+                        decisions.put(key, Boolean.TRUE.equals(result.getAllowed()));
+                    });
+
+                    log.debug("OpenFGA batchCheck: {} checks -> {} decided", chunk.size(), decisions.size());
+
+                    return decisions;
+                }), Map.of()); // Fail-safe: the cache denies what is missing
+    }
+
     @Override
-    public List<String> listObjects(String userId, String relation, String objectType) {
+    public CompletableFuture<List<String>> listObjectsAsync(String userId, String relation, String objectType) {
         if (userId == null || userId.isBlank() || relation == null || relation.isBlank()
                 || objectType == null || objectType.isBlank()) {
             log.warn("Invalid parameters for listObjects, returning empty list");
-            return List.of();
+            return CompletableFuture.completedFuture(List.of());
         }
 
         var clientOpt = getClientForCurrentTenant();
         if (clientOpt.isEmpty()) {
-            return List.of();
+            return CompletableFuture.completedFuture(List.of());
         }
 
-        try {
-            var request = new ClientListObjectsRequest()
-                    .user("user:" + userId)
-                    .relation(relation)
-                    .type(objectType);
+        var request = new ClientListObjectsRequest()
+                .user("user:" + userId)
+                .relation(relation)
+                .type(objectType);
 
-            var response = clientOpt.get().listObjects(request).get();
-            List<String> objects = response.getObjects();
+        return start(() -> clientOpt.get().listObjects(request))
+                .thenApply(response -> {
+                    List<String> objects = response.getObjects();
 
-            log.debug("OpenFGA listObjects: user={}, relation={}, type={} -> {} objects",
-                    userId, relation, objectType, objects != null ? objects.size() : 0);
+                    log.debug("OpenFGA listObjects: user={}, relation={}, type={} -> {} objects",
+                            userId, relation, objectType, objects != null ? objects.size() : 0);
 
-            return objects != null ? objects : List.of();
-        } catch (Exception e) {
-            log.error("OpenFGA listObjects failed: {}", e.getMessage());
-            return List.of();
-        }
+                    return objects != null ? objects : List.<String>of();
+                })
+                .exceptionally(e -> {
+                    log.error("OpenFGA listObjects failed: {}", OpenFgaResilienceConfig.unwrap(e).getMessage());
+                    return List.of();
+                });
     }
 
     /**
-     * Read all tuples (access grants) for a specific object.
-     * Used to list who has access to a resource.
-     * 
-     * @param objectType Type of object (folder, document)
-     * @param objectId   Object identifier
-     * @return List of TupleInfo with userId and relation
+     * {@link #readTuples} without blocking; never completes exceptionally.
      */
-    public List<OpenFgaTupleService.TupleInfo> readTuples(String objectType, String objectId) {
+    public CompletableFuture<List<OpenFgaTupleService.TupleInfo>> readTuplesAsync(String objectType,
+            String objectId) {
         if (objectType == null || objectType.isBlank() || objectId == null || objectId.isBlank()) {
             log.warn("Invalid parameters for readTuples, returning empty list");
-            return List.of();
+            return CompletableFuture.completedFuture(List.of());
         }
 
         var clientOpt = getClientForCurrentTenant();
         if (clientOpt.isEmpty()) {
-            return List.of();
+            return CompletableFuture.completedFuture(List.of());
         }
 
-        try {
-            var request = new dev.openfga.sdk.api.client.model.ClientReadRequest()
-                    ._object(objectType + ":" + objectId);
-
-            var response = clientOpt.get().read(request).get();
-            var tuples = response.getTuples();
-
-            if (tuples == null || tuples.isEmpty()) {
-                return List.of();
-            }
-
-            return tuples.stream()
-                    .filter(t -> t.getKey() != null)
-                    .map(t -> {
-                        String user = t.getKey().getUser();
-                        String relation = t.getKey().getRelation();
-                        // Extract userId from "user:xyz" format
-                        String userId = user != null && user.startsWith("user:")
-                                ? user.substring(5)
-                                : user;
-                        return new OpenFgaTupleService.TupleInfo(userId, relation);
-                    })
-                    .toList();
-        } catch (Exception e) {
-            log.error("OpenFGA readTuples failed for {}:{}: {}", objectType, objectId, e.getMessage());
-            return List.of();
-        }
+        var request = new dev.openfga.sdk.api.client.model.ClientReadRequest()
+                ._object(objectType + ":" + objectId);
+
+        return start(() -> clientOpt.get().read(request))
+                .thenApply(response -> {
+                    var tuples = response.getTuples();
+
+                    if (tuples == null || tuples.isEmpty()) {
+                        return List.<OpenFgaTupleService.TupleInfo>of();
+                    }
+
+                    return tuples.stream()
+                            .filter(t -> t.getKey() != null)
+                            .map(t -> {
+                                String user = t.getKey().getUser();
+                                String relation = t.getKey().getRelation();
+                                // Extract userId from "user:xyz" format
+                                String userId = user != null && user.startsWith("user:")
+                                        ? user.substring(5)
+                                        : user;
+                                return new OpenFgaTupleService.TupleInfo(userId, relation);
+                            })
+                            .toList();
+                })
+                .exceptionally(e -> {
+                    log.error("OpenFGA readTuples failed for {}:{}: {}", objectType, objectId,
+                            OpenFgaResilienceConfig.unwrap(e).getMessage());
+                    return List.of();
+                });
     }
 
     // ========================================================================
@@ -293,107 +455,157 @@ public class OpenFgaClientWrapper implements OpenFgaReader, OpenFgaWriter {
      */
     @Override
     public void writeTuple(String userId, String relation, String objectType, String objectId) {
+        awaitQuietly(writeTupleAsync(userId, relation, objectType, objectId));
+    }
+
+    /**
+     * Delete a relationship tuple (revoke access).
+     * This operation is non-throwing to avoid breaking caller flows.
+     */
+    @Override
+    public void deleteTuple(String userId, String relation, String objectType, String objectId) {
+        awaitQuietly(deleteTupleAsync(userId, relation, objectType, objectId));
+    }
+
+    /**
+     * Write a parent-child relationship for hierarchy.
+     */
+    @Override
+    public void writeParentRelation(String childType, String childId, String parentType, String parentId) {
+        awaitQuietly(writeParentRelationAsync(childType, childId, parentType, parentId));
+    }
+
+    // ========================================================================
+    // OpenFgaAsyncWriter Implementation
+    // ========================================================================
+
+    @Override
+    public CompletableFuture<Void> writeTupleAsync(String userId, String relation, String objectType,
+            String objectId) {
         validateCheckParams(userId, relation, objectType, objectId);
 
-        var clientOpt = getClientForCurrentTenant();
-        if (clientOpt.isEmpty()) {
+        var storeOpt = getCurrentStoreId();
+        if (storeOpt.isEmpty()) {
             log.warn("No OpenFGA client available, cannot write tuple: user={} -> {} -> {}:{}",
                     userId, relation, objectType, objectId);
-            return;
+            return CompletableFuture.failedFuture(new OpenFgaException("No OpenFGA store for the current tenant",
+                    null));
         }
+        OpenFgaClient client = getOrCreateClient(storeOpt.get());
+
+        var tuple = new ClientTupleKey()
+                .user("user:" + userId)
+                .relation(relation)
+                ._object(objectType + ":" + objectId);
+
+        var request = new ClientWriteRequest()
+                .writes(List.of(tuple));
 
         // Use resilience wrapper for retry and circuit breaker
-        resilience.executeWithResilience("writeTuple", () -> {
-            try {
-                var tuple = new ClientTupleKey()
-                        .user("user:" + userId)
-                        .relation(relation)
-                        ._object(objectType + ":" + objectId);
-
-                var request = new ClientWriteRequest()
-                        .writes(List.of(tuple));
-
-                clientOpt.get().write(request).get();
-
-                log.info("OpenFGA tuple written: user={} -> {} -> {}:{}",
-                        userId, relation, objectType, objectId);
-            } catch (Exception e) {
-                throw new RuntimeException("OpenFGA writeTuple failed", e);
-            }
-        });
+        return resilience.executeAsync("writeTuple", () -> client.write(request))
+                .whenComplete((response, e) -> {
+                    if (e == null) {
+                        log.info("OpenFGA tuple written: user={} -> {} -> {}:{}",
+                                userId, relation, objectType, objectId);
+                    }
+                    checkCache.invalidateSubject(storeOpt.get(), userId);
+                })
+                .thenApply(response -> null);
     }
 
-    /**
-     * Delete a relationship tuple (revoke access).
-     * This operation is non-throwing to avoid breaking caller flows.
-     */
     @Override
-    public void deleteTuple(String userId, String relation, String objectType, String objectId) {
+    public CompletableFuture<Void> deleteTupleAsync(String userId, String relation, String objectType,
+            String objectId) {
         validateCheckParams(userId, relation, objectType, objectId);
 
-        var clientOpt = getClientForCurrentTenant();
-        if (clientOpt.isEmpty()) {
+        var storeOpt = getCurrentStoreId();
+        if (storeOpt.isEmpty()) {
             log.warn("No OpenFGA client available, cannot delete tuple: user={} -/-> {} -> {}:{}",
                     userId, relation, objectType, objectId);
-            return;
+            return CompletableFuture.failedFuture(new OpenFgaException("No OpenFGA store for the current tenant",
+                    null));
         }
+        OpenFgaClient client = getOrCreateClient(storeOpt.get());
+
+        var tuple = new ClientTupleKey()
+                .user("user:" + userId)
+                .relation(relation)
+                ._object(objectType + ":" + objectId);
+
+        var request = new ClientWriteRequest()
+                .deletes(List.of(tuple));
 
         // Use resilience wrapper for retry and circuit breaker
-        resilience.executeWithResilience("deleteTuple", () -> {
-            try {
-                var tuple = new ClientTupleKey()
-                        .user("user:" + userId)
-                        .relation(relation)
-                        ._object(objectType + ":" + objectId);
-
-                var request = new ClientWriteRequest()
-                        .deletes(List.of(tuple));
-
-                clientOpt.get().write(request).get();
-
-                log.info("OpenFGA tuple deleted: user={} -/-> {} -> {}:{}",
-                        userId, relation, objectType, objectId);
-            } catch (Exception e) {
-                throw new RuntimeException("OpenFGA deleteTuple failed", e);
-            }
-        });
+        return resilience.executeAsync("deleteTuple", () -> client.write(request))
+                .whenComplete((response, e) -> {
+                    if (e == null) {
+                        log.info("OpenFGA tuple deleted: user={} -/-> {} -> {}:{}",
+                                userId, relation, objectType, objectId);
+                    }
+                    checkCache.invalidateSubject(storeOpt.get(), userId);
+                })
+                .thenApply(response -> null);
     }
 
-    /**
-     * Write a parent-child relationship for hierarchy.
-     */
     @Override
-    public void writeParentRelation(String childType, String childId, String parentType, String parentId) {
+    public CompletableFuture<Void> writeParentRelationAsync(String childType, String childId, String parentType,
+            String parentId) {
         if (childType == null || childId == null || parentType == null || parentId == null) {
             log.warn("Invalid parameters for writeParentRelation");
-            return;
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Invalid parameters for writeParentRelation"));
         }
 
-        var clientOpt = getClientForCurrentTenant();
-        if (clientOpt.isEmpty()) {
+        var storeOpt = getCurrentStoreId();
+        if (storeOpt.isEmpty()) {
             log.warn("No OpenFGA client available, cannot write parent relation");
-            return;
+            return CompletableFuture.failedFuture(new OpenFgaException("No OpenFGA store for the current tenant",
+                    null));
         }
+        OpenFgaClient client = getOrCreateClient(storeOpt.get());
+
+        var tuple = new ClientTupleKey()
+                .user(parentType + ":" + parentId)
+                .relation("parent")
+                ._object(childType + ":" + childId);
+
+        var request = new ClientWriteRequest()
+                .writes(List.of(tuple));
+
+        return start(() -> client.write(request))
+                .whenComplete((response, e) -> {
+                    if (e == null) {
+                        log.info("OpenFGA parent relation: {}:{} -> parent -> {}:{}",
+                                childType, childId, parentType, parentId);
+                    } else {
+                        log.error("OpenFGA writeParentRelation failed: {}:{} -> parent -> {}:{}: {}",
+                                childType, childId, parentType, parentId,
+                                OpenFgaResilienceConfig.unwrap(e).getMessage());
+                    }
+                    // Hierarchy changes reach every user's decisions on the child and below
+                    checkCache.invalidateStore(storeOpt.get());
+                })
+                .thenApply(response -> null);
+    }
 
+    /**
+     * Start an SDK call without retry; a failure to start fails the future.
+     */
+    private static <T> CompletableFuture<T> start(OpenFgaResilienceConfig.AsyncCall<T> call) {
         try {
-            var tuple = new ClientTupleKey()
-                    .user(parentType + ":" + parentId)
-                    .relation("parent")
-                    ._object(childType + ":" + childId);
-
-            var request = new ClientWriteRequest()
-                    .writes(List.of(tuple));
-
-            clientOpt.get().write(request).get();
-
-            log.info("OpenFGA parent relation: {}:{} -> parent -> {}:{}",
-                    childType, childId, parentType, parentId);
+            return call.start();
         } catch (Exception e) {
-            log.error("OpenFGA writeParentRelation failed: {}:{} -> parent -> {}:{}: {}",
-                    childType, childId, parentType, parentId, e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
     }
 
+    /**
+     * Blocking writes are non-throwing; failures were logged where they happened.
+     */
+    private static void awaitQuietly(CompletableFuture<Void> write) {
+        write.exceptionally(e -> null).join();
+    }
+
     /**
      * Check if OpenFGA is enabled and properly configured.
      */
@@ -410,7 +622,7 @@ public class OpenFgaClientWrapper implements OpenFgaReader, OpenFgaWriter {
      * Clear client cache. Useful for testing or when store configurations change.
      */
     public void clearClientCache() {
-        clientCache.clear();
+        transport.invalidateClients();
         log.debug("OpenFGA client cache cleared");
     }
 
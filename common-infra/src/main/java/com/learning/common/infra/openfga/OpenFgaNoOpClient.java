@@ -4,7 +4,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * No-op implementation of OpenFGA interfaces when disabled.
@@ -15,12 +18,13 @@ import java.util.List;
  * 
  * Usage:
  * - When openfga.enabled=false, this bean is active
- * - Services can safely inject OpenFgaReader/Writer without null checks
+ * - Services can safely inject OpenFgaReader/Writer (or their async
+ * counterparts) without null checks
  */
 @Service
 @Slf4j
 @ConditionalOnProperty(name = "openfga.enabled", havingValue = "false", matchIfMissing = true)
-public class OpenFgaNoOpClient implements OpenFgaReader, OpenFgaWriter {
+public class OpenFgaNoOpClient implements OpenFgaReader, OpenFgaWriter, OpenFgaAsyncReader, OpenFgaAsyncWriter {
 
     public OpenFgaNoOpClient() {
         log.info("OpenFGA disabled - using no-op implementation");
@@ -38,6 +42,14 @@ public class OpenFgaNoOpClient implements OpenFgaReader, OpenFgaWriter {
         return List.of(); // Return empty list when disabled
     }
 
+    @Override
+    public Map<CheckRequest, Boolean> checkAll(List<CheckRequest> checks) {
+        log.debug("OpenFGA (no-op): checkAll called but disabled");
+        Map<CheckRequest, Boolean> results = new LinkedHashMap<>();
+        checks.forEach(check -> results.put(check, false)); // Deny by default when disabled
+        return results;
+    }
+
     @Override
     public void writeTuple(String userId, String relation, String resourceType, String resourceId) {
         log.debug("OpenFGA (no-op): writeTuple called but disabled");
@@ -56,6 +68,43 @@ public class OpenFgaNoOpClient implements OpenFgaReader, OpenFgaWriter {
         // No-op when disabled
     }
 
+    @Override
+    public CompletableFuture<Boolean> checkAsync(String userId, String relation, String resourceType,
+            String resourceId) {
+        return CompletableFuture.completedFuture(check(userId, relation, resourceType, resourceId));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> listObjectsAsync(String userId, String relation, String resourceType) {
+        return CompletableFuture.completedFuture(listObjects(userId, relation, resourceType));
+    }
+
+    @Override
+    public CompletableFuture<Map<CheckRequest, Boolean>> checkAllAsync(List<CheckRequest> checks) {
+        return CompletableFuture.completedFuture(checkAll(checks));
+    }
+
+    @Override
+    public CompletableFuture<Void> writeTupleAsync(String userId, String relation, String resourceType,
+            String resourceId) {
+        writeTuple(userId, relation, resourceType, resourceId);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteTupleAsync(String userId, String relation, String resourceType,
+            String resourceId) {
+        deleteTuple(userId, relation, resourceType, resourceId);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> writeParentRelationAsync(String childType, String childId, String parentType,
+            String parentId) {
+        writeParentRelation(childType, childId, parentType, parentId);
+        return CompletableFuture.completedFuture(null);
+    }
+
     @Override
     public boolean isEnabled() {
         return false;
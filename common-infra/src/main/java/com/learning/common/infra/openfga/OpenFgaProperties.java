@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 /**
  * Configuration properties for OpenFGA integration.
  * Enable OpenFGA by setting openfga.enabled=true in application.yml
@@ -53,4 +56,146 @@ public class OpenFgaProperties {
      * Read timeout in milliseconds.
      */
     private int readTimeoutMs = 5000;
+
+    /**
+     * Per-instance cache of check decisions (see OpenFgaCheckCache).
+     */
+    private CheckCache checkCache = new CheckCache();
+
+    /**
+     * Chunking of OpenFgaReader.checkAll into batch-check calls.
+     */
+    private BatchCheck batchCheck = new BatchCheck();
+
+    /**
+     * Write-behind queue for tuple writes (see OpenFgaTupleWriter).
+     */
+    private Outbox outbox = new Outbox();
+
+    /**
+     * HTTP transport shared by every store (see OpenFgaTransport).
+     */
+    private Http http = new Http();
+
+    /**
+     * Bounded cache of store-bound clients over the shared transport.
+     */
+    private ClientCache clientCache = new ClientCache();
+
+    @Data
+    public static class CheckCache {
+
+        /**
+         * When false, every check goes to OpenFGA.
+         */
+        private boolean enabled = true;
+
+        private long maximumSize = 100_000;
+
+        /**
+         * How long a decision is reused. Writes through this service
+         * invalidate at once; this bounds staleness for tuples written
+         * elsewhere or invalidations lost in transit.
+         */
+        private Duration ttl = Duration.ofSeconds(10);
+
+        /**
+         * Redis topic carrying invalidations between instances.
+         */
+        private String topic = "openfga:check:invalidations";
+    }
+
+    @Data
+    public static class BatchCheck {
+
+        /**
+         * Checks per batch-check call; OpenFGA rejects batches over its
+         * max-checks-per-batch-check (50 by default).
+         */
+        private int maxBatchSize = 50;
+
+        /**
+         * Batch-check calls in flight at once for one checkAll.
+         */
+        private int maxParallelRequests = 4;
+    }
+
+    @Data
+    public static class Outbox {
+
+        /**
+         * When true, services that configure an OpenFgaTupleWriter queue
+         * tuple writes instead of sending them on the calling thread.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Postgres table holding queued writes.
+         */
+        private String table = "openfga_tuple_outbox";
+
+        /**
+         * Entries relayed per pass, and so the most tuples in one write
+         * request; OpenFGA accepts up to 100 by default.
+         */
+        private int batchSize = 100;
+
+        /**
+         * How often the relay looks for entries queued on other instances;
+         * writes queued here wake it at once.
+         */
+        private Duration pollInterval = Duration.ofMillis(200);
+
+        /**
+         * Upper bound of the relay's backoff while OpenFGA is failing.
+         */
+        private Duration maxBackoff = Duration.ofSeconds(30);
+
+        /**
+         * How long a relay's claim on a batch holds. Only one batch is claimed
+         * at a time, so this bounds how long a relay that died mid-batch
+         * stalls the others.
+         */
+        private Duration claimTime = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class Http {
+
+        /**
+         * Preferred HTTP version; HTTP_2 falls back to HTTP/1.1 when the server
+         * does not negotiate it.
+         */
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+
+        /**
+         * Most idle HTTP/1.1 connections kept for reuse (0 = unbounded).
+         */
+        private int poolSize = 64;
+
+        /**
+         * How long an idle HTTP/1.1 connection stays in the pool.
+         */
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        /**
+         * How long an HTTP/2 connection with no open streams is kept.
+         */
+        private Duration idleTimeout = Duration.ofSeconds(60);
+    }
+
+    @Data
+    public static class ClientCache {
+
+        /**
+         * Most store-bound clients kept; each is a light view over the
+         * shared transport.
+         */
+        private long maximumSize = 1_000;
+
+        /**
+         * Clients of stores unused for this long are dropped.
+         */
+        private Duration expireAfterAccess = Duration.ofMinutes(30);
+    }
 }
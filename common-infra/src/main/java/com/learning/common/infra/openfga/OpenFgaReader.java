@@ -34,8 +34,24 @@ public interface OpenFgaReader {
      */
     java.util.List<String> listObjects(String userId, String relation, String resourceType);
 
+    /**
+     * Check many (user, relation, resource) triples at once, e.g. to filter a
+     * page of resources by permission.
+     * 
+     * @param checks Checks to run; duplicates are checked once
+     * @return Result per check, in request order; false for denied and failed
+     *         checks (default deny)
+     */
+    java.util.Map<CheckRequest, Boolean> checkAll(java.util.List<CheckRequest> checks);
+
     /**
      * Check if OpenFGA is enabled.
      */
     boolean isEnabled();
+
+    /**
+     * One check for {@link #checkAll}.
+     */
+    record CheckRequest(String userId, String relation, String resourceType, String resourceId) {
+    }
 }
@@ -6,11 +6,18 @@ import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Supplier;
 
 /**
@@ -24,6 +31,9 @@ import java.util.function.Supplier;
  * - Wrap FGA SDK calls: resilience.executeWithResilience("check", () ->
  * fgaClient.check(...))
  * - Falls back to default value on persistent failure
+ * - Async SDK calls: resilience.executeAsync("check", () ->
+ * fgaClient.check(...), fallback); retries are scheduled rather than slept,
+ * so no thread waits on OpenFGA
  * 
  * SOLID: Single Responsibility - only handles resilience patterns
  */
@@ -34,6 +44,7 @@ public class OpenFgaResilienceConfig {
 
     private final Retry retry;
     private final CircuitBreaker circuitBreaker;
+    private final ScheduledExecutorService retryScheduler;
 
     public OpenFgaResilienceConfig() {
         // Configure Retry: 3 attempts with exponential backoff
@@ -60,6 +71,13 @@ public class OpenFgaResilienceConfig {
         CircuitBreakerRegistry cbRegistry = CircuitBreakerRegistry.of(cbConfig);
         this.circuitBreaker = cbRegistry.circuitBreaker("openfga");
 
+        // Only schedules async retries; the calls run on the SDK's HTTP client threads
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "openfga-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
         // Log state transitions
         circuitBreaker.getEventPublisher()
                 .onStateTransition(event -> log.warn("OpenFGA Circuit Breaker state change: {} -> {}",
@@ -108,6 +126,73 @@ public class OpenFgaResilienceConfig {
         }
     }
 
+    /**
+     * Execute an async call with retry and circuit breaker protection, without
+     * blocking: retries are scheduled after the wait, and an open circuit
+     * fails at once.
+     * 
+     * @param operationName Name for logging (e.g., "check", "writeTuple")
+     * @param call          Starts the operation
+     * @param fallback      Value to complete with if all retries fail or circuit is open
+     * @return Result of the call or fallback; never completes exceptionally
+     */
+    public <T> CompletableFuture<T> executeAsync(String operationName, AsyncCall<T> call, T fallback) {
+        return executeAsync(operationName, call).exceptionally(e -> fallback);
+    }
+
+    /**
+     * Execute an async call with retry and circuit breaker protection, without
+     * blocking. Used for write operations, whose callers decide what a failure
+     * means.
+     * 
+     * @return Result of the call; completes exceptionally (already logged) if
+     *         all retries fail or circuit is open
+     */
+    public <T> CompletableFuture<T> executeAsync(String operationName, AsyncCall<T> call) {
+        Supplier<CompletionStage<T>> started = () -> {
+            try {
+                return call.start();
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        };
+        // Compose: Circuit Breaker wraps Retry
+        return CircuitBreaker.decorateCompletionStage(circuitBreaker,
+                Retry.decorateCompletionStage(retry, retryScheduler, started))
+                .get()
+                .toCompletableFuture()
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.warn("OpenFGA {} failed after retries (circuit: {}): {}",
+                                operationName, circuitBreaker.getState(), unwrap(e).getMessage());
+                    }
+                });
+    }
+
+    /**
+     * An async OpenFGA SDK call; the SDK declares checked exceptions for
+     * invalid parameters.
+     */
+    @FunctionalInterface
+    public interface AsyncCall<T> {
+        CompletableFuture<T> start() throws Exception;
+    }
+
+    /**
+     * The cause of a failed future's exception.
+     */
+    static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+
+    @PreDestroy
+    void stop() {
+        retryScheduler.shutdownNow();
+    }
+
     /**
      * Check if circuit breaker is open (FGA unavailable).
      */
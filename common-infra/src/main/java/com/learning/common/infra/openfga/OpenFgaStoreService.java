@@ -1,7 +1,5 @@
 package com.learning.common.infra.openfga;
 
-import dev.openfga.sdk.api.client.OpenFgaClient;
-import dev.openfga.sdk.api.configuration.ClientConfiguration;
 import dev.openfga.sdk.api.model.CreateStoreRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +9,7 @@ import org.springframework.stereotype.Service;
 /**
  * Service to provision OpenFGA stores for tenants.
  * Call this during tenant signup to create a dedicated OpenFGA store.
+ * Store calls go over the shared {@link OpenFgaTransport}.
  * 
  * Usage in TenantProvisioner or signup flow:
  * 
@@ -32,6 +31,7 @@ import org.springframework.stereotype.Service;
 public class OpenFgaStoreService {
 
     private final OpenFgaProperties properties;
+    private final OpenFgaTransport transport;
 
     /**
      * Create a new OpenFGA store for a tenant.
@@ -50,17 +50,12 @@ public class OpenFgaStoreService {
         try {
             log.info("Creating OpenFGA store for tenant: {} ({})", tenantId, tenantName);
 
-            var configuration = new ClientConfiguration()
-                    .apiUrl(properties.getApiUrl());
-
-            var client = new OpenFgaClient(configuration);
-
             // Create store with tenant-specific name
             var request = new CreateStoreRequest()
                     .name(buildStoreName(tenantId, tenantName));
 
-            var response = client.createStore(request).get();
-            String storeId = response.getId();
+            var response = transport.api().createStore(request).get();
+            String storeId = response.getData().getId();
 
             log.info("✅ OpenFGA store created for tenant {}: {}", tenantId, storeId);
 
@@ -89,12 +84,7 @@ public class OpenFgaStoreService {
         try {
             log.info("Deleting OpenFGA store: {}", storeId);
 
-            var configuration = new ClientConfiguration()
-                    .apiUrl(properties.getApiUrl())
-                    .storeId(storeId);
-
-            var client = new OpenFgaClient(configuration);
-            client.deleteStore().get();
+            transport.api().deleteStore(storeId).get();
 
             log.info("✅ OpenFGA store deleted: {}", storeId);
 
@@ -0,0 +1,153 @@
+package com.learning.common.infra.openfga;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.learning.common.infra.openfga.OpenFgaClientWrapper.OpenFgaException;
+import dev.openfga.sdk.api.OpenFgaApi;
+import dev.openfga.sdk.api.client.ApiClient;
+import dev.openfga.sdk.api.client.OpenFgaClient;
+import dev.openfga.sdk.api.configuration.ClientConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * One HTTP transport for every OpenFGA store: a single JDK HttpClient (one
+ * connection pool, HTTP/2 where the server negotiates it) behind one SDK
+ * ApiClient.
+ *
+ * Store-agnostic calls (batch check, store management) go through
+ * {@link #api()} with the store id passed per request. Store-bound
+ * OpenFgaClients, which carry the store and model ids, are light views over
+ * the same transport, kept in a bounded cache that drops stores unused for a
+ * while.
+ *
+ * The JDK HttpClient takes its pool settings from system properties, read
+ * once when its first client is created: openfga.http.* sets them unless
+ * they are already set (-Djdk.httpclient.* wins). They apply to every JDK
+ * HttpClient in the JVM.
+ *
+ * Metrics:
+ * <ul>
+ * <li>openfga.http.requests - requests sent over the shared transport</li>
+ * <li>cache.gets{cache=openfgaClients,result=hit|miss}, cache.evictions,
+ * cache.size - reuse of store-bound clients</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "openfga.enabled", havingValue = "true")
+public class OpenFgaTransport {
+
+    private final OpenFgaProperties properties;
+    private final ApiClient apiClient;
+    private final OpenFgaApi api;
+    private final LoadingCache<String, OpenFgaClient> clients;
+
+    @Autowired
+    public OpenFgaTransport(OpenFgaProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(properties, meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    OpenFgaTransport(OpenFgaProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        OpenFgaProperties.Http http = properties.getHttp();
+        applyPoolSettings(http);
+
+        this.apiClient = new ApiClient(HttpClient.newBuilder()
+                .version(http.getVersion())
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs())));
+        Counter requests = Counter.builder("openfga.http.requests")
+                .description("Requests sent to OpenFGA over the shared transport")
+                .register(meterRegistry);
+        apiClient.setRequestInterceptor(request -> requests.increment());
+
+        try {
+            this.api = new OpenFgaApi(configuration(null), apiClient);
+        } catch (Exception e) {
+            throw new OpenFgaException("Failed to create OpenFGA API client", e);
+        }
+        this.clients = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getClientCache().getMaximumSize())
+                .expireAfterAccess(properties.getClientCache().getExpireAfterAccess())
+                .recordStats()
+                .build(this::newClient), "openfgaClients");
+
+        log.info("OpenFGA transport initialized: url={}, version={}, pool={}, keepAlive={}",
+                properties.getApiUrl(), http.getVersion(), http.getPoolSize(), http.getKeepAlive());
+    }
+
+    /**
+     * Store-agnostic API; every call takes the store id.
+     */
+    public OpenFgaApi api() {
+        return api;
+    }
+
+    /**
+     * Client bound to the store, over the shared transport.
+     */
+    public OpenFgaClient client(String storeId) {
+        return clients.get(storeId);
+    }
+
+    /**
+     * Drop every store-bound client; connections are kept.
+     */
+    public void invalidateClients() {
+        clients.invalidateAll();
+    }
+
+    long cachedClients() {
+        clients.cleanUp();
+        return clients.estimatedSize();
+    }
+
+    private OpenFgaClient newClient(String storeId) {
+        try {
+            log.debug("Created OpenFGA client for store: {}", storeId);
+            return new OpenFgaClient(configuration(storeId), apiClient);
+        } catch (Exception e) {
+            log.error("Failed to create OpenFGA client for store {}: {}", storeId, e.getMessage());
+            throw new OpenFgaException("Failed to create OpenFGA client", e);
+        }
+    }
+
+    /**
+     * No default headers: each client would add a header interceptor to the
+     * shared ApiClient.
+     */
+    private ClientConfiguration configuration(String storeId) {
+        var configuration = new ClientConfiguration()
+                .apiUrl(properties.getApiUrl());
+        configuration.readTimeout(Duration.ofMillis(properties.getReadTimeoutMs()));
+        if (storeId != null) {
+            configuration.storeId(storeId);
+        }
+        if (properties.getAuthorizationModelId() != null && !properties.getAuthorizationModelId().isBlank()) {
+            configuration.authorizationModelId(properties.getAuthorizationModelId());
+        }
+        return configuration;
+    }
+
+    private static void applyPoolSettings(OpenFgaProperties.Http http) {
+        setIfAbsent("jdk.httpclient.connectionPoolSize", Integer.toString(http.getPoolSize()));
+        setIfAbsent("jdk.httpclient.keepalive.timeout", Long.toString(http.getKeepAlive().toSeconds()));
+        setIfAbsent("jdk.httpclient.keepalive.timeout.h2", Long.toString(http.getIdleTimeout().toSeconds()));
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
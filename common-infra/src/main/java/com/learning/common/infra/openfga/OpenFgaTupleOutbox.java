@@ -0,0 +1,65 @@
+package com.learning.common.infra.openfga;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Durable queue of tuple writes and deletes behind {@link OpenFgaTupleWriter}.
+ */
+interface OpenFgaTupleOutbox {
+
+    enum Operation {
+        WRITE, DELETE
+    }
+
+    /**
+     * One queued operation.
+     *
+     * @param user   full OpenFGA user, e.g. "user:u1" or "project:p1"
+     * @param object full OpenFGA object, e.g. "organization:o1"
+     */
+    record Entry(long id, String storeId, Operation operation, String user, String relation, String object,
+            Instant createdAt) {
+
+        Tuple tuple() {
+            return new Tuple(user, relation, object);
+        }
+    }
+
+    record Tuple(String user, String relation, String object) {
+    }
+
+    record Stats(long depth, Instant oldest) {
+    }
+
+    /**
+     * @return the new entry's id
+     */
+    long append(String storeId, Operation operation, String user, String relation, String object);
+
+    /**
+     * @return whether {@link #append} on this thread takes part in a
+     *         transaction that is active on the outbox's database
+     */
+    boolean joinsCurrentTransaction();
+
+    /**
+     * Claim the oldest entries, up to the limit, hand them to the relay and
+     * delete the ones it returns as done; the others go back to the queue.
+     * Only one batch is claimed at a time across instances, so entries are
+     * applied in order.
+     *
+     * @return entries handed to the relay; 0 if another instance is relaying
+     */
+    int relay(int limit, Function<List<Entry>, Collection<Long>> relay);
+
+    /**
+     * @return those of the ids still queued
+     */
+    Set<Long> remaining(Collection<Long> ids);
+
+    Stats stats();
+}
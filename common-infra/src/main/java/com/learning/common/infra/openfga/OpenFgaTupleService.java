@@ -17,6 +17,9 @@ import org.springframework.stereotype.Service;
  * - When user removes share: tupleService.revokeAccess(userId, "editor",
  * "folder", folderId)
  * - When resource is deleted: tupleService.deleteAllTuples("folder", folderId)
+ * 
+ * Writes go through the primary OpenFgaWriter: the outbox-backed
+ * OpenFgaTupleWriter where a service configures one, else the wrapper.
  */
 @Service
 @Slf4j
@@ -25,6 +28,7 @@ import org.springframework.stereotype.Service;
 public class OpenFgaTupleService {
 
     private final OpenFgaClientWrapper fgaClient;
+    private final OpenFgaWriter fgaWriter;
 
     /**
      * Grant ownership when a resource is created.
@@ -36,7 +40,7 @@ public class OpenFgaTupleService {
      */
     public void grantOwnership(String userId, String resourceType, String resourceId) {
         log.info("Granting ownership: user={} -> owner -> {}:{}", userId, resourceType, resourceId);
-        fgaClient.writeTuple(userId, "owner", resourceType, resourceId);
+        fgaWriter.writeTuple(userId, "owner", resourceType, resourceId);
     }
 
     /**
@@ -49,7 +53,7 @@ public class OpenFgaTupleService {
      */
     public void grantAccess(String userId, String relation, String resourceType, String resourceId) {
         log.info("Granting access: user={} -> {} -> {}:{}", userId, relation, resourceType, resourceId);
-        fgaClient.writeTuple(userId, relation, resourceType, resourceId);
+        fgaWriter.writeTuple(userId, relation, resourceType, resourceId);
     }
 
     /**
@@ -62,7 +66,7 @@ public class OpenFgaTupleService {
      */
     public void revokeAccess(String userId, String relation, String resourceType, String resourceId) {
         log.info("Revoking access: user={} -/-> {} -> {}:{}", userId, relation, resourceType, resourceId);
-        fgaClient.deleteTuple(userId, relation, resourceType, resourceId);
+        fgaWriter.deleteTuple(userId, relation, resourceType, resourceId);
     }
 
     /**
@@ -80,7 +84,7 @@ public class OpenFgaTupleService {
         // This is a special tuple where the "user" is actually another object
         // Example: folder:folder-123 has parent project:proj-456
         // Written as: project:proj-456 -> project -> folder:folder-123
-        fgaClient.writeTuple(parentType + ":" + parentId, parentType.toLowerCase(), childType, childId);
+        fgaWriter.writeTuple(parentType + ":" + parentId, parentType.toLowerCase(), childType, childId);
     }
 
     /**
@@ -92,7 +96,7 @@ public class OpenFgaTupleService {
      */
     public void addUserToOrganization(String userId, String organizationId, String role) {
         log.info("Adding user to org: user={} -> {} -> organization:{}", userId, role, organizationId);
-        fgaClient.writeTuple(userId, role, "organization", organizationId);
+        fgaWriter.writeTuple(userId, role, "organization", organizationId);
     }
 
     /**
@@ -104,7 +108,7 @@ public class OpenFgaTupleService {
      */
     public void removeUserFromOrganization(String userId, String organizationId, String role) {
         log.info("Removing user from org: user={} -/-> {} -> organization:{}", userId, role, organizationId);
-        fgaClient.deleteTuple(userId, role, "organization", organizationId);
+        fgaWriter.deleteTuple(userId, role, "organization", organizationId);
     }
 
     /**
@@ -117,7 +121,7 @@ public class OpenFgaTupleService {
     public void linkProjectToOrganization(String projectId, String organizationId) {
         log.info("Linking project to org: organization:{} -> organization -> project:{}",
                 organizationId, projectId);
-        fgaClient.writeTuple("organization:" + organizationId, "organization", "project", projectId);
+        fgaWriter.writeTuple("organization:" + organizationId, "organization", "project", projectId);
     }
 
     /**
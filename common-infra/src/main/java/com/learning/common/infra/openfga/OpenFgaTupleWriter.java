@@ -0,0 +1,676 @@
+package com.learning.common.infra.openfga;
+
+import com.learning.common.infra.openfga.OpenFgaClientWrapper.OpenFgaException;
+import com.learning.common.infra.openfga.OpenFgaTupleOutbox.Entry;
+import com.learning.common.infra.openfga.OpenFgaTupleOutbox.Operation;
+import com.learning.common.infra.openfga.OpenFgaTupleOutbox.Stats;
+import com.learning.common.infra.openfga.OpenFgaTupleOutbox.Tuple;
+import dev.openfga.sdk.api.client.model.ClientTupleKey;
+import dev.openfga.sdk.api.client.model.ClientTupleKeyWithoutCondition;
+import dev.openfga.sdk.api.client.model.ClientWriteRequest;
+import dev.openfga.sdk.errors.FgaApiValidationError;
+import dev.openfga.sdk.errors.FgaInvalidParameterException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind {@link OpenFgaWriter}: tuple writes and deletes go to a
+ * Postgres outbox table (see JdbcOpenFgaTupleOutbox) and a background relay
+ * sends them to OpenFGA in batched write requests, off the request thread.
+ *
+ * <p>
+ * Callers inside a transaction on the outbox's own database queue in that
+ * transaction: the entry commits or rolls back with their change, and failing
+ * to queue it fails the transaction. Callers inside a transaction on another
+ * database, such as a tenant database, queue once it commits, in a separate
+ * statement. A rolled back change then never reaches OpenFGA, but a committed
+ * one reaches it at most once: if the instance dies between the commit and
+ * the insert, the tuple is lost and OpenFGA stays out of step until it is
+ * written again. Inserts that fail are kept in memory, in order, and retried
+ * by the relay; those beyond 10,000, or still waiting when the instance stops,
+ * are lost as well.
+ * </p>
+ *
+ * <p>
+ * The {@link OpenFgaAsyncWriter} methods return a future that completes once
+ * the write is applied, for callers that need to read their own writes; the
+ * {@link OpenFgaWriter} methods ignore it.
+ * </p>
+ *
+ * <p>
+ * Each relay pass claims up to batchSize entries in queue order, and sends one
+ * write request per store. Operations on the same tuple collapse to the last
+ * one, so duplicates are sent once and a write followed by a delete sends only
+ * the delete (the request is applied as a whole and cannot hold both). If
+ * OpenFGA rejects the request (400), the entries are sent one by one. A write
+ * of a tuple OpenFGA already has, or a delete of one it does not, counts as
+ * applied: the tuple already is as the entry wants it, which is also how a
+ * write cancelled by a later delete ends up. Other rejected entries (the
+ * tuple does not fit the model) are dropped, as retrying cannot help. Any
+ * other failure leaves the batch queued and the relay backs off up to
+ * maxBackoff. Applied writes invalidate the OpenFgaCheckCache like direct
+ * ones.
+ * </p>
+ *
+ * <p>
+ * Metrics:
+ * <ul>
+ * <li>openfga.outbox.depth - entries queued, all instances</li>
+ * <li>openfga.outbox.oldest.age - seconds the oldest entry has waited</li>
+ * <li>openfga.outbox.relay.lag - time from queueing to applied</li>
+ * <li>openfga.outbox.batch.size - tuples per write request</li>
+ * <li>openfga.outbox.entries{result=applied|collapsed|rejected}</li>
+ * <li>openfga.outbox.relay.failures</li>
+ * <li>openfga.outbox.append.failures{result=spooled|lost} - inserts kept in
+ * memory for retry, or dropped</li>
+ * <li>openfga.outbox.spooled - inserts waiting in memory for retry</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+public class OpenFgaTupleWriter implements OpenFgaWriter, OpenFgaAsyncWriter {
+
+    private static final int MAX_PENDING_LOOKUP = 1_000;
+    private static final int MAX_SPOOLED = 10_000;
+    private static final String WRITE_EXISTS = "cannot write a tuple which already exists";
+    private static final String DELETE_MISSING = "cannot delete a tuple which does not exist";
+    // Sent by older OpenFGA releases for either case
+    private static final String LEGACY_WRITE_EXISTS_OR_DELETE_MISSING =
+            "tuple to be written already existed or the tuple to be deleted did not exist";
+    private static final Duration STATS_INTERVAL = Duration.ofSeconds(5);
+
+    private final OpenFgaTupleOutbox outbox;
+    private final TupleSink sink;
+    private final Supplier<Optional<String>> storeResolver;
+    private final OpenFgaCheckCache checkCache;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final long maxBackoffNanos;
+
+    // Futures of entries queued by this instance, by entry id
+    private final Map<Long, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+    // Appends that failed, and those made after them, oldest first
+    private final Deque<Append> spool = new ArrayDeque<>();
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+    private long backoffNanos;
+    private long retryAtNanos;
+
+    private final Timer relayLag;
+    private final DistributionSummary batchSizes;
+    private final Counter applied;
+    private final Counter collapsed;
+    private final Counter rejected;
+    private final Counter relayFailures;
+    private final Counter appendsSpooled;
+    private final Counter appendsLost;
+    private ScheduledExecutorService relayExecutor;
+
+    public OpenFgaTupleWriter(OpenFgaProperties properties, OpenFgaClientWrapper client,
+            OpenFgaCheckCache checkCache, DataSource dataSource, MeterRegistry meterRegistry) {
+        this(properties.getOutbox(), new JdbcOpenFgaTupleOutbox(dataSource, properties.getOutbox().getTable(),
+                properties.getOutbox().getClaimTime()),
+                clientSink(client), client::getCurrentStoreId, checkCache, meterRegistry);
+        start();
+    }
+
+    /**
+     * Does not relay on its own; call {@link #relay()} directly.
+     */
+    OpenFgaTupleWriter(OpenFgaProperties.Outbox properties, OpenFgaTupleOutbox outbox, TupleSink sink,
+            Supplier<Optional<String>> storeResolver, OpenFgaCheckCache checkCache, MeterRegistry meterRegistry) {
+        this.outbox = outbox;
+        this.sink = sink;
+        this.storeResolver = storeResolver;
+        this.checkCache = checkCache;
+        this.batchSize = properties.getBatchSize();
+        this.pollIntervalNanos = properties.getPollInterval().toNanos();
+        this.maxBackoffNanos = properties.getMaxBackoff().toNanos();
+        this.retryAtNanos = System.nanoTime();
+
+        Gauge.builder("openfga.outbox.depth", depth, AtomicLong::get)
+                .description("OpenFGA tuple writes queued in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("openfga.outbox.oldest.age", oldestAgeMillis, age -> age.get() / 1000.0)
+                .description("Time the oldest queued OpenFGA tuple write has waited")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.relayLag = Timer.builder("openfga.outbox.relay.lag")
+                .description("Time from queueing an OpenFGA tuple write to applying it")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("openfga.outbox.batch.size")
+                .description("Tuples per OpenFGA write request sent by the outbox relay")
+                .register(meterRegistry);
+        this.applied = entries(meterRegistry, "applied");
+        this.collapsed = entries(meterRegistry, "collapsed");
+        this.rejected = entries(meterRegistry, "rejected");
+        this.relayFailures = Counter.builder("openfga.outbox.relay.failures")
+                .description("Outbox relay batches left queued after an OpenFGA failure")
+                .register(meterRegistry);
+        Gauge.builder("openfga.outbox.spooled", spool, OpenFgaTupleWriter::spooled)
+                .description("OpenFGA tuple writes waiting in memory to be queued in the outbox")
+                .register(meterRegistry);
+        this.appendsSpooled = appendFailures(meterRegistry, "spooled");
+        this.appendsLost = appendFailures(meterRegistry, "lost");
+    }
+
+    // ========================================================================
+    // OpenFgaWriter Implementation
+    // ========================================================================
+
+    @Override
+    public void writeTuple(String userId, String relation, String resourceType, String resourceId) {
+        writeTupleAsync(userId, relation, resourceType, resourceId);
+    }
+
+    @Override
+    public void deleteTuple(String userId, String relation, String resourceType, String resourceId) {
+        deleteTupleAsync(userId, relation, resourceType, resourceId);
+    }
+
+    @Override
+    public void writeParentRelation(String childType, String childId, String parentType, String parentId) {
+        writeParentRelationAsync(childType, childId, parentType, parentId);
+    }
+
+    /**
+     * Only created when openfga.enabled=true.
+     */
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    // ========================================================================
+    // OpenFgaAsyncWriter Implementation
+    // ========================================================================
+
+    /**
+     * Queue a tuple write.
+     *
+     * @return completes once OpenFGA has the tuple; fails if it was rejected
+     *         or could not be queued
+     */
+    @Override
+    public CompletableFuture<Void> writeTupleAsync(String userId, String relation, String resourceType,
+            String resourceId) {
+        OpenFgaClientWrapper.validateCheckParams(userId, relation, resourceType, resourceId);
+        return submit(Operation.WRITE, "user:" + userId, relation, resourceType + ":" + resourceId);
+    }
+
+    /**
+     * Queue a tuple delete.
+     *
+     * @return completes once OpenFGA no longer has the tuple; fails if it was
+     *         rejected or could not be queued
+     */
+    @Override
+    public CompletableFuture<Void> deleteTupleAsync(String userId, String relation, String resourceType,
+            String resourceId) {
+        OpenFgaClientWrapper.validateCheckParams(userId, relation, resourceType, resourceId);
+        return submit(Operation.DELETE, "user:" + userId, relation, resourceType + ":" + resourceId);
+    }
+
+    @Override
+    public CompletableFuture<Void> writeParentRelationAsync(String childType, String childId, String parentType,
+            String parentId) {
+        if (childType == null || childId == null || parentType == null || parentId == null) {
+            log.warn("Invalid parameters for writeParentRelation");
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Invalid parameters for writeParentRelation"));
+        }
+        return submit(Operation.WRITE, parentType + ":" + parentId, "parent", childType + ":" + childId);
+    }
+
+    // ========================================================================
+    // Relay
+    // ========================================================================
+
+    /**
+     * Relay queued entries until the outbox is drained, OpenFGA fails or
+     * another instance holds the relay, then complete the futures of entries
+     * other instances relayed.
+     */
+    void relay() {
+        appendSpooled();
+        if (System.nanoTime() - retryAtNanos < 0) {
+            return;
+        }
+        int relayed;
+        do {
+            relayed = outbox.relay(batchSize, this::relayBatch);
+        } while (relayed == batchSize && backoffNanos == 0);
+        completeRelayedElsewhere();
+    }
+
+    /**
+     * Refresh the depth and oldest entry age gauges.
+     */
+    void refreshStats() {
+        Stats stats = outbox.stats();
+        depth.set(stats.depth());
+        oldestAgeMillis.set(stats.oldest() != null
+                ? Math.max(0, Duration.between(stats.oldest(), Instant.now()).toMillis())
+                : 0);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (relayExecutor != null) {
+            relayExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Sends a batch of tuple operations for one store as one write request.
+     */
+    @FunctionalInterface
+    interface TupleSink {
+        void write(String storeId, List<Entry> entries) throws Exception;
+    }
+
+    private CompletableFuture<Void> submit(Operation operation, String user, String relation, String object) {
+        Optional<String> storeId = storeResolver.get();
+        if (storeId.isEmpty()) {
+            log.warn("No OpenFGA store for the current tenant, cannot queue tuple: {} {} {} {}",
+                    operation, user, relation, object);
+            return CompletableFuture.failedFuture(new OpenFgaException("No OpenFGA store for the current tenant",
+                    null));
+        }
+
+        Append append = new Append(new CompletableFuture<>(), storeId.get(), operation, user, relation, object);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(append);
+        } else if (outbox.joinsCurrentTransaction()) {
+            appendInTransaction(append);
+        } else {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        append(append);
+                    } else {
+                        append.future().cancel(false);
+                    }
+                }
+            });
+        }
+        return append.future();
+    }
+
+    /**
+     * A tuple operation waiting to be queued.
+     */
+    private record Append(CompletableFuture<Void> future, String storeId, Operation operation, String user,
+            String relation, String object) {
+    }
+
+    /**
+     * Queue the entry in the caller's transaction, so it commits or rolls back
+     * with the caller's change.
+     *
+     * @throws OpenFgaException if it cannot be queued, failing the transaction
+     */
+    private void appendInTransaction(Append append) {
+        long id;
+        try {
+            id = outbox.append(append.storeId(), append.operation(), append.user(), append.relation(),
+                    append.object());
+        } catch (Exception e) {
+            throw new OpenFgaException("Failed to queue OpenFGA tuple", e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    pending.put(id, append.future());
+                    triggerRelay();
+                } else {
+                    append.future().cancel(false);
+                }
+            }
+        });
+    }
+
+    /**
+     * Queue the entry on its own, or keep it in memory for the relay to retry
+     * if that fails or earlier entries are already waiting there.
+     */
+    private void append(Append append) {
+        synchronized (spool) {
+            if (!spool.isEmpty()) {
+                spool(append, null);
+                return;
+            }
+        }
+        try {
+            insert(append);
+        } catch (Exception e) {
+            synchronized (spool) {
+                spool(append, e);
+            }
+        }
+        triggerRelay();
+    }
+
+    private void insert(Append append) {
+        long id = outbox.append(append.storeId(), append.operation(), append.user(), append.relation(),
+                append.object());
+        // If the relay got there first, completeRelayedElsewhere finds it gone
+        pending.put(id, append.future());
+    }
+
+    /**
+     * Called holding the spool's lock.
+     *
+     * @param failure why the append failed; null if it waits behind others
+     */
+    private void spool(Append append, Exception failure) {
+        if (spool.size() >= MAX_SPOOLED) {
+            log.error("Failed to queue OpenFGA tuple {} {} {} {}, dropping it: {} others waiting",
+                    append.operation(), append.user(), append.relation(), append.object(), spool.size());
+            appendsLost.increment();
+            append.future().completeExceptionally(failure != null ? failure
+                    : new OpenFgaException("Too many OpenFGA tuples waiting to be queued", null));
+            return;
+        }
+        if (failure != null) {
+            log.warn("Failed to queue OpenFGA tuple {} {} {} {}, will retry: {}", append.operation(),
+                    append.user(), append.relation(), append.object(), failure.getMessage());
+        }
+        spool.addLast(append);
+        appendsSpooled.increment();
+    }
+
+    /**
+     * Queue the spooled entries in order, until one fails again.
+     */
+    private void appendSpooled() {
+        while (true) {
+            Append next;
+            synchronized (spool) {
+                next = spool.peekFirst();
+            }
+            if (next == null) {
+                return;
+            }
+            try {
+                insert(next);
+            } catch (Exception e) {
+                log.warn("Failed to queue spooled OpenFGA tuples, {} waiting: {}", spooled(spool), e.getMessage());
+                return;
+            }
+            synchronized (spool) {
+                spool.pollFirst();
+            }
+        }
+    }
+
+    private void triggerRelay() {
+        if (relayExecutor != null) {
+            relayExecutor.execute(this::relaySafely);
+        }
+    }
+
+    /**
+     * @return ids of the entries that are done: applied, superseded or rejected
+     */
+    private Collection<Long> relayBatch(List<Entry> entries) {
+        Map<String, Map<Tuple, List<Entry>>> byStore = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            byStore.computeIfAbsent(entry.storeId(), id -> new LinkedHashMap<>())
+                    .computeIfAbsent(entry.tuple(), tuple -> new ArrayList<>())
+                    .add(entry);
+        }
+
+        List<Long> done = new ArrayList<>();
+        boolean failed = false;
+        for (var store : byStore.entrySet()) {
+            if (!relayStore(store.getKey(), store.getValue().values(), done)) {
+                failed = true;
+            }
+        }
+        if (failed) {
+            relayFailures.increment();
+            backoffNanos = backoffNanos == 0 ? pollIntervalNanos : Math.min(backoffNanos * 2, maxBackoffNanos);
+            retryAtNanos = System.nanoTime() + backoffNanos;
+        } else {
+            backoffNanos = 0;
+        }
+        return done;
+    }
+
+    /**
+     * @param tuples the operations queued on each tuple, oldest first; only
+     *               the last is sent
+     * @return false if OpenFGA failed and entries were left queued
+     */
+    private boolean relayStore(String storeId, Collection<List<Entry>> tuples, List<Long> done) {
+        List<Entry> latest = tuples.stream().map(ops -> ops.get(ops.size() - 1)).toList();
+        try {
+            sink.write(storeId, latest);
+            batchSizes.record(latest.size());
+            tuples.forEach(ops -> applied(storeId, ops, done));
+            return true;
+        } catch (Exception e) {
+            if (!isRejection(e)) {
+                log.warn("OpenFGA write of {} tuples failed, keeping them queued: {}", latest.size(),
+                        e.getMessage());
+                return false;
+            }
+            if (latest.size() == 1) {
+                rejected(storeId, tuples.iterator().next(), e, done);
+                return true;
+            }
+        }
+
+        // One tuple fails the whole request: find it by sending them one by one
+        for (List<Entry> ops : tuples) {
+            try {
+                sink.write(storeId, List.of(ops.get(ops.size() - 1)));
+                batchSizes.record(1);
+                applied(storeId, ops, done);
+            } catch (Exception e) {
+                if (!isRejection(e)) {
+                    log.warn("OpenFGA write failed, keeping remaining tuples queued: {}", e.getMessage());
+                    return false;
+                }
+                rejected(storeId, ops, e, done);
+            }
+        }
+        return true;
+    }
+
+    private void rejected(String storeId, List<Entry> ops, Exception e, List<Long> done) {
+        Entry entry = ops.get(ops.size() - 1);
+        if (isAlreadyApplied(entry, e)) {
+            log.debug("OpenFGA already has {} {} {} {} applied", entry.operation(), entry.user(), entry.relation(),
+                    entry.object());
+            applied(storeId, ops, done);
+            return;
+        }
+        log.error("OpenFGA rejected {} {} {} {}, dropping it: {}", entry.operation(), entry.user(),
+                entry.relation(), entry.object(), e.getMessage());
+        rejected.increment(ops.size());
+        for (Entry op : ops) {
+            done.add(op.id());
+            CompletableFuture<Void> future = pending.remove(op.id());
+            if (future != null) {
+                future.completeExceptionally(new OpenFgaException("OpenFGA rejected the tuple", e));
+            }
+        }
+    }
+
+    private void applied(String storeId, List<Entry> ops, List<Long> done) {
+        applied.increment();
+        collapsed.increment(ops.size() - 1);
+        Instant now = Instant.now();
+        for (Entry op : ops) {
+            done.add(op.id());
+            relayLag.record(Duration.between(op.createdAt(), now));
+            CompletableFuture<Void> future = pending.remove(op.id());
+            if (future != null) {
+                future.complete(null);
+            }
+        }
+        String user = ops.get(0).user();
+        if (user.startsWith("user:")) {
+            checkCache.invalidateSubject(storeId, user.substring("user:".length()));
+        } else {
+            // Hierarchy changes reach every user's decisions on the child and below
+            checkCache.invalidateStore(storeId);
+        }
+    }
+
+    /**
+     * Entries queued here but relayed by another instance are gone from the
+     * outbox; their futures complete normally, whatever the outcome there.
+     */
+    private void completeRelayedElsewhere() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Long id : pending.keySet()) {
+            ids.add(id);
+            if (ids.size() == MAX_PENDING_LOOKUP) {
+                break;
+            }
+        }
+        ids.removeAll(outbox.remaining(ids));
+        for (Long id : ids) {
+            CompletableFuture<Void> future = pending.remove(id);
+            if (future != null) {
+                future.complete(null);
+            }
+        }
+    }
+
+    private static boolean isRejection(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof FgaApiValidationError || cause instanceof FgaInvalidParameterException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether OpenFGA rejected the entry's write because the tuple exists, or
+     * its delete because the tuple does not, going by the messages it answers
+     * write_failed_due_to_invalid_input with. Other rejections that mention a
+     * missing type or relation do not count.
+     */
+    private static boolean isAlreadyApplied(Entry entry, Throwable e) {
+        String message = entry.operation() == Operation.WRITE ? WRITE_EXISTS : DELETE_MISSING;
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof FgaApiValidationError error && error.getResponseData() != null) {
+                String body = error.getResponseData();
+                if (body.contains(message) || body.contains(LEGACY_WRITE_EXISTS_OR_DELETE_MISSING)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void start() {
+        relayExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "openfga-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relayExecutor.scheduleWithFixedDelay(this::relaySafely, pollIntervalNanos, pollIntervalNanos,
+                TimeUnit.NANOSECONDS);
+        relayExecutor.scheduleWithFixedDelay(this::refreshStatsSafely, 0, STATS_INTERVAL.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void relaySafely() {
+        try {
+            relay();
+        } catch (Exception e) {
+            log.warn("OpenFGA outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    private void refreshStatsSafely() {
+        try {
+            refreshStats();
+        } catch (Exception e) {
+            log.warn("OpenFGA outbox stats refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private static int spooled(Deque<Append> spool) {
+        synchronized (spool) {
+            return spool.size();
+        }
+    }
+
+    private static Counter appendFailures(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("openfga.outbox.append.failures")
+                .description("OpenFGA tuple writes that could not be queued in the outbox when made")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter entries(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("openfga.outbox.entries")
+                .description("OpenFGA tuple writes taken off the outbox")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static TupleSink clientSink(OpenFgaClientWrapper client) {
+        return (storeId, entries) -> {
+            List<ClientTupleKey> writes = new ArrayList<>();
+            List<ClientTupleKeyWithoutCondition> deletes = new ArrayList<>();
+            for (Entry entry : entries) {
+                if (entry.operation() == Operation.WRITE) {
+                    writes.add(new ClientTupleKey().user(entry.user()).relation(entry.relation())
+                            ._object(entry.object()));
+                } else {
+                    deletes.add(new ClientTupleKeyWithoutCondition().user(entry.user()).relation(entry.relation())
+                            ._object(entry.object()));
+                }
+            }
+            var request = new ClientWriteRequest();
+            if (!writes.isEmpty()) {
+                request.writes(writes);
+            }
+            if (!deletes.isEmpty()) {
+                request.deletes(deletes);
+            }
+            client.write(storeId, request);
+        };
+    }
+}
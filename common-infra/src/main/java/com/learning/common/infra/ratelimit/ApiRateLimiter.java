@@ -1,73 +1,104 @@
 package com.learning.common.infra.ratelimit;
 
-import io.github.resilience4j.ratelimiter.RateLimiter;
-import io.github.resilience4j.ratelimiter.RateLimiterConfig;
-import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 
 /**
  * Rate limiter service for API endpoints.
- * 
- * Uses Resilience4j RateLimiter with per-user limiting.
- * Default: 10 requests per second per user.
- * 
+ *
+ * Limits each user per endpoint with a lock-free GCRA cell (see
+ * {@link LocalRateLimiter}); idle users are dropped, so memory stays bounded
+ * however many users call. Limits come from app.rate-limit (see
+ * {@link RateLimitProperties}), default 10 requests per second per user.
+ *
+ * With app.rate-limit.distributed.enabled and a RedissonClient, the limits
+ * hold across all instances instead (see {@link RedisLeasedRateLimiter}),
+ * falling back to per-instance limits while Redis is unavailable.
+ *
  * Usage:
  * - if (!rateLimiter.tryAcquire("permission-api", userId)) { throw
  * TooManyRequestsException }
+ * - or annotate the controller method with {@code @RateLimited("permission-api")}
+ *
+ * Metrics:
+ * <ul>
+ * <li>ratelimit.rejected{endpoint}</li>
+ * <li>ratelimit.keys{endpoint} - users currently tracked</li>
+ * <li>ratelimit.redis.calls{endpoint,result=leased|refused|failed} - when
+ * distributed</li>
+ * </ul>
  */
 @Component
 @Slf4j
 public class ApiRateLimiter {
 
-    private final RateLimiterRegistry registry;
-    private final Map<String, RateLimiter> perUserLimiters = new ConcurrentHashMap<>();
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final RedisGcraScript redisScript;
+    private final Map<String, EndpointLimiter> endpoints = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ApiRateLimiter(RateLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider,
+            ObjectProvider<RedissonClient> redissonClientProvider) {
+        this(properties, meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry), System::nanoTime,
+                redisScript(properties, redissonClientProvider.getIfAvailable()));
+        log.info("API rate limiter initialized: {} requests per {} ({} endpoint overrides, {})",
+                properties.getLimitForPeriod(), properties.getPeriod(), properties.getEndpoints().size(),
+                redisScript != null ? "shared through Redis" : "per instance");
+    }
 
-    // Default: 10 requests per second (burst), refill 10 per second
-    private static final int DEFAULT_LIMIT_FOR_PERIOD = 10;
-    private static final Duration DEFAULT_LIMIT_REFRESH_PERIOD = Duration.ofSeconds(1);
-    private static final Duration DEFAULT_TIMEOUT = Duration.ofMillis(100);
+    ApiRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this(properties, meterRegistry, nanoClock, null);
+    }
 
-    public ApiRateLimiter() {
-        RateLimiterConfig defaultConfig = RateLimiterConfig.custom()
-                .limitForPeriod(DEFAULT_LIMIT_FOR_PERIOD)
-                .limitRefreshPeriod(DEFAULT_LIMIT_REFRESH_PERIOD)
-                .timeoutDuration(DEFAULT_TIMEOUT)
-                .build();
+    ApiRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock,
+            RedisGcraScript redisScript) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.redisScript = redisScript;
+    }
 
-        this.registry = RateLimiterRegistry.of(defaultConfig);
-        log.info("API rate limiter initialized: {} requests per {}",
-                DEFAULT_LIMIT_FOR_PERIOD, DEFAULT_LIMIT_REFRESH_PERIOD);
+    private static RedisGcraScript redisScript(RateLimitProperties properties, RedissonClient redissonClient) {
+        if (!properties.getDistributed().isEnabled()) {
+            return null;
+        }
+        if (redissonClient == null) {
+            log.warn("app.rate-limit.distributed.enabled is set but there is no RedissonClient; limiting per instance");
+            return null;
+        }
+        return new RedisGcraScript(redissonClient, properties.getDistributed().getTimeout());
     }
 
     /**
      * Try to acquire a rate limit permit for a specific user and endpoint.
-     * 
+     *
      * @param endpointName Name of the endpoint (e.g., "permission-share")
      * @param userId       User making the request
      * @return true if permitted, false if rate limited
      */
     public boolean tryAcquire(String endpointName, String userId) {
-        String key = endpointName + ":" + userId;
-        RateLimiter limiter = perUserLimiters.computeIfAbsent(key,
-                k -> registry.rateLimiter(k));
-
-        boolean permitted = limiter.acquirePermission();
-
-        if (!permitted) {
-            log.warn("Rate limit exceeded: endpoint={}, user={}", endpointName, userId);
-        }
-
-        return permitted;
+        EndpointLimiter endpoint = endpoints.get(endpointName);
+        return tryAcquire(endpoint != null ? endpoint : createEndpoint(endpointName, null, null), userId);
     }
 
     /**
      * Try to acquire with custom limits (for specific endpoints).
-     * 
+     * An app.rate-limit.endpoints entry for the endpoint takes precedence.
+     *
      * @param endpointName   Endpoint name
      * @param userId         User ID
      * @param limitForPeriod Max requests per period
@@ -75,44 +106,81 @@ public class ApiRateLimiter {
      * @return true if permitted
      */
     public boolean tryAcquire(String endpointName, String userId, int limitForPeriod, Duration refreshPeriod) {
-        String key = endpointName + ":" + userId;
-
-        RateLimiter limiter = perUserLimiters.computeIfAbsent(key, k -> {
-            RateLimiterConfig config = RateLimiterConfig.custom()
-                    .limitForPeriod(limitForPeriod)
-                    .limitRefreshPeriod(refreshPeriod)
-                    .timeoutDuration(DEFAULT_TIMEOUT)
-                    .build();
-            return RateLimiter.of(k, config);
-        });
+        EndpointLimiter endpoint = endpoints.get(endpointName);
+        return tryAcquire(endpoint != null ? endpoint : createEndpoint(endpointName, limitForPeriod, refreshPeriod),
+                userId);
+    }
 
-        boolean permitted = limiter.acquirePermission();
+    /**
+     * Get rate limiter metrics for a user/endpoint.
+     */
+    public RateLimiterMetrics getMetrics(String endpointName, String userId) {
+        EndpointLimiter endpoint = endpoints.get(endpointName);
+        if (endpoint == null) {
+            int limit = limitFor(endpointName, null, null).limitForPeriod();
+            return new RateLimiterMetrics(limit, 0);
+        }
+        return new RateLimiterMetrics(endpoint.limiter().availablePermits(userId), 0);
+    }
+
+    /**
+     * @param waitingThreads always 0: callers are never queued
+     */
+    public record RateLimiterMetrics(int availablePermissions, int waitingThreads) {
+    }
 
-        if (!permitted) {
-            log.warn("Rate limit exceeded: endpoint={}, user={}, limit={}/{}",
-                    endpointName, userId, limitForPeriod, refreshPeriod);
+    private boolean tryAcquire(EndpointLimiter endpoint, String userId) {
+        if (endpoint.limiter().tryAcquire(userId)) {
+            return true;
         }
+        endpoint.rejected().increment();
+        if (log.isDebugEnabled()) {
+            log.debug("Rate limit exceeded: endpoint={}, user={}, limit={}/{}", endpoint.name(), userId,
+                    endpoint.limiter().limitForPeriod(), endpoint.limiter().period());
+        }
+        return false;
+    }
 
-        return permitted;
+    private EndpointLimiter createEndpoint(String endpointName, Integer limitForPeriod, Duration period) {
+        return endpoints.computeIfAbsent(endpointName, name -> {
+            Limit limit = limitFor(name, limitForPeriod, period);
+            KeyedRateLimiter limiter = redisScript != null
+                    ? new RedisLeasedRateLimiter(name, limit.limitForPeriod(), limit.period(),
+                            properties.getMaximumKeys(), properties.getDistributed(), redisScript, nanoClock,
+                            meterRegistry)
+                    : new LocalRateLimiter(limit.limitForPeriod(), limit.period(), properties.getMaximumKeys(),
+                            nanoClock);
+            Gauge.builder("ratelimit.keys", limiter, KeyedRateLimiter::estimatedKeys)
+                    .description("Users currently tracked by the rate limiter")
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+            Counter rejected = Counter.builder("ratelimit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+            log.debug("Rate limiter created: endpoint={}, limit={}/{}", name, limit.limitForPeriod(), limit.period());
+            return new EndpointLimiter(name, limiter, rejected);
+        });
     }
 
     /**
-     * Get rate limiter metrics for a user/endpoint.
+     * Configured override, else the caller's limits, else the defaults.
      */
-    public RateLimiterMetrics getMetrics(String endpointName, String userId) {
-        String key = endpointName + ":" + userId;
-        RateLimiter limiter = perUserLimiters.get(key);
-
-        if (limiter == null) {
-            return new RateLimiterMetrics(DEFAULT_LIMIT_FOR_PERIOD, DEFAULT_LIMIT_FOR_PERIOD);
+    private Limit limitFor(String endpointName, Integer limitForPeriod, Duration period) {
+        RateLimitProperties.Limit override = properties.getEndpoints().get(endpointName);
+        if (override != null && override.getLimitForPeriod() != null) {
+            limitForPeriod = override.getLimitForPeriod();
         }
+        if (override != null && override.getPeriod() != null) {
+            period = override.getPeriod();
+        }
+        return new Limit(limitForPeriod != null ? limitForPeriod : properties.getLimitForPeriod(),
+                period != null ? period : properties.getPeriod());
+    }
 
-        var metrics = limiter.getMetrics();
-        return new RateLimiterMetrics(
-                metrics.getAvailablePermissions(),
-                metrics.getNumberOfWaitingThreads());
+    private record Limit(int limitForPeriod, Duration period) {
     }
 
-    public record RateLimiterMetrics(int availablePermissions, int waitingThreads) {
+    private record EndpointLimiter(String name, KeyedRateLimiter limiter, Counter rejected) {
     }
 }
@@ -0,0 +1,28 @@
+package com.learning.common.infra.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Rate limit for one endpoint, tracked per key (user).
+ *
+ * @see LocalRateLimiter
+ * @see RedisLeasedRateLimiter
+ */
+interface KeyedRateLimiter {
+
+    boolean tryAcquire(String key);
+
+    /**
+     * Requests the key could make right now.
+     */
+    int availablePermits(String key);
+
+    /**
+     * Keys currently tracked by this instance.
+     */
+    long estimatedKeys();
+
+    int limitForPeriod();
+
+    Duration period();
+}
@@ -0,0 +1,90 @@
+package com.learning.common.infra.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limit for one endpoint, tracked per key (user) with GCRA in this JVM.
+ *
+ * <p>
+ * Each key holds a single AtomicLong: its theoretical arrival time (TAT), the
+ * time at which it would be back to an empty bucket. A request is allowed if
+ * TAT is at most {@code (limit - 1) * interval} ahead of now, and then moves
+ * TAT one interval further. Acquiring is a CAS loop with no locks and no
+ * allocation once the key exists.
+ * </p>
+ *
+ * <p>
+ * Keys live in a size-bounded Caffeine map and expire one period after their
+ * last request; by then TAT is in the past, which is the same as a new key.
+ * </p>
+ */
+final class LocalRateLimiter implements KeyedRateLimiter {
+
+    private final int limitForPeriod;
+    private final Duration period;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> cells;
+
+    LocalRateLimiter(int limitForPeriod, Duration period, long maximumKeys, LongSupplier nanoClock) {
+        this.limitForPeriod = limitForPeriod;
+        this.period = period;
+        this.intervalNanos = period.toNanos() / limitForPeriod;
+        this.toleranceNanos = intervalNanos * (limitForPeriod - 1);
+        this.nanoClock = nanoClock;
+        this.cells = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(period)
+                .build();
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        AtomicLong tat = cells.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = tat.get();
+            // nanoTime values may be negative: compare by difference only
+            long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            if (start - now > toleranceNanos) {
+                return false;
+            }
+            if (tat.compareAndSet(current, start + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public int availablePermits(String key) {
+        AtomicLong tat = cells.getIfPresent(key);
+        long current = tat != null ? tat.get() : Long.MIN_VALUE;
+        long now = nanoClock.getAsLong();
+        if (current == Long.MIN_VALUE || current - now <= 0) {
+            return limitForPeriod;
+        }
+        long headroom = toleranceNanos + intervalNanos - (current - now);
+        return (int) Math.max(0, headroom / intervalNanos);
+    }
+
+    @Override
+    public long estimatedKeys() {
+        return cells.estimatedSize();
+    }
+
+    @Override
+    public int limitForPeriod() {
+        return limitForPeriod;
+    }
+
+    @Override
+    public Duration period() {
+        return period;
+    }
+}
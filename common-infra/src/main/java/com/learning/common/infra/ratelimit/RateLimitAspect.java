@@ -0,0 +1,44 @@
+package com.learning.common.infra.ratelimit;
+
+import com.learning.common.infra.exception.TooManyRequestsException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Aspect enforcing {@link RateLimited} on controller methods.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RateLimitAspect {
+
+    private static final String USER_HEADER = "X-User-Id";
+    private static final String ANONYMOUS = "anonymous";
+
+    private final ApiRateLimiter rateLimiter;
+
+    @Around("@annotation(rateLimited)")
+    public Object enforce(ProceedingJoinPoint joinPoint, RateLimited rateLimited) throws Throwable {
+        String userId = currentCaller();
+        if (!rateLimiter.tryAcquire(rateLimited.value(), userId)) {
+            throw new TooManyRequestsException(rateLimited.value(), userId);
+        }
+        return joinPoint.proceed();
+    }
+
+    private String currentCaller() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return ANONYMOUS;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String userId = request.getHeader(USER_HEADER);
+        return userId != null && !userId.isBlank() ? userId : request.getRemoteAddr();
+    }
+}
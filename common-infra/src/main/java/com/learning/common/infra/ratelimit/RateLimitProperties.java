@@ -0,0 +1,105 @@
+package com.learning.common.infra.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user API rate limits enforced by {@link ApiRateLimiter}.
+ *
+ * Top-level values are the defaults; entries under {@code endpoints}
+ * override them per endpoint name (as passed to ApiRateLimiter or
+ * {@link RateLimited}).
+ *
+ * Example:
+ *
+ * <pre>
+ * app:
+ *   rate-limit:
+ *     limit-for-period: 10
+ *     period: 1s
+ *     maximum-keys: 100000
+ *     endpoints:
+ *       permission-share:
+ *         limit-for-period: 5
+ *         period: 10s
+ *     distributed:
+ *       enabled: true
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Requests allowed per period, which is also the burst size.
+     */
+    private int limitForPeriod = 10;
+
+    private Duration period = Duration.ofSeconds(1);
+
+    /**
+     * Most users tracked per endpoint. Idle users are dropped after one
+     * period, when their limit is back to full anyway; this only bounds
+     * memory under a flood of distinct users.
+     */
+    private long maximumKeys = 100_000;
+
+    /**
+     * Per-endpoint overrides, keyed by endpoint name.
+     */
+    private Map<String, Limit> endpoints = new HashMap<>();
+
+    /**
+     * Share each limit across instances through Redis instead of applying it
+     * per instance.
+     */
+    private Distributed distributed = new Distributed();
+
+    @Data
+    public static class Limit {
+
+        private Integer limitForPeriod;
+
+        private Duration period;
+    }
+
+    @Data
+    public static class Distributed {
+
+        private boolean enabled = false;
+
+        private String keyPrefix = "ratelimit";
+
+        /**
+         * Share of a user's limit an instance takes from Redis at once. Larger
+         * leases mean fewer Redis calls; permits left in a lease when it
+         * expires are lost, so smaller leases waste less under contention.
+         */
+        private double leaseFraction = 0.1;
+
+        /**
+         * Fewest permits an instance takes from Redis at once (capped at the
+         * limit), so low limits do not cost a Redis call per request.
+         */
+        private int minLeaseSize = 5;
+
+        /**
+         * How long an instance may spend a lease before returning to Redis.
+         */
+        private Duration leaseTime = Duration.ofMillis(250);
+
+        /**
+         * Longest wait for Redis before limiting the request locally.
+         */
+        private Duration timeout = Duration.ofMillis(50);
+
+        /**
+         * How long to limit locally after a Redis failure before trying again.
+         */
+        private Duration retryInterval = Duration.ofSeconds(5);
+    }
+}
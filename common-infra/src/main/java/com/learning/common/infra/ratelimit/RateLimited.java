@@ -0,0 +1,30 @@
+package com.learning.common.infra.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to rate limit a controller method per calling user.
+ *
+ * <p>
+ * Usage: {@code @RateLimited("permission-share")}
+ *
+ * <p>
+ * The user is taken from the X-User-Id header (the client address when
+ * absent). Limits are those configured for the endpoint name under
+ * app.rate-limit.endpoints, else the app.rate-limit defaults. A rejected call
+ * throws TooManyRequestsException (HTTP 429).
+ */
+@Target({ ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimited {
+    /**
+     * Endpoint name, shared by all methods that should count against the
+     * same limit (e.g., "permission-share")
+     */
+    String value();
+}
@@ -0,0 +1,136 @@
+package com.learning.common.infra.ratelimit;
+
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * GCRA state per key in Redis, taken in blocks of permits.
+ *
+ * <p>
+ * Each key is a single string: its theoretical arrival time (TAT) in
+ * microseconds of the Redis clock, so every instance measures against the
+ * same time. One script call grants up to the requested number of permits,
+ * moving TAT one interval per permit, and expires the key once TAT has
+ * passed.
+ * </p>
+ *
+ * <p>
+ * Calls wait at most {@code timeout}; slow, failed and timed-out calls all
+ * throw {@link RedisUnavailableException}.
+ * </p>
+ */
+class RedisGcraScript {
+
+    /**
+     * KEYS[1] = TAT key; ARGV = interval (us), tolerance (us), permits
+     * requested (0 only reads). Returns {granted, micros until the next
+     * permit, permits available before this call}.
+     */
+    static final String SCRIPT = """
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local interval = tonumber(ARGV[1])
+            local tolerance = tonumber(ARGV[2])
+            local requested = tonumber(ARGV[3])
+            local stored = redis.call('GET', KEYS[1])
+            local tat = stored and tonumber(stored) or now
+            if tat < now then
+              tat = now
+            end
+            local available = math.max(0, math.floor((tolerance + interval - (tat - now)) / interval))
+            local granted = math.min(requested, available)
+            if granted > 0 then
+              tat = tat + granted * interval
+              redis.call('SET', KEYS[1], string.format('%d', tat), 'PX', math.ceil((tat - now) / 1000))
+              return {granted, 0, available}
+            end
+            return {0, math.max(0, tat - tolerance - now), available}
+            """;
+
+    private final RScript script;
+    private final long timeoutMillis;
+    private volatile String sha;
+
+    RedisGcraScript(RedissonClient redissonClient, Duration timeout) {
+        this.script = redissonClient.getScript(StringCodec.INSTANCE);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Takes up to {@code requested} permits for the key.
+     */
+    Grant acquire(String key, long intervalMicros, long toleranceMicros, int requested) {
+        List<Object> reply = evaluate(key, intervalMicros, toleranceMicros, requested);
+        return new Grant(((Number) reply.get(0)).intValue(), ((Number) reply.get(1)).longValue(),
+                ((Number) reply.get(2)).intValue());
+    }
+
+    /**
+     * Permits the key could take right now, without taking any.
+     */
+    int available(String key, long intervalMicros, long toleranceMicros) {
+        return acquire(key, intervalMicros, toleranceMicros, 0).available();
+    }
+
+    /**
+     * @param granted          permits taken, possibly fewer than requested
+     * @param retryAfterMicros when none were granted, time until the next one
+     * @param available        permits the key had before this call
+     */
+    record Grant(int granted, long retryAfterMicros, int available) {
+    }
+
+    private List<Object> evaluate(String key, long intervalMicros, long toleranceMicros, int requested) {
+        try {
+            try {
+                return call(currentSha(), key, intervalMicros, toleranceMicros, requested);
+            } catch (ExecutionException e) {
+                // Script cache flushed (restart, failover): load it again once
+                if (e.getCause() == null || !String.valueOf(e.getCause().getMessage()).contains("NOSCRIPT")) {
+                    throw e;
+                }
+                sha = null;
+                return call(currentSha(), key, intervalMicros, toleranceMicros, requested);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RedisUnavailableException(e);
+        } catch (ExecutionException e) {
+            throw new RedisUnavailableException(e.getCause());
+        } catch (TimeoutException | RuntimeException e) {
+            throw new RedisUnavailableException(e);
+        }
+    }
+
+    private List<Object> call(String digest, String key, long intervalMicros, long toleranceMicros, int requested)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return script.<List<Object>>evalShaAsync(RScript.Mode.READ_WRITE, digest, RScript.ReturnType.MULTI,
+                List.<Object>of(key), String.valueOf(intervalMicros), String.valueOf(toleranceMicros),
+                String.valueOf(requested))
+                .toCompletableFuture()
+                .get(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private String currentSha() throws InterruptedException, ExecutionException, TimeoutException {
+        String digest = sha;
+        if (digest == null) {
+            digest = script.scriptLoadAsync(SCRIPT).toCompletableFuture().get(timeoutMillis, TimeUnit.MILLISECONDS);
+            sha = digest;
+        }
+        return digest;
+    }
+
+    static class RedisUnavailableException extends RuntimeException {
+
+        RedisUnavailableException(Throwable cause) {
+            super("Redis rate limit script failed: " + cause, cause);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.learning.common.infra.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limit for one endpoint, tracked per key (user) with GCRA in Redis and
+ * so shared by every instance.
+ *
+ * <p>
+ * Instances do not call Redis per request. They lease a block of permits
+ * (lease-fraction of the limit, at least min-lease-size) from
+ * {@link RedisGcraScript} and spend it locally with a CAS, going back to
+ * Redis when the block is used up or older than lease-time. One caller per
+ * key asks Redis at a time; the others wait for its lease without holding a
+ * lock. Leased permits are already counted in Redis, so together
+ * the instances never admit more than the limit; an expired lease forfeits
+ * what is left of it, so under contention they may admit up to
+ * {@code instances x lease size} fewer.
+ * </p>
+ *
+ * <p>
+ * A key Redis turned down is not asked again until its next permit is due,
+ * so callers over the limit do not reach Redis either.
+ * </p>
+ *
+ * <p>
+ * If Redis fails or is slower than its timeout, this instance falls back to
+ * a {@link LocalRateLimiter} with the same limit (which then applies per
+ * instance) and tries Redis again after retry-interval.
+ * </p>
+ */
+@Slf4j
+final class RedisLeasedRateLimiter implements KeyedRateLimiter {
+
+    private final String endpoint;
+    private final String keyPrefix;
+    private final int limitForPeriod;
+    private final Duration period;
+    private final long intervalMicros;
+    private final long toleranceMicros;
+    private final int leaseSize;
+    private final long leaseNanos;
+    private final long retryNanos;
+    private final RedisGcraScript script;
+    private final LocalRateLimiter fallback;
+    private final LongSupplier nanoClock;
+    private final Cache<String, Lease> leases;
+    private final Counter leased;
+    private final Counter refused;
+    private final Counter failed;
+    private volatile long redisRetryAt;
+
+    RedisLeasedRateLimiter(String endpoint, int limitForPeriod, Duration period, long maximumKeys,
+            RateLimitProperties.Distributed distributed, RedisGcraScript script, LongSupplier nanoClock,
+            MeterRegistry meterRegistry) {
+        this.endpoint = endpoint;
+        this.keyPrefix = distributed.getKeyPrefix() + ":" + endpoint + ":";
+        this.limitForPeriod = limitForPeriod;
+        this.period = period;
+        this.intervalMicros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(period.toNanos()) / limitForPeriod);
+        this.toleranceMicros = intervalMicros * (limitForPeriod - 1);
+        this.leaseSize = Math.min(limitForPeriod,
+                Math.max(distributed.getMinLeaseSize(), (int) (limitForPeriod * distributed.getLeaseFraction())));
+        this.leaseNanos = distributed.getLeaseTime().toNanos();
+        this.retryNanos = distributed.getRetryInterval().toNanos();
+        this.script = script;
+        this.fallback = new LocalRateLimiter(limitForPeriod, period, maximumKeys, nanoClock);
+        this.nanoClock = nanoClock;
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(period)
+                .build();
+        this.leased = redisCalls(meterRegistry, endpoint, "leased");
+        this.refused = redisCalls(meterRegistry, endpoint, "refused");
+        this.failed = redisCalls(meterRegistry, endpoint, "failed");
+        this.redisRetryAt = nanoClock.getAsLong();
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        long start = nanoClock.getAsLong();
+        Lease lease = leases.getIfPresent(key);
+        if (lease == null) {
+            lease = leases.get(key, k -> new Lease(start));
+        }
+        long now = start;
+        while (true) {
+            if (lease.tryTake(now)) {
+                return true;
+            }
+            if (now - lease.refusedUntil < 0) {
+                return false;
+            }
+            if (now - redisRetryAt < 0) {
+                return fallback.tryAcquire(key);
+            }
+            // One Redis call per key at a time; the others take from its lease
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> running = lease.refilling.compareAndExchange(null, mine);
+            if (running == null) {
+                try {
+                    return lease.tryTake(nanoClock.getAsLong()) || refill(key, lease);
+                } finally {
+                    lease.refilling.set(null);
+                    mine.complete(null);
+                }
+            }
+            running.join();
+            now = nanoClock.getAsLong();
+        }
+    }
+
+    /**
+     * Lease permits for a key from Redis and take one of them.
+     */
+    private boolean refill(String key, Lease lease) {
+        RedisGcraScript.Grant grant;
+        try {
+            grant = script.acquire(keyPrefix + key, intervalMicros, toleranceMicros, leaseSize);
+        } catch (RedisGcraScript.RedisUnavailableException e) {
+            redisUnavailable(nanoClock.getAsLong(), e);
+            return fallback.tryAcquire(key);
+        }
+        long now = nanoClock.getAsLong();
+        if (grant.granted() == 0) {
+            refused.increment();
+            lease.refusedUntil = now + TimeUnit.MICROSECONDS.toNanos(grant.retryAfterMicros());
+            return false;
+        }
+        leased.increment();
+        lease.refill(grant.granted() - 1, now + leaseNanos);
+        return true;
+    }
+
+    @Override
+    public int availablePermits(String key) {
+        long now = nanoClock.getAsLong();
+        if (now - redisRetryAt < 0) {
+            return fallback.availablePermits(key);
+        }
+        Lease lease = leases.getIfPresent(key);
+        int local = lease != null ? lease.remaining(now) : 0;
+        try {
+            return Math.min(limitForPeriod, local + script.available(keyPrefix + key, intervalMicros, toleranceMicros));
+        } catch (RedisGcraScript.RedisUnavailableException e) {
+            redisUnavailable(now, e);
+            return fallback.availablePermits(key);
+        }
+    }
+
+    @Override
+    public long estimatedKeys() {
+        return leases.estimatedSize() + fallback.estimatedKeys();
+    }
+
+    @Override
+    public int limitForPeriod() {
+        return limitForPeriod;
+    }
+
+    @Override
+    public Duration period() {
+        return period;
+    }
+
+    int leaseSize() {
+        return leaseSize;
+    }
+
+    private void redisUnavailable(long now, Exception e) {
+        failed.increment();
+        redisRetryAt = now + retryNanos;
+        log.warn("Rate limiting endpoint {} locally for {}: {}", endpoint, Duration.ofNanos(retryNanos),
+                e.getMessage());
+    }
+
+    private static Counter redisCalls(MeterRegistry meterRegistry, String endpoint, String result) {
+        return Counter.builder("ratelimit.redis.calls")
+                .description("Permit leases requested from Redis")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Permits leased from Redis not yet spent by this instance.
+     */
+    private static final class Lease {
+
+        private final AtomicInteger remaining = new AtomicInteger();
+        private final AtomicReference<CompletableFuture<Void>> refilling = new AtomicReference<>();
+        private volatile long expiresAt;
+        private volatile long refusedUntil;
+
+        Lease(long now) {
+            this.expiresAt = now;
+            this.refusedUntil = now;
+        }
+
+        boolean tryTake(long now) {
+            if (now - expiresAt >= 0) {
+                return false;
+            }
+            int left;
+            while ((left = remaining.get()) > 0) {
+                if (remaining.compareAndSet(left, left - 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int remaining(long now) {
+            return now - expiresAt < 0 ? remaining.get() : 0;
+        }
+
+        void refill(int permits, long expiresAt) {
+            remaining.set(0);
+            this.expiresAt = expiresAt;
+            remaining.set(permits);
+        }
+    }
+}
@@ -8,11 +8,16 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Default implementation of TenantRegistryService that fetches tenant DB config
  * from platform-service via HTTP.
  * 
+ * Lookups go through {@link TenantLocalCache}: concurrent misses share one
+ * fetch, and expiring entries are refreshed in the background while the
+ * cached config keeps being served.
+ * 
  * All services needing tenant DB routing should use this implementation
  * (or provide their own if needed).
  */
@@ -29,31 +34,40 @@ public class PlatformServiceTenantRegistry implements TenantRegistryService {
             throw new IllegalArgumentException("Invalid tenant id");
         }
 
-        return localCache.get(tenantId, () -> fetchTenantDbInfo(tenantId));
-    }
-
-    private TenantDbConfig fetchTenantDbInfo(String tenantId) {
         try {
-            log.debug("Fetching DB config for tenant: {}", tenantId);
-
-            return platformWebClient.get()
-                    .uri("/internal/tenants/{tenantId}/db-info", tenantId)
-                    .retrieve()
-                    .bodyToMono(TenantDbConfig.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .retryWhen(reactor.util.retry.Retry.backoff(3, Duration.ofMillis(300)))
-                    .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Tenant not found: " + tenantId)))
-                    .map(info -> {
-                        String decryptedPassword = info.password() != null
-                                ? SimpleCryptoUtil.decrypt(info.password())
-                                : null;
-                        return new TenantDbConfig(info.jdbcUrl(), info.username(), decryptedPassword);
-                    })
-                    .blockOptional()
-                    .orElseThrow(() -> new IllegalArgumentException("Tenant not found: " + tenantId));
+            return localCache.get(tenantId, this::fetchTenantDbInfo);
         } catch (Throwable e) {
             log.error("Error fetching tenant config for tenant {}: {}", tenantId, e.getMessage());
             throw new RuntimeException("Failed to load tenant DB config: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Non-blocking fetch; the cache joins concurrent callers onto it and runs
+     * refreshes without holding a request thread.
+     */
+    private CompletableFuture<TenantDbConfig> fetchTenantDbInfo(String tenantId) {
+        log.debug("Fetching DB config for tenant: {}", tenantId);
+
+        return platformWebClient.get()
+                .uri("/internal/tenants/{tenantId}/db-info", tenantId)
+                .retrieve()
+                .bodyToMono(TenantDbConfig.class)
+                .timeout(Duration.ofSeconds(5))
+                .retryWhen(reactor.util.retry.Retry.backoff(3, Duration.ofMillis(300)))
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Tenant not found: " + tenantId)))
+                .map(PlatformServiceTenantRegistry::decryptPassword)
+                .toFuture();
+    }
+
+    /**
+     * Platform-service returns the DB password encrypted; decrypt it for use.
+     */
+    static TenantDbConfig decryptPassword(TenantDbConfig info) {
+        String decryptedPassword = info.password() != null
+                ? SimpleCryptoUtil.decrypt(info.password())
+                : null;
+        return new TenantDbConfig(info.jdbcUrl(), info.username(), decryptedPassword,
+                info.fgaStoreId(), info.storageMode(), info.slaTier());
+    }
 }
@@ -0,0 +1,208 @@
+package com.learning.common.infra.tenant;
+
+import com.learning.common.dto.TenantChange;
+import com.learning.common.dto.TenantChangeFeed;
+import com.learning.common.dto.TenantDbConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * TenantRegistryService backed by a full in-memory replica of the tenant
+ * registry, kept current by polling platform-service's change feed
+ * ({@code GET /internal/tenants/changes?since=<version>}).
+ *
+ * <ul>
+ * <li>load() is a local map read once the first full sync has completed</li>
+ * <li>A miss (tenant created since the last poll, or before the first sync)
+ * falls back to a one-off fetch through the wrapped registry</li>
+ * <li>Each poll starts resync-window versions below the last one read, as a
+ * change may commit after later versions were already read</li>
+ * <li>Every resync-interval the replica is re-read from version 0 and
+ * swapped in, dropping hard-deleted tenants</li>
+ * </ul>
+ *
+ * Metrics:
+ * <ul>
+ * <li>tenant.registry.replica.size - tenants held locally</li>
+ * <li>tenant.registry.replica.version - last applied feed version</li>
+ * <li>tenant.registry.replica.staleness - seconds since the last successful poll</li>
+ * <li>tenant.registry.replica.polls - feed polls, tagged by result</li>
+ * <li>tenant.registry.replica.fallbacks - misses served by a one-off fetch</li>
+ * </ul>
+ */
+@Slf4j
+public class ReplicatedTenantRegistry implements TenantRegistryService, AutoCloseable {
+
+    private final TenantRegistryService fallback;
+    private final TenantRegistryReplicationProperties properties;
+    private final LongFunction<TenantChangeFeed> feedClient;
+    private final Map<String, TenantChange> tenants = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService pollExecutor;
+    private final Counter pollSuccess;
+    private final Counter pollFailure;
+    private final Counter fallbacks;
+
+    private volatile long version;
+    private volatile boolean synced;
+    private volatile long lastSuccessNanos = System.nanoTime();
+    private long nextResyncNanos;
+
+    public ReplicatedTenantRegistry(WebClient platformWebClient,
+            TenantRegistryService fallback,
+            TenantRegistryReplicationProperties properties,
+            MeterRegistry meterRegistry) {
+        this(since -> platformWebClient.get()
+                .uri(uri -> uri.path("/internal/tenants/changes")
+                        .queryParam("since", since)
+                        .queryParam("limit", properties.getPageSize())
+                        .build())
+                .retrieve()
+                .bodyToMono(TenantChangeFeed.class)
+                .timeout(properties.getRequestTimeout())
+                .block(), fallback, properties, meterRegistry);
+        start();
+    }
+
+    /**
+     * Does not start polling; call {@link #poll()} directly.
+     */
+    ReplicatedTenantRegistry(LongFunction<TenantChangeFeed> feedClient,
+            TenantRegistryService fallback,
+            TenantRegistryReplicationProperties properties,
+            MeterRegistry meterRegistry) {
+        this.feedClient = feedClient;
+        this.fallback = fallback;
+        this.properties = properties;
+        this.pollExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tenant-registry-replicator");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.pollSuccess = Counter.builder("tenant.registry.replica.polls")
+                .description("Tenant change feed polls")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.pollFailure = Counter.builder("tenant.registry.replica.polls")
+                .description("Tenant change feed polls")
+                .tag("result", "failure")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("tenant.registry.replica.fallbacks")
+                .description("Tenant lookups that missed the replica and were fetched directly")
+                .register(meterRegistry);
+        Gauge.builder("tenant.registry.replica.size", tenants, Map::size)
+                .description("Tenants held in the local registry replica")
+                .register(meterRegistry);
+        Gauge.builder("tenant.registry.replica.version", this, r -> r.version)
+                .description("Last applied tenant change feed version")
+                .register(meterRegistry);
+        Gauge.builder("tenant.registry.replica.staleness", this,
+                r -> (System.nanoTime() - r.lastSuccessNanos) / 1e9)
+                .description("Seconds since the last successful change feed poll")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private void start() {
+        long interval = properties.getPollInterval().toMillis();
+        pollExecutor.scheduleWithFixedDelay(this::pollSafely, 0, interval, TimeUnit.MILLISECONDS);
+        log.info("Tenant registry replication started: pollInterval={}, resyncInterval={}",
+                properties.getPollInterval(), properties.getResyncInterval());
+    }
+
+    @Override
+    public TenantDbConfig load(String tenantId) {
+        if (tenantId == null || tenantId.isBlank()) {
+            throw new IllegalArgumentException("Invalid tenant id");
+        }
+
+        TenantChange replicated = tenants.get(tenantId);
+        if (replicated != null) {
+            return replicated.dbConfig();
+        }
+
+        // Not replicated yet: created since the last poll, or first sync still running
+        fallbacks.increment();
+        log.debug("Tenant {} not in registry replica (synced={}), fetching directly", tenantId, synced);
+        return fallback.load(tenantId);
+    }
+
+    /**
+     * Replicated status of a tenant (e.g. ACTIVE, SUSPENDED), if known.
+     */
+    public Optional<String> getStatus(String tenantId) {
+        return Optional.ofNullable(tenants.get(tenantId)).map(TenantChange::status);
+    }
+
+    public boolean isSynced() {
+        return synced;
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception e) {
+            pollFailure.increment();
+            log.warn("Tenant change feed poll failed (version={}): {}", version, e.getMessage());
+        }
+    }
+
+    /**
+     * Apply every change after resync-window versions below the current one,
+     * paging until the feed is drained. Runs a full resync instead on first
+     * use and every resync-interval.
+     */
+    void poll() {
+        boolean resync = !synced || System.nanoTime() - nextResyncNanos >= 0;
+        Map<String, TenantChange> snapshot = resync ? new HashMap<>() : tenants;
+        long cursor = resync ? 0 : Math.max(0, version - properties.getResyncWindow());
+
+        TenantChangeFeed page;
+        do {
+            page = feedClient.apply(cursor);
+            if (page == null) {
+                throw new IllegalStateException("Empty tenant change feed response");
+            }
+            for (TenantChange change : page.changes()) {
+                snapshot.put(change.tenantId(), decrypt(change));
+            }
+            cursor = page.version();
+        } while (page.hasMore() && !page.changes().isEmpty());
+
+        if (resync) {
+            tenants.keySet().retainAll(snapshot.keySet());
+            tenants.putAll(snapshot);
+            nextResyncNanos = System.nanoTime() + properties.getResyncInterval().toNanos();
+            if (!synced) {
+                log.info("Tenant registry replica synced: tenants={}, version={}", snapshot.size(), cursor);
+            }
+            synced = true;
+        }
+        // An empty page echoes the requested version, which may be inside the window
+        version = Math.max(version, cursor);
+        lastSuccessNanos = System.nanoTime();
+        pollSuccess.increment();
+    }
+
+    private static TenantChange decrypt(TenantChange change) {
+        return new TenantChange(change.tenantId(), change.version(), change.status(),
+                PlatformServiceTenantRegistry.decryptPassword(change.dbConfig()));
+    }
+
+    @Override
+    public void close() {
+        pollExecutor.shutdownNow();
+    }
+}
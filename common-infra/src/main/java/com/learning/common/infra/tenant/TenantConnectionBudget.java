@@ -0,0 +1,127 @@
+package com.learning.common.infra.tenant;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits a per-instance connection budget across tenant pools.
+ *
+ * Allocation is weighted max-min fair:
+ * <ol>
+ * <li>Every pool gets the per-pool minimum</li>
+ * <li>If the remaining budget covers all demand, every pool gets what it
+ * asked for</li>
+ * <li>Otherwise the remainder is water-filled by tier weight: pools asking for
+ * less than their weighted share are satisfied first, the rest split what is
+ * left in proportion to their weights</li>
+ * </ol>
+ *
+ * A pool never gets more than it asked for, so an idle tenant's unused share
+ * is available to busy ones.
+ */
+public class TenantConnectionBudget {
+
+    private final int maxConnections;
+    private final int minPerPool;
+    private final int maxPerPool;
+
+    public TenantConnectionBudget(int maxConnections, int minPerPool, int maxPerPool) {
+        if (minPerPool < 1 || maxPerPool < minPerPool) {
+            throw new IllegalArgumentException("Invalid per-pool bounds: min=" + minPerPool + ", max=" + maxPerPool);
+        }
+        this.maxConnections = maxConnections;
+        this.minPerPool = minPerPool;
+        this.maxPerPool = maxPerPool;
+    }
+
+    /**
+     * Demand reported by one tenant pool.
+     *
+     * @param tenantId tenant owning the pool
+     * @param desired  connections the pool would like to have
+     * @param weight   tier weight (higher gets a larger share under contention)
+     */
+    public record Claim(String tenantId, int desired, int weight) {
+    }
+
+    /**
+     * Compute the maximum pool size for each claim.
+     *
+     * @return tenantId to allocated maximum pool size
+     */
+    public Map<String, Integer> allocate(Collection<Claim> claims) {
+        Map<String, Integer> allocation = new HashMap<>();
+        List<Claim> unsatisfied = new ArrayList<>();
+        long remaining = maxConnections;
+
+        for (Claim claim : claims) {
+            allocation.put(claim.tenantId(), minPerPool);
+            remaining -= minPerPool;
+            if (clampDesired(claim) > minPerPool) {
+                unsatisfied.add(claim);
+            }
+        }
+
+        while (remaining > 0 && !unsatisfied.isEmpty()) {
+            long totalWeight = unsatisfied.stream().mapToLong(c -> Math.max(1, c.weight())).sum();
+            List<Claim> satisfied = new ArrayList<>();
+            long granted = 0;
+
+            for (Claim claim : unsatisfied) {
+                int need = clampDesired(claim) - allocation.get(claim.tenantId());
+                double share = (double) remaining * Math.max(1, claim.weight()) / totalWeight;
+                if (need <= share) {
+                    allocation.merge(claim.tenantId(), need, Integer::sum);
+                    granted += need;
+                    satisfied.add(claim);
+                }
+            }
+
+            if (satisfied.isEmpty()) {
+                distributeProportionally(unsatisfied, allocation, remaining, totalWeight);
+                break;
+            }
+            remaining -= granted;
+            unsatisfied.removeAll(satisfied);
+        }
+
+        return allocation;
+    }
+
+    /**
+     * Every remaining claim wants more than its share: hand out whole
+     * connections by weight, then give leftovers to the heaviest claims.
+     */
+    private void distributeProportionally(List<Claim> claims, Map<String, Integer> allocation,
+            long remaining, long totalWeight) {
+        long handedOut = 0;
+        for (Claim claim : claims) {
+            long share = remaining * Math.max(1, claim.weight()) / totalWeight;
+            allocation.merge(claim.tenantId(), (int) share, Integer::sum);
+            handedOut += share;
+        }
+
+        long leftover = remaining - handedOut;
+        List<Claim> byWeight = new ArrayList<>(claims);
+        byWeight.sort(Comparator.comparingInt(Claim::weight).reversed());
+        for (int i = 0; leftover > 0 && i < byWeight.size(); i++, leftover--) {
+            allocation.merge(byWeight.get(i).tenantId(), 1, Integer::sum);
+        }
+    }
+
+    private int clampDesired(Claim claim) {
+        return Math.max(minPerPool, Math.min(maxPerPool, claim.desired()));
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getMinPerPool() {
+        return minPerPool;
+    }
+}
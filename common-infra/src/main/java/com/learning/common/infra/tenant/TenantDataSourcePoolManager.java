@@ -0,0 +1,422 @@
+package com.learning.common.infra.tenant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.learning.common.dto.TenantDbConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded holder for per-tenant HikariDataSource instances.
+ *
+ * <ul>
+ * <li>Caps the number of live pools (Caffeine size eviction: least
+ * recently/frequently routed tenants go first)</li>
+ * <li>Closes pools that have not been routed to within the idle timeout</li>
+ * <li>Drains evicted pools: idle connections are closed immediately, the pool
+ * itself is closed once in-flight connections are returned and no checkout is
+ * under way (or the drain timeout elapses); callers still holding an evicted
+ * pool's {@link TenantPoolDataSource} are sent to the tenant's current pool</li>
+ * <li>Optionally enforces a per-instance connection budget: pools are resized
+ * through HikariConfigMXBean on a fixed interval, based on recent demand and
+ * the tenant's SLA tier (see {@link TenantConnectionBudget})</li>
+ * <li>Holds one shared pool per cluster database for SCHEMA storage mode;
+ * schema tenants get a {@link TenantSchemaDataSource} view of it instead of a
+ * pool of their own</li>
+ * </ul>
+ *
+ * Metrics:
+ * <ul>
+ * <li>tenant.datasource.pools.live - open tenant pools</li>
+ * <li>tenant.datasource.pools.draining - evicted pools waiting to close</li>
+ * <li>tenant.datasource.pool.evictions - removals, tagged by cause</li>
+ * <li>tenant.datasource.pool.create - pool creation latency, up to the first
+ * connection</li>
+ * <li>tenant.datasource.connections.budget / .allocated - budget and the sum
+ * of maximum pool sizes</li>
+ * <li>tenant.datasource.pool.resizes - pools resized by the rebalancer</li>
+ * <li>tenant.datasource.pools.schema - shared SCHEMA mode pools</li>
+ * </ul>
+ */
+@Slf4j
+public class TenantDataSourcePoolManager implements AutoCloseable {
+
+    private static final long DRAIN_POLL_INTERVAL_MS = 100;
+    private static final double LOAD_SMOOTHING_ALPHA = 0.5;
+    private static final int DEFAULT_TIER_WEIGHT = 1;
+
+    private final TenantPoolProperties properties;
+    private final TenantPoolProperties.Budget budgetProperties;
+    private final TenantConnectionBudget budget;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TenantPool> pools;
+    private final Set<TenantPoolDataSource> draining = ConcurrentHashMap.newKeySet();
+    private final Map<String, HikariDataSource> schemaPools = new ConcurrentHashMap<>();
+    private final Map<RemovalCause, Counter> evictionCounters = new ConcurrentHashMap<>();
+    private final Timer creationTimer;
+    private final Counter resizeCounter;
+    private final ScheduledExecutorService maintenanceExecutor;
+    private volatile boolean closed;
+
+    /**
+     * A live tenant pool plus what the rebalancer needs to size it.
+     */
+    private record TenantPool(TenantPoolDataSource handle, String slaTier, TenantPoolDemandTracker demand) {
+
+        HikariDataSource dataSource() {
+            return handle.pool();
+        }
+    }
+
+    public TenantDataSourcePoolManager(TenantPoolProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.budgetProperties = properties.getBudget();
+        this.budget = budgetProperties.isEnabled()
+                ? new TenantConnectionBudget(budgetProperties.getMaxConnections(),
+                        budgetProperties.getMinConnectionsPerPool(), budgetProperties.getMaxConnectionsPerPool())
+                : null;
+        this.meterRegistry = meterRegistry;
+        this.maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tenant-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pools = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxPools())
+                .expireAfterAccess(properties.getIdleEvictionTimeout())
+                .scheduler(Scheduler.systemScheduler())
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
+                .build();
+
+        this.creationTimer = Timer.builder("tenant.datasource.pool.create")
+                .description("Time to create a tenant connection pool and open its first connection")
+                .register(meterRegistry);
+        this.resizeCounter = Counter.builder("tenant.datasource.pool.resizes")
+                .description("Tenant pools resized by the connection budget rebalancer")
+                .register(meterRegistry);
+        Gauge.builder("tenant.datasource.pools.live", pools, Cache::estimatedSize)
+                .description("Open tenant connection pools")
+                .register(meterRegistry);
+        Gauge.builder("tenant.datasource.pools.draining", draining, Set::size)
+                .description("Evicted tenant pools waiting for in-flight connections")
+                .register(meterRegistry);
+        Gauge.builder("tenant.datasource.pools.schema", schemaPools, Map::size)
+                .description("Shared connection pools for schema-per-tenant storage")
+                .register(meterRegistry);
+        Gauge.builder("tenant.datasource.connections.allocated", this, TenantDataSourcePoolManager::allocatedConnections)
+                .description("Sum of maximum pool sizes across tenant pools")
+                .register(meterRegistry);
+
+        if (budget != null) {
+            Gauge.builder("tenant.datasource.connections.budget", budget, TenantConnectionBudget::getMaxConnections)
+                    .description("Max connections across all tenant pools")
+                    .register(meterRegistry);
+            long minimumNeeded = (long) properties.getMaxPools() * budget.getMinPerPool();
+            if (minimumNeeded > budget.getMaxConnections()) {
+                log.warn("Connection budget {} is below max-pools * min-connections-per-pool ({}), "
+                        + "budget can be exceeded when all pools are live", budget.getMaxConnections(), minimumNeeded);
+            }
+            long interval = budgetProperties.getRebalanceInterval().toMillis();
+            maintenanceExecutor.scheduleWithFixedDelay(this::rebalanceSafely, interval, interval, TimeUnit.MILLISECONDS);
+        }
+
+        log.info("Tenant pool manager initialized: maxPools={}, idleEvictionTimeout={}, drainTimeout={}, budget={}",
+                properties.getMaxPools(), properties.getIdleEvictionTimeout(), properties.getDrainTimeout(),
+                budget != null ? budget.getMaxConnections() : "disabled");
+    }
+
+    /**
+     * Get the pool for a tenant, creating it from the supplied config on first
+     * use. Each call counts as an access for LRU and idle eviction.
+     */
+    public DataSource getDataSource(String tenantId, Supplier<TenantDbConfig> configLoader) {
+        if (closed) {
+            throw new IllegalStateException("Tenant pool manager is closed");
+        }
+        return pools.get(tenantId, id -> createPool(id, configLoader)).handle();
+    }
+
+    /**
+     * Get a SCHEMA mode tenant's view of its cluster's shared pool. The
+     * shared pool is created on first use and lives until close().
+     */
+    public DataSource getSchemaDataSource(String tenantId, TenantDbConfig config) {
+        if (closed) {
+            throw new IllegalStateException("Tenant pool manager is closed");
+        }
+        String schema = TenantSchemas.schemaOf(config.jdbcUrl());
+        HikariDataSource clusterPool = schemaPools.computeIfAbsent(
+                TenantSchemas.clusterUrlOf(config.jdbcUrl()), this::createSchemaPool);
+        log.debug("Routing schema tenant {} to schema {} on pool {}", tenantId, schema, clusterPool.getPoolName());
+        return new TenantSchemaDataSource(clusterPool, schema);
+    }
+
+    /**
+     * Evict and drain a tenant's pool (e.g., after credential rotation or
+     * tenant deletion).
+     */
+    public void evict(String tenantId) {
+        pools.invalidate(tenantId);
+    }
+
+    /**
+     * Get count of open tenant pools.
+     */
+    public long getLivePoolCount() {
+        pools.cleanUp();
+        return pools.estimatedSize();
+    }
+
+    /**
+     * Get count of evicted pools still waiting for connections to be returned.
+     */
+    public int getDrainingPoolCount() {
+        return draining.size();
+    }
+
+    private TenantPool createPool(String tenantId, Supplier<TenantDbConfig> configLoader) {
+        TenantDbConfig config = configLoader.get();
+        log.info("Creating connection pool for tenant: {} with URL: {}", tenantId, config.jdbcUrl());
+
+        int maximumPoolSize = initialPoolSize();
+        TenantPoolDemandTracker demand = new TenantPoolDemandTracker();
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(config.jdbcUrl());
+        dataSource.setUsername(config.username());
+        dataSource.setPassword(config.password());
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(Math.min(properties.getMinimumIdle(), maximumPoolSize));
+        dataSource.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        dataSource.setIdleTimeout(properties.getIdleTimeout().toMillis());
+        dataSource.setMaxLifetime(properties.getMaxLifetime().toMillis());
+        dataSource.setPoolName("tenant-" + tenantId);
+        dataSource.setMetricsTrackerFactory(demand);
+        TenantPoolDataSource handle = new TenantPoolDataSource(dataSource,
+                () -> getDataSource(tenantId, configLoader), creationTimer);
+        return new TenantPool(handle, config.slaTier(), demand);
+    }
+
+    private HikariDataSource createSchemaPool(String clusterUrl) {
+        TenantPoolProperties.Schema schema = properties.getSchema();
+        log.info("Creating shared schema-tenant pool for URL: {}", clusterUrl);
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(clusterUrl);
+        dataSource.setUsername(schema.getUsername());
+        dataSource.setPassword(schema.getPassword());
+        dataSource.setMaximumPoolSize(schema.getMaximumPoolSize());
+        dataSource.setMinimumIdle(Math.min(schema.getMinimumIdle(), schema.getMaximumPoolSize()));
+        dataSource.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        dataSource.setIdleTimeout(properties.getIdleTimeout().toMillis());
+        dataSource.setMaxLifetime(properties.getMaxLifetime().toMillis());
+        // Hikari restores this schema on return, undoing the per-tenant search_path
+        dataSource.setSchema(schema.getDefaultSchema());
+        dataSource.setPoolName("tenant-schemas-" + schemaPools.size());
+        return dataSource;
+    }
+
+    /**
+     * New pools start at maximum-pool-size, or at whatever is left of the
+     * budget (never below the per-pool minimum) until the next rebalance.
+     */
+    private int initialPoolSize() {
+        if (budget == null) {
+            return properties.getMaximumPoolSize();
+        }
+        long unallocated = budget.getMaxConnections() - allocatedConnections();
+        int size = (int) Math.min(properties.getMaximumPoolSize(), unallocated);
+        return Math.max(budget.getMinPerPool(), size);
+    }
+
+    private long allocatedConnections() {
+        long allocated = 0;
+        for (TenantPool pool : pools.asMap().values()) {
+            allocated += pool.dataSource().getMaximumPoolSize();
+        }
+        for (TenantPoolDataSource handle : draining) {
+            allocated += handle.pool().getMaximumPoolSize();
+        }
+        return allocated;
+    }
+
+    // ========================================================================
+    // Connection budget
+    // ========================================================================
+
+    private void rebalanceSafely() {
+        try {
+            rebalance();
+        } catch (Exception e) {
+            log.warn("Tenant pool rebalance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Resize every live pool to its share of the connection budget.
+     * Runs on a fixed delay when the budget is enabled.
+     */
+    void rebalance() {
+        if (budget == null || closed) {
+            return;
+        }
+
+        Map<String, TenantPool> live = Map.copyOf(pools.asMap());
+        List<TenantConnectionBudget.Claim> claims = new ArrayList<>(live.size());
+        live.forEach((tenantId, pool) -> claims.add(new TenantConnectionBudget.Claim(
+                tenantId, desiredPoolSize(pool), tierWeight(pool.slaTier()))));
+
+        budget.allocate(claims).forEach((tenantId, size) -> resize(tenantId, live.get(tenantId), size));
+    }
+
+    /**
+     * Smoothed (active + pending) plus headroom; pools whose callers waited
+     * longer than the threshold or timed out ask to grow by half.
+     */
+    private int desiredPoolSize(TenantPool pool) {
+        HikariDataSource dataSource = pool.dataSource();
+        int current = dataSource.getMaximumPoolSize();
+        HikariPoolMXBean mxBean = dataSource.getHikariPoolMXBean();
+        int sample = mxBean == null ? 0 : mxBean.getActiveConnections() + mxBean.getThreadsAwaitingConnection();
+
+        double load = pool.demand().updateSmoothedLoad(sample, LOAD_SMOOTHING_ALPHA);
+        int desired = (int) Math.ceil(load * (1 + budgetProperties.getHeadroom()));
+
+        long averageWaitNanos = pool.demand().averageWaitNanosAndReset();
+        long timeouts = pool.demand().timeoutsAndReset();
+        if (timeouts > 0 || averageWaitNanos > budgetProperties.getWaitThreshold().toNanos()) {
+            desired = Math.max(desired, current + Math.max(1, current / 2));
+        }
+        return desired;
+    }
+
+    private int tierWeight(String slaTier) {
+        if (slaTier == null) {
+            return DEFAULT_TIER_WEIGHT;
+        }
+        return budgetProperties.getTierWeights().getOrDefault(slaTier.toUpperCase(), DEFAULT_TIER_WEIGHT);
+    }
+
+    private void resize(String tenantId, TenantPool pool, int size) {
+        HikariDataSource dataSource = pool.dataSource();
+        int current = dataSource.getMaximumPoolSize();
+        if (current == size || dataSource.isClosed()) {
+            return;
+        }
+
+        var config = dataSource.getHikariConfigMXBean();
+        if (size > current) {
+            config.setMaximumPoolSize(size);
+            config.setMinimumIdle(Math.min(properties.getMinimumIdle(), size));
+        } else {
+            // Lower minimumIdle first so it never exceeds the max
+            config.setMinimumIdle(Math.min(properties.getMinimumIdle(), size));
+            config.setMaximumPoolSize(size);
+        }
+        resizeCounter.increment();
+        log.debug("Resized pool for tenant {} (tier {}): {} -> {}", tenantId, pool.slaTier(), current, size);
+    }
+
+    // ========================================================================
+    // Eviction and drain
+    // ========================================================================
+
+    private void onRemoval(String tenantId, TenantPool pool, RemovalCause cause) {
+        if (pool == null) {
+            return;
+        }
+        evictionCounters.computeIfAbsent(cause, c -> Counter.builder("tenant.datasource.pool.evictions")
+                .description("Tenant connection pools removed")
+                .tag("cause", c.name().toLowerCase())
+                .register(meterRegistry))
+                .increment();
+
+        TenantPoolDataSource handle = pool.handle();
+        if (closed) {
+            handle.forceRetire();
+            closeQuietly(handle.pool());
+            return;
+        }
+
+        log.info("Evicting connection pool for tenant: {} (cause: {})", tenantId, cause);
+        HikariPoolMXBean mxBean = handle.pool().getHikariPoolMXBean();
+        if (mxBean != null) {
+            // Close idle connections now, in-use ones are closed when returned
+            mxBean.softEvictConnections();
+        }
+        draining.add(handle);
+        long deadline = System.nanoTime() + properties.getDrainTimeout().toNanos();
+        drain(tenantId, handle, deadline);
+    }
+
+    /**
+     * Close the pool once no connection is out and no checkout is under way.
+     * Runs first on the evicting thread, then on the maintenance executor.
+     */
+    private void drain(String tenantId, TenantPoolDataSource handle, long deadline) {
+        // Null until the first checkout starts the pool
+        HikariPoolMXBean mxBean = handle.pool().getHikariPoolMXBean();
+        int active = mxBean == null ? 0 : mxBean.getActiveConnections();
+        boolean idle = active == 0 && handle.retire();
+        if (!idle && System.nanoTime() < deadline && !closed) {
+            maintenanceExecutor.schedule(() -> drain(tenantId, handle, deadline),
+                    DRAIN_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        if (!idle) {
+            handle.forceRetire();
+            log.warn("Drain timeout for tenant pool {}, closing with {} active connections", tenantId, active);
+        }
+        draining.remove(handle);
+        closeQuietly(handle.pool());
+        log.info("Closed connection pool for tenant: {}", tenantId);
+    }
+
+    private void closeQuietly(HikariDataSource dataSource) {
+        try {
+            dataSource.close();
+        } catch (Exception e) {
+            log.warn("Failed to close tenant pool {}: {}", dataSource.getPoolName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Close all tenant pools, including those still draining and the shared
+     * schema pools.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        pools.invalidateAll();
+        pools.cleanUp();
+        draining.forEach(handle -> {
+            handle.forceRetire();
+            closeQuietly(handle.pool());
+        });
+        draining.clear();
+        schemaPools.values().forEach(this::closeQuietly);
+        schemaPools.clear();
+        maintenanceExecutor.shutdownNow();
+        log.info("Tenant pool manager closed");
+    }
+}
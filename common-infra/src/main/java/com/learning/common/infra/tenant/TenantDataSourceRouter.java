@@ -1,27 +1,33 @@
 package com.learning.common.infra.tenant;
 
 import com.learning.common.dto.TenantDbConfig;
-import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 import org.springframework.lang.Nullable;
 
 import javax.sql.DataSource;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Routes database connections to tenant-specific databases based on
  * TenantContext.
  * 
- * Supports two storage modes:
+ * Supports three storage modes:
  * <ul>
  * <li>DATABASE: Per-tenant dedicated database (organizations)</li>
+ * <li>SCHEMA: Per-tenant schema in a shared cluster database; connections
+ * come from one shared pool with search_path set per checkout</li>
  * <li>SHARED: Shared personal database with tenant_id filtering (personal users)</li>
  * </ul>
+ * 
+ * Per-tenant pools for DATABASE mode and the shared SCHEMA mode pools are held
+ * by a {@link TenantDataSourcePoolManager}, which bounds how many stay open.
+ * A pool manager passed in belongs to the caller; one the router creates for
+ * itself is closed with the router.
  */
 @Slf4j
-public class TenantDataSourceRouter extends AbstractRoutingDataSource {
+public class TenantDataSourceRouter extends AbstractRoutingDataSource implements DisposableBean {
 
     /**
      * Special tenant ID for super-admin users.
@@ -30,9 +36,10 @@ public class TenantDataSourceRouter extends AbstractRoutingDataSource {
     public static final String SYSTEM_TENANT_ID = "system";
 
     private final TenantRegistryService tenantRegistry;
-    private final Map<String, DataSource> tenantDataSources = new ConcurrentHashMap<>();
+    private final TenantDataSourcePoolManager poolManager;
     private final DataSource defaultDataSource;
     private final DataSource personalSharedDataSource;
+    private final boolean ownsPoolManager;
 
     public TenantDataSourceRouter(TenantRegistryService tenantRegistry) {
         this(tenantRegistry, null, null);
@@ -45,7 +52,25 @@ public class TenantDataSourceRouter extends AbstractRoutingDataSource {
     public TenantDataSourceRouter(TenantRegistryService tenantRegistry, 
                                    DataSource defaultDataSource,
                                    DataSource personalSharedDataSource) {
+        this(tenantRegistry, defaultDataSource, personalSharedDataSource,
+                new TenantDataSourcePoolManager(new TenantPoolProperties(), Metrics.globalRegistry), true);
+    }
+
+    public TenantDataSourceRouter(TenantRegistryService tenantRegistry,
+                                   DataSource defaultDataSource,
+                                   DataSource personalSharedDataSource,
+                                   TenantDataSourcePoolManager poolManager) {
+        this(tenantRegistry, defaultDataSource, personalSharedDataSource, poolManager, false);
+    }
+
+    private TenantDataSourceRouter(TenantRegistryService tenantRegistry,
+                                   DataSource defaultDataSource,
+                                   DataSource personalSharedDataSource,
+                                   TenantDataSourcePoolManager poolManager,
+                                   boolean ownsPoolManager) {
         this.tenantRegistry = tenantRegistry;
+        this.poolManager = poolManager;
+        this.ownsPoolManager = ownsPoolManager;
         this.defaultDataSource = defaultDataSource;
         this.personalSharedDataSource = personalSharedDataSource;
         this.setTargetDataSources(java.util.Collections.emptyMap());
@@ -100,30 +125,24 @@ public class TenantDataSourceRouter extends AbstractRoutingDataSource {
             }
         }
 
+        // SCHEMA mode: Shared cluster pool scoped to the tenant's schema
+        if (TenantSchemas.isSchemaMode(config)) {
+            log.debug("TenantDataSourceRouter: SCHEMA tenant {}, using shared schema pool", tenantId);
+            return poolManager.getSchemaDataSource(tenantId, config);
+        }
+
         // DATABASE mode: Get or create per-tenant data source
         log.debug("TenantDataSourceRouter: DATABASE tenant {}, using dedicated datasource", tenantId);
-        return tenantDataSources.computeIfAbsent(tenantId, this::createTenantDataSource);
+        return getOrCreateTenantDataSource(tenantId);
     }
 
-    private DataSource createTenantDataSource(String tenantId) {
-        log.info("Creating new data source for tenant: {}", tenantId);
+    private DataSource getOrCreateTenantDataSource(String tenantId) {
         try {
-            TenantDbConfig config = tenantRegistry.load(tenantId);
-            log.info("Loaded tenant DB config: jdbcUrl={}, username={}", config.jdbcUrl(), config.username());
-
-            HikariDataSource dataSource = new HikariDataSource();
-            dataSource.setJdbcUrl(config.jdbcUrl());
-            dataSource.setUsername(config.username());
-            dataSource.setPassword(config.password());
-            dataSource.setMaximumPoolSize(5);
-            dataSource.setMinimumIdle(1);
-            dataSource.setConnectionTimeout(30000);
-            dataSource.setIdleTimeout(600000);
-            dataSource.setMaxLifetime(1800000);
-            dataSource.setPoolName("tenant-" + tenantId);
-
-            log.info("Successfully created data source for tenant: {} with URL: {}", tenantId, config.jdbcUrl());
-            return dataSource;
+            return poolManager.getDataSource(tenantId, () -> {
+                TenantDbConfig config = tenantRegistry.load(tenantId);
+                log.info("Loaded tenant DB config: jdbcUrl={}, username={}", config.jdbcUrl(), config.username());
+                return config;
+            });
         } catch (Throwable e) {
             log.error("Failed to create data source for tenant: {} - {}", tenantId, e.getMessage(), e);
             throw new RuntimeException("Failed to create tenant data source", e);
@@ -132,19 +151,27 @@ public class TenantDataSourceRouter extends AbstractRoutingDataSource {
 
     /**
      * Evict a tenant's data source from cache.
+     * The pool is drained and closed once in-flight connections are returned.
      */
     public void evictTenantDataSource(String tenantId) {
-        DataSource ds = tenantDataSources.remove(tenantId);
-        if (ds instanceof HikariDataSource hikari) {
-            hikari.close();
-            log.info("Evicted and closed data source for tenant: {}", tenantId);
-        }
+        poolManager.evict(tenantId);
+        log.info("Evicted data source for tenant: {}", tenantId);
     }
 
     /**
      * Get count of cached tenant data sources.
      */
     public int getActiveTenantCount() {
-        return tenantDataSources.size();
+        return (int) poolManager.getLivePoolCount();
+    }
+
+    /**
+     * Close the pool manager if this router created it.
+     */
+    @Override
+    public void destroy() {
+        if (ownsPoolManager) {
+            poolManager.close();
+        }
     }
 }
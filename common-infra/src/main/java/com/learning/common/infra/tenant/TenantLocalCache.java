@@ -1,46 +1,157 @@
 package com.learning.common.infra.tenant;
 
-import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.learning.common.dto.TenantDbConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
-import java.util.function.Supplier;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * Local cache for tenant database configurations.
- * Uses Caffeine cache with configurable TTL and max size.
+ *
+ * <ul>
+ * <li>Single-flight: concurrent misses for a tenant share one in-flight load</li>
+ * <li>Stale-while-revalidate: after refresh-after, the cached config is still
+ * returned while one background refresh runs; a failed refresh keeps the old
+ * value, and a refresh that finishes after the entry was invalidated or
+ * replaced is dropped</li>
+ * <li>Entries are dropped after max-staleness, bounding how long an outage of
+ * the registry can keep serving old configs</li>
+ * </ul>
+ *
+ * Metrics:
+ * <ul>
+ * <li>tenant.registry.load - load latency, tagged kind=miss|refresh and result</li>
+ * <li>tenant.registry.stale.serves - lookups answered with a config past refresh-after</li>
+ * <li>tenant.registry.coalesced.waiters - lookups that joined an in-flight load</li>
+ * </ul>
  */
 @Component
+@Slf4j
 public class TenantLocalCache {
 
-    public static final int MAX_EXPIRE_TIME_IN_MIN = 30;
-    public static final int MAXIMUM_SIZE = 1000;
+    private record Entry(TenantDbConfig config, long loadedAtNanos) {
+    }
+
+    private final AsyncCache<String, Entry> cache;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final long refreshAfterNanos;
+    private final MeterRegistry meterRegistry;
+    private final Counter staleServes;
+    private final Counter coalescedWaiters;
+
+    public TenantLocalCache() {
+        this(new TenantRegistryCacheProperties(), Metrics.globalRegistry);
+    }
 
-    private final Cache<String, TenantDbConfig> cache = Caffeine.newBuilder()
-            .expireAfterWrite(Duration.ofMinutes(MAX_EXPIRE_TIME_IN_MIN))
-            .maximumSize(MAXIMUM_SIZE)
-            .build();
+    public TenantLocalCache(TenantRegistryCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getMaxStaleness())
+                .maximumSize(properties.getMaximumSize())
+                .buildAsync();
+        this.refreshAfterNanos = properties.getRefreshAfter().toNanos();
+        this.meterRegistry = meterRegistry;
+        this.staleServes = Counter.builder("tenant.registry.stale.serves")
+                .description("Tenant config lookups served stale while a refresh runs")
+                .register(meterRegistry);
+        this.coalescedWaiters = Counter.builder("tenant.registry.coalesced.waiters")
+                .description("Tenant config lookups that joined an in-flight load")
+                .register(meterRegistry);
+    }
 
     /**
-     * Get tenant config from cache, or load from supplier if not cached.
+     * Get tenant config from cache, or load it if not cached. Only a miss
+     * blocks the caller; a config past refresh-after is returned immediately
+     * and refreshed in the background.
+     *
+     * @param loader async fetch of the tenant's config
      */
-    public TenantDbConfig get(String tenantId, Supplier<TenantDbConfig> loader) {
-        return cache.get(tenantId, t -> loader.get());
+    public TenantDbConfig get(String tenantId, Function<String, CompletableFuture<TenantDbConfig>> loader) {
+        CompletableFuture<Entry> inFlight = cache.getIfPresent(tenantId);
+        if (inFlight != null && !inFlight.isDone()) {
+            coalescedWaiters.increment();
+        }
+
+        CompletableFuture<Entry> cached = cache.get(tenantId, (id, executor) -> load(id, loader, "miss"));
+        Entry entry = join(cached);
+        if (System.nanoTime() - entry.loadedAtNanos() > refreshAfterNanos) {
+            staleServes.increment();
+            refreshInBackground(tenantId, cached, loader);
+        }
+        return entry.config();
+    }
+
+    private void refreshInBackground(String tenantId, CompletableFuture<Entry> stale,
+            Function<String, CompletableFuture<TenantDbConfig>> loader) {
+        if (!refreshing.add(tenantId)) {
+            return; // a refresh for this tenant is already running
+        }
+        load(tenantId, loader, "refresh").whenComplete((fresh, error) -> {
+            try {
+                if (error == null) {
+                    // Only over the entry this refresh started from
+                    cache.asMap().replace(tenantId, stale, CompletableFuture.completedFuture(fresh));
+                } else {
+                    log.warn("Tenant config refresh failed for {}, serving cached config: {}", tenantId,
+                            error.getMessage());
+                }
+            } finally {
+                refreshing.remove(tenantId);
+            }
+        });
+    }
+
+    private CompletableFuture<Entry> load(String tenantId,
+            Function<String, CompletableFuture<TenantDbConfig>> loader, String kind) {
+        long start = System.nanoTime();
+        CompletableFuture<TenantDbConfig> loading;
+        try {
+            loading = loader.apply(tenantId);
+        } catch (RuntimeException e) {
+            loading = CompletableFuture.failedFuture(e);
+        }
+        return loading.whenComplete((config, error) -> Timer.builder("tenant.registry.load")
+                .description("Tenant config load latency")
+                .tag("kind", kind)
+                .tag("result", error == null ? "success" : "failure")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                .thenApply(config -> new Entry(config, System.nanoTime()));
+    }
+
+    private static Entry join(CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
     }
 
     /**
      * Invalidate a tenant's cached config.
      */
     public void invalidate(String tenantId) {
-        cache.invalidate(tenantId);
+        cache.synchronous().invalidate(tenantId);
     }
 
     /**
      * Invalidate all cached configs.
      */
     public void invalidateAll() {
-        cache.invalidateAll();
+        cache.synchronous().invalidateAll();
     }
 }
@@ -0,0 +1,111 @@
+package com.learning.common.infra.tenant;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Handle on one tenant's pool, as given out by
+ * {@link TenantDataSourcePoolManager}.
+ *
+ * A caller may still hold the handle after the pool was evicted. Each checkout
+ * pins the pool so the drain never closes it mid-checkout; once the pool is
+ * retired, checkouts go to the tenant's current pool instead.
+ *
+ * The first checkout starts the Hikari pool and is timed as pool creation.
+ */
+class TenantPoolDataSource extends DelegatingDataSource {
+
+    private static final int RETIRED = -1;
+
+    private final HikariDataSource pool;
+    private final Supplier<DataSource> currentPool;
+    private final Timer creationTimer;
+    private final AtomicInteger pins = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    TenantPoolDataSource(HikariDataSource pool, Supplier<DataSource> currentPool, Timer creationTimer) {
+        super(pool);
+        this.pool = pool;
+        this.currentPool = currentPool;
+        this.creationTimer = creationTimer;
+    }
+
+    HikariDataSource pool() {
+        return pool;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!pin()) {
+            return currentPool.get().getConnection();
+        }
+        try {
+            if (!started.compareAndSet(false, true)) {
+                return pool.getConnection();
+            }
+            Timer.Sample sample = Timer.start();
+            try {
+                Connection connection = pool.getConnection();
+                sample.stop(creationTimer);
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                started.set(false);
+                throw e;
+            }
+        } finally {
+            unpin();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!pin()) {
+            return currentPool.get().getConnection(username, password);
+        }
+        try {
+            return pool.getConnection(username, password);
+        } finally {
+            unpin();
+        }
+    }
+
+    /**
+     * Stop new checkouts on this pool if none is under way.
+     *
+     * @return true once no checkout can reach the pool any more
+     */
+    boolean retire() {
+        return pins.compareAndSet(0, RETIRED);
+    }
+
+    /**
+     * Stop new checkouts on this pool; checkouts under way may fail.
+     */
+    void forceRetire() {
+        pins.set(RETIRED);
+    }
+
+    private boolean pin() {
+        while (true) {
+            int current = pins.get();
+            if (current == RETIRED) {
+                return false;
+            }
+            if (pins.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void unpin() {
+        pins.getAndUpdate(current -> current == RETIRED ? RETIRED : current - 1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.learning.common.infra.tenant;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari metrics hook that records connection wait time and timeouts for one
+ * tenant pool. Read and reset by TenantDataSourcePoolManager on every
+ * rebalance, so values cover the last rebalance window only.
+ *
+ * Deliberately not backed by Micrometer: per-tenant meters would make metric
+ * cardinality grow with the number of tenants.
+ */
+class TenantPoolDemandTracker implements IMetricsTracker, MetricsTrackerFactory {
+
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * Smoothed (active + pending) load, updated on each rebalance.
+     */
+    private double smoothedLoad;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return this;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquireNanos.add(elapsedAcquiredNanos);
+        acquireCount.increment();
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    /**
+     * Average connection wait in the current window, then start a new window.
+     */
+    long averageWaitNanosAndReset() {
+        long count = acquireCount.sumThenReset();
+        long nanos = acquireNanos.sumThenReset();
+        return count == 0 ? 0 : nanos / count;
+    }
+
+    long timeoutsAndReset() {
+        return timeouts.sumThenReset();
+    }
+
+    double updateSmoothedLoad(int sample, double alpha) {
+        smoothedLoad = alpha * sample + (1 - alpha) * smoothedLoad;
+        return smoothedLoad;
+    }
+}
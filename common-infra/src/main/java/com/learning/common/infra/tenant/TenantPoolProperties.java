@@ -0,0 +1,145 @@
+package com.learning.common.infra.tenant;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sizing and lifecycle settings for per-tenant connection pools.
+ * Used by TenantDataSourcePoolManager to bound the number of live
+ * HikariDataSource instances held by a service.
+ *
+ * Example:
+ *
+ * <pre>
+ * app:
+ *   datasource:
+ *     tenant-pool:
+ *       max-pools: 200
+ *       idle-eviction-timeout: 30m
+ *       drain-timeout: 30s
+ *       maximum-pool-size: 5
+ *       budget:
+ *         max-connections: 200
+ *         tier-weights:
+ *           STANDARD: 1
+ *           PREMIUM: 2
+ *           ENTERPRISE: 4
+ *       schema:
+ *         username: app_tenant
+ *         password: secret
+ *         maximum-pool-size: 20
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.tenant-pool")
+public class TenantPoolProperties {
+
+    /**
+     * Maximum number of tenant pools kept open at once.
+     * The least recently used pools are evicted when the limit is reached.
+     */
+    private int maxPools = 200;
+
+    /**
+     * A tenant pool that has not been routed to for this long is closed.
+     */
+    private Duration idleEvictionTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Max time an evicted pool waits for in-flight connections to be returned
+     * before it is closed forcibly.
+     */
+    private Duration drainTimeout = Duration.ofSeconds(30);
+
+    // === Per-pool Hikari settings ===
+
+    /**
+     * Max pool size for new pools. With a budget enabled this is only the
+     * starting size; the rebalancer resizes pools afterwards.
+     */
+    private int maximumPoolSize = 5;
+
+    private int minimumIdle = 1;
+
+    private Duration connectionTimeout = Duration.ofSeconds(30);
+
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Duration maxLifetime = Duration.ofMinutes(30);
+
+    private Budget budget = new Budget();
+
+    private Schema schema = new Schema();
+
+    /**
+     * Per-instance connection budget shared by all tenant pools.
+     * Disabled when max-connections is 0 (every pool keeps maximum-pool-size).
+     */
+    @Data
+    public static class Budget {
+
+        /**
+         * Max connections across all tenant pools in this JVM.
+         * Should be at least max-pools * min-connections-per-pool.
+         */
+        private int maxConnections = 0;
+
+        private Duration rebalanceInterval = Duration.ofSeconds(10);
+
+        private int minConnectionsPerPool = 1;
+
+        private int maxConnectionsPerPool = 20;
+
+        /**
+         * Extra capacity requested on top of the smoothed load (0.25 = 25%).
+         */
+        private double headroom = 0.25;
+
+        /**
+         * Average connection wait above this makes a pool ask to grow even if
+         * sampled load looks satisfied.
+         */
+        private Duration waitThreshold = Duration.ofMillis(20);
+
+        /**
+         * Share weight per SLA tier. Unknown tiers get weight 1.
+         */
+        private Map<String, Integer> tierWeights = new HashMap<>(Map.of(
+                "STANDARD", 1,
+                "PREMIUM", 2,
+                "ENTERPRISE", 4));
+
+        public boolean isEnabled() {
+            return maxConnections > 0;
+        }
+    }
+
+    /**
+     * Shared pools for SCHEMA storage mode: one pool per cluster database,
+     * shared by every schema tenant on it. These pools are sized statically
+     * and are not part of the rebalanced budget.
+     */
+    @Data
+    public static class Schema {
+
+        /**
+         * Login for the shared pools. Must have usage on every tenant schema.
+         */
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 20;
+
+        private int minimumIdle = 2;
+
+        /**
+         * Schema a connection is reset to when it is returned to the pool.
+         */
+        private String defaultSchema = "public";
+    }
+}
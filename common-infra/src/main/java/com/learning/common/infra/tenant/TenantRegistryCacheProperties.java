@@ -0,0 +1,39 @@
+package com.learning.common.infra.tenant;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for TenantLocalCache, the stale-while-revalidate cache in front of
+ * platform-service db-info lookups.
+ *
+ * Example:
+ *
+ * <pre>
+ * app:
+ *   tenant-registry:
+ *     cache:
+ *       refresh-after: 5m
+ *       max-staleness: 30m
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.tenant-registry.cache")
+public class TenantRegistryCacheProperties {
+
+    /**
+     * Entries older than this are still served, but trigger a background
+     * refresh.
+     */
+    private Duration refreshAfter = Duration.ofMinutes(5);
+
+    /**
+     * Entries older than this are dropped, even if platform-service is down
+     * and refreshes keep failing. The next lookup then waits for a fresh load.
+     */
+    private Duration maxStaleness = Duration.ofMinutes(30);
+
+    private long maximumSize = 1000;
+}
@@ -0,0 +1,59 @@
+package com.learning.common.infra.tenant;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for ReplicatedTenantRegistry, which keeps a full local copy of
+ * the tenant registry by polling platform-service's change feed.
+ *
+ * Example:
+ *
+ * <pre>
+ * app:
+ *   tenant-registry:
+ *     replication:
+ *       enabled: true
+ *       poll-interval: 1s
+ *       resync-interval: 10m
+ *       resync-window: 1000
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "app.tenant-registry.replication")
+public class TenantRegistryReplicationProperties {
+
+    /**
+     * When false, every cache miss is fetched from platform-service directly.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Delay between change feed polls.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Max changes requested per feed page.
+     */
+    private int pageSize = 500;
+
+    /**
+     * Period of full re-reads (since=0), which drop tenants that were
+     * hard-deleted.
+     */
+    private Duration resyncInterval = Duration.ofMinutes(10);
+
+    /**
+     * Versions below the last one read again on every poll. A change takes
+     * its version when written, not when its transaction commits, so a slow
+     * commit can land below a version already read; this picks it up on the
+     * next poll, unless more than this many versions were taken meanwhile
+     * (then the next full re-read does).
+     */
+    private long resyncWindow = 1000;
+
+    private Duration requestTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,45 @@
+package com.learning.common.infra.tenant;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * View of a shared cluster pool scoped to one tenant schema.
+ *
+ * Every checkout calls {@link Connection#setSchema}, which PgJDBC turns into
+ * {@code SET search_path}. The shared pool is configured with a default schema,
+ * so Hikari resets the search_path when the connection is returned and a
+ * connection never leaks one tenant's schema to the next borrower.
+ */
+class TenantSchemaDataSource extends DelegatingDataSource {
+
+    private final String schema;
+
+    TenantSchemaDataSource(DataSource clusterPool, String schema) {
+        super(clusterPool);
+        this.schema = schema;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return scope(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return scope(super.getConnection(username, password));
+    }
+
+    private Connection scope(Connection connection) throws SQLException {
+        try {
+            connection.setSchema(schema);
+            return connection;
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+}
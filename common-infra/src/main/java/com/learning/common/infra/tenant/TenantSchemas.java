@@ -0,0 +1,95 @@
+package com.learning.common.infra.tenant;
+
+import com.learning.common.dto.TenantDbConfig;
+
+import java.util.regex.Pattern;
+
+/**
+ * JDBC URL conventions for SCHEMA storage mode.
+ *
+ * A schema tenant's jdbcUrl points at the shared cluster database and names
+ * its schema with the standard PgJDBC currentSchema parameter:
+ *
+ * <pre>
+ * jdbc:postgresql://host:5432/tenant_schemas?currentSchema=t_acme
+ * </pre>
+ *
+ * Services strip the parameter to find the cluster (one shared pool per
+ * cluster URL) and set the schema on each connection checkout instead.
+ */
+public final class TenantSchemas {
+
+    public static final String STORAGE_MODE = "SCHEMA";
+
+    static final String CURRENT_SCHEMA_PARAM = "currentSchema";
+
+    private static final Pattern VALID_SCHEMA = Pattern.compile("[a-z0-9_]{1,63}");
+
+    private TenantSchemas() {
+    }
+
+    public static boolean isSchemaMode(TenantDbConfig config) {
+        return config != null && STORAGE_MODE.equalsIgnoreCase(config.storageMode());
+    }
+
+    /**
+     * Whether a tenant URL names a schema (SCHEMA mode) rather than a database.
+     */
+    public static boolean isSchemaUrl(String jdbcUrl) {
+        int query = jdbcUrl == null ? -1 : jdbcUrl.indexOf('?');
+        return query >= 0 && ("&" + jdbcUrl.substring(query + 1)).contains("&" + CURRENT_SCHEMA_PARAM + "=");
+    }
+
+    /**
+     * Append the schema to a cluster database URL.
+     */
+    public static String withSchema(String clusterUrl, String schema) {
+        validate(schema);
+        String separator = clusterUrl.indexOf('?') >= 0 ? "&" : "?";
+        return clusterUrl + separator + CURRENT_SCHEMA_PARAM + "=" + schema;
+    }
+
+    /**
+     * Schema named by the URL's currentSchema parameter.
+     *
+     * @throws IllegalArgumentException if the parameter is missing or not a
+     *                                  valid tenant schema name
+     */
+    public static String schemaOf(String jdbcUrl) {
+        int query = jdbcUrl.indexOf('?');
+        if (query >= 0) {
+            for (String param : jdbcUrl.substring(query + 1).split("&")) {
+                if (param.startsWith(CURRENT_SCHEMA_PARAM + "=")) {
+                    String schema = param.substring(CURRENT_SCHEMA_PARAM.length() + 1);
+                    validate(schema);
+                    return schema;
+                }
+            }
+        }
+        throw new IllegalArgumentException("No " + CURRENT_SCHEMA_PARAM + " in schema tenant URL: " + jdbcUrl);
+    }
+
+    /**
+     * The URL without its currentSchema parameter: identifies the shared pool.
+     */
+    public static String clusterUrlOf(String jdbcUrl) {
+        int query = jdbcUrl.indexOf('?');
+        if (query < 0) {
+            return jdbcUrl;
+        }
+        StringBuilder params = new StringBuilder();
+        for (String param : jdbcUrl.substring(query + 1).split("&")) {
+            if (param.isEmpty() || param.startsWith(CURRENT_SCHEMA_PARAM + "=")) {
+                continue;
+            }
+            params.append(params.isEmpty() ? "?" : "&").append(param);
+        }
+        return jdbcUrl.substring(0, query) + params;
+    }
+
+    private static void validate(String schema) {
+        if (schema == null || !VALID_SCHEMA.matcher(schema).matches()) {
+            throw new IllegalArgumentException("Invalid tenant schema name: " + schema);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.learning.common.infra.benchmark;
+
+import org.junit.jupiter.api.Assumptions;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Redis for the benchmarks that need one: the server given as
+ * -Dbenchmark.redis=redis://host:port, else a redis:7-alpine container shared
+ * by the whole run. Skips the test when there is neither.
+ */
+public final class BenchmarkRedis {
+
+    private static GenericContainer<?> container;
+
+    private BenchmarkRedis() {
+    }
+
+    public static synchronized String address() {
+        String configured = System.getProperty("benchmark.redis");
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        if (container == null) {
+            Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+                    "needs Docker or -Dbenchmark.redis=redis://host:port");
+            container = new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+            container.start();
+        }
+        return "redis://" + container.getHost() + ":" + container.getMappedPort(6379);
+    }
+
+    /**
+     * A client of its own, as each application instance would have.
+     */
+    public static RedissonClient connect() {
+        Config config = new Config();
+        config.useSingleServer().setAddress(address());
+        return Redisson.create(config);
+    }
+}
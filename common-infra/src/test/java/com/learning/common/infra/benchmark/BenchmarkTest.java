@@ -0,0 +1,23 @@
+package com.learning.common.infra.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an opt-in benchmark: skipped unless run with -Dbenchmark=true, e.g.
+ *
+ * <pre>
+ * mvn -pl common-infra test -Dtest=CacheCodecBenchmarkTest -Dbenchmark=true
+ * </pre>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public @interface BenchmarkTest {
+}
@@ -0,0 +1,135 @@
+package com.learning.common.infra.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Measurement loop and result table shared by the {@link BenchmarkTest}
+ * classes. Only depends on the JDK, so other modules can use it through the
+ * common-infra test jar.
+ */
+public final class Benchmarks {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private Benchmarks() {
+    }
+
+    @FunctionalInterface
+    public interface Operation {
+        void run() throws Exception;
+    }
+
+    /**
+     * Run the operation warmup times, then time rounds more on this thread.
+     */
+    public static Measurement measure(int warmup, int rounds, Operation operation) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytesAfter = allocatedBytes();
+        return new Measurement(rounds, elapsed, bytesBefore < 0 ? -1 : bytesAfter - bytesBefore);
+    }
+
+    /**
+     * Bytes this thread allocated so far, or -1 off HotSpot.
+     */
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean hotspot
+                && hotspot.isThreadAllocatedMemorySupported()) {
+            return hotspot.getThreadAllocatedBytes(Thread.currentThread().threadId());
+        }
+        return -1;
+    }
+
+    /**
+     * @param allocatedBytes -1 when the JVM does not count allocation
+     */
+    public record Measurement(long rounds, long elapsedNanos, long allocatedBytes) {
+
+        public double nanosPerOp() {
+            return (double) elapsedNanos / rounds;
+        }
+
+        public double microsPerOp() {
+            return nanosPerOp() / 1e3;
+        }
+
+        public double millisPerOp() {
+            return nanosPerOp() / 1e6;
+        }
+
+        public double opsPerSecond() {
+            return rounds * 1e9 / elapsedNanos;
+        }
+
+        public double bytesPerOp() {
+            return allocatedBytes < 0 ? Double.NaN : (double) allocatedBytes / rounds;
+        }
+    }
+
+    /**
+     * Latencies recorded per request, possibly from several threads, each
+     * into its own slot.
+     */
+    public static final class Latencies {
+
+        private final long[] nanos;
+
+        public Latencies(int requests) {
+            this.nanos = new long[requests];
+        }
+
+        public void record(int request, long elapsedNanos) {
+            nanos[request] = elapsedNanos;
+        }
+
+        public double percentileMillis(double percentile) {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile / 100 * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    /**
+     * Prints its header on creation and a line per row: the first column
+     * left-aligned, the rest right-aligned, doubles to two decimals.
+     */
+    public static final class Table {
+
+        private final int[] widths;
+
+        public Table(String... columns) {
+            widths = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                widths[i] = Math.max(i == 0 ? 18 : 10, columns[i].length());
+            }
+            System.out.printf("%n%s%n", line((Object[]) columns));
+        }
+
+        public void row(Object... cells) {
+            System.out.println(line(cells));
+        }
+
+        private String line(Object... cells) {
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < cells.length; i++) {
+                String cell = cells[i] instanceof Double || cells[i] instanceof Float
+                        ? String.format(Locale.ROOT, "%.2f", ((Number) cells[i]).doubleValue())
+                        : String.valueOf(cells[i]);
+                line.append(i == 0 ? String.format("%-" + widths[i] + "s", cell)
+                        : String.format(" %" + widths[i] + "s", cell));
+            }
+            return line.toString();
+        }
+    }
+}
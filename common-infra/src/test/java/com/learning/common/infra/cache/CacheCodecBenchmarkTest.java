@@ -0,0 +1,68 @@
+package com.learning.common.infra.cache;
+
+import com.learning.common.dto.TenantDbConfig;
+import com.learning.common.infra.benchmark.BenchmarkTest;
+import com.learning.common.infra.benchmark.Benchmarks;
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.Kryo5Codec;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Encode/decode time and payload size of CompactCacheCodec against Redisson's
+ * default Kryo5Codec, for the kinds of values the caches hold.
+ */
+@BenchmarkTest
+class CacheCodecBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 50_000;
+    private static final int MEASURED_ROUNDS = 200_000;
+
+    @Test
+    @DisplayName("Compact codec vs Redisson default codec")
+    void compareCodecs() throws Exception {
+        Set<String> permissions = new HashSet<>();
+        IntStream.range(0, 50).forEach(i -> permissions.add("resource-" + i + ":read"));
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("Boolean", Boolean.TRUE);
+        values.put("Optional<String>", Optional.of("tenant-admin"));
+        values.put("List<String> (3)", List.of("admin", "editor", "viewer"));
+        values.put("Set<String> (50)", permissions);
+        values.put("TenantDbConfig", new TenantDbConfig("jdbc:postgresql://db:5432/tenant_acme",
+                "tenant_acme", "ENC(3q2+7w==)", "01KE7EX53V5K2PZCS9TC87SGJ9", "DATABASE", "PREMIUM"));
+
+        Map<String, Codec> codecs = new LinkedHashMap<>();
+        codecs.put("kryo5", new Kryo5Codec());
+        codecs.put("compact", CompactCacheCodec.INSTANCE);
+
+        Benchmarks.Table table = new Benchmarks.Table("value", "codec", "bytes", "encode (ns)", "decode (ns)");
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            for (Map.Entry<String, Codec> codec : codecs.entrySet()) {
+                ByteBuf encoded = codec.getValue().getValueEncoder().encode(value.getValue());
+                int bytes = encoded.readableBytes();
+                assertThat(codec.getValue().getValueDecoder().decode(encoded.duplicate(), null))
+                        .isEqualTo(value.getValue());
+
+                double encode = Benchmarks.measure(WARMUP_ROUNDS, MEASURED_ROUNDS,
+                        () -> codec.getValue().getValueEncoder().encode(value.getValue()).release()).nanosPerOp();
+                double decode = Benchmarks.measure(WARMUP_ROUNDS, MEASURED_ROUNDS,
+                        () -> codec.getValue().getValueDecoder().decode(encoded.duplicate(), null)).nanosPerOp();
+                encoded.release();
+
+                table.row(value.getKey(), codec.getKey(), bytes, encode, decode);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.learning.common.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RBatch;
+import org.redisson.api.RScript;
+import org.redisson.api.RScriptAsync;
+import org.redisson.api.RedissonClient;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for tag derivation and tag-based eviction.
+ */
+class CacheTagEvictorTest {
+
+    @Test
+    @DisplayName("Derives the user tag from user-scoped keys")
+    void derivesUserTagFromKey() {
+        assertThat(CacheTags.forKey("u1:entry:read")).containsExactly("user:u1");
+        assertThat(CacheTags.forKey("u1")).containsExactly("user:u1");
+        assertThat(CacheTags.forKey(":entry:read")).isEmpty();
+        assertThat(CacheTags.forKey(42)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Evicts all of a user's entries, whatever their exact keys")
+    void evictsUserEntries() {
+        CaffeineCache permissions = new CaffeineCache(CacheNames.USER_PERMISSIONS, Caffeine.newBuilder().build());
+        CaffeineCache allPermissions = new CaffeineCache(CacheNames.USER_ALL_PERMISSIONS,
+                Caffeine.newBuilder().build());
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(permissions, allPermissions));
+        cacheManager.afterPropertiesSet();
+
+        permissions.put("u1:entry:read", true);
+        permissions.put("u1:entry:delete", false);
+        permissions.put("u2:entry:read", true);
+        allPermissions.put("u1", Set.of("entry:read"));
+
+        new CacheTagEvictor(cacheManager).evictUser("u1");
+
+        assertThat(permissions.get("u1:entry:read")).isNull();
+        assertThat(permissions.get("u1:entry:delete")).isNull();
+        assertThat(allPermissions.get("u1")).isNull();
+        assertThat(permissions.get("u2:entry:read")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Tag indexes of a Redisson cache take the cache's entry TTL")
+    void tagIndexTakesEntryTtl() {
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        RBatch batch = mock(RBatch.class, RETURNS_DEEP_STUBS);
+        RScriptAsync script = mock(RScriptAsync.class);
+        when(redissonClient.createBatch()).thenReturn(batch);
+        when(batch.getScript(any())).thenReturn(script);
+        CaffeineCache delegate = new CaffeineCache(CacheNames.USER_PERMISSIONS, Caffeine.newBuilder().build());
+
+        new TaggedRedissonCache(delegate, redissonClient, Duration.ofMinutes(3)).put("u1:entry:read", true);
+        new TaggedRedissonCache(delegate, redissonClient, Duration.ZERO).put("u2:entry:read", true);
+
+        verify(script).evalAsync(RScript.Mode.READ_WRITE, CacheIndexTtl.SCRIPT, RScript.ReturnType.INTEGER,
+                List.of("cache:map-tag:" + CacheNames.USER_PERMISSIONS + ":user:u1"), "180000");
+        // Entries that never expire leave their index without a TTL
+        verifyNoMoreInteractions(script);
+    }
+
+    @Test
+    @DisplayName("CacheService evicts exactly the entries put with a tag")
+    void cacheServiceEvictsByTag() {
+        CacheService cacheService = new CaffeineCacheService();
+        Duration ttl = Duration.ofMinutes(1);
+        cacheService.put("sessions", "s1", "a", ttl, Set.of(CacheTags.user("u1"), CacheTags.tenant("t1")));
+        cacheService.put("profiles", "u1", "b", ttl, Set.of(CacheTags.user("u1")));
+        cacheService.put("sessions", "s2", "c", ttl, Set.of(CacheTags.tenant("t1")));
+
+        assertThat(cacheService.evictByTag(CacheTags.user("u1"))).isEqualTo(2);
+
+        assertThat(cacheService.get("sessions", "s1", String.class)).isEmpty();
+        assertThat(cacheService.get("profiles", "u1", String.class)).isEmpty();
+        assertThat(cacheService.get("sessions", "s2", String.class)).contains("c");
+        assertThat(cacheService.evictByTag(CacheTags.user("u1"))).isZero();
+    }
+}
@@ -0,0 +1,99 @@
+package com.learning.common.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CaffeineCacheService: multi-key operations, per-entry TTL and
+ * per-cache specs.
+ */
+class CaffeineCacheServiceTest {
+
+    private final CacheService cacheService = new CaffeineCacheService();
+
+    private static Duration expiresAfter(Cache<String, LocalCacheBuilders.TimedValue> cache, String key) {
+        return cache.policy().expireVariably().orElseThrow().getExpiresAfter(key).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("getAll returns only present keys of the requested type")
+    void getAllReturnsPresentKeys() {
+        cacheService.putAll("roles", Map.of("u1", "admin", "u2", "viewer", "u3", 42), Duration.ofMinutes(1));
+
+        Map<String, String> roles = cacheService.getAll("roles", List.of("u1", "u2", "u3", "u4"), String.class);
+
+        assertThat(roles).containsOnly(Map.entry("u1", "admin"), Map.entry("u2", "viewer"));
+    }
+
+    @Test
+    @DisplayName("putAll with per-entry TTL and evictAll by keys")
+    void putAllEntriesAndEvictAllKeys() {
+        cacheService.putAll("roles", List.of(
+                new CacheEntry("u1", "admin", Duration.ofMinutes(1)),
+                new CacheEntry("u2", "viewer", Duration.ofMinutes(5)),
+                new CacheEntry("u3", "editor", Duration.ofMinutes(5))));
+
+        cacheService.evictAll("roles", List.of("u1", "u3"));
+
+        assertThat(cacheService.getAll("roles", List.of("u1", "u2", "u3"), String.class))
+                .containsOnlyKeys("u2");
+    }
+
+    @Test
+    @DisplayName("Each entry expires after its own TTL, or the cache default")
+    void honoursPerEntryTtl() {
+        LocalCacheProperties.Spec spec = new LocalCacheProperties().specFor("billingStatus");
+        Cache<String, LocalCacheBuilders.TimedValue> cache = LocalCacheBuilders.forTimedValues(spec).build();
+
+        cache.put("short", LocalCacheBuilders.timed("PAST_DUE", Duration.ofSeconds(30), spec));
+        cache.put("default", LocalCacheBuilders.timed("ACTIVE", null, spec));
+
+        assertThat(expiresAfter(cache, "short")).isLessThanOrEqualTo(Duration.ofSeconds(30))
+                .isGreaterThan(Duration.ofSeconds(25));
+        assertThat(expiresAfter(cache, "default")).isGreaterThan(Duration.ofMinutes(9));
+    }
+
+    @Test
+    @DisplayName("Per-cache overrides replace the default bound and expiry")
+    void resolvesPerCacheSpec() {
+        LocalCacheProperties properties = new LocalCacheProperties();
+        LocalCacheProperties.Spec roles = new LocalCacheProperties.Spec();
+        roles.setMaximumWeight(100_000L);
+        roles.setExpireAfterAccess(Duration.ofHours(1));
+        properties.getCaches().put("roleDefinitions", roles);
+
+        LocalCacheProperties.Spec resolved = properties.specFor("roleDefinitions");
+        LocalCacheProperties.Spec defaults = properties.specFor("tenantConfig");
+
+        assertThat(resolved.getMaximumWeight()).isEqualTo(100_000L);
+        assertThat(resolved.getMaximumSize()).isNull();
+        assertThat(resolved.getExpireAfterAccess()).isEqualTo(Duration.ofHours(1));
+        assertThat(resolved.getExpireAfterWrite()).isNull();
+        assertThat(defaults.getMaximumSize()).isEqualTo(1000L);
+        assertThat(defaults.getExpireAfterWrite()).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Publishes hit and miss counts per cache")
+    void publishesCacheStats() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CacheService service = new CaffeineCacheService(new LocalCacheProperties(), meterRegistry);
+        service.put("roles", "u1", "admin");
+
+        service.get("roles", "u1", String.class);
+        service.get("roles", "u2", String.class);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "roles").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "roles").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+}
@@ -1,5 +1,6 @@
 package com.learning.common.infra.cache;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.ObjectProvider;
@@ -24,7 +25,8 @@ class CommonCacheConfigurationTest {
         ObjectProvider<RedissonClient> mockProvider = mock(ObjectProvider.class);
         when(mockProvider.getIfAvailable()).thenReturn(null);
 
-        CacheManager cacheManager = config.cacheManager(mockProvider);
+        CacheManager cacheManager = config.cacheManager(mockProvider, new NearCacheProperties(), new LocalCacheProperties(),
+                new CacheCodecProperties(), new StampedeProperties(), lockServiceProvider(), meterRegistryProvider());
 
         assertThat(cacheManager.getCache(CacheNames.PERMISSIONS))
                 .as("Permissions cache should exist")
@@ -38,13 +40,24 @@ class CommonCacheConfigurationTest {
         ObjectProvider<RedissonClient> mockProvider = mock(ObjectProvider.class);
         when(mockProvider.getIfAvailable()).thenReturn(null);
 
-        CacheManager cacheManager = config.cacheManager(mockProvider);
+        CacheManager cacheManager = config.cacheManager(mockProvider, new NearCacheProperties(), new LocalCacheProperties(),
+                new CacheCodecProperties(), new StampedeProperties(), lockServiceProvider(), meterRegistryProvider());
 
         assertThat(cacheManager.getCache(CacheNames.TENANT_CONFIG))
                 .as("Tenant config cache should exist")
                 .isNotNull();
     }
 
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<DistributedLockService> lockServiceProvider() {
+        return mock(ObjectProvider.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<MeterRegistry> meterRegistryProvider() {
+        return mock(ObjectProvider.class);
+    }
+
     @Test
     void cacheNamesAreCorrectConstants() {
         // Verify the constants match expected values (prevents typos)
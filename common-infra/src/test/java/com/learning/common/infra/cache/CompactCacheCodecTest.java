@@ -0,0 +1,105 @@
+package com.learning.common.infra.cache;
+
+import com.learning.common.dto.TenantDbConfig;
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.codec.Kryo5Codec;
+import org.redisson.spring.cache.NullValue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the compact Redis cache codec and its per-cache selection.
+ */
+class CompactCacheCodecTest {
+
+    private final CompactCacheCodec codec = CompactCacheCodec.INSTANCE;
+
+    private Object roundTrip(Object value) throws Exception {
+        ByteBuf buf = codec.getValueEncoder().encode(value);
+        try {
+            return codec.getValueDecoder().decode(buf, null);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static int size(ByteBuf buf) {
+        try {
+            return buf.readableBytes();
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    @DisplayName("Round-trips the values the caches hold")
+    void roundTripsCachedValues() throws Exception {
+        Set<String> permissions = new HashSet<>(Set.of("entry:read", "entry:write"));
+        TenantDbConfig config = new TenantDbConfig("jdbc:postgresql://db/t1", "t1", "secret", "store", "SCHEMA", null);
+
+        assertThat(roundTrip(Boolean.TRUE)).isEqualTo(true);
+        assertThat(roundTrip(Optional.of("admin"))).isEqualTo(Optional.of("admin"));
+        assertThat(roundTrip(permissions)).isEqualTo(permissions);
+        assertThat(roundTrip(List.of("admin", "viewer"))).isEqualTo(List.of("admin", "viewer"));
+        assertThat(roundTrip(config)).isEqualTo(config);
+        assertThat(roundTrip(NullValue.INSTANCE)).isSameAs(NullValue.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("Writes fewer bytes than Redisson's default codec")
+    void smallerThanDefaultCodec() throws Exception {
+        Kryo5Codec defaultCodec = new Kryo5Codec();
+        Set<String> permissions = new HashSet<>();
+        IntStream.range(0, 50).forEach(i -> permissions.add("resource-" + i + ":read"));
+        TenantDbConfig config = new TenantDbConfig("jdbc:postgresql://db/t1", "t1", "secret", "store", "SCHEMA", null);
+
+        for (Object value : List.of(Optional.of("admin"), permissions, config)) {
+            assertThat(size(codec.getValueEncoder().encode(value)))
+                    .as("encoded size of %s", value.getClass().getSimpleName())
+                    .isLessThan(size(defaultCodec.getValueEncoder().encode(value)));
+        }
+    }
+
+    @Test
+    @DisplayName("Decodes values written by another codec as a miss")
+    void foreignValueIsMiss() throws Exception {
+        ByteBuf foreign = new Kryo5Codec().getValueEncoder().encode(Optional.of("admin"));
+        try {
+            assertThat(codec.getValueDecoder().decode(foreign, null)).isNull();
+        } finally {
+            foreign.release();
+        }
+    }
+
+    @Test
+    @DisplayName("Fingerprint changes when a registered type changes shape")
+    void fingerprintTracksShape() {
+        record V1(String id) {
+        }
+        record V2(String id, String name) {
+        }
+
+        assertThat(CompactCacheCodec.fingerprint(List.of(V1.class)))
+                .isNotEqualTo(CompactCacheCodec.fingerprint(List.of(V2.class)));
+    }
+
+    @Test
+    @DisplayName("Selects the codec per cache, falling back to the default type")
+    void selectsCodecPerCache() {
+        Kryo5Codec redissonCodec = new Kryo5Codec();
+        CacheCodecProperties properties = new CacheCodecProperties();
+        properties.setType(CacheCodecProperties.Type.COMPACT);
+        properties.getCaches().put(CacheNames.USER_ROLES, CacheCodecProperties.Type.REDISSON);
+
+        assertThat(properties.codecFor(CacheNames.PERMISSIONS, redissonCodec)).isSameAs(codec);
+        assertThat(properties.codecFor(CacheNames.USER_ROLES, redissonCodec)).isSameAs(redissonCodec);
+    }
+}
@@ -0,0 +1,184 @@
+package com.learning.common.infra.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RTopic;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.api.listener.StatusListener;
+import org.redisson.misc.CompletableFutureWrapper;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the Caffeine L1 / Redis L2 near cache and its pub/sub
+ * invalidation.
+ */
+class NearCacheTest {
+
+    private ConcurrentMapCache remote;
+    private RTopic topic;
+    private SimpleMeterRegistry meterRegistry;
+    private MessageListener<NearCacheInvalidationBus.Invalidation> listener;
+    private StatusListener statusListener;
+    private NearCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        remote = spy(new ConcurrentMapCache(CacheNames.PERMISSIONS));
+        topic = mock(RTopic.class);
+        when(topic.publishAsync(any())).thenReturn(new CompletableFutureWrapper<>(1L));
+        meterRegistry = new SimpleMeterRegistry();
+
+        NearCacheInvalidationBus bus = new NearCacheInvalidationBus(topic);
+        ArgumentCaptor<MessageListener<NearCacheInvalidationBus.Invalidation>> messages =
+                ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic).addListener(eq(NearCacheInvalidationBus.Invalidation.class), messages.capture());
+        listener = messages.getValue();
+        ArgumentCaptor<StatusListener> status = ArgumentCaptor.forClass(StatusListener.class);
+        verify(topic).addListener(status.capture());
+        statusListener = status.getValue();
+
+        NearCacheProperties.Spec spec = new NearCacheProperties().specFor(CacheNames.PERMISSIONS);
+        cache = new NearCache(remote, spec, bus, meterRegistry);
+    }
+
+    private double gets(String tier, String result) {
+        return meterRegistry.get("cache.near.gets").tag("tier", tier).tag("result", result).counter().count();
+    }
+
+    private void receive(String origin, Object key) {
+        listener.onMessage("cache:near:invalidations",
+                new NearCacheInvalidationBus.Invalidation(origin, CacheNames.PERMISSIONS, key, null));
+    }
+
+    @Test
+    @DisplayName("Serves repeat reads from L1 after the first L2 hit")
+    void servesRepeatReadsFromL1() {
+        remote.put("u1:doc:read", true);
+
+        assertThat(cache.get("u1:doc:read", Boolean.class)).isTrue();
+        assertThat(cache.get("u1:doc:read", Boolean.class)).isTrue();
+
+        verify(remote, times(1)).get("u1:doc:read");
+        assertThat(gets("l1", "hit")).isEqualTo(1);
+        assertThat(gets("l1", "miss")).isEqualTo(1);
+        assertThat(gets("l2", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Writes go to L2 and broadcast an eviction")
+    void writesBroadcastEviction() {
+        cache.put("u1:doc:read", true);
+        cache.evict("u1:doc:read");
+
+        assertThat(remote.get("u1:doc:read")).isNull();
+        ArgumentCaptor<NearCacheInvalidationBus.Invalidation> published =
+                ArgumentCaptor.forClass(NearCacheInvalidationBus.Invalidation.class);
+        verify(topic, times(2)).publishAsync(published.capture());
+        assertThat(published.getAllValues())
+                .extracting(NearCacheInvalidationBus.Invalidation::key)
+                .containsExactly("u1:doc:read", "u1:doc:read");
+    }
+
+    @Test
+    @DisplayName("An invalidation from another instance drops the L1 entry")
+    void remoteInvalidationDropsL1() {
+        cache.put("u1:doc:read", true);
+        remote.put("u1:doc:read", false); // changed by another instance
+
+        receive("other-node", "u1:doc:read");
+
+        assertThat(cache.get("u1:doc:read", Boolean.class)).isFalse();
+        assertThat(meterRegistry.get("cache.near.invalidations.received").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A local evict landing during an L2 read keeps the stale value out of L1")
+    void localEvictDuringL2Read() {
+        remote.put("u1:doc:read", true);
+        // Another thread on this instance evicts while this read is fetching from L2
+        doAnswer(invocation -> {
+            Object stale = invocation.callRealMethod();
+            cache.evict("u1:doc:read");
+            return stale;
+        }).doCallRealMethod().when(remote).get("u1:doc:read");
+
+        assertThat(cache.get("u1:doc:read", Boolean.class)).isTrue();
+
+        assertThat(cache.get("u1:doc:read", Boolean.class)).isNull();
+        verify(remote, times(2)).get("u1:doc:read");
+    }
+
+    @Test
+    @DisplayName("Ignores its own broadcasts")
+    void ignoresOwnBroadcasts() {
+        cache.put("u1:doc:read", true);
+        ArgumentCaptor<NearCacheInvalidationBus.Invalidation> published =
+                ArgumentCaptor.forClass(NearCacheInvalidationBus.Invalidation.class);
+        verify(topic).publishAsync(published.capture());
+
+        receive(published.getValue().origin(), "u1:doc:read");
+
+        assertThat(cache.get("u1:doc:read", Boolean.class)).isTrue();
+        verify(remote, times(0)).get("u1:doc:read");
+    }
+
+    @Test
+    @DisplayName("A tag invalidation from another instance drops only that user's L1 entries")
+    void remoteTagInvalidationDropsUserEntries() {
+        cache.put("u1:doc:read", true);
+        cache.put("u1:doc:write", true);
+        cache.put("u2:doc:read", true);
+
+        listener.onMessage("cache:near:invalidations", new NearCacheInvalidationBus.Invalidation(
+                "other-node", CacheNames.PERMISSIONS, null, CacheTags.user("u1")));
+        cache.get("u1:doc:read");
+        cache.get("u1:doc:write");
+        cache.get("u2:doc:read");
+
+        verify(remote).get("u1:doc:read");
+        verify(remote).get("u1:doc:write");
+        verify(remote, times(0)).get("u2:doc:read");
+    }
+
+    @Test
+    @DisplayName("Clears L1 on resubscribe, since messages may have been missed")
+    void clearsOnResubscribe() {
+        remote.put("u1:doc:read", true);
+        cache.get("u1:doc:read");
+
+        statusListener.onSubscribe("cache:near:invalidations");
+        cache.get("u1:doc:read");
+
+        verify(remote, times(2)).get("u1:doc:read");
+    }
+
+    @Test
+    @DisplayName("Uses per-cache L1 overrides over the defaults")
+    void perCacheOverrides() {
+        NearCacheProperties properties = new NearCacheProperties();
+        NearCacheProperties.Spec override = new NearCacheProperties.Spec();
+        override.setTtl(Duration.ofSeconds(5));
+        properties.getCaches().put(CacheNames.USER_ROLES, override);
+
+        NearCacheProperties.Spec spec = properties.specFor(CacheNames.USER_ROLES);
+
+        assertThat(spec.getTtl()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(spec.getMaximumSize()).isEqualTo(properties.getMaximumSize());
+    }
+}
@@ -0,0 +1,85 @@
+package com.learning.common.infra.cache;
+
+import com.learning.common.infra.benchmark.BenchmarkRedis;
+import com.learning.common.infra.benchmark.BenchmarkTest;
+import com.learning.common.infra.benchmark.Benchmarks;
+import com.learning.common.infra.benchmark.Benchmarks.Operation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of the single-key CacheService path against getAll/putAll/evictAll
+ * at batch sizes 1, 10, 100 and 1000, on a real Redis (see
+ * {@link BenchmarkRedis}).
+ */
+@BenchmarkTest
+class RedissonCacheServiceBenchmarkTest {
+
+    private static final String CACHE = "bench";
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final int[] BATCH_SIZES = { 1, 10, 100, 1000 };
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    private static RedissonClient redissonClient;
+    private static CacheService cacheService;
+
+    @BeforeAll
+    static void connect() {
+        redissonClient = BenchmarkRedis.connect();
+        cacheService = new RedissonCacheService(redissonClient, new CacheCodecProperties());
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (redissonClient != null) {
+            redissonClient.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Batched operations vs single-key round trips")
+    void compareSingleKeyAndBatched() throws Exception {
+        Benchmarks.Table table = new Benchmarks.Table("size", "get x N (us)", "getAll (us)", "put x N (us)",
+                "putAll (us)", "evict x N (us)", "evictAll (us)");
+
+        for (int size : BATCH_SIZES) {
+            List<String> keys = IntStream.range(0, size).mapToObj(i -> "user-" + i + ":entry:read").toList();
+            Map<String, Object> values = new LinkedHashMap<>();
+            keys.forEach(key -> values.put(key, Boolean.TRUE));
+
+            double putSingle = micros(() -> keys.forEach(key -> cacheService.put(CACHE, key, Boolean.TRUE, TTL)));
+            double getSingle = micros(() -> keys.forEach(key -> cacheService.get(CACHE, key, Boolean.class)));
+            // Evict rounds refill with one putAll so each round deletes live keys
+            double evictSingle = micros(() -> {
+                keys.forEach(key -> cacheService.evict(CACHE, key));
+                cacheService.putAll(CACHE, values, TTL);
+            });
+
+            double putBatched = micros(() -> cacheService.putAll(CACHE, values, TTL));
+            double getBatched = micros(() -> cacheService.getAll(CACHE, keys, Boolean.class));
+            double evictBatched = micros(() -> {
+                cacheService.evictAll(CACHE, keys);
+                cacheService.putAll(CACHE, values, TTL);
+            });
+
+            assertThat(cacheService.getAll(CACHE, keys, Boolean.class)).hasSize(size);
+            table.row(size, getSingle, getBatched, putSingle, putBatched, evictSingle, evictBatched);
+        }
+    }
+
+    private static double micros(Operation round) throws Exception {
+        return Benchmarks.measure(WARMUP_ROUNDS, MEASURED_ROUNDS, round).microsPerOp();
+    }
+}
@@ -0,0 +1,245 @@
+package com.learning.common.infra.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for single-flight loading and XFetch early refresh.
+ */
+class StampedeProtectedCacheTest {
+
+    private static final String KEY = "u1:doc:read";
+
+    private ConcurrentMapCache remote;
+    private DistributedLockService lockService;
+    private StampedeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private StampedeProtectedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache(CacheNames.PERMISSIONS);
+        lockService = mock(DistributedLockService.class);
+        when(lockService.tryLock(any(), any(), any())).thenReturn(true);
+        properties = new StampedeProperties();
+        properties.setWaitTime(Duration.ofSeconds(2));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new StampedeProtectedCache(remote, lockService, Duration.ofMinutes(10), properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        StampedeProtectedCache.releaseLoadsAbove(0);
+    }
+
+    private double requests(String outcome) {
+        return meterRegistry.get("cache.stampede.requests").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    @DisplayName("Concurrent misses on one instance run a single load")
+    void concurrentMissesLoadOnce() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(KEY, () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(100);
+                        return true;
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(requests("load")).isEqualTo(1);
+        verify(lockService).unlock("cache:load:permissions:" + KEY);
+    }
+
+    @Test
+    @DisplayName("Stores values unchanged, so they read the same with protection off")
+    void storesPlainValues() {
+        assertThat(cache.get(KEY)).isNull(); // miss: this thread loads
+        cache.put(KEY, true);
+
+        assertThat(remote.get(KEY).get()).isEqualTo(true);
+        assertThat(cache.get(KEY, Boolean.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Refreshes a key about to expire once, serving the old value to others")
+    void refreshesEarlyOnce() throws Exception {
+        // A beta this large makes every hit after a measurable load want an early refresh
+        properties.setBeta(1e12);
+        assertThat(cache.get(KEY)).isNull();
+        Thread.sleep(5);
+        cache.put(KEY, true);
+
+        assertThat(cache.get(KEY)).isNull(); // this thread refreshes
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(executor.submit(() -> cache.get(KEY, Boolean.class)).get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(requests("early_refresh")).isEqualTo(1);
+        assertThat(requests("stale")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Does not refresh entries far from expiry")
+    void noEarlyRefreshFarFromExpiry() {
+        assertThat(cache.get(KEY)).isNull();
+        cache.put(KEY, true);
+
+        assertThat(cache.get(KEY, Boolean.class)).isTrue();
+        assertThat(requests("early_refresh")).isZero();
+    }
+
+    @Test
+    @DisplayName("Waits for another instance's load instead of loading again")
+    void waitsForOtherInstance() throws Exception {
+        when(lockService.tryLock(eq("cache:load:permissions:" + KEY), any(), any())).thenReturn(false);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Cache.ValueWrapper> waiting = executor.submit(() -> cache.get(KEY));
+            Thread.sleep(50);
+            remote.put(KEY, true);
+
+            assertThat(waiting.get(5, TimeUnit.SECONDS).get()).isEqualTo(true);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(requests("joined")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Loads itself when another instance's load does not land in time")
+    void loadsAfterWaitTimeout() {
+        when(lockService.tryLock(any(), any(), any())).thenReturn(false);
+        properties.setWaitTime(Duration.ofMillis(50));
+
+        assertThat(cache.get(KEY)).isNull();
+        assertThat(requests("timeout")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Reads values stored before stampede protection was enabled")
+    void readsPlainValues() {
+        remote.put(KEY, true);
+
+        assertThat(cache.get(KEY, Boolean.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("A failed load releases its lease and lets waiters load at once")
+    void failedLoadReleases() throws Exception {
+        assertThatThrownBy(() -> cache.get(KEY, () -> {
+            throw new IllegalStateException("down");
+        })).isInstanceOf(Cache.ValueRetrievalException.class);
+
+        verify(lockService).unlock("cache:load:permissions:" + KEY);
+        assertThat(StampedeProtectedCache.pendingLoads()).isZero();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(executor.submit(() -> cache.get(KEY, () -> true)).get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(requests("timeout")).isZero();
+    }
+
+    @Test
+    @DisplayName("@Cacheable calls that throw or skip the put release their load")
+    void aspectReleasesAbandonedLoads() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new PermissionLoader(cache));
+        factory.addAspect(new CacheLoadReleaseAspect());
+        PermissionLoader loader = factory.getProxy();
+
+        assertThatThrownBy(loader::load).isInstanceOf(IllegalStateException.class);
+
+        verify(lockService).unlock("cache:load:permissions:" + KEY);
+        assertThat(StampedeProtectedCache.pendingLoads()).isZero();
+    }
+
+    @Test
+    @DisplayName("A put ends its load before the aspect runs")
+    void putEndsLoad() {
+        assertThat(cache.get(KEY)).isNull();
+        cache.put(KEY, true);
+        StampedeProtectedCache.releaseLoadsAbove(0);
+
+        verify(lockService).unlock("cache:load:permissions:" + KEY);
+        assertThat(remote.get(KEY).get()).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("Loads on other keys stay pending until they put")
+    void otherKeysStayPending() {
+        assertThat(cache.get(KEY)).isNull();
+        cache.put("other", true);
+
+        verify(lockService, never()).unlock(any());
+        StampedeProtectedCache.releaseLoadsAbove(0);
+        verify(lockService).unlock("cache:load:permissions:" + KEY);
+    }
+
+    /**
+     * Stands in for the caching interceptor: misses, then fails before the put.
+     */
+    static class PermissionLoader {
+
+        private final Cache cache;
+
+        PermissionLoader(Cache cache) {
+            this.cache = cache;
+        }
+
+        @Cacheable(CacheNames.PERMISSIONS)
+        public Boolean load() {
+            if (cache.get(KEY) == null) {
+                throw new IllegalStateException("down");
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.learning.common.infra.openfga;
+
+import com.learning.common.infra.benchmark.BenchmarkTest;
+import com.learning.common.infra.benchmark.Benchmarks;
+import com.learning.common.infra.tenant.TenantRegistryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Filtering a page of resources by permission: a check() per resource vs one
+ * checkAll(), against a stub OpenFGA answering every call after a fixed round
+ * trip. The decision cache is off, so every check goes to OpenFGA.
+ */
+@BenchmarkTest
+class OpenFgaCheckAllBenchmarkTest {
+
+    private static final long ROUND_TRIP_MILLIS = 2;
+    private static final int WARMUP_PAGES = 20;
+    private static final int MEASURED_PAGES = 50;
+
+    @Test
+    @DisplayName("check() per resource vs checkAll()")
+    void compareLoopAndCheckAll() throws Exception {
+        try (OpenFgaStubServer openFga = new OpenFgaStubServer(ROUND_TRIP_MILLIS)) {
+            OpenFgaProperties properties = new OpenFgaProperties();
+            properties.setEnabled(true);
+            properties.setApiUrl(openFga.url());
+            properties.setStoreId("01STORE");
+            properties.getCheckCache().setEnabled(false);
+            OpenFgaClientWrapper wrapper = new OpenFgaClientWrapper(properties, mock(TenantRegistryService.class),
+                    new OpenFgaResilienceConfig(),
+                    new OpenFgaCheckCache(properties.getCheckCache(), null, new SimpleMeterRegistry()),
+                    new OpenFgaTransport(properties, new SimpleMeterRegistry()));
+
+            Benchmarks.Table table = new Benchmarks.Table("method", "page", "ms/page", "calls/page");
+            for (int pageSize : new int[] { 50, 200 }) {
+                List<OpenFgaReader.CheckRequest> page = IntStream.range(0, pageSize)
+                        .mapToObj(i -> new OpenFgaReader.CheckRequest("u1", "can_view", "project", "p" + i))
+                        .toList();
+
+                Result loop = measure(openFga, page, checks -> checks.forEach(check -> wrapper.check(
+                        check.userId(), check.relation(), check.resourceType(), check.resourceId())));
+                Result batch = measure(openFga, page, wrapper::checkAll);
+                table.row("check", pageSize, loop.millisPerPage(), loop.callsPerPage());
+                table.row("checkAll", pageSize, batch.millisPerPage(), batch.callsPerPage());
+
+                assertThat(batch.callsPerPage()).isLessThan(loop.callsPerPage());
+            }
+        }
+    }
+
+    private record Result(double millisPerPage, double callsPerPage) {
+    }
+
+    private static Result measure(OpenFgaStubServer openFga, List<OpenFgaReader.CheckRequest> page,
+            Consumer<List<OpenFgaReader.CheckRequest>> filter) throws Exception {
+        // Every page makes the same calls, so count them over warm-up and measured pages alike
+        int callsBefore = openFga.checkCalls() + openFga.batchCheckCalls();
+        Benchmarks.Measurement measurement = Benchmarks.measure(WARMUP_PAGES, MEASURED_PAGES,
+                () -> filter.accept(page));
+        int calls = openFga.checkCalls() + openFga.batchCheckCalls() - callsBefore;
+        return new Result(measurement.millisPerOp(), (double) calls / (WARMUP_PAGES + MEASURED_PAGES));
+    }
+}
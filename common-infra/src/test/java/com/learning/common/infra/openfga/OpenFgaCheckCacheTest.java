@@ -0,0 +1,169 @@
+package com.learning.common.infra.openfga;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RTopic;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.api.listener.StatusListener;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the OpenFGA check decision cache and its pub/sub
+ * invalidation.
+ */
+class OpenFgaCheckCacheTest {
+
+    private RTopic topic;
+    private SimpleMeterRegistry meterRegistry;
+    private MessageListener<OpenFgaCheckCache.Invalidation> listener;
+    private StatusListener statusListener;
+    private OpenFgaCheckCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        topic = mock(RTopic.class);
+        when(topic.publishAsync(any())).thenReturn(new CompletableFutureWrapper<>(1L));
+        meterRegistry = new SimpleMeterRegistry();
+
+        cache = new OpenFgaCheckCache(new OpenFgaProperties.CheckCache(), topic, meterRegistry);
+        ArgumentCaptor<MessageListener<OpenFgaCheckCache.Invalidation>> messages =
+                ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic).addListener(eq(OpenFgaCheckCache.Invalidation.class), messages.capture());
+        listener = messages.getValue();
+        ArgumentCaptor<StatusListener> status = ArgumentCaptor.forClass(StatusListener.class);
+        verify(topic).addListener(status.capture());
+        statusListener = status.getValue();
+    }
+
+    private boolean check(String storeId, String userId, String object) {
+        return cache.check(storeId, userId, "can_view", object, () -> {
+            loads.incrementAndGet();
+            return true;
+        });
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("openfga.check.cache.gets").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Serves repeat checks from the cache")
+    void servesRepeatChecks() {
+        assertThat(check("store-1", "u1", "project:p1")).isTrue();
+        assertThat(check("store-1", "u1", "project:p1")).isTrue();
+
+        assertThat(loads).hasValue(1);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("openfga.check.cache.loads").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Does not cache failed checks, and denies them")
+    void doesNotCacheFailures() {
+        assertThat(cache.check("store-1", "u1", "can_view", "project:p1", () -> null)).isFalse();
+
+        assertThat(check("store-1", "u1", "project:p1")).isTrue();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("A user invalidation drops only that user's decisions in that store, and is broadcast")
+    void invalidatesUser() {
+        check("store-1", "u1", "project:p1");
+        check("store-1", "u1", "organization:o1");
+        check("store-1", "u2", "project:p1");
+        check("store-2", "u1", "project:p1");
+
+        cache.invalidateUser("store-1", "u1");
+        check("store-1", "u1", "project:p1");
+        check("store-1", "u1", "organization:o1");
+        check("store-1", "u2", "project:p1");
+        check("store-2", "u1", "project:p1");
+
+        assertThat(loads).hasValue(6);
+        ArgumentCaptor<OpenFgaCheckCache.Invalidation> published =
+                ArgumentCaptor.forClass(OpenFgaCheckCache.Invalidation.class);
+        verify(topic).publishAsync(published.capture());
+        assertThat(published.getValue().storeId()).isEqualTo("store-1");
+        assertThat(published.getValue().userId()).isEqualTo("u1");
+    }
+
+    @Test
+    @DisplayName("A tuple change for an object subject drops the whole store, for a plain user only that user")
+    void invalidatesSubject() {
+        check("store-1", "u1", "project:p1");
+        check("store-1", "u2", "project:p1");
+
+        cache.invalidateSubject("store-1", "u2");
+        check("store-1", "u1", "project:p1");
+        check("store-1", "u2", "project:p1");
+        assertThat(loads).hasValue(3);
+
+        cache.invalidateSubject("store-1", "organization:o1");
+        check("store-1", "u1", "project:p1");
+        check("store-1", "u2", "project:p1");
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    @DisplayName("A store invalidation from another instance drops the store's decisions; own broadcasts are ignored")
+    void remoteStoreInvalidation() {
+        check("store-1", "u1", "project:p1");
+        check("store-2", "u1", "project:p1");
+
+        cache.invalidateStore("store-2");
+        ArgumentCaptor<OpenFgaCheckCache.Invalidation> published =
+                ArgumentCaptor.forClass(OpenFgaCheckCache.Invalidation.class);
+        verify(topic).publishAsync(published.capture());
+        listener.onMessage("openfga:check:invalidations", published.getValue());
+        check("store-1", "u1", "project:p1");
+        assertThat(loads).hasValue(2);
+
+        listener.onMessage("openfga:check:invalidations",
+                new OpenFgaCheckCache.Invalidation("other-node", "store-1", null));
+        check("store-1", "u1", "project:p1");
+
+        assertThat(loads).hasValue(3);
+        assertThat(meterRegistry.get("openfga.check.cache.invalidations").tag("source", "remote").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Does not cache a decision loaded while an invalidation landed")
+    void racingInvalidationWins() {
+        cache.check("store-1", "u1", "can_view", "project:p1", () -> {
+            cache.invalidateUser("store-1", "u1");
+            return true;
+        });
+
+        check("store-1", "u1", "project:p1");
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Clears the cache on resubscribe, since messages may have been missed")
+    void clearsOnResubscribe() {
+        check("store-1", "u1", "project:p1");
+
+        statusListener.onSubscribe("openfga:check:invalidations");
+        check("store-1", "u1", "project:p1");
+
+        assertThat(loads).hasValue(2);
+    }
+}
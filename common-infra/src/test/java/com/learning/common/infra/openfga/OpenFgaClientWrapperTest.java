@@ -0,0 +1,107 @@
+package com.learning.common.infra.openfga;
+
+import com.learning.common.infra.tenant.TenantRegistryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests OpenFgaClientWrapper against a stub OpenFGA HTTP API.
+ */
+class OpenFgaClientWrapperTest {
+
+    private OpenFgaStubServer openFga;
+    private OpenFgaClientWrapper wrapper;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        start(0);
+    }
+
+    private void start(long delayMillis) throws Exception {
+        openFga = new OpenFgaStubServer(delayMillis);
+        OpenFgaProperties properties = new OpenFgaProperties();
+        properties.setEnabled(true);
+        properties.setApiUrl(openFga.url());
+        properties.setStoreId("01STORE");
+        properties.getBatchCheck().setMaxBatchSize(50);
+        wrapper = new OpenFgaClientWrapper(properties, mock(TenantRegistryService.class),
+                new OpenFgaResilienceConfig(),
+                new OpenFgaCheckCache(properties.getCheckCache(), null, new SimpleMeterRegistry()),
+                new OpenFgaTransport(properties, new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        openFga.close();
+    }
+
+    private static List<OpenFgaReader.CheckRequest> checks(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new OpenFgaReader.CheckRequest("u1", "can_view", "project", "p" + i))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("checkAll sends chunked batch checks and returns a result per check in order")
+    void checkAllChunks() {
+        List<OpenFgaReader.CheckRequest> checks = checks(120);
+
+        Map<OpenFgaReader.CheckRequest, Boolean> results = wrapper.checkAll(checks);
+
+        assertThat(results.keySet()).containsExactlyElementsOf(checks);
+        results.forEach((check, allowed) -> assertThat(allowed)
+                .isEqualTo(OpenFgaStubServer.allowed(check.resourceId())));
+        assertThat(openFga.batchCheckCalls()).isEqualTo(3);
+        assertThat(openFga.checkCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("checkAll and check share the decision cache")
+    void checkAllUsesCache() {
+        assertThat(wrapper.check("u1", "can_view", "project", "p2")).isTrue();
+
+        Map<OpenFgaReader.CheckRequest, Boolean> results = wrapper.checkAll(checks(3));
+        wrapper.checkAll(checks(3));
+
+        assertThat(results.values()).containsExactly(true, false, true);
+        assertThat(openFga.checkCalls()).isEqualTo(1);
+        assertThat(openFga.batchCheckCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("checkAll denies checks whose batch failed, without caching them")
+    void checkAllDeniesFailures() {
+        openFga.close();
+
+        Map<OpenFgaReader.CheckRequest, Boolean> results = wrapper.checkAll(checks(2));
+
+        assertThat(results.values()).containsExactly(false, false);
+    }
+
+    @Test
+    @DisplayName("checkAsync and checkAllAsync return before OpenFGA answers")
+    void asyncChecksDoNotBlock() throws Exception {
+        openFga.close();
+        start(300);
+
+        CompletableFuture<Boolean> check = wrapper.checkAsync("u1", "can_view", "project", "p2");
+        CompletableFuture<Map<OpenFgaReader.CheckRequest, Boolean>> checkAll = wrapper.checkAllAsync(checks(120));
+
+        assertThat(check).isNotDone();
+        assertThat(checkAll).isNotDone();
+        assertThat(check.join()).isTrue();
+        assertThat(checkAll.join()).hasSize(120);
+        assertThat(openFga.batchCheckCalls()).isEqualTo(3);
+    }
+}
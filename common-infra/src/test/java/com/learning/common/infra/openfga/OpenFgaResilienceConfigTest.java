@@ -4,6 +4,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -105,6 +109,63 @@ class OpenFgaResilienceConfigTest {
         assertThat(resilience.getCircuitState()).isEqualTo("OPEN");
     }
 
+    // ========================================================================
+    // Async Tests
+    // ========================================================================
+
+    @Test
+    @DisplayName("Async call should retry on a schedule instead of blocking")
+    void executeAsync_RetriesWithoutBlocking() {
+        // Given - call fails twice then succeeds
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<Boolean> result = resilience.executeAsync("check", () -> attempts.incrementAndGet() < 3
+                ? CompletableFuture.failedFuture(new RuntimeException("Transient failure"))
+                : CompletableFuture.completedFuture(true), false);
+
+        // Then - returns before the retry wait, succeeds after it
+        assertThat(result).isNotDone();
+        assertThat(result.join()).isTrue();
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Async call should complete with fallback when it fails")
+    void executeAsync_FailsToFallback() {
+        CompletableFuture<Boolean> result = resilience.executeAsync("check", () -> {
+            throw new IllegalStateException("FGA unavailable");
+        }, false);
+
+        assertThat(result.join()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Async call without fallback should complete exceptionally")
+    void executeAsync_PropagatesFailure() {
+        CompletableFuture<Object> result = resilience.executeAsync("writeTuple",
+                () -> CompletableFuture.failedFuture(new RuntimeException("Write failed")));
+
+        assertThat(result).failsWithin(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Async call should not start while the circuit is open")
+    void executeAsync_FailsFastWhenOpen() {
+        for (int i = 0; i < 10; i++) {
+            resilience.executeWithResilience("check", () -> {
+                throw new RuntimeException("Persistent failure");
+            }, false);
+        }
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<Boolean> result = resilience.executeAsync("check", () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture(true);
+        }, false);
+
+        assertThat(result).isCompletedWithValue(false);
+        assertThat(attempts).hasValue(0);
+    }
+
     // ========================================================================
     // Runnable Tests
     // ========================================================================
@@ -0,0 +1,101 @@
+package com.learning.common.infra.openfga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal OpenFGA HTTP API for tests: answers check and batch-check after a
+ * fixed delay standing in for the network round trip and evaluation.
+ * A user is allowed on an object iff the object id ends in an even digit.
+ */
+class OpenFgaStubServer implements AutoCloseable {
+
+    static {
+        // Otherwise Nagle's algorithm adds ~40ms to every small response
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final long delayMillis;
+    private final AtomicInteger checkCalls = new AtomicInteger();
+    private final AtomicInteger batchCheckCalls = new AtomicInteger();
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+
+    OpenFgaStubServer(long delayMillis) throws IOException {
+        this.delayMillis = delayMillis;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/stores/", this::handle);
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    int checkCalls() {
+        return checkCalls.get();
+    }
+
+    int batchCheckCalls() {
+        return batchCheckCalls.get();
+    }
+
+    int connections() {
+        return connections.size();
+    }
+
+    static boolean allowed(String object) {
+        return (object.charAt(object.length() - 1) - '0') % 2 == 0;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        connections.add(exchange.getRemoteAddress());
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        String path = exchange.getRequestURI().getPath();
+        ObjectNode response = objectMapper.createObjectNode();
+        if (path.endsWith("/batch-check")) {
+            batchCheckCalls.incrementAndGet();
+            ObjectNode results = response.putObject("result");
+            for (JsonNode check : request.get("checks")) {
+                results.putObject(check.get("correlation_id").asText())
+                        .put("allowed", allowed(check.get("tuple_key").get("object").asText()));
+            }
+        } else if (path.endsWith("/check")) {
+            checkCalls.incrementAndGet();
+            response.put("allowed", allowed(request.get("tuple_key").get("object").asText()));
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = objectMapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
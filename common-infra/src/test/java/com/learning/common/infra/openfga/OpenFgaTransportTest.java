@@ -0,0 +1,76 @@
+package com.learning.common.infra.openfga;
+
+import dev.openfga.sdk.api.client.model.ClientCheckRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the shared OpenFGA transport, against a local stub server.
+ */
+class OpenFgaTransportTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OpenFgaStubServer openFga;
+    private OpenFgaProperties properties;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        openFga = new OpenFgaStubServer(0);
+        properties = new OpenFgaProperties();
+        properties.setEnabled(true);
+        properties.setApiUrl(openFga.url());
+    }
+
+    @AfterEach
+    void tearDown() {
+        openFga.close();
+    }
+
+    private static ClientCheckRequest check(String object) {
+        return new ClientCheckRequest().user("user:u1").relation("can_view")._object(object);
+    }
+
+    @Test
+    @DisplayName("Reuses the client of a store")
+    void reusesStoreClient() {
+        OpenFgaTransport transport = new OpenFgaTransport(properties, meterRegistry);
+
+        assertThat(transport.client("store-1")).isSameAs(transport.client("store-1"));
+        assertThat(transport.client("store-2")).isNotSameAs(transport.client("store-1"));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "openfgaClients").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Bounds the number of cached store clients")
+    void boundsClientCache() {
+        properties.getClientCache().setMaximumSize(2);
+        OpenFgaTransport transport = new OpenFgaTransport(properties, meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            transport.client("store-" + i);
+        }
+
+        assertThat(transport.cachedClients()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Stores share one connection")
+    void storesShareConnection() throws Exception {
+        OpenFgaTransport transport = new OpenFgaTransport(properties, meterRegistry);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(transport.client("store-" + (i % 3)).check(check("project:p2")).get().getAllowed())
+                    .isTrue();
+        }
+
+        assertThat(openFga.checkCalls()).isEqualTo(6);
+        assertThat(openFga.connections()).isEqualTo(1);
+        assertThat(meterRegistry.get("openfga.http.requests").counter().count()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,404 @@
+package com.learning.common.infra.openfga;
+
+import com.learning.common.infra.openfga.OpenFgaTupleOutbox.Entry;
+import com.learning.common.infra.openfga.OpenFgaTupleOutbox.Operation;
+import dev.openfga.sdk.errors.FgaApiValidationError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Unit tests for the write-behind OpenFGA tuple writer, against an in-memory
+ * outbox and a recording sink.
+ */
+class OpenFgaTupleWriterTest {
+
+    private final InMemoryOutbox outbox = new InMemoryOutbox();
+    private final List<List<Entry>> requests = new ArrayList<>();
+    private final Set<String> tuples = new HashSet<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OpenFgaTupleWriter.TupleSink sink = (storeId, entries) -> requests.add(entries);
+    private OpenFgaCheckCache checkCache;
+    private OpenFgaTupleWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        checkCache = new OpenFgaCheckCache(new OpenFgaProperties.CheckCache(), null, meterRegistry);
+        writer = new OpenFgaTupleWriter(new OpenFgaProperties.Outbox(), outbox,
+                (storeId, entries) -> sink.write(storeId, entries), () -> Optional.of("store-1"), checkCache,
+                meterRegistry);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static FgaApiValidationError validationError() {
+        return new FgaApiValidationError("write_failed_due_to_invalid_input", 400,
+                HttpHeaders.of(Map.of(), (name, value) -> true), "{}");
+    }
+
+    private static FgaApiValidationError validationError(String message) {
+        return new FgaApiValidationError("write_failed_due_to_invalid_input", 400,
+                HttpHeaders.of(Map.of(), (name, value) -> true),
+                "{\"code\":\"write_failed_due_to_invalid_input\",\"message\":\"" + message + "\"}");
+    }
+
+    /**
+     * Rejects the whole request, as OpenFGA does, if it writes a tuple that
+     * exists or deletes one that does not.
+     */
+    private void enforceExistence() {
+        sink = (storeId, entries) -> {
+            for (Entry entry : entries) {
+                boolean exists = tuples.contains(key(entry));
+                if (entry.operation() == Operation.WRITE && exists) {
+                    throw validationError("cannot write a tuple which already exists");
+                }
+                if (entry.operation() == Operation.DELETE && !exists) {
+                    throw validationError("cannot delete a tuple which does not exist");
+                }
+            }
+            for (Entry entry : entries) {
+                if (entry.operation() == Operation.WRITE) {
+                    tuples.add(key(entry));
+                } else {
+                    tuples.remove(key(entry));
+                }
+            }
+            requests.add(entries);
+        };
+    }
+
+    private static String key(Entry entry) {
+        return entry.user() + " " + entry.relation() + " " + entry.object();
+    }
+
+    private double rejectedCount() {
+        return meterRegistry.get("openfga.outbox.entries").tag("result", "rejected").counter().count();
+    }
+
+    @Test
+    @DisplayName("Collapses duplicate operations into one write request")
+    void collapsesOperations() {
+        CompletableFuture<Void> first = writer.writeTupleAsync("u1", "member", "organization", "o1");
+        CompletableFuture<Void> duplicate = writer.writeTupleAsync("u1", "member", "organization", "o1");
+        writer.writeParentRelation("project", "p1", "organization", "o1");
+
+        assertThat(first).isNotDone();
+        writer.relay();
+
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0)).extracting(Entry::operation, Entry::user, Entry::object)
+                .containsExactly(
+                        tuple(Operation.WRITE, "user:u1", "organization:o1"),
+                        tuple(Operation.WRITE, "organization:o1", "project:p1"));
+        assertThat(first).isCompleted();
+        assertThat(duplicate).isCompleted();
+        assertThat(outbox.entries).isEmpty();
+        assertThat(meterRegistry.get("openfga.outbox.entries").tag("result", "collapsed").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("openfga.outbox.batch.size").summary().max()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A write then delete of a new tuple completes both, against a store that enforces existence")
+    void cancellingOperationsApply() {
+        enforceExistence();
+        CompletableFuture<Void> member = writer.writeTupleAsync("u1", "member", "organization", "o1");
+        CompletableFuture<Void> written = writer.writeTupleAsync("u2", "admin", "organization", "o1");
+        CompletableFuture<Void> deleted = writer.deleteTupleAsync("u2", "admin", "organization", "o1");
+
+        writer.relay();
+
+        assertThat(member).isCompleted();
+        assertThat(written).isCompleted();
+        assertThat(deleted).isCompleted();
+        assertThat(tuples).containsExactly("user:u1 member organization:o1");
+        assertThat(outbox.entries).isEmpty();
+        assertThat(rejectedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Counts a write of a tuple OpenFGA already has as applied, without resending it")
+    void alreadyAppliedTuple() {
+        enforceExistence();
+        tuples.add("user:u1 member organization:o1");
+        AtomicInteger attempts = new AtomicInteger();
+        OpenFgaTupleWriter.TupleSink enforcing = sink;
+        sink = (storeId, entries) -> {
+            attempts.incrementAndGet();
+            enforcing.write(storeId, entries);
+        };
+        CompletableFuture<Void> future = writer.writeTupleAsync("u1", "member", "organization", "o1");
+
+        writer.relay();
+
+        assertThat(future).isCompleted();
+        assertThat(attempts).hasValue(1);
+        assertThat(outbox.entries).isEmpty();
+        assertThat(rejectedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Sends a rejected batch one by one and drops only the rejected tuple")
+    void dropsRejectedTuple() {
+        sink = (storeId, entries) -> {
+            if (entries.stream().anyMatch(entry -> entry.relation().equals("bogus"))) {
+                throw validationError();
+            }
+            requests.add(entries);
+        };
+        CompletableFuture<Void> good = writer.writeTupleAsync("u1", "member", "organization", "o1");
+        CompletableFuture<Void> bad = writer.writeTupleAsync("u2", "bogus", "organization", "o1");
+
+        writer.relay();
+
+        assertThat(good).isCompleted();
+        assertThat(bad).isCompletedExceptionally();
+        assertThat(requests).hasSize(1);
+        assertThat(outbox.entries).isEmpty();
+        assertThat(rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Drops a tuple the model rejects even if the message says something does not exist")
+    void dropsModelRejection() {
+        enforceExistence();
+        OpenFgaTupleWriter.TupleSink enforcing = sink;
+        sink = (storeId, entries) -> {
+            if (entries.stream().anyMatch(entry -> entry.relation().equals("bogus"))) {
+                throw validationError("Invalid tuple 'organization:o1#bogus@user:u1'. "
+                        + "Reason: relation 'organization#bogus' does not exist");
+            }
+            enforcing.write(storeId, entries);
+        };
+        CompletableFuture<Void> write = writer.writeTupleAsync("u1", "bogus", "organization", "o1");
+        CompletableFuture<Void> delete = writer.deleteTupleAsync("u2", "bogus", "organization", "o1");
+
+        writer.relay();
+
+        assertThat(write).isCompletedExceptionally();
+        assertThat(delete).isCompletedExceptionally();
+        assertThat(outbox.entries).isEmpty();
+        assertThat(rejectedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Keeps the batch queued and backs off while OpenFGA is failing")
+    void keepsBatchOnFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+        sink = (storeId, entries) -> {
+            attempts.incrementAndGet();
+            throw new IOException("connection refused");
+        };
+        CompletableFuture<Void> future = writer.writeTupleAsync("u1", "member", "organization", "o1");
+
+        writer.relay();
+        writer.relay();
+
+        assertThat(attempts).hasValue(1);
+        assertThat(future).isNotDone();
+        assertThat(outbox.entries).hasSize(1);
+        assertThat(meterRegistry.get("openfga.outbox.relay.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Queues writes made in a transaction only once it commits")
+    void queuesAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        CompletableFuture<Void> committed = writer.writeTupleAsync("u1", "member", "organization", "o1");
+        assertThat(outbox.entries).isEmpty();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.initSynchronization();
+        CompletableFuture<Void> rolledBack = writer.writeTupleAsync("u2", "member", "organization", "o1");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(outbox.entries).hasSize(1);
+        assertThat(committed).isNotDone();
+        assertThat(rolledBack).isCancelled();
+    }
+
+    @Test
+    @DisplayName("Queues in the caller's transaction when it is on the outbox's database")
+    void queuesInTransaction() {
+        outbox.inTransaction = true;
+        TransactionSynchronizationManager.initSynchronization();
+        CompletableFuture<Void> committed = writer.writeTupleAsync("u1", "member", "organization", "o1");
+        assertThat(outbox.entries).hasSize(1);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.initSynchronization();
+        CompletableFuture<Void> rolledBack = writer.writeTupleAsync("u2", "member", "organization", "o1");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        outbox.entries.remove(2L); // rolled back with the caller's change
+
+        writer.relay();
+
+        assertThat(committed).isCompleted();
+        assertThat(rolledBack).isCancelled();
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Fails the caller's transaction if it cannot queue in it")
+    void failsTransactionIfQueueingFails() {
+        outbox.inTransaction = true;
+        outbox.failing = true;
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThatThrownBy(() -> writer.writeTupleAsync("u1", "member", "organization", "o1"))
+                .isInstanceOf(OpenFgaClientWrapper.OpenFgaException.class);
+    }
+
+    @Test
+    @DisplayName("Keeps failed appends in memory and queues them in order once the outbox is back")
+    void retriesFailedAppends() {
+        outbox.failing = true;
+        CompletableFuture<Void> written = writer.writeTupleAsync("u1", "member", "organization", "o1");
+        outbox.failing = false;
+        CompletableFuture<Void> deleted = writer.deleteTupleAsync("u1", "member", "organization", "o1");
+
+        assertThat(outbox.entries).isEmpty();
+        assertThat(meterRegistry.get("openfga.outbox.spooled").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("openfga.outbox.append.failures").tag("result", "spooled").counter()
+                .count()).isEqualTo(2);
+
+        writer.relay();
+
+        assertThat(written).isCompleted();
+        assertThat(deleted).isCompleted();
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0)).extracting(Entry::operation).containsExactly(Operation.DELETE);
+        assertThat(meterRegistry.get("openfga.outbox.spooled").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Completes futures of entries another instance relayed")
+    void completesEntriesRelayedElsewhere() {
+        CompletableFuture<Void> future = writer.writeTupleAsync("u1", "member", "organization", "o1");
+        outbox.entries.clear();
+
+        writer.relay();
+
+        assertThat(future).isCompleted();
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Applied writes invalidate the user's cached decisions")
+    void invalidatesCheckCache() {
+        AtomicInteger loads = new AtomicInteger();
+        checkCache.check("store-1", "u1", "member", "organization:o1", () -> {
+            loads.incrementAndGet();
+            return false;
+        });
+        writer.writeTupleAsync("u1", "member", "organization", "o1");
+        writer.relay();
+
+        checkCache.check("store-1", "u1", "member", "organization:o1", () -> {
+            loads.incrementAndGet();
+            return true;
+        });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Applied tuples whose subject is an object invalidate every user's cached decisions")
+    void objectSubjectInvalidatesStore() {
+        AtomicInteger loads = new AtomicInteger();
+        checkCache.check("store-1", "u1", "viewer", "project:p1", () -> {
+            loads.incrementAndGet();
+            return false;
+        });
+        // As OpenFgaTupleService.linkProjectToOrganization writes it
+        writer.writeTupleAsync("organization:o1", "organization", "project", "p1");
+        writer.relay();
+
+        checkCache.check("store-1", "u1", "viewer", "project:p1", () -> {
+            loads.incrementAndGet();
+            return true;
+        });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private static final class InMemoryOutbox implements OpenFgaTupleOutbox {
+
+        private final TreeMap<Long, Entry> entries = new TreeMap<>();
+        private long nextId = 1;
+        private boolean inTransaction;
+        private boolean failing;
+
+        @Override
+        public long append(String storeId, Operation operation, String user, String relation, String object) {
+            if (failing) {
+                throw new IllegalStateException("connection refused");
+            }
+            long id = nextId++;
+            entries.put(id, new Entry(id, storeId, operation, user, relation, object, Instant.now()));
+            return id;
+        }
+
+        @Override
+        public boolean joinsCurrentTransaction() {
+            return inTransaction;
+        }
+
+        @Override
+        public int relay(int limit, Function<List<Entry>, Collection<Long>> relay) {
+            List<Entry> batch = entries.values().stream().limit(limit).toList();
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            relay.apply(batch).forEach(entries::remove);
+            return batch.size();
+        }
+
+        @Override
+        public Set<Long> remaining(Collection<Long> ids) {
+            Set<Long> remaining = new HashSet<>(ids);
+            remaining.retainAll(entries.keySet());
+            return remaining;
+        }
+
+        @Override
+        public Stats stats() {
+            return new Stats(entries.size(), entries.isEmpty() ? null : entries.firstEntry().getValue().createdAt());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.learning.common.infra.ratelimit;
+
+import com.learning.common.infra.benchmark.BenchmarkTest;
+import com.learning.common.infra.benchmark.Benchmarks;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Steady-state time and allocation per tryAcquire of ApiRateLimiter, against
+ * the previous design (a Resilience4j RateLimiter per endpoint:user key in a
+ * ConcurrentHashMap). Allocation is only counted on a HotSpot JVM.
+ */
+@BenchmarkTest
+class ApiRateLimiterBenchmarkTest {
+
+    private static final String ENDPOINT = "permission-list";
+    private static final int USERS = 1_000;
+    private static final int WARMUP_ROUNDS = 2_000_000;
+    private static final int MEASURED_ROUNDS = 5_000_000;
+
+    @Test
+    @DisplayName("GCRA limiter vs Resilience4j limiter per key")
+    void compareLimiters() throws Exception {
+        String[] users = IntStream.range(0, USERS).mapToObj(i -> "user-" + i).toArray(String[]::new);
+
+        // Large limit so the steady state exercises the permit path
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLimitForPeriod(1_000_000);
+        ApiRateLimiter gcra = new ApiRateLimiter(properties, new SimpleMeterRegistry(), System::nanoTime);
+
+        RateLimiterConfig config = RateLimiterConfig.custom()
+                .limitForPeriod(1_000_000)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ZERO)
+                .build();
+        Map<String, RateLimiter> resilience4j = new ConcurrentHashMap<>();
+
+        int[] next = new int[1];
+        Benchmarks.Measurement gcraResult = Benchmarks.measure(WARMUP_ROUNDS, MEASURED_ROUNDS,
+                () -> gcra.tryAcquire(ENDPOINT, users[next[0]++ % USERS]));
+        Benchmarks.Measurement r4jResult = Benchmarks.measure(WARMUP_ROUNDS, MEASURED_ROUNDS, () -> {
+            String key = ENDPOINT + ":" + users[next[0]++ % USERS];
+            resilience4j.computeIfAbsent(key, k -> RateLimiter.of(k, config)).acquirePermission();
+        });
+
+        Benchmarks.Table table = new Benchmarks.Table("limiter", "ns/op", "bytes/op");
+        table.row("gcra", gcraResult.nanosPerOp(), gcraResult.bytesPerOp());
+        table.row("resilience4j", r4jResult.nanosPerOp(), r4jResult.bytesPerOp());
+
+        assertThat(gcra.getMetrics(ENDPOINT, users[0]).availablePermissions()).isPositive();
+    }
+}
@@ -0,0 +1,133 @@
+package com.learning.common.infra.ratelimit;
+
+import com.learning.common.infra.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the GCRA-based per-user API rate limiter and its aspect.
+ */
+class ApiRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(-5_000_000_000L); // nanoTime may be negative
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ApiRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new ApiRateLimiter(properties, meterRegistry, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("Allows a burst of limit-for-period, then rejects")
+    void allowsBurstThenRejects() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire("permission-list", "u1")).isTrue();
+        }
+        assertThat(rateLimiter.tryAcquire("permission-list", "u1")).isFalse();
+        assertThat(rateLimiter.getMetrics("permission-list", "u1").availablePermissions()).isZero();
+    }
+
+    @Test
+    @DisplayName("Refills one permit per interval")
+    void refillsPerInterval() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("permission-list", "u1");
+        }
+
+        advance(Duration.ofMillis(100));
+        assertThat(rateLimiter.tryAcquire("permission-list", "u1")).isTrue();
+        assertThat(rateLimiter.tryAcquire("permission-list", "u1")).isFalse();
+
+        advance(Duration.ofSeconds(1));
+        assertThat(rateLimiter.getMetrics("permission-list", "u1").availablePermissions()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Limits each user separately")
+    void limitsUsersSeparately() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("permission-list", "u1");
+        }
+
+        assertThat(rateLimiter.tryAcquire("permission-list", "u1")).isFalse();
+        assertThat(rateLimiter.tryAcquire("permission-list", "u2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Configured endpoint limits win over the caller's")
+    void configuredEndpointLimits() {
+        RateLimitProperties.Limit share = new RateLimitProperties.Limit();
+        share.setLimitForPeriod(2);
+        properties.getEndpoints().put("permission-share", share);
+
+        assertThat(rateLimiter.tryAcquire("permission-share", "u1", 50, Duration.ofSeconds(1))).isTrue();
+        assertThat(rateLimiter.tryAcquire("permission-share", "u1", 50, Duration.ofSeconds(1))).isTrue();
+        assertThat(rateLimiter.tryAcquire("permission-share", "u1", 50, Duration.ofSeconds(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Counts rejections and tracked users per endpoint")
+    void exportsMetrics() {
+        for (int i = 0; i < 12; i++) {
+            rateLimiter.tryAcquire("permission-list", "u1");
+        }
+        rateLimiter.tryAcquire("permission-list", "u2");
+
+        assertThat(meterRegistry.get("ratelimit.rejected").tag("endpoint", "permission-list").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("ratelimit.keys").tag("endpoint", "permission-list").gauge().value())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("@RateLimited rejects callers over the limit with 429")
+    void aspectRejectsOverLimit() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-User-Id", "u1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setLimitForPeriod(1);
+        properties.getEndpoints().put("share", limit);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SharingController());
+        factory.addAspect(new RateLimitAspect(rateLimiter));
+        SharingController controller = factory.getProxy();
+
+        assertThat(controller.share()).isEqualTo("shared");
+        assertThatThrownBy(controller::share).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    static class SharingController {
+
+        @RateLimited("share")
+        public String share() {
+            return "shared";
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.learning.common.infra.ratelimit;
+
+import com.learning.common.infra.benchmark.BenchmarkRedis;
+import com.learning.common.infra.benchmark.BenchmarkTest;
+import com.learning.common.infra.benchmark.Benchmarks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Several ApiRateLimiter instances, each with its own Redis connection,
+ * sharing limits through one real Redis (see {@link BenchmarkRedis}): how
+ * close the admitted total stays to the configured limit, how many Redis
+ * calls leasing takes, and throughput, against per-instance limiting.
+ */
+@BenchmarkTest
+class DistributedRateLimiterBenchmarkTest {
+
+    private static final int INSTANCES = 4;
+    private static final int THREADS_PER_INSTANCE = 4;
+    private static final Duration RUN = Duration.ofSeconds(3);
+    private static final int USERS = 1_000;
+    private static final Duration REDIS_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final List<RedissonClient> CLIENTS = new ArrayList<>();
+
+    @BeforeAll
+    static void connect() {
+        for (int i = 0; i < INSTANCES; i++) {
+            CLIENTS.add(BenchmarkRedis.connect());
+        }
+    }
+
+    @AfterAll
+    static void disconnect() {
+        CLIENTS.forEach(RedissonClient::shutdown);
+    }
+
+    @Test
+    @DisplayName("Leased Redis limits vs per-instance limits across instances")
+    void compareAcrossInstances() throws Exception {
+        Benchmarks.Table table = new Benchmarks.Table("mode", "limit/s", "users", "admitted", "bound",
+                "redis calls", "ops/s");
+
+        Result hotLocal = run("local", false, 1_000, 1);
+        Result hotRedis = run("redis", true, 1_000, 1);
+        Result smallRedis = run("redis", true, 20, 1);
+        Result manyRedis = run("redis", true, 1_000, USERS);
+
+        for (Result result : List.of(hotLocal, hotRedis, smallRedis, manyRedis)) {
+            table.row(result.mode(), result.limit(), result.users(), result.admitted(), result.bound(),
+                    result.redisCalls(), (long) result.opsPerSecond());
+        }
+
+        // Limited per instance, the four together admit about four times the bound
+        assertThat(hotLocal.admitted()).isGreaterThan(hotLocal.bound());
+        for (Result result : List.of(hotRedis, smallRedis, manyRedis)) {
+            assertThat(result.admitted()).isLessThanOrEqualTo(result.bound());
+        }
+        assertThat(hotRedis.admitted()).isGreaterThan(hotRedis.bound() * 8 / 10);
+    }
+
+    /**
+     * @param bound the most one limit allows over the run: a full burst plus
+     *              the limit for every further second, per user
+     */
+    private record Result(String mode, int limit, int users, long admitted, long bound, long redisCalls,
+            double opsPerSecond) {
+    }
+
+    private Result run(String mode, boolean distributed, int limit, int users) throws Exception {
+        CLIENTS.get(0).getKeys().flushall();
+        List<ApiRateLimiter> instances = new ArrayList<>();
+        List<SimpleMeterRegistry> registries = new ArrayList<>();
+        for (RedissonClient client : CLIENTS) {
+            RateLimitProperties properties = new RateLimitProperties();
+            properties.setLimitForPeriod(limit);
+            // The spinning callers can starve Redisson's event loop past the 50ms default on small hosts
+            properties.getDistributed().setTimeout(REDIS_TIMEOUT);
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            registries.add(registry);
+            instances.add(new ApiRateLimiter(properties, registry, System::nanoTime,
+                    distributed ? new RedisGcraScript(client, properties.getDistributed().getTimeout()) : null));
+        }
+
+        LongAdder admitted = new LongAdder();
+        LongAdder operations = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(INSTANCES * THREADS_PER_INSTANCE);
+        try {
+            long deadline = System.nanoTime() + RUN.toNanos();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < INSTANCES * THREADS_PER_INSTANCE; t++) {
+                ApiRateLimiter limiter = instances.get(t % INSTANCES);
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    int next = offset;
+                    while (System.nanoTime() - deadline < 0) {
+                        if (limiter.tryAcquire("bench", "user-" + (next++ % users))) {
+                            admitted.increment();
+                        }
+                        operations.increment();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long redisCalls = registries.stream()
+                .flatMap(registry -> registry.find("ratelimit.redis.calls").counters().stream())
+                .mapToLong(counter -> (long) counter.count())
+                .sum();
+        // A failed or slow call falls back to per-instance limits, which would void the bound
+        assertThat(registries.stream()
+                .flatMap(registry -> registry.find("ratelimit.redis.calls").tag("result", "failed")
+                        .counters().stream())
+                .mapToDouble(Counter::count)
+                .sum()).isZero();
+        long bound = (limit + limit * RUN.toSeconds()) * users;
+        return new Result(mode, limit, users, admitted.sum(), bound, redisCalls,
+                operations.sum() / (RUN.toNanos() / 1e9));
+    }
+}
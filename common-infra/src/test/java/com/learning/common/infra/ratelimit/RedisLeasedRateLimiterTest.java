@@ -0,0 +1,155 @@
+package com.learning.common.infra.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for permit leasing and local fallback of the Redis-backed
+ * limiter, with the script mocked.
+ */
+class RedisLeasedRateLimiterTest {
+
+    private static final String KEY = "ratelimit:permission-list:u1";
+
+    private final AtomicLong clock = new AtomicLong(-5_000_000_000L);
+    private RedisGcraScript script;
+    private SimpleMeterRegistry meterRegistry;
+    private RedisLeasedRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        script = mock(RedisGcraScript.class);
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new RedisLeasedRateLimiter("permission-list", 100, Duration.ofSeconds(1), 1_000,
+                new RateLimitProperties.Distributed(), script, clock::get, meterRegistry);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private void grant(int permits) {
+        when(script.acquire(eq(KEY), anyLong(), anyLong(), anyInt()))
+                .thenReturn(new RedisGcraScript.Grant(permits, 0, 100));
+    }
+
+    @Test
+    @DisplayName("Spends a leased block locally before going back to Redis")
+    void spendsLeaseLocally() {
+        grant(10);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("u1")).isTrue();
+        }
+        verify(script, times(1)).acquire(KEY, 10_000, 990_000, 10);
+
+        assertThat(limiter.tryAcquire("u1")).isTrue();
+        verify(script, times(2)).acquire(KEY, 10_000, 990_000, 10);
+    }
+
+    @Test
+    @DisplayName("Leases again once a lease expires, even if not used up")
+    void leaseExpires() {
+        grant(10);
+        limiter.tryAcquire("u1");
+
+        advance(Duration.ofMillis(250));
+        limiter.tryAcquire("u1");
+
+        verify(script, times(2)).acquire(eq(KEY), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Does not ask Redis again until a refused key's next permit is due")
+    void remembersRefusal() {
+        when(script.acquire(eq(KEY), anyLong(), anyLong(), anyInt()))
+                .thenReturn(new RedisGcraScript.Grant(0, 40_000, 0));
+
+        assertThat(limiter.tryAcquire("u1")).isFalse();
+        assertThat(limiter.tryAcquire("u1")).isFalse();
+        verify(script, times(1)).acquire(eq(KEY), anyLong(), anyLong(), anyInt());
+
+        advance(Duration.ofMillis(40));
+        grant(1);
+        assertThat(limiter.tryAcquire("u1")).isTrue();
+        assertThat(meterRegistry.get("ratelimit.redis.calls").tag("result", "refused").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Limits locally while Redis is unavailable, then retries it")
+    void fallsBackToLocal() {
+        when(script.acquire(eq(KEY), anyLong(), anyLong(), anyInt()))
+                .thenThrow(new RedisGcraScript.RedisUnavailableException(new IllegalStateException("down")));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire("u1")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("u1")).isFalse();
+        verify(script, times(1)).acquire(eq(KEY), anyLong(), anyLong(), anyInt());
+
+        advance(Duration.ofSeconds(5));
+        grant(10);
+        assertThat(limiter.tryAcquire("u1")).isTrue();
+        verify(script, times(2)).acquire(eq(KEY), anyLong(), anyLong(), anyInt());
+        assertThat(meterRegistry.get("ratelimit.redis.calls").tag("result", "failed").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Leases at least min-lease-size permits, capped at the limit")
+    void leaseSizeFloor() {
+        RateLimitProperties.Distributed distributed = new RateLimitProperties.Distributed();
+
+        assertThat(new RedisLeasedRateLimiter("login", 10, Duration.ofSeconds(1), 1_000, distributed, script,
+                clock::get, meterRegistry).leaseSize()).isEqualTo(5);
+        assertThat(new RedisLeasedRateLimiter("login", 3, Duration.ofSeconds(1), 1_000, distributed, script,
+                clock::get, meterRegistry).leaseSize()).isEqualTo(3);
+        assertThat(limiter.leaseSize()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Callers arriving during a Redis call wait for its lease instead of calling again")
+    void oneRedisCallPerKey() throws Exception {
+        CountDownLatch inRedis = new CountDownLatch(1);
+        CountDownLatch answer = new CountDownLatch(1);
+        when(script.acquire(eq(KEY), anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            inRedis.countDown();
+            answer.await(5, TimeUnit.SECONDS);
+            return new RedisGcraScript.Grant(10, 0, 100);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = executor.submit(() -> limiter.tryAcquire("u1"));
+            assertThat(inRedis.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Boolean> second = executor.submit(() -> limiter.tryAcquire("u1"));
+            Thread.sleep(50);
+            answer.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(script, times(1)).acquire(eq(KEY), anyLong(), anyLong(), anyInt());
+    }
+}
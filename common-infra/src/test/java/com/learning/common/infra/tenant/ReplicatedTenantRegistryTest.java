@@ -0,0 +1,162 @@
+package com.learning.common.infra.tenant;
+
+import com.learning.common.dto.TenantChange;
+import com.learning.common.dto.TenantChangeFeed;
+import com.learning.common.dto.TenantDbConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReplicatedTenantRegistry against an in-memory change feed.
+ */
+class ReplicatedTenantRegistryTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    /** version -> change, mimicking the platform-service tenant table */
+    private final TreeMap<Long, TenantChange> feed = new TreeMap<>();
+    private long nextVersion = 1;
+
+    private TenantRegistryService fallback;
+    private TenantRegistryReplicationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicatedTenantRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        fallback = mock(TenantRegistryService.class);
+        properties = new TenantRegistryReplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new ReplicatedTenantRegistry(this::readFeed, fallback, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+    }
+
+    private TenantChangeFeed readFeed(long since) {
+        List<TenantChange> page = new ArrayList<>(feed.tailMap(since, false).values());
+        boolean hasMore = page.size() > PAGE_SIZE;
+        page = page.subList(0, Math.min(PAGE_SIZE, page.size()));
+        long version = page.isEmpty() ? since : page.get(page.size() - 1).version();
+        return new TenantChangeFeed(version, hasMore, List.copyOf(page));
+    }
+
+    private void upsert(String tenantId, String jdbcUrl, String status) {
+        upsert(tenantId, jdbcUrl, status, nextVersion++);
+    }
+
+    private void upsert(String tenantId, String jdbcUrl, String status, long version) {
+        feed.values().removeIf(change -> change.tenantId().equals(tenantId));
+        feed.put(version, new TenantChange(tenantId, version, status,
+                new TenantDbConfig(jdbcUrl, "user", null, null, "DATABASE", "STANDARD")));
+    }
+
+    @Test
+    @DisplayName("Serves lookups from the replica after the first sync")
+    void servesFromReplica() {
+        upsert("t1", "jdbc:postgresql://db/t_1", "ACTIVE");
+        upsert("t2", "jdbc:postgresql://db/t_2", "ACTIVE");
+        upsert("t3", "jdbc:postgresql://db/t_3", "SUSPENDED");
+
+        registry.poll();
+
+        assertThat(registry.isSynced()).isTrue();
+        assertThat(registry.load("t3").jdbcUrl()).isEqualTo("jdbc:postgresql://db/t_3");
+        assertThat(registry.getStatus("t3")).contains("SUSPENDED");
+        assertThat(meterRegistry.get("tenant.registry.replica.size").gauge().value()).isEqualTo(3);
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    @DisplayName("Applies only changes after the last version on incremental polls")
+    void appliesIncrementalChanges() {
+        upsert("t1", "jdbc:postgresql://db/t_1", "ACTIVE");
+        registry.poll();
+
+        upsert("t1", "jdbc:postgresql://db2/t_1", "ACTIVE");
+        upsert("t2", "jdbc:postgresql://db/t_2", "PROVISIONING");
+        registry.poll();
+
+        assertThat(registry.load("t1").jdbcUrl()).isEqualTo("jdbc:postgresql://db2/t_1");
+        assertThat(registry.getStatus("t2")).contains("PROVISIONING");
+        assertThat(meterRegistry.get("tenant.registry.replica.version").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Picks up a change committed after later versions were read")
+    void picksUpLateCommit() {
+        upsert("t1", "jdbc:postgresql://db/t_1", "ACTIVE");
+        registry.poll();
+
+        // t2 takes version 2 but commits only after t3 (version 3) was polled
+        long late = nextVersion++;
+        upsert("t3", "jdbc:postgresql://db/t_3", "ACTIVE");
+        registry.poll();
+        upsert("t2", "jdbc:postgresql://db/t_2", "SUSPENDED", late);
+        registry.poll();
+
+        assertThat(registry.getStatus("t2")).contains("SUSPENDED");
+        verifyNoInteractions(fallback);
+        assertThat(meterRegistry.get("tenant.registry.replica.version").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Leaves a late commit more than resync-window versions back to the full resync")
+    void lateCommitBeyondWindow() {
+        properties.setResyncWindow(1);
+        upsert("t1", "jdbc:postgresql://db/t_1", "ACTIVE");
+        registry.poll();
+
+        long late = nextVersion++;
+        upsert("t3", "jdbc:postgresql://db/t_3", "ACTIVE");
+        upsert("t4", "jdbc:postgresql://db/t_4", "ACTIVE");
+        registry.poll();
+        upsert("t2", "jdbc:postgresql://db/t_2", "SUSPENDED", late);
+        registry.poll();
+
+        assertThat(registry.getStatus("t2")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Falls back to a direct fetch for tenants not replicated yet")
+    void fallsBackOnMiss() {
+        registry.poll();
+        TenantDbConfig fresh = new TenantDbConfig("jdbc:postgresql://db/t_new", "user", "pass");
+        when(fallback.load("new-tenant")).thenReturn(fresh);
+
+        assertThat(registry.load("new-tenant")).isSameAs(fresh);
+        verify(fallback).load("new-tenant");
+        assertThat(meterRegistry.get("tenant.registry.replica.fallbacks").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Full resync drops tenants no longer in the registry")
+    void resyncDropsRemovedTenants() {
+        properties.setResyncInterval(Duration.ZERO);
+        upsert("t1", "jdbc:postgresql://db/t_1", "ACTIVE");
+        upsert("t2", "jdbc:postgresql://db/t_2", "ACTIVE");
+        registry.poll();
+
+        feed.values().removeIf(change -> change.tenantId().equals("t2"));
+        registry.poll();
+
+        assertThat(registry.getStatus("t1")).contains("ACTIVE");
+        assertThat(registry.getStatus("t2")).isEmpty();
+    }
+}
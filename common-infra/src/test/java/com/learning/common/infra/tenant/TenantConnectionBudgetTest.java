@@ -0,0 +1,92 @@
+package com.learning.common.infra.tenant;
+
+import com.learning.common.infra.tenant.TenantConnectionBudget.Claim;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for TenantConnectionBudget allocation.
+ */
+class TenantConnectionBudgetTest {
+
+    @Test
+    @DisplayName("Grants every pool its demand when the budget covers it")
+    void grantsDemandWhenBudgetSuffices() {
+        TenantConnectionBudget budget = new TenantConnectionBudget(50, 1, 20);
+
+        Map<String, Integer> allocation = budget.allocate(List.of(
+                new Claim("hot", 12, 1),
+                new Claim("warm", 4, 1),
+                new Claim("idle", 0, 1)));
+
+        assertThat(allocation).containsEntry("hot", 12)
+                .containsEntry("warm", 4)
+                .containsEntry("idle", 1);
+    }
+
+    @Test
+    @DisplayName("Caps each pool at the per-pool maximum")
+    void capsAtPerPoolMaximum() {
+        TenantConnectionBudget budget = new TenantConnectionBudget(100, 1, 10);
+
+        Map<String, Integer> allocation = budget.allocate(List.of(new Claim("hot", 50, 4)));
+
+        assertThat(allocation).containsEntry("hot", 10);
+    }
+
+    @Test
+    @DisplayName("Small demands are satisfied before contended pools split the rest")
+    void smallDemandsSatisfiedFirst() {
+        TenantConnectionBudget budget = new TenantConnectionBudget(20, 1, 20);
+
+        Map<String, Integer> allocation = budget.allocate(List.of(
+                new Claim("a", 15, 1),
+                new Claim("b", 15, 1),
+                new Claim("small", 2, 1)));
+
+        assertThat(allocation).containsEntry("small", 2);
+        assertThat(allocation.get("a") + allocation.get("b")).isEqualTo(18);
+        assertThat(allocation.values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Higher tier weight gets a larger share under contention")
+    void weightsSplitContendedBudget() {
+        TenantConnectionBudget budget = new TenantConnectionBudget(30, 1, 50);
+
+        Map<String, Integer> allocation = budget.allocate(List.of(
+                new Claim("standard", 40, 1),
+                new Claim("enterprise", 40, 4)));
+
+        assertThat(allocation.get("enterprise")).isGreaterThan(allocation.get("standard") * 3);
+        assertThat(allocation.values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Every pool keeps the per-pool minimum")
+    void keepsMinimumPerPool() {
+        TenantConnectionBudget budget = new TenantConnectionBudget(4, 2, 10);
+
+        Map<String, Integer> allocation = budget.allocate(List.of(
+                new Claim("a", 10, 1),
+                new Claim("b", 10, 1),
+                new Claim("c", 10, 1)));
+
+        assertThat(allocation.values()).allMatch(size -> size == 2);
+    }
+
+    @Test
+    @DisplayName("Rejects invalid per-pool bounds")
+    void rejectsInvalidBounds() {
+        assertThatThrownBy(() -> new TenantConnectionBudget(10, 0, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TenantConnectionBudget(10, 5, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,216 @@
+package com.learning.common.infra.tenant;
+
+import com.learning.common.dto.TenantDbConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TenantDataSourcePoolManager.
+ *
+ * Most pools are never started (no connection is requested), so eviction
+ * closes them without a drain wait. Tests that check out connections use
+ * jdbc:stub: URLs, served by {@link StubDriver}.
+ */
+class TenantDataSourcePoolManagerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TenantDataSourcePoolManager manager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Class.forName(StubDriver.class.getName());
+        TenantPoolProperties properties = new TenantPoolProperties();
+        properties.setMaxPools(2);
+        meterRegistry = new SimpleMeterRegistry();
+        manager = new TenantDataSourcePoolManager(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    private static TenantDbConfig config(String tenantId) {
+        return new TenantDbConfig("jdbc:postgresql://localhost:5432/t_" + tenantId, "user", "pass");
+    }
+
+    private static TenantDbConfig stubConfig(String tenantId) {
+        return new TenantDbConfig("jdbc:stub:t_" + tenantId, "user", "pass");
+    }
+
+    private static HikariDataSource pool(DataSource dataSource) {
+        return ((TenantPoolDataSource) dataSource).pool();
+    }
+
+    @Test
+    @DisplayName("Reuses the pool for the same tenant and applies pool settings")
+    void reusesPoolForSameTenant() {
+        DataSource first = manager.getDataSource("t1", () -> config("t1"));
+        DataSource second = manager.getDataSource("t1", () -> config("t1"));
+
+        assertThat(first).isSameAs(second);
+        assertThat(pool(first).getPoolName()).isEqualTo("tenant-t1");
+        assertThat(pool(first).getMaximumPoolSize()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Times pool creation up to the first connection")
+    void timesPoolStartup() throws Exception {
+        DataSource dataSource = manager.getDataSource("t1", () -> stubConfig("t1"));
+        assertThat(meterRegistry.get("tenant.datasource.pool.create").timer().count()).isZero();
+
+        dataSource.getConnection().close();
+        dataSource.getConnection().close();
+
+        assertThat(meterRegistry.get("tenant.datasource.pool.create").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A handle kept past eviction checks out from the tenant's new pool")
+    void evictedHandleUsesCurrentPool() throws Exception {
+        DataSource evicted = manager.getDataSource("t1", () -> stubConfig("t1"));
+        manager.evict("t1");
+        assertThat(pool(evicted).isClosed()).isTrue();
+
+        try (Connection connection = evicted.getConnection()) {
+            assertThat(connection).isNotNull();
+        }
+
+        DataSource current = manager.getDataSource("t1", () -> stubConfig("t1"));
+        assertThat(current).isNotSameAs(evicted);
+        assertThat(pool(current).isClosed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("An evicted pool stays open until its connections are returned")
+    void drainsBeforeClosing() throws Exception {
+        DataSource dataSource = manager.getDataSource("t1", () -> stubConfig("t1"));
+        Connection connection = dataSource.getConnection();
+
+        manager.evict("t1");
+
+        assertThat(pool(dataSource).isClosed()).isFalse();
+        assertThat(manager.getDrainingPoolCount()).isEqualTo(1);
+        connection.close();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!pool(dataSource).isClosed() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(pool(dataSource).isClosed()).isTrue();
+        assertThat(manager.getDrainingPoolCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Caps the number of live pools and closes evicted ones")
+    void capsLivePools() {
+        List<HikariDataSource> created = IntStream.range(0, 5)
+                .mapToObj(i -> pool(manager.getDataSource("t" + i, () -> config("t" + i))))
+                .toList();
+
+        assertThat(manager.getLivePoolCount()).isEqualTo(2);
+        assertThat(created.stream().filter(HikariDataSource::isClosed).count()).isEqualTo(3);
+        assertThat(meterRegistry.get("tenant.datasource.pool.evictions").tag("cause", "size").counter().count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("tenant.datasource.pools.live").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Explicit eviction closes the pool and the next access recreates it")
+    void explicitEvictionClosesPool() {
+        DataSource first = manager.getDataSource("t1", () -> config("t1"));
+
+        manager.evict("t1");
+
+        assertThat(pool(first).isClosed()).isTrue();
+        assertThat(manager.getLivePoolCount()).isZero();
+        assertThat(manager.getDataSource("t1", () -> config("t1"))).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Close shuts every pool and rejects further lookups")
+    void closeShutsAllPools() {
+        DataSource first = manager.getDataSource("t1", () -> config("t1"));
+
+        manager.close();
+
+        assertThat(pool(first).isClosed()).isTrue();
+        assertThatThrownBy(() -> manager.getDataSource("t2", () -> config("t2")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * JDBC driver for jdbc:stub: URLs handing out mock connections.
+     */
+    static final class StubDriver implements Driver {
+
+        static {
+            try {
+                DriverManager.registerDriver(new StubDriver());
+            } catch (SQLException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+            when(connection.isValid(anyInt())).thenReturn(true);
+            return connection;
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith("jdbc:stub:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return Logger.getGlobal();
+        }
+    }
+}
@@ -23,6 +23,7 @@ import static org.mockito.Mockito.*;
  * - Routing to default datasource when no tenant context
  * - Routing to DATABASE mode tenant datasource
  * - Routing to SHARED mode personal shared datasource
+ * - Routing SCHEMA mode tenants through a shared cluster pool
  * - Datasource caching and eviction
  */
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +48,9 @@ class TenantDataSourceRouterTest {
     @AfterEach
     void tearDown() {
         TenantContext.clear();
+        if (router != null) {
+            router.destroy();
+        }
     }
 
     @Nested
@@ -202,6 +206,47 @@ class TenantDataSourceRouterTest {
         }
     }
 
+    @Nested
+    @DisplayName("SCHEMA Mode Tests")
+    class SchemaModeTests {
+
+        private TenantDataSourcePoolManager poolManager;
+
+        @BeforeEach
+        void setUp() {
+            poolManager = new TenantDataSourcePoolManager(new TenantPoolProperties(),
+                    new io.micrometer.core.instrument.simple.SimpleMeterRegistry());
+            router = new TenantDataSourceRouter(tenantRegistry, defaultDataSource, personalSharedDataSource,
+                    poolManager);
+        }
+
+        @AfterEach
+        void closePools() {
+            poolManager.close();
+        }
+
+        @Test
+        @DisplayName("SCHEMA tenants on one cluster share a pool instead of getting their own")
+        void testSchemaTenantsShareClusterPool() {
+            when(tenantRegistry.load("acme")).thenReturn(new TenantDbConfig(
+                    "jdbc:postgresql://localhost:5432/tenant_schemas?currentSchema=t_acme", null, null, null,
+                    "SCHEMA"));
+            when(tenantRegistry.load("globex")).thenReturn(new TenantDbConfig(
+                    "jdbc:postgresql://localhost:5432/tenant_schemas?currentSchema=t_globex", null, null, null,
+                    "SCHEMA"));
+
+            TenantContext.setCurrentTenant("acme");
+            DataSource acme = router.determineTargetDataSource();
+            TenantContext.setCurrentTenant("globex");
+            DataSource globex = router.determineTargetDataSource();
+
+            assertThat(acme).isInstanceOf(TenantSchemaDataSource.class);
+            assertThat(((TenantSchemaDataSource) acme).getTargetDataSource())
+                    .isSameAs(((TenantSchemaDataSource) globex).getTargetDataSource());
+            assertThat(router.getActiveTenantCount()).isEqualTo(0);
+        }
+    }
+
     @Nested
     @DisplayName("Eviction Tests")
     class EvictionTests {
@@ -232,6 +277,19 @@ class TenantDataSourceRouterTest {
 
             assertThat(router.getActiveTenantCount()).isEqualTo(0);
         }
+
+        @Test
+        @DisplayName("Closes the pools it created when destroyed")
+        void testDestroyClosesOwnedPools() {
+            TenantContext.setCurrentTenant("tenant-1");
+            when(tenantRegistry.load("tenant-1")).thenReturn(new TenantDbConfig(
+                    "jdbc:postgresql://localhost:5432/t_1", "test_user", "test_password", null, "DATABASE"));
+
+            DataSource dataSource = router.determineTargetDataSource();
+            router.destroy();
+
+            assertThat(((TenantPoolDataSource) dataSource).pool().isClosed()).isTrue();
+        }
     }
 
     @Nested
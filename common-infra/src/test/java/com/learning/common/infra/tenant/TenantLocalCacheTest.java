@@ -0,0 +1,138 @@
+package com.learning.common.infra.tenant;
+
+import com.learning.common.dto.TenantDbConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for TenantLocalCache single-flight and stale-while-revalidate
+ * behaviour.
+ */
+class TenantLocalCacheTest {
+
+    private static final TenantDbConfig V1 = new TenantDbConfig("jdbc:postgresql://db/t_1", "u", "p1");
+    private static final TenantDbConfig V2 = new TenantDbConfig("jdbc:postgresql://db/t_1", "u", "p2");
+
+    private SimpleMeterRegistry meterRegistry;
+    private TenantRegistryCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new TenantRegistryCacheProperties();
+    }
+
+    @Test
+    @DisplayName("Concurrent misses for a tenant share one load")
+    void coalescesConcurrentMisses() throws Exception {
+        TenantLocalCache cache = new TenantLocalCache(properties, meterRegistry);
+        CompletableFuture<TenantDbConfig> pending = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+
+        CompletableFuture<TenantDbConfig> first = CompletableFuture.supplyAsync(() -> cache.get("t1", id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            return pending;
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<TenantDbConfig> second = CompletableFuture.supplyAsync(() -> cache.get("t1", id -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(V2);
+        }));
+        // Complete the load only once the second caller has joined it
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("tenant.registry.coalesced.waiters").counter().count() < 1
+                && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        pending.complete(V1);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(V1);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(V1);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("tenant.registry.coalesced.waiters").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Serves the stale config while a background refresh replaces it")
+    void servesStaleWhileRefreshing() {
+        properties.setRefreshAfter(Duration.ZERO);
+        TenantLocalCache cache = new TenantLocalCache(properties, meterRegistry);
+        cache.get("t1", id -> CompletableFuture.completedFuture(V1));
+
+        CompletableFuture<TenantDbConfig> refresh = new CompletableFuture<>();
+        AtomicInteger refreshes = new AtomicInteger();
+        TenantDbConfig served = cache.get("t1", id -> {
+            refreshes.incrementAndGet();
+            return refresh;
+        });
+        // A second stale read must not start another refresh
+        cache.get("t1", id -> {
+            refreshes.incrementAndGet();
+            return refresh;
+        });
+
+        assertThat(served).isSameAs(V1);
+        assertThat(refreshes).hasValue(1);
+
+        refresh.complete(V2);
+        assertThat(cache.get("t1", id -> CompletableFuture.completedFuture(V2))).isSameAs(V2);
+        assertThat(meterRegistry.get("tenant.registry.stale.serves").counter().count()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A refresh finishing after invalidation does not restore the old entry")
+    void refreshAfterInvalidationIsDropped() {
+        properties.setRefreshAfter(Duration.ZERO);
+        TenantLocalCache cache = new TenantLocalCache(properties, meterRegistry);
+        cache.get("t1", id -> CompletableFuture.completedFuture(V1));
+        CompletableFuture<TenantDbConfig> refresh = new CompletableFuture<>();
+        cache.get("t1", id -> refresh);
+
+        cache.invalidate("t1");
+        refresh.complete(V1);
+
+        // A miss: the resurrected V1 would be served here
+        assertThat(cache.get("t1", id -> CompletableFuture.completedFuture(V2))).isSameAs(V2);
+    }
+
+    @Test
+    @DisplayName("Keeps serving the cached config when a refresh fails")
+    void keepsStaleOnRefreshFailure() {
+        properties.setRefreshAfter(Duration.ZERO);
+        TenantLocalCache cache = new TenantLocalCache(properties, meterRegistry);
+        cache.get("t1", id -> CompletableFuture.completedFuture(V1));
+
+        cache.get("t1", id -> CompletableFuture.failedFuture(new IllegalStateException("platform down")));
+
+        assertThat(cache.get("t1", id -> CompletableFuture.failedFuture(new IllegalStateException("down"))))
+                .isSameAs(V1);
+        assertThat(meterRegistry.get("tenant.registry.load").tag("kind", "refresh").tag("result", "failure")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A failed miss propagates and is not cached")
+    void failedMissIsNotCached() {
+        TenantLocalCache cache = new TenantLocalCache(properties, meterRegistry);
+
+        assertThatThrownBy(() -> cache.get("t1",
+                id -> CompletableFuture.failedFuture(new IllegalArgumentException("Tenant not found: t1"))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(cache.get("t1", id -> CompletableFuture.completedFuture(V1))).isSameAs(V1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.learning.common.infra.tenant;
+
+import com.learning.common.dto.TenantDbConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SCHEMA storage mode URL handling and per-checkout schema
+ * scoping.
+ */
+class TenantSchemasTest {
+
+    private static final String CLUSTER_URL = "jdbc:postgresql://db:5432/tenant_schemas";
+
+    @Test
+    @DisplayName("Round-trips schema and cluster URL")
+    void roundTripsSchemaUrl() {
+        String url = TenantSchemas.withSchema(CLUSTER_URL + "?sslmode=require", "t_acme");
+
+        assertThat(url).isEqualTo(CLUSTER_URL + "?sslmode=require&currentSchema=t_acme");
+        assertThat(TenantSchemas.isSchemaUrl(url)).isTrue();
+        assertThat(TenantSchemas.schemaOf(url)).isEqualTo("t_acme");
+        assertThat(TenantSchemas.clusterUrlOf(url)).isEqualTo(CLUSTER_URL + "?sslmode=require");
+        assertThat(TenantSchemas.clusterUrlOf(TenantSchemas.withSchema(CLUSTER_URL, "t_acme"))).isEqualTo(CLUSTER_URL);
+    }
+
+    @Test
+    @DisplayName("Rejects missing or unsafe schema names")
+    void rejectsInvalidSchema() {
+        assertThat(TenantSchemas.isSchemaUrl(CLUSTER_URL)).isFalse();
+        assertThatThrownBy(() -> TenantSchemas.schemaOf(CLUSTER_URL))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TenantSchemas.schemaOf(CLUSTER_URL + "?currentSchema=public,t_other"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TenantSchemas.withSchema(CLUSTER_URL, "T_Acme"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Detects SCHEMA storage mode")
+    void detectsSchemaMode() {
+        String url = TenantSchemas.withSchema(CLUSTER_URL, "t_acme");
+
+        assertThat(TenantSchemas.isSchemaMode(new TenantDbConfig(url, null, null, null, "SCHEMA"))).isTrue();
+        assertThat(TenantSchemas.isSchemaMode(new TenantDbConfig(CLUSTER_URL, "u", "p"))).isFalse();
+        assertThat(TenantSchemas.isSchemaMode(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Sets the tenant schema on every checkout")
+    void setsSchemaOnCheckout() throws SQLException {
+        DataSource clusterPool = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(clusterPool.getConnection()).thenReturn(connection);
+
+        Connection borrowed = new TenantSchemaDataSource(clusterPool, "t_acme").getConnection();
+
+        assertThat(borrowed).isSameAs(connection);
+        verify(connection).setSchema("t_acme");
+    }
+
+    @Test
+    @DisplayName("Returns the connection to the pool when setting the schema fails")
+    void closesConnectionWhenScopingFails() throws SQLException {
+        DataSource clusterPool = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(clusterPool.getConnection()).thenReturn(connection);
+        doThrow(new SQLException("schema does not exist")).when(connection).setSchema("t_acme");
+
+        assertThatThrownBy(() -> new TenantSchemaDataSource(clusterPool, "t_acme").getConnection())
+                .isInstanceOf(SQLException.class);
+        verify(connection).close();
+    }
+}
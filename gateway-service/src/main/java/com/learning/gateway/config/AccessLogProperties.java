@@ -0,0 +1,85 @@
+package com.learning.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Gateway access log: records are buffered in memory and written off the
+ * event loop by a background thread, sampled per route and status class.
+ * 5xx responses and failed requests are always written.
+ *
+ * Example:
+ *
+ * <pre>
+ * gateway:
+ *   access-log:
+ *     enabled: true
+ *     buffer-size: 16384
+ *     sampling:
+ *       rate: 1.0
+ *       status-rates:
+ *         2xx: 0.1
+ *       routes:
+ *         backend-service:
+ *           rate: 0.05
+ *           status-rates:
+ *             4xx: 1.0
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Records held while the writer catches up (rounded up to a power of
+     * two); records arriving when it is full are dropped and counted.
+     */
+    private int bufferSize = 16_384;
+
+    /**
+     * Most records written per batch.
+     */
+    private int batchSize = 512;
+
+    /**
+     * How long the writer sleeps when the buffer is empty.
+     */
+    private Duration idleWait = Duration.ofMillis(20);
+
+    private Sampling sampling = new Sampling();
+
+    @Data
+    public static class Sampling {
+
+        /**
+         * Share of requests written (0.0 - 1.0) when no status class rate
+         * applies.
+         */
+        private double rate = 1.0;
+
+        /**
+         * Rates by status class: 1xx, 2xx, 3xx, 4xx. 5xx is always written.
+         */
+        private Map<String, Double> statusRates = new HashMap<>();
+
+        /**
+         * Overrides by gateway route id; unset values fall back to the
+         * global ones.
+         */
+        private Map<String, RouteSampling> routes = new HashMap<>();
+    }
+
+    @Data
+    public static class RouteSampling {
+
+        private Double rate;
+
+        private Map<String, Double> statusRates = new HashMap<>();
+    }
+}
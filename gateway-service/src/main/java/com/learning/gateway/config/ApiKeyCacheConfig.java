@@ -0,0 +1,13 @@
+package com.learning.gateway.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds gateway.api-key-cache for the API key validation cache, and
+ * gateway.api-key-usage for usage counting.
+ */
+@Configuration
+@EnableConfigurationProperties({ ApiKeyCacheProperties.class, ApiKeyUsageProperties.class })
+public class ApiKeyCacheConfig {
+}
@@ -0,0 +1,49 @@
+package com.learning.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Gateway cache of API key validations, keyed by key hash.
+ *
+ * Example:
+ *
+ * <pre>
+ * gateway:
+ *   api-key-cache:
+ *     enabled: true
+ *     ttl: 60s
+ *     negative-ttl: 10s
+ *     maximum-size: 100000
+ *     invalidation-channel: api-key-invalidations
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.api-key-cache")
+public class ApiKeyCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long a valid key is trusted without asking platform-service, at
+     * most until the key expires. Bounds how long a revocation can go unseen
+     * if its invalidation message is lost.
+     */
+    private Duration ttl = Duration.ofSeconds(60);
+
+    /**
+     * How long an invalid, revoked or expired key is rejected without asking
+     * platform-service.
+     */
+    private Duration negativeTtl = Duration.ofSeconds(10);
+
+    private long maximumSize = 100_000;
+
+    /**
+     * Redis channel on which platform-service publishes the hashes of revoked
+     * and expired keys.
+     */
+    private String invalidationChannel = "api-key-invalidations";
+}
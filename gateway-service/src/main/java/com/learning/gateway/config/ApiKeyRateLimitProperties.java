@@ -0,0 +1,51 @@
+package com.learning.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-API-key rate limits enforced by the gateway.
+ *
+ * Each key's quota is its rateLimitPerMinute from platform-service (else
+ * {@code default-per-minute}). Reads (GET, HEAD, OPTIONS) and writes count
+ * against separate buckets; writes get {@code write-fraction} of the quota.
+ *
+ * Example:
+ *
+ * <pre>
+ * gateway:
+ *   api-key-rate-limit:
+ *     enabled: true
+ *     default-per-minute: 600
+ *     write-fraction: 0.2
+ *     burst-fraction: 0.1
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.api-key-rate-limit")
+public class ApiKeyRateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Quota for keys without their own rateLimitPerMinute.
+     */
+    private int defaultPerMinute = 600;
+
+    /**
+     * Share of a key's quota available to writes.
+     */
+    private double writeFraction = 0.2;
+
+    /**
+     * Share of a bucket's quota that may be spent at once; the rest comes at
+     * the steady per-minute rate.
+     */
+    private double burstFraction = 0.1;
+
+    /**
+     * Most keys tracked per bucket. Idle keys are dropped after a minute,
+     * when their buckets are full again anyway.
+     */
+    private long maximumKeys = 100_000;
+}
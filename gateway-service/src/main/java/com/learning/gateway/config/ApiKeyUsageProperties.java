@@ -0,0 +1,43 @@
+package com.learning.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * API key usage counting at the gateway.
+ *
+ * Requests are counted in memory per key and route, and added to Redis
+ * hashes every flush interval; platform-service moves them into Postgres.
+ *
+ * Example:
+ *
+ * <pre>
+ * gateway:
+ *   api-key-usage:
+ *     enabled: true
+ *     flush-interval: 5s
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.api-key-usage")
+public class ApiKeyUsageProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How often counts go to Redis; also the most usage a gateway crash loses.
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /**
+     * Redis hash of request counts, field {@code keyId|yyyy-MM-dd|routeId}.
+     */
+    private String countsKey = "api-key-usage:counts";
+
+    /**
+     * Redis hash of last-used epoch millis, field {@code keyId}.
+     */
+    private String lastUsedKey = "api-key-usage:last-used";
+}
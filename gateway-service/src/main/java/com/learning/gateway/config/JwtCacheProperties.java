@@ -0,0 +1,35 @@
+package com.learning.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Gateway cache of verified JWTs and the identity headers built from them,
+ * keyed by token digest.
+ *
+ * Example:
+ *
+ * <pre>
+ * gateway:
+ *   jwt-cache:
+ *     enabled: true
+ *     maximum-size: 50000
+ *     maximum-ttl: 1h
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.jwt-cache")
+public class JwtCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maximumSize = 50_000;
+
+    /**
+     * Upper bound on how long a token is trusted without re-verifying it;
+     * tokens are never cached past their exp.
+     */
+    private Duration maximumTtl = Duration.ofHours(1);
+}
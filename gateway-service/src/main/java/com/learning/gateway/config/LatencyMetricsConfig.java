@@ -0,0 +1,12 @@
+package com.learning.gateway.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds gateway.latency-metrics for the request latency timers.
+ */
+@Configuration
+@EnableConfigurationProperties(LatencyMetricsProperties.class)
+public class LatencyMetricsConfig {
+}
@@ -0,0 +1,46 @@
+package com.learning.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-route and per-tenant request latency timers (gateway.request.latency).
+ * Histogram buckets and SLOs are set through Spring Boot's
+ * management.metrics.distribution properties for that name.
+ *
+ * Example:
+ *
+ * <pre>
+ * gateway:
+ *   latency-metrics:
+ *     enabled: true
+ *     top-tenants: 20
+ *     top-tenants-window: 1m
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.latency-metrics")
+public class LatencyMetricsProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Tenants with the most requests in the last window that get their own
+     * series; all others are tagged tenant=other.
+     */
+    private int topTenants = 20;
+
+    /**
+     * How often the top tenants are re-ranked from the requests counted
+     * since the last ranking.
+     */
+    private Duration topTenantsWindow = Duration.ofMinutes(1);
+
+    /**
+     * Most distinct tenants counted per window, bounding memory under a
+     * flood of tenant ids.
+     */
+    private int maximumTrackedTenants = 10_000;
+}
@@ -1,5 +1,6 @@
 package com.learning.gateway.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,9 +9,11 @@ import reactor.core.publisher.Mono;
 
 /**
  * Rate limiting configuration for the gateway.
- * Provides key resolvers for Redis-based rate limiting.
+ * Provides key resolvers for Redis-based rate limiting, and binds the
+ * per-API-key limits (see {@link ApiKeyRateLimitProperties}).
  */
 @Configuration
+@EnableConfigurationProperties(ApiKeyRateLimitProperties.class)
 public class RateLimitConfig {
 
     /**
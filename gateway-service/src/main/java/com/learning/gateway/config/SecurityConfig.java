@@ -1,13 +1,16 @@
 package com.learning.gateway.config;
 
+import com.learning.gateway.filter.JwtVerificationCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
 import org.springframework.security.web.server.authorization.ServerAccessDeniedHandler;
@@ -25,13 +28,15 @@ import java.util.List;
 @Slf4j
 @Configuration
 @EnableWebFluxSecurity
+@EnableConfigurationProperties(JwtCacheProperties.class)
 public class SecurityConfig {
 
         @Value("${cors.allowed-origins:http://localhost:4200}")
         private String allowedOrigins;
 
         @Bean
-        public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+        public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http,
+                        ReactiveJwtDecoder jwtDecoder, JwtVerificationCache verificationCache) {
                 log.info("Configuring security filter chain");
 
                 http.csrf(ServerHttpSecurity.CsrfSpec::disable)
@@ -88,8 +93,10 @@ public class SecurityConfig {
                                                 .permitAll()
                                                 .anyExchange().authenticated())
                                 .oauth2ResourceServer(oauth2 -> oauth2
-                                                .jwt(jwt -> jwt.jwtAuthenticationConverter(
-                                                                new JwtAuthenticationConverter())))
+                                                .jwt(jwt -> jwt
+                                                                .jwtDecoder(verificationCache.decoder(jwtDecoder))
+                                                                .jwtAuthenticationConverter(
+                                                                                new JwtAuthenticationConverter())))
                                 .exceptionHandling(exception -> exception
                                                 .authenticationEntryPoint(authenticationEntryPoint())
                                                 .accessDeniedHandler(accessDeniedHandler()));
@@ -0,0 +1,12 @@
+package com.learning.gateway.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds gateway.tenant-status for the tenant status replica.
+ */
+@Configuration
+@EnableConfigurationProperties(TenantStatusProperties.class)
+public class TenantStatusConfig {
+}
@@ -0,0 +1,45 @@
+package com.learning.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Gateway replica of tenant statuses, published by platform-service to Redis.
+ *
+ * Example:
+ *
+ * <pre>
+ * gateway:
+ *   tenant-status:
+ *     enabled: true
+ *     hash-key: tenant-status
+ *     channel: tenant-status-changes
+ *     resync-interval: 60s
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.tenant-status")
+public class TenantStatusProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Redis hash of tenantId to status, loaded in full on startup and on
+     * every resync.
+     */
+    private String hashKey = "tenant-status";
+
+    /**
+     * Redis channel on which platform-service publishes each change as
+     * {@code tenantId:STATUS}.
+     */
+    private String channel = "tenant-status-changes";
+
+    /**
+     * How often the whole hash is reloaded, bounding how long a lost change
+     * message goes unseen.
+     */
+    private Duration resyncInterval = Duration.ofSeconds(60);
+}
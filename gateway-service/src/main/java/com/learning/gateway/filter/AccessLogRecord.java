@@ -0,0 +1,68 @@
+package com.learning.gateway.filter;
+
+import java.time.Instant;
+
+/**
+ * One gateway access log entry. Fixed schema; written as one JSON line.
+ *
+ * @param error exception class name if the request failed, else null
+ */
+record AccessLogRecord(
+        long timestampMillis,
+        String requestId,
+        String userId,
+        String tenantId,
+        String method,
+        String path,
+        String routeId,
+        int status,
+        long durationMicros,
+        String error) {
+
+    void appendJson(StringBuilder out) {
+        out.append("{\"event\":\"").append(error == null ? "request_completed" : "request_error").append('"');
+        out.append(",\"ts\":\"").append(Instant.ofEpochMilli(timestampMillis)).append('"');
+        field(out, "requestId", requestId);
+        field(out, "userId", userId);
+        field(out, "tenantId", tenantId);
+        field(out, "method", method);
+        field(out, "path", path);
+        field(out, "route", routeId);
+        out.append(",\"status\":").append(status);
+        out.append(",\"durationMs\":").append(durationMicros / 1000).append('.');
+        long fraction = durationMicros % 1000;
+        out.append(fraction < 100 ? (fraction < 10 ? "00" : "0") : "").append(fraction);
+        if (error != null) {
+            field(out, "error", error);
+        }
+        out.append('}');
+    }
+
+    private static void field(StringBuilder out, String name, String value) {
+        out.append(",\"").append(name).append("\":\"");
+        if (value != null) {
+            escape(out, value);
+        }
+        out.append('"');
+    }
+
+    private static void escape(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.config.AccessLogProperties;
+import com.learning.gateway.config.AccessLogProperties.RouteSampling;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous gateway access log.
+ *
+ * <p>
+ * {@link #append} samples the record and offers it to a lock-free ring
+ * buffer; it never blocks and never formats. A daemon thread drains the
+ * buffer in batches, renders each record as a JSON line and writes it to the
+ * {@code gateway.access} logger (plain {@code %msg} appender, stdout or a
+ * rolling file; see logback-spring.xml). When the buffer is full records are
+ * dropped and counted rather than slowing the event loop.
+ * </p>
+ *
+ * <p>
+ * Sampling: 5xx and failed requests are always written; otherwise the route's
+ * rate for the status class, else the route's rate, else the global status
+ * class rate, else the global rate.
+ * </p>
+ *
+ * <p>
+ * Metrics: gateway.accesslog.records{result=written|dropped|sampled_out|failed},
+ * gateway.accesslog.buffer.size
+ * </p>
+ */
+@Slf4j
+@Component
+public class AccessLogWriter {
+
+    static final String LOGGER_NAME = "gateway.access";
+
+    private final boolean enabled;
+    private final AccessLogProperties.Sampling sampling;
+    private final int batchSize;
+    private final long idleWaitNanos;
+    private final AccessLogRingBuffer<AccessLogRecord> buffer;
+    private final Consumer<String> sink;
+    private final Map<String, double[]> routeRates = new ConcurrentHashMap<>();
+    private final double[] defaultRates;
+    private final StringBuilder line = new StringBuilder(512);
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter sampledOut;
+    private final Counter failed;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @Autowired
+    public AccessLogWriter(AccessLogProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(properties, LoggerFactory.getLogger(LOGGER_NAME)::info,
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+        if (enabled) {
+            start();
+        }
+    }
+
+    /**
+     * Does not start the writer thread; call {@link #drain()} directly.
+     */
+    AccessLogWriter(AccessLogProperties properties, Consumer<String> sink, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.sampling = properties.getSampling();
+        this.batchSize = properties.getBatchSize();
+        this.idleWaitNanos = properties.getIdleWait().toNanos();
+        this.buffer = new AccessLogRingBuffer<>(properties.getBufferSize());
+        this.sink = sink;
+        this.defaultRates = rates(null);
+        this.written = records(meterRegistry, "written");
+        this.dropped = records(meterRegistry, "dropped");
+        this.sampledOut = records(meterRegistry, "sampled_out");
+        this.failed = records(meterRegistry, "failed");
+        Gauge.builder("gateway.accesslog.buffer.size", buffer, AccessLogRingBuffer::size)
+                .description("Access log records waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a record, if sampled. Safe to call from event loop threads.
+     */
+    public void append(AccessLogRecord record) {
+        if (!enabled) {
+            return;
+        }
+        if (!sampled(record)) {
+            sampledOut.increment();
+            return;
+        }
+        if (!buffer.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Write one batch of buffered records. Writer thread only.
+     *
+     * @return records taken from the buffer, written or failed
+     */
+    int drain() {
+        return buffer.drain(this::write, batchSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (writerThread != null) {
+            LockSupport.unpark(writerThread);
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    boolean sampled(AccessLogRecord record) {
+        int statusClass = record.status() / 100;
+        if (record.error() != null || statusClass >= 5 || statusClass < 1) {
+            return true;
+        }
+        double[] rates = record.routeId() != null && sampling.getRoutes().containsKey(record.routeId())
+                ? routeRates.computeIfAbsent(record.routeId(), id -> rates(sampling.getRoutes().get(id)))
+                : defaultRates;
+        double rate = rates[statusClass];
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private void start() {
+        running = true;
+        writerThread = new Thread(this::run, "access-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (drain() == 0) {
+                    LockSupport.parkNanos(idleWaitNanos);
+                }
+            } catch (Exception e) {
+                log.warn("Access log write failed: {}", e.getMessage());
+            }
+        }
+        // Final flush of whatever is left
+        while (drain() > 0) {
+            // keep draining
+        }
+    }
+
+    private void write(AccessLogRecord record) {
+        try {
+            line.setLength(0);
+            record.appendJson(line);
+            sink.accept(line.toString());
+            written.increment();
+        } catch (Exception e) {
+            // One bad record or a sink hiccup must not stall the rest of the batch
+            failed.increment();
+            log.warn("Access log write failed: {}", e.getMessage());
+        }
+    }
+
+    // Rate per status class (index 1-4) for a route, resolved once
+    private double[] rates(RouteSampling route) {
+        double[] rates = new double[5];
+        for (int statusClass = 1; statusClass <= 4; statusClass++) {
+            String key = statusClass + "xx";
+            Double rate = route != null ? route.getStatusRates().get(key) : null;
+            if (rate == null && route != null) {
+                rate = route.getRate();
+            }
+            if (rate == null) {
+                rate = sampling.getStatusRates().get(key);
+            }
+            rates[statusClass] = rate != null ? rate : sampling.getRate();
+        }
+        return rates;
+    }
+
+    private static Counter records(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.accesslog.records")
+                .description("Gateway access log records")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -4,7 +4,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -14,6 +18,7 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 
 /**
  * Global filter for API key authentication.
@@ -23,6 +28,19 @@ import java.nio.charset.StandardCharsets;
  * and injects tenant/user headers. If key is invalid, returns 401.
  * If no API key header present, continues to JWT authentication.
  * </p>
+ *
+ * <p>
+ * Validations are cached by key hash (see {@link ApiKeyValidationCache}), so
+ * repeat requests with the same key do not reach platform-service. Each
+ * accepted request is counted per key and route by {@link ApiKeyUsageRecorder}.
+ * </p>
+ *
+ * <p>
+ * Valid keys are then held to their own rateLimitPerMinute (see
+ * {@link ApiKeyRateLimiter}), reads and writes separately. Responses carry
+ * RateLimit-Limit/Remaining/Reset/Policy headers; rejected requests get 429
+ * with Retry-After.
+ * </p>
  * 
  * <p>
  * Order is set to run BEFORE JWT authentication filter (high priority = low
@@ -37,14 +55,25 @@ public class ApiKeyAuthenticationFilter implements GlobalFilter, Ordered {
     private static final String AUTH_METHOD_HEADER = "X-Auth-Method";
     private static final int ORDER = -100; // Run before JWT filter
 
+    private static final String RATE_LIMITED = "API_KEY_RATE_LIMITED";
+
     private final WebClient webClient;
     private final String platformServiceUrl;
+    private final ApiKeyRateLimiter rateLimiter;
+    private final ApiKeyValidationCache validationCache;
+    private final ApiKeyUsageRecorder usageRecorder;
 
     public ApiKeyAuthenticationFilter(
             WebClient.Builder webClientBuilder,
-            @Value("${platform.service.url:http://platform-service:8083}") String platformServiceUrl) {
+            @Value("${platform.service.url:http://platform-service:8083}") String platformServiceUrl,
+            ApiKeyRateLimiter rateLimiter,
+            ApiKeyValidationCache validationCache,
+            ApiKeyUsageRecorder usageRecorder) {
         this.webClient = webClientBuilder.build();
         this.platformServiceUrl = platformServiceUrl;
+        this.rateLimiter = rateLimiter;
+        this.validationCache = validationCache;
+        this.usageRecorder = usageRecorder;
     }
 
     @Override
@@ -59,13 +88,28 @@ public class ApiKeyAuthenticationFilter implements GlobalFilter, Ordered {
         log.debug("API key authentication attempt: prefix={}",
                 apiKey.substring(0, Math.min(20, apiKey.length())));
 
-        return validateApiKey(apiKey)
+        return validationCache.get(apiKey, this::validateApiKey)
                 .flatMap(result -> {
                     if (!result.valid()) {
                         log.debug("API key validation failed: error={}", result.errorCode());
                         return writeError(exchange, result.errorCode());
                     }
 
+                    if (rateLimiter.isEnabled()) {
+                        ApiKeyRateLimiter.Decision decision = rateLimiter.tryAcquire(result.keyId(),
+                                result.rateLimitPerMinute(), isWrite(exchange.getRequest().getMethod()));
+                        addRateLimitHeaders(exchange, decision);
+                        if (!decision.allowed()) {
+                            log.debug("API key rate limited: keyId={}, retryAfter={}s",
+                                    result.keyId(), decision.retryAfterSeconds());
+                            exchange.getResponse().getHeaders()
+                                    .set(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+                            return writeError(exchange, RATE_LIMITED);
+                        }
+                    }
+
+                    usageRecorder.record(result.keyId(), routeId(exchange));
+
                     // Inject headers and continue
                     ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
                             .header("X-Tenant-Id", result.tenantId())
@@ -96,11 +140,29 @@ public class ApiKeyAuthenticationFilter implements GlobalFilter, Ordered {
                 .doOnError(e -> log.error("Failed to validate API key: {}", e.getMessage()));
     }
 
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unrouted";
+    }
+
+    private static boolean isWrite(HttpMethod method) {
+        return !(HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method));
+    }
+
+    private void addRateLimitHeaders(ServerWebExchange exchange, ApiKeyRateLimiter.Decision decision) {
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.set("RateLimit-Limit", String.valueOf(decision.limit()));
+        headers.set("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        headers.set("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        headers.set("RateLimit-Policy", decision.policy());
+    }
+
     private Mono<Void> writeError(ServerWebExchange exchange, String errorCode) {
         HttpStatus status = switch (errorCode) {
             case "API_KEY_EXPIRED" -> HttpStatus.UNAUTHORIZED;
             case "API_KEY_REVOKED" -> HttpStatus.UNAUTHORIZED;
             case "API_KEY_INVALID" -> HttpStatus.UNAUTHORIZED;
+            case RATE_LIMITED -> HttpStatus.TOO_MANY_REQUESTS;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
 
@@ -108,6 +170,7 @@ public class ApiKeyAuthenticationFilter implements GlobalFilter, Ordered {
             case "API_KEY_EXPIRED" -> "API key has expired";
             case "API_KEY_REVOKED" -> "API key has been revoked";
             case "API_KEY_INVALID" -> "Invalid API key";
+            case RATE_LIMITED -> "API key rate limit exceeded";
             default -> "API key validation failed";
         };
 
@@ -140,6 +203,7 @@ public class ApiKeyAuthenticationFilter implements GlobalFilter, Ordered {
             String userId,
             String userEmail,
             Integer rateLimitPerMinute,
+            Instant expiresAt,
             boolean valid,
             String errorCode) {
     }
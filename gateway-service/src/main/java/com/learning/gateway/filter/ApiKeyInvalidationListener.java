@@ -0,0 +1,81 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.config.ApiKeyCacheProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Drops revoked and expired API keys from the {@link ApiKeyValidationCache}
+ * as soon as platform-service publishes their hashes on the invalidation
+ * channel.
+ *
+ * <p>
+ * Pub/sub is at-most-once, so every (re)subscription - including after a
+ * Redis reconnect - clears the whole cache rather than trusting that no
+ * message was missed. Without Redis, entries still expire after the TTL.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ApiKeyInvalidationListener {
+
+    private final ApiKeyValidationCache validationCache;
+    private final ApiKeyCacheProperties properties;
+    private final ObjectProvider<ReactiveRedisConnectionFactory> connectionFactoryProvider;
+    private Disposable subscription;
+
+    public ApiKeyInvalidationListener(ApiKeyValidationCache validationCache, ApiKeyCacheProperties properties,
+            ObjectProvider<ReactiveRedisConnectionFactory> connectionFactoryProvider) {
+        this.validationCache = validationCache;
+        this.properties = properties;
+        this.connectionFactoryProvider = connectionFactoryProvider;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        ReactiveRedisConnectionFactory connectionFactory = connectionFactoryProvider.getIfAvailable();
+        if (!properties.isEnabled() || connectionFactory == null) {
+            return;
+        }
+        ChannelTopic channel = ChannelTopic.of(properties.getInvalidationChannel());
+        subscription = Flux.defer(() -> {
+            ReactiveRedisMessageListenerContainer container = new ReactiveRedisMessageListenerContainer(
+                    connectionFactory);
+            return container.receiveLater(channel)
+                    .doOnNext(messages -> {
+                        log.info("Subscribed to {}, clearing API key validation cache", channel.getTopic());
+                        validationCache.invalidateAll();
+                    })
+                    .flatMapMany(messages -> messages)
+                    // A dropped connection completes the stream: resubscribe like on an error
+                    .concatWith(Flux.error(new IllegalStateException("subscription closed")))
+                    .doFinally(signal -> container.destroyLater().subscribe());
+        })
+                .map(ReactiveSubscription.Message::getMessage)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.warn("API key invalidation subscription failed, retrying: {}",
+                                signal.failure().getMessage())))
+                .subscribe(validationCache::invalidate);
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.learning.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.learning.gateway.config.ApiKeyRateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limits API keys by their own per-minute quota, in this gateway
+ * instance.
+ *
+ * <p>
+ * Each key has a read and a write bucket, each a single GCRA cell: the
+ * theoretical arrival time (TAT) at which the bucket is full again. A request
+ * is allowed if TAT is at most {@code (burst - 1) * interval} ahead of now,
+ * and moves TAT one interval further, in a CAS loop with no locks. Buckets
+ * live in size-bounded Caffeine maps and expire a minute after their last
+ * request, when they would be full anyway.
+ * </p>
+ *
+ * <p>
+ * Metrics: gateway.apikey.ratelimit.rejected{bucket=read|write}
+ * </p>
+ */
+@Component
+public class ApiKeyRateLimiter {
+
+    private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ApiKeyRateLimitProperties properties;
+    private final LongSupplier nanoClock;
+    private final Cache<String, Bucket> readBuckets;
+    private final Cache<String, Bucket> writeBuckets;
+    private final Counter readRejected;
+    private final Counter writeRejected;
+
+    @Autowired
+    public ApiKeyRateLimiter(ApiKeyRateLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(properties, meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry), System::nanoTime);
+    }
+
+    ApiKeyRateLimiter(ApiKeyRateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.readBuckets = buckets(properties.getMaximumKeys());
+        this.writeBuckets = buckets(properties.getMaximumKeys());
+        this.readRejected = rejected(meterRegistry, "read");
+        this.writeRejected = rejected(meterRegistry, "write");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Takes one request from the key's read or write bucket.
+     *
+     * @param keyId            API key ID
+     * @param quotaPerMinute   the key's rateLimitPerMinute, null for the default
+     * @param write            whether the request modifies state
+     */
+    public Decision tryAcquire(String keyId, Integer quotaPerMinute, boolean write) {
+        int keyQuota = quotaPerMinute != null && quotaPerMinute > 0 ? quotaPerMinute : properties.getDefaultPerMinute();
+        int quota = write ? Math.max(1, (int) (keyQuota * properties.getWriteFraction())) : keyQuota;
+
+        Cache<String, Bucket> buckets = write ? writeBuckets : readBuckets;
+        Bucket bucket = buckets.getIfPresent(keyId);
+        if (bucket == null || bucket.quota != quota) {
+            // New key, or its quota was changed in platform-service
+            bucket = buckets.asMap().compute(keyId,
+                    (id, existing) -> existing != null && existing.quota == quota ? existing
+                            : new Bucket(quota, properties.getBurstFraction()));
+        }
+
+        Decision decision = bucket.tryAcquire(nanoClock.getAsLong());
+        if (!decision.allowed()) {
+            (write ? writeRejected : readRejected).increment();
+        }
+        return decision;
+    }
+
+    /**
+     * Outcome of a request, with what to report in RateLimit-* headers.
+     *
+     * @param limit             the bucket's quota per minute
+     * @param burst             most requests allowed at once
+     * @param remaining         requests allowed right now
+     * @param resetSeconds      until the bucket is full again
+     * @param retryAfterSeconds until the next request is allowed, when rejected
+     */
+    public record Decision(boolean allowed, int limit, int burst, int remaining, long resetSeconds,
+            long retryAfterSeconds) {
+
+        /**
+         * RateLimit-Policy value, e.g. {@code 600;w=60;burst=60}.
+         */
+        public String policy() {
+            return limit + ";w=60;burst=" + burst;
+        }
+    }
+
+    private static Cache<String, Bucket> buckets(long maximumKeys) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .build();
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String bucket) {
+        return Counter.builder("gateway.apikey.ratelimit.rejected")
+                .description("API key requests rejected by their key's quota")
+                .tag("bucket", bucket)
+                .register(meterRegistry);
+    }
+
+    private static final class Bucket {
+
+        private final int quota;
+        private final int burst;
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+        Bucket(int quota, double burstFraction) {
+            this.quota = quota;
+            this.burst = Math.max(1, (int) (quota * burstFraction));
+            this.intervalNanos = MINUTE_NANOS / quota;
+            this.toleranceNanos = intervalNanos * (burst - 1);
+        }
+
+        Decision tryAcquire(long now) {
+            while (true) {
+                long current = tat.get();
+                // nanoTime values may be negative: compare by difference only
+                long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+                if (start - now > toleranceNanos) {
+                    long retryAfter = start - toleranceNanos - now;
+                    return new Decision(false, quota, burst, 0, seconds(start - now), Math.max(1, seconds(retryAfter)));
+                }
+                long next = start + intervalNanos;
+                if (tat.compareAndSet(current, next)) {
+                    int remaining = (int) ((toleranceNanos + intervalNanos - (next - now)) / intervalNanos);
+                    return new Decision(true, quota, burst, Math.max(0, remaining), seconds(next - now), 0);
+                }
+            }
+        }
+
+        private static long seconds(long nanos) {
+            return (nanos + SECOND_NANOS - 1) / SECOND_NANOS;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.config.ApiKeyUsageProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts API key requests per key, UTC day and route in memory, and adds the
+ * counts to Redis every flush interval, where platform-service picks them up
+ * for Postgres.
+ *
+ * <p>
+ * Recording is a LongAdder increment, off the database entirely. A failed
+ * flush puts its counts back for the next one, so Redis outages lose nothing
+ * while the gateway is up (a partly applied flush is counted twice); a
+ * gateway crash loses at most one interval.
+ * Redis layout: HINCRBY {@code countsKey keyId|yyyy-MM-dd|routeId n} and
+ * HSET {@code lastUsedKey keyId epochMillis}; the day is the one the requests
+ * were made on, so counts flushed after midnight still land on the day before.
+ * </p>
+ *
+ * <p>
+ * Metrics: gateway.apikey.usage.flushes{result=success|failure},
+ * gateway.apikey.usage.keys
+ * </p>
+ */
+@Slf4j
+@Component
+public class ApiKeyUsageRecorder {
+
+    private static final long MILLIS_PER_DAY = Duration.ofDays(1).toMillis();
+
+    private final boolean enabled;
+    private final UsageSink sink;
+    private final long flushTimeoutMillis;
+    private final Map<String, KeyUsage> keys = new ConcurrentHashMap<>();
+    private final Counter flushSuccess;
+    private final Counter flushFailure;
+    private ScheduledExecutorService flushExecutor;
+
+    @Autowired
+    public ApiKeyUsageRecorder(ApiKeyUsageProperties properties,
+            ObjectProvider<ReactiveStringRedisTemplate> redisTemplateProvider,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(properties, redisSink(properties, redisTemplateProvider.getIfAvailable()),
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+        if (enabled) {
+            start(properties.getFlushInterval().toMillis());
+        }
+    }
+
+    /**
+     * Does not flush on its own; call {@link #flush()} directly.
+     */
+    ApiKeyUsageRecorder(ApiKeyUsageProperties properties, UsageSink sink, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled() && sink != null;
+        this.sink = sink;
+        this.flushTimeoutMillis = properties.getFlushInterval().toMillis();
+        this.flushSuccess = Counter.builder("gateway.apikey.usage.flushes")
+                .description("API key usage flushes to Redis")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.flushFailure = Counter.builder("gateway.apikey.usage.flushes")
+                .description("API key usage flushes to Redis")
+                .tag("result", "failure")
+                .register(meterRegistry);
+        Gauge.builder("gateway.apikey.usage.keys", keys, Map::size)
+                .description("API keys with usage held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count one request of the key on the route.
+     */
+    public void record(String keyId, String routeId) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        KeyUsage usage = keys.computeIfAbsent(keyId, id -> new KeyUsage());
+        usage.lastUsedMillis.set(now);
+        usage.routes.computeIfAbsent(new DayRoute(Math.floorDiv(now, MILLIS_PER_DAY), routeId),
+                route -> new LongAdder()).increment();
+    }
+
+    /**
+     * Moves the counts gathered since the last flush to Redis.
+     */
+    void flush() {
+        List<Pending> pending = new ArrayList<>();
+        Map<String, Long> lastUsed = new HashMap<>();
+        long today = Math.floorDiv(System.currentTimeMillis(), MILLIS_PER_DAY);
+        keys.forEach((keyId, usage) -> {
+            usage.routes.forEach((route, count) -> {
+                long requests = count.sumThenReset();
+                if (requests > 0) {
+                    pending.add(new Pending(keyId, LocalDate.ofEpochDay(route.epochDay()), route.routeId(),
+                            requests));
+                } else if (route.epochDay() < today) {
+                    // Flushed already, and no request counts on a past day
+                    usage.routes.remove(route, count);
+                }
+            });
+            long used = usage.lastUsedMillis.getAndSet(0);
+            if (used > 0) {
+                lastUsed.put(keyId, used);
+            } else {
+                // Idle for a whole interval; a request racing this loses its count
+                keys.remove(keyId, usage);
+            }
+        });
+        if (pending.isEmpty() && lastUsed.isEmpty()) {
+            return;
+        }
+
+        try {
+            sink.write(pending, lastUsed).block(Duration.ofMillis(flushTimeoutMillis));
+            flushSuccess.increment();
+            log.debug("Flushed API key usage: {} counters, {} keys", pending.size(), lastUsed.size());
+        } catch (RuntimeException e) {
+            flushFailure.increment();
+            log.warn("API key usage flush failed, keeping counts for the next one: {}", e.getMessage());
+            putBack(pending, lastUsed);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+            flushSafely();
+        }
+    }
+
+    /**
+     * Requests of one key on one route and UTC day since the last flush.
+     */
+    record Pending(String keyId, LocalDate day, String routeId, long requests) {
+        String field() {
+            return keyId + "|" + day + "|" + routeId;
+        }
+    }
+
+    @FunctionalInterface
+    interface UsageSink {
+        Mono<Void> write(List<Pending> counts, Map<String, Long> lastUsedMillis);
+    }
+
+    private void start(long intervalMillis) {
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "api-key-usage-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("API key usage flush failed: {}", e.getMessage());
+        }
+    }
+
+    private void putBack(List<Pending> pending, Map<String, Long> lastUsed) {
+        for (Pending counts : pending) {
+            keys.computeIfAbsent(counts.keyId(), id -> new KeyUsage())
+                    .routes.computeIfAbsent(new DayRoute(counts.day().toEpochDay(), counts.routeId()),
+                            route -> new LongAdder())
+                    .add(counts.requests());
+        }
+        lastUsed.forEach((keyId, used) -> keys.computeIfAbsent(keyId, id -> new KeyUsage())
+                .lastUsedMillis.accumulateAndGet(used, Math::max));
+    }
+
+    private static UsageSink redisSink(ApiKeyUsageProperties properties, ReactiveStringRedisTemplate redisTemplate) {
+        if (redisTemplate == null) {
+            log.warn("No Redis template, API key usage is not recorded");
+            return null;
+        }
+        ReactiveHashOperations<String, String, String> hashes = redisTemplate.opsForHash();
+        return (counts, lastUsedMillis) -> {
+            Map<String, String> lastUsed = new HashMap<>();
+            lastUsedMillis.forEach((keyId, used) -> lastUsed.put(keyId, Long.toString(used)));
+            Mono<Boolean> lastUsedWrite = lastUsed.isEmpty() ? Mono.empty()
+                    : hashes.putAll(properties.getLastUsedKey(), lastUsed);
+            // Lettuce pipelines these over one connection
+            return Flux.fromIterable(counts)
+                    .flatMap(pending -> hashes.increment(properties.getCountsKey(), pending.field(), pending.requests()))
+                    .then(lastUsedWrite)
+                    .then();
+        };
+    }
+
+    private record DayRoute(long epochDay, String routeId) {
+    }
+
+    private static final class KeyUsage {
+        private final AtomicLong lastUsedMillis = new AtomicLong();
+        private final Map<DayRoute, LongAdder> routes = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,134 @@
+package com.learning.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.learning.gateway.config.ApiKeyCacheProperties;
+import com.learning.gateway.filter.ApiKeyAuthenticationFilter.ApiKeyValidationResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Caches platform-service API key validations in the gateway.
+ *
+ * <p>
+ * Entries are keyed by the key's SHA-256 hash (the same hash platform-service
+ * stores), so raw keys are never held. Valid keys are cached for the TTL, but
+ * never past their expiry; invalid, revoked and expired keys for the shorter
+ * negative TTL. Failed validations are not cached. Concurrent misses for one
+ * key share a single platform-service call.
+ * </p>
+ *
+ * <p>
+ * Revocations reach the cache through {@link ApiKeyInvalidationListener}.
+ * </p>
+ *
+ * <p>
+ * Metrics: cache.gets{cache=apiKeyValidation,result=hit|miss} and the other
+ * Caffeine cache meters.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ApiKeyValidationCache {
+
+    static final String CACHE_NAME = "apiKeyValidation";
+
+    private final boolean enabled;
+    private final AsyncCache<String, ApiKeyValidationResult> cache;
+
+    @Autowired
+    public ApiKeyValidationCache(ApiKeyCacheProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(properties, meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry), Ticker.systemTicker(),
+                Clock.systemUTC());
+    }
+
+    ApiKeyValidationCache(ApiKeyCacheProperties properties, MeterRegistry meterRegistry, Ticker ticker, Clock clock) {
+        this.enabled = properties.isEnabled();
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new ValidationExpiry(properties.getTtl(), properties.getNegativeTtl(), clock))
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync(), CACHE_NAME);
+    }
+
+    /**
+     * The cached validation of the key, else the loader's, cached.
+     */
+    public Mono<ApiKeyValidationResult> get(String apiKey, Function<String, Mono<ApiKeyValidationResult>> loader) {
+        if (!enabled) {
+            return loader.apply(apiKey);
+        }
+        String keyHash = hash(apiKey);
+        // suppressCancel: a cancelled caller must not cancel a load others are waiting on
+        return Mono.fromFuture(() -> cache.get(keyHash, (hash, executor) -> loader.apply(apiKey).toFuture()), true);
+    }
+
+    /**
+     * @param keyHash the key's hash, as published by platform-service
+     */
+    public void invalidate(String keyHash) {
+        cache.synchronous().invalidate(keyHash);
+        log.debug("API key dropped from validation cache");
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * SHA-256, base64url without padding, as platform-service hashes keys.
+     */
+    static String hash(String apiKey) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record ValidationExpiry(Duration ttl, Duration negativeTtl, Clock clock)
+            implements Expiry<String, ApiKeyValidationResult> {
+
+        @Override
+        public long expireAfterCreate(String key, ApiKeyValidationResult result, long currentTime) {
+            if (!result.valid()) {
+                return negativeTtl.toNanos();
+            }
+            if (result.expiresAt() == null) {
+                return ttl.toNanos();
+            }
+            long untilExpiry = Duration.between(clock.instant(), result.expiresAt()).toNanos();
+            return Math.max(0, Math.min(ttl.toNanos(), untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ApiKeyValidationResult result, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(key, result, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, ApiKeyValidationResult result, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
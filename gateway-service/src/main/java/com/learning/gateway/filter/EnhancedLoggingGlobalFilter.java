@@ -1,61 +1,69 @@
 package com.learning.gateway.filter;
 
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.time.Instant;
-
 /**
  * NT-03 EnhancedLoggingGlobalFilter
- * Emits a single structured log line at request completion with timing and identity context (if available).
+ * Emits a single structured access log record at request completion with timing and identity context (if available).
  * Runs last.
+ *
+ * Records are handed to the {@link AccessLogWriter}, which samples them and writes them off the event loop,
+ * and every request is timed into {@link GatewayLatencyMetrics}.
  */
-@Slf4j
 @Component
 public class EnhancedLoggingGlobalFilter implements GlobalFilter, Ordered {
 
+    private final AccessLogWriter accessLog;
+    private final GatewayLatencyMetrics latencyMetrics;
+
+    public EnhancedLoggingGlobalFilter(AccessLogWriter accessLog, GatewayLatencyMetrics latencyMetrics) {
+        this.accessLog = accessLog;
+        this.latencyMetrics = latencyMetrics;
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         return chain.filter(exchange)
-                .doOnError(err -> logError(exchange, startMillis, err))
-                .doOnSuccess(v -> logSuccess(exchange, startMillis));
+                .doOnError(err -> completed(exchange, startMillis, startNanos, err))
+                .doOnSuccess(v -> completed(exchange, startMillis, startNanos, null));
     }
 
-    private void logSuccess(ServerWebExchange exchange, long startMillis) {
-        long durationMs = System.currentTimeMillis() - startMillis;
-        String requestId = header(exchange, "X-Request-Id");
-        String userId = header(exchange, "X-User-Id");
-        String tenantId = header(exchange, "X-Tenant-Id");
-        String path = exchange.getRequest().getPath().value();
-        String method = exchange.getRequest().getMethod() != null ? exchange.getRequest().getMethod().name() : "UNKNOWN";
-        int status = exchange.getResponse().getStatusCode() != null ? exchange.getResponse().getStatusCode().value() : 0;
-        log.info("gateway_log {{\"event\":\"request_completed\",\"ts\":\"{}\",\"requestId\":\"{}\",\"userId\":\"{}\",\"tenantId\":\"{}\",\"method\":\"{}\",\"path\":\"{}\",\"status\":{},\"durationMs\":{} }}",
-                Instant.now(), requestId, userId, tenantId, method, path, status, durationMs);
+    private void completed(ServerWebExchange exchange, long startMillis, long startNanos, Throwable err) {
+        long durationNanos = System.nanoTime() - startNanos;
+        AccessLogRecord record = record(exchange, startMillis, durationNanos, err);
+        accessLog.append(record);
+        // A failed request has no response status yet; it will be answered with a 5xx
+        latencyMetrics.record(record.routeId(), record.method(), err != null ? 500 : record.status(),
+                record.tenantId(), durationNanos);
     }
 
-    private void logError(ServerWebExchange exchange, long startMillis, Throwable err) {
-        long durationMs = System.currentTimeMillis() - startMillis;
-        String requestId = header(exchange, "X-Request-Id");
-        String userId = header(exchange, "X-User-Id");
-        String tenantId = header(exchange, "X-Tenant-Id");
-        String path = exchange.getRequest().getPath().value();
-        String method = exchange.getRequest().getMethod() != null ? exchange.getRequest().getMethod().name() : "UNKNOWN";
-        log.warn("gateway_log {{\"event\":\"request_error\",\"ts\":\"{}\",\"requestId\":\"{}\",\"userId\":\"{}\",\"tenantId\":\"{}\",\"method\":\"{}\",\"path\":\"{}\",\"error\":\"{}\",\"durationMs\":{} }}",
-                Instant.now(), requestId, userId, tenantId, method, path, err.getClass().getSimpleName(), durationMs);
-    }
-
-    private String header(ServerWebExchange exchange, String name) {
-        String v = exchange.getRequest().getHeaders().getFirst(name);
-        return v == null ? "" : v;
+    private AccessLogRecord record(ServerWebExchange exchange, long startMillis, long durationNanos, Throwable err) {
+        var request = exchange.getRequest();
+        var headers = request.getHeaders();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        int status = exchange.getResponse().getStatusCode() != null ? exchange.getResponse().getStatusCode().value() : 0;
+        return new AccessLogRecord(
+                startMillis,
+                headers.getFirst("X-Request-Id"),
+                headers.getFirst("X-User-Id"),
+                headers.getFirst("X-Tenant-Id"),
+                request.getMethod() != null ? request.getMethod().name() : "UNKNOWN",
+                request.getPath().value(),
+                route != null ? route.getId() : null,
+                status,
+                durationNanos / 1000,
+                err != null ? err.getClass().getSimpleName() : null);
     }
 
     @Override
     public int getOrder() { return Ordered.LOWEST_PRECEDENCE; }
 }
-
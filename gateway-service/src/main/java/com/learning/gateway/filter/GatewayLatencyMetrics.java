@@ -0,0 +1,161 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.config.LatencyMetricsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Request latency timers tagged by route, method, status class and tenant.
+ *
+ * <p>
+ * The tenant tag is bounded: only the top-K tenants by requests in the last
+ * window are tagged with their id; all others share tenant=other, and
+ * requests without a tenant are tagged tenant=none. A tenant that drops out
+ * of the top K has its series removed.
+ * </p>
+ *
+ * <p>
+ * Metric: gateway.request.latency{route,method,status,tenant}; percentile
+ * histogram and SLO buckets come from
+ * management.metrics.distribution.*.gateway.request.latency.
+ * </p>
+ */
+@Slf4j
+@Component
+public class GatewayLatencyMetrics {
+
+    static final String METRIC_NAME = "gateway.request.latency";
+    static final String OTHER_TENANT = "other";
+    static final String NO_TENANT = "none";
+    static final String NO_ROUTE = "unrouted";
+    private static final String[] STATUS_CLASSES = { "unknown", "1xx", "2xx", "3xx", "4xx", "5xx" };
+
+    private final boolean enabled;
+    private final int topTenantCount;
+    private final int maximumTrackedTenants;
+    private final MeterRegistry meterRegistry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private volatile Map<String, LongAdder> windowCounts = new ConcurrentHashMap<>();
+    private volatile Set<String> topTenants = Set.of();
+    private ScheduledExecutorService rankExecutor;
+
+    @Autowired
+    public GatewayLatencyMetrics(LatencyMetricsProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(properties, meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+        if (enabled) {
+            long window = properties.getTopTenantsWindow().toMillis();
+            rankExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "latency-top-tenants");
+                thread.setDaemon(true);
+                return thread;
+            });
+            rankExecutor.scheduleWithFixedDelay(this::rankSafely, window, window, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Does not re-rank on its own; call {@link #rankTenants()} directly.
+     */
+    GatewayLatencyMetrics(LatencyMetricsProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.topTenantCount = properties.getTopTenants();
+        this.maximumTrackedTenants = properties.getMaximumTrackedTenants();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String routeId, String method, int status, String tenantId, long durationNanos) {
+        if (!enabled) {
+            return;
+        }
+        int statusClass = status >= 100 && status < 600 ? status / 100 : 0;
+        TimerKey key = new TimerKey(routeId != null ? routeId : NO_ROUTE, method, STATUS_CLASSES[statusClass],
+                tenantTag(tenantId));
+        timers.computeIfAbsent(key, this::timer).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (rankExecutor != null) {
+            rankExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Make the busiest tenants of the window just ended the new top K, and
+     * start a new window.
+     */
+    void rankTenants() {
+        Map<String, LongAdder> counts = windowCounts;
+        windowCounts = new ConcurrentHashMap<>();
+        Set<String> ranked = counts.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .limit(topTenantCount)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableSet());
+
+        topTenants = ranked;
+        // Also catches series created by requests that raced the previous ranking
+        timers.entrySet().removeIf(entry -> {
+            String tenant = entry.getKey().tenant();
+            if (tenant.equals(OTHER_TENANT) || tenant.equals(NO_TENANT) || ranked.contains(tenant)) {
+                return false;
+            }
+            meterRegistry.remove(entry.getValue());
+            return true;
+        });
+        log.debug("Latency metrics top tenants: {} of {} seen", ranked.size(), counts.size());
+    }
+
+    String tenantTag(String tenantId) {
+        if (tenantId == null || tenantId.isBlank()) {
+            return NO_TENANT;
+        }
+        Map<String, LongAdder> counts = windowCounts;
+        LongAdder count = counts.get(tenantId);
+        if (count == null && counts.size() < maximumTrackedTenants) {
+            count = counts.computeIfAbsent(tenantId, id -> new LongAdder());
+        }
+        if (count != null) {
+            count.increment();
+        }
+        return topTenants.contains(tenantId) ? tenantId : OTHER_TENANT;
+    }
+
+    private void rankSafely() {
+        try {
+            rankTenants();
+        } catch (Exception e) {
+            log.warn("Ranking top tenants for latency metrics failed: {}", e.getMessage());
+        }
+    }
+
+    private Timer timer(TimerKey key) {
+        return Timer.builder(METRIC_NAME)
+                .description("Gateway request latency")
+                .tag("route", key.route())
+                .tag("method", key.method())
+                .tag("status", key.statusClass())
+                .tag("tenant", key.tenant())
+                .register(meterRegistry);
+    }
+
+    private record TimerKey(String route, String method, String statusClass, String tenant) {
+    }
+}
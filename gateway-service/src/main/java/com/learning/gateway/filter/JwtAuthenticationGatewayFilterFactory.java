@@ -5,6 +5,7 @@ import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
@@ -28,6 +29,11 @@ import java.util.stream.Collectors;
  * lookup roles directly from the database via RoleLookupService for better
  * security.
  * </p>
+ *
+ * <p>
+ * The signature check and the headers built from the claims are cached per
+ * token by {@link JwtVerificationCache}.
+ * </p>
  */
 @Slf4j
 @Component
@@ -38,8 +44,11 @@ public class JwtAuthenticationGatewayFilterFactory
     private static final Pattern TENANT_ID_PATTERN = Pattern.compile("^[a-zA-Z0-9_-]{3,64}$");
     private static final String REQUEST_ID_HEADER = "X-Request-Id";
 
-    public JwtAuthenticationGatewayFilterFactory() {
+    private final JwtVerificationCache verificationCache;
+
+    public JwtAuthenticationGatewayFilterFactory(JwtVerificationCache verificationCache) {
         super(Config.class);
+        this.verificationCache = verificationCache;
     }
 
     @Override
@@ -49,115 +58,131 @@ public class JwtAuthenticationGatewayFilterFactory
                 .cast(JwtAuthenticationToken.class)
                 .flatMap(authentication -> {
                     Jwt jwt = authentication.getToken();
-                    TenantExtractionResult tenantResult = extractTenantId(jwt);
+                    Identity identity = verificationCache.identity(jwt, () -> resolveIdentity(authentication));
+                    TenantExtractionResult tenantResult = identity.tenant();
                     if (!tenantResult.success()) {
                         log.debug("NT-01 deny userId={} code={} status={}", jwt.getSubject(), tenantResult.errorCode(),
                                 tenantResult.errorStatus().value());
                         return writeError(exchange, tenantResult.errorStatus(), tenantResult.errorCode(),
                                 tenantResult.errorMessage());
                     }
-                    String tenantId = tenantResult.tenantId();
-                    String userId = jwt.getSubject();
-                    String username = jwt.getClaimAsString("username");
-
-                    // Debug: log all claims to troubleshoot email extraction
-                    log.debug("JWT claims for userId={}: {}", userId, jwt.getClaims().keySet());
-
-                    // Extract email - check multiple claim locations for SSO compatibility
-                    String email = jwt.getClaimAsString("email");
-                    if (email == null || email.isBlank()) {
-                        // For SSO users, email may be in custom claims
-                        email = jwt.getClaimAsString("custom:email");
-                    }
-                    if (email == null || email.isBlank()) {
-                        // For federated users, extract from identities claim
-                        // identities is an array of objects: [{userId: "email", providerName: "...",
-                        // ...}]
-                        Object identitiesObj = jwt.getClaim("identities");
-                        if (identitiesObj instanceof java.util.List<?> identitiesList && !identitiesList.isEmpty()) {
-                            Object firstIdentity = identitiesList.get(0);
-                            if (firstIdentity instanceof java.util.Map<?, ?> identityMap) {
-                                Object userIdObj = identityMap.get("userId");
-                                if (userIdObj instanceof String userIdStr && userIdStr.contains("@")) {
-                                    email = userIdStr;
-                                    log.debug("Extracted email from identities: {}", email);
-                                }
-                            }
-                        }
-                    }
-                    if (email == null || email.isBlank()) {
-                        // Last resort: extract from cognito:username (format: "prefix_email@domain")
-                        String cognitoUsername = jwt.getClaimAsString("cognito:username");
-                        if (cognitoUsername != null && cognitoUsername.contains("@")) {
-                            // Extract email part after underscore (e.g., "okta-aarohan_user@example.com")
-                            int underscoreIdx = cognitoUsername.indexOf('_');
-                            if (underscoreIdx > 0 && underscoreIdx < cognitoUsername.length() - 1) {
-                                email = cognitoUsername.substring(underscoreIdx + 1);
-                            } else {
-                                email = cognitoUsername;
-                            }
-                            log.debug("Extracted email from cognito:username: {}", email);
-                        }
-                    }
 
-                    String authorities = authentication.getAuthorities().stream()
-                            .map(Object::toString)
-                            .collect(Collectors.joining(","));
-
-                    // NOTE: Role lookup removed - downstream services now lookup roles directly
-                    // from the database via RoleLookupService for better security
-                    var builder = exchange.getRequest().mutate()
-                            .header("X-User-Id", userId)
-                            .header("X-Username", username != null ? username : "")
-                            .header("X-Email", email != null ? email : "")
-                            .header("X-Tenant-Id", tenantId);
-                    if (!authorities.isBlank()) {
-                        builder.header("X-Authorities", authorities);
-                    }
-                    // Pass IdP groups for group-to-role mapping
-                    // Priority: 1) custom:samlGroups (SAML IdPs like Okta), 2) cognito:groups
-                    // (Cognito groups)
-                    java.util.Set<String> allGroups = new java.util.LinkedHashSet<>();
-
-                    // 1. Read SAML groups from custom:samlGroups (contains actual IdP group names
-                    // like "dev", "Admins")
-                    String samlGroups = jwt.getClaimAsString("custom:samlGroups");
-                    if (samlGroups != null && !samlGroups.isBlank()) {
-                        // Cognito stores multi-valued SAML attributes as "[val1, val2]" format
-                        // Strip brackets if present
-                        String cleaned = samlGroups.trim();
-                        if (cleaned.startsWith("[") && cleaned.endsWith("]")) {
-                            cleaned = cleaned.substring(1, cleaned.length() - 1);
-                        }
-                        // Split by comma and trim each value
-                        for (String g : cleaned.split(",")) {
-                            if (g != null && !g.isBlank()) {
-                                allGroups.add(g.trim());
-                            }
-                        }
-                        log.debug("Found SAML groups in custom:samlGroups: {} -> parsed: {}", samlGroups, allGroups);
-                    }
+                    log.debug("NT-01 allow path={} userId={} tenantId={}",
+                            exchange.getRequest().getPath(), jwt.getSubject(), tenantResult.tenantId());
+                    var request = exchange.getRequest().mutate()
+                            .headers(headers -> headers.putAll(identity.headers()))
+                            .build();
+                    return chain.filter(exchange.mutate().request(request).build());
+                })
+                .switchIfEmpty(chain.filter(exchange));
+    }
 
-                    // 2. Also read cognito:groups (filter out tenant_ groups)
-                    List<String> cognitoGroups = jwt.getClaimAsStringList("cognito:groups");
-                    if (cognitoGroups != null) {
-                        cognitoGroups.stream()
-                                .filter(g -> g != null && !g.startsWith(TENANT_GROUP_PREFIX))
-                                .forEach(allGroups::add);
-                    }
+    /**
+     * Tenant and downstream identity headers for a token; the same for every
+     * request carrying it, so built once per token.
+     */
+    private Identity resolveIdentity(JwtAuthenticationToken authentication) {
+        Jwt jwt = authentication.getToken();
+        TenantExtractionResult tenantResult = extractTenantId(jwt);
+        if (!tenantResult.success()) {
+            return new Identity(tenantResult, HttpHeaders.EMPTY);
+        }
+        String tenantId = tenantResult.tenantId();
+        String userId = jwt.getSubject();
+        String username = jwt.getClaimAsString("username");
+
+        // Debug: log all claims to troubleshoot email extraction
+        log.debug("JWT claims for userId={}: {}", userId, jwt.getClaims().keySet());
 
-                    if (!allGroups.isEmpty()) {
-                        String groups = String.join(",", allGroups);
-                        builder.header("X-Groups", groups);
-                        log.debug("Passing IdP groups to downstream: {}", groups);
+        // Extract email - check multiple claim locations for SSO compatibility
+        String email = jwt.getClaimAsString("email");
+        if (email == null || email.isBlank()) {
+            // For SSO users, email may be in custom claims
+            email = jwt.getClaimAsString("custom:email");
+        }
+        if (email == null || email.isBlank()) {
+            // For federated users, extract from identities claim
+            // identities is an array of objects: [{userId: "email", providerName: "...",
+            // ...}]
+            Object identitiesObj = jwt.getClaim("identities");
+            if (identitiesObj instanceof java.util.List<?> identitiesList && !identitiesList.isEmpty()) {
+                Object firstIdentity = identitiesList.get(0);
+                if (firstIdentity instanceof java.util.Map<?, ?> identityMap) {
+                    Object userIdObj = identityMap.get("userId");
+                    if (userIdObj instanceof String userIdStr && userIdStr.contains("@")) {
+                        email = userIdStr;
+                        log.debug("Extracted email from identities: {}", email);
                     }
+                }
+            }
+        }
+        if (email == null || email.isBlank()) {
+            // Last resort: extract from cognito:username (format: "prefix_email@domain")
+            String cognitoUsername = jwt.getClaimAsString("cognito:username");
+            if (cognitoUsername != null && cognitoUsername.contains("@")) {
+                // Extract email part after underscore (e.g., "okta-aarohan_user@example.com")
+                int underscoreIdx = cognitoUsername.indexOf('_');
+                if (underscoreIdx > 0 && underscoreIdx < cognitoUsername.length() - 1) {
+                    email = cognitoUsername.substring(underscoreIdx + 1);
+                } else {
+                    email = cognitoUsername;
+                }
+                log.debug("Extracted email from cognito:username: {}", email);
+            }
+        }
 
-                    log.debug("NT-01 allow path={} userId={} tenantId={}",
-                            exchange.getRequest().getPath(), userId, tenantId);
-                    var mutatedExchange = exchange.mutate().request(builder.build()).build();
-                    return chain.filter(mutatedExchange);
-                })
-                .switchIfEmpty(chain.filter(exchange));
+        String authorities = authentication.getAuthorities().stream()
+                .map(Object::toString)
+                .collect(Collectors.joining(","));
+
+        // NOTE: Role lookup removed - downstream services now lookup roles directly
+        // from the database via RoleLookupService for better security
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-User-Id", userId);
+        headers.set("X-Username", username != null ? username : "");
+        headers.set("X-Email", email != null ? email : "");
+        headers.set("X-Tenant-Id", tenantId);
+        if (!authorities.isBlank()) {
+            headers.set("X-Authorities", authorities);
+        }
+        // Pass IdP groups for group-to-role mapping
+        // Priority: 1) custom:samlGroups (SAML IdPs like Okta), 2) cognito:groups
+        // (Cognito groups)
+        java.util.Set<String> allGroups = new java.util.LinkedHashSet<>();
+
+        // 1. Read SAML groups from custom:samlGroups (contains actual IdP group names
+        // like "dev", "Admins")
+        String samlGroups = jwt.getClaimAsString("custom:samlGroups");
+        if (samlGroups != null && !samlGroups.isBlank()) {
+            // Cognito stores multi-valued SAML attributes as "[val1, val2]" format
+            // Strip brackets if present
+            String cleaned = samlGroups.trim();
+            if (cleaned.startsWith("[") && cleaned.endsWith("]")) {
+                cleaned = cleaned.substring(1, cleaned.length() - 1);
+            }
+            // Split by comma and trim each value
+            for (String g : cleaned.split(",")) {
+                if (g != null && !g.isBlank()) {
+                    allGroups.add(g.trim());
+                }
+            }
+            log.debug("Found SAML groups in custom:samlGroups: {} -> parsed: {}", samlGroups, allGroups);
+        }
+
+        // 2. Also read cognito:groups (filter out tenant_ groups)
+        List<String> cognitoGroups = jwt.getClaimAsStringList("cognito:groups");
+        if (cognitoGroups != null) {
+            cognitoGroups.stream()
+                    .filter(g -> g != null && !g.startsWith(TENANT_GROUP_PREFIX))
+                    .forEach(allGroups::add);
+        }
+
+        if (!allGroups.isEmpty()) {
+            String groups = String.join(",", allGroups);
+            headers.set("X-Groups", groups);
+            log.debug("Passing IdP groups to downstream: {}", groups);
+        }
+        return new Identity(tenantResult, HttpHeaders.readOnlyHttpHeaders(headers));
     }
 
     private TenantExtractionResult extractTenantId(Jwt jwt) {
@@ -218,7 +243,14 @@ public class JwtAuthenticationGatewayFilterFactory
     public static class Config {
     }
 
-    private record TenantExtractionResult(
+    /**
+     * What a token resolves to: the tenant (or why it has none) and the
+     * headers passed downstream.
+     */
+    record Identity(TenantExtractionResult tenant, HttpHeaders headers) {
+    }
+
+    record TenantExtractionResult(
             boolean success,
             String tenantId,
             HttpStatus errorStatus,
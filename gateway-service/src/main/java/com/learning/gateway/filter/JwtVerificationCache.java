@@ -0,0 +1,132 @@
+package com.learning.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.learning.gateway.config.JwtCacheProperties;
+import com.learning.gateway.filter.JwtAuthenticationGatewayFilterFactory.Identity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Caches verified JWTs, and the downstream identity headers built from them,
+ * so a token is signature-checked and parsed once rather than on every
+ * request of the session.
+ *
+ * <p>
+ * Entries are keyed by the token's SHA-256 digest and live until the token's
+ * exp (at most the maximum TTL). Only tokens the wrapped decoder accepted are
+ * cached; rejected ones are verified again each time.
+ * </p>
+ *
+ * <p>
+ * Metrics: cache.gets{cache=jwtVerification,result=hit|miss} and the other
+ * Caffeine cache meters.
+ * </p>
+ */
+@Component
+public class JwtVerificationCache {
+
+    static final String CACHE_NAME = "jwtVerification";
+
+    private final boolean enabled;
+    private final Cache<String, VerifiedToken> cache;
+
+    @Autowired
+    public JwtVerificationCache(JwtCacheProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(properties, meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry), Ticker.systemTicker(),
+                Clock.systemUTC());
+    }
+
+    JwtVerificationCache(JwtCacheProperties properties, MeterRegistry meterRegistry, Ticker ticker, Clock clock) {
+        this.enabled = properties.isEnabled();
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new TokenExpiry(properties.getMaximumTtl(), clock))
+                .ticker(ticker)
+                .recordStats()
+                .build(), CACHE_NAME);
+    }
+
+    /**
+     * Wrap a decoder so tokens it has verified are served from the cache.
+     */
+    public ReactiveJwtDecoder decoder(ReactiveJwtDecoder delegate) {
+        if (!enabled) {
+            return delegate;
+        }
+        return token -> {
+            String digest = ApiKeyValidationCache.hash(token);
+            VerifiedToken verified = cache.getIfPresent(digest);
+            if (verified != null) {
+                return Mono.just(verified.jwt);
+            }
+            return delegate.decode(token).doOnNext(jwt -> cache.put(digest, new VerifiedToken(jwt)));
+        };
+    }
+
+    /**
+     * The identity built for this token earlier, else the resolver's, kept
+     * with the token's entry.
+     */
+    Identity identity(Jwt jwt, Supplier<Identity> resolver) {
+        if (!enabled) {
+            return resolver.get();
+        }
+        VerifiedToken verified = cache.getIfPresent(ApiKeyValidationCache.hash(jwt.getTokenValue()));
+        if (verified == null || verified.jwt != jwt) {
+            // Not decoded through the cache (or since evicted): nothing to attach to
+            return resolver.get();
+        }
+        Identity identity = verified.identity;
+        if (identity == null) {
+            identity = resolver.get();
+            verified.identity = identity;
+        }
+        return identity;
+    }
+
+    private static final class VerifiedToken {
+        private final Jwt jwt;
+        // Racing first requests may each build it; they build the same value
+        private volatile Identity identity;
+
+        private VerifiedToken(Jwt jwt) {
+            this.jwt = jwt;
+        }
+    }
+
+    private record TokenExpiry(Duration maximumTtl, Clock clock) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            if (token.jwt.getExpiresAt() == null) {
+                return maximumTtl.toNanos();
+            }
+            long untilExpiry = Duration.between(clock.instant(), token.jwt.getExpiresAt()).toNanos();
+            return Math.max(0, Math.min(maximumTtl.toNanos(), untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
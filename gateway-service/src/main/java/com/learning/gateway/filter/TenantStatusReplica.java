@@ -0,0 +1,213 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.config.TenantStatusProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local copy of every tenant's status, replicated from the Redis hash that
+ * platform-service maintains, so {@link TenantStatusValidationFilter} checks
+ * status with a map lookup.
+ *
+ * <p>
+ * The hash is loaded in one HGETALL on every (re)subscription to the change
+ * channel and every resync interval; in between, each published
+ * {@code tenantId:STATUS} applies immediately. Changes received while a load
+ * is in flight are re-applied over its result, so a load never reverts them.
+ * </p>
+ *
+ * <p>
+ * Until the first load (or without Redis) {@link #status} returns null and
+ * the filter asks platform-service instead.
+ * </p>
+ *
+ * <p>
+ * Metrics: gateway.tenant.status.replica.size,
+ * gateway.tenant.status.replica.loads{result=success|failure}
+ * </p>
+ */
+@Slf4j
+@Component
+public class TenantStatusReplica {
+
+    private final TenantStatusProperties properties;
+    private final ObjectProvider<ReactiveRedisConnectionFactory> connectionFactoryProvider;
+    private final Map<String, String> statuses = new ConcurrentHashMap<>();
+    private final Map<String, String> changedDuringLoad = new ConcurrentHashMap<>();
+    private final Counter loadSuccess;
+    private final Counter loadFailure;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+    private final AtomicInteger loadsInFlight = new AtomicInteger();
+    private volatile boolean loaded;
+
+    @Autowired
+    public TenantStatusReplica(TenantStatusProperties properties,
+            ObjectProvider<ReactiveRedisConnectionFactory> connectionFactoryProvider,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(properties, connectionFactoryProvider, meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * Does not connect on its own; feed it with {@link #replaceAll} and
+     * {@link #apply}.
+     */
+    TenantStatusReplica(TenantStatusProperties properties, MeterRegistry meterRegistry) {
+        this(properties, null, meterRegistry);
+    }
+
+    private TenantStatusReplica(TenantStatusProperties properties,
+            ObjectProvider<ReactiveRedisConnectionFactory> connectionFactoryProvider, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.connectionFactoryProvider = connectionFactoryProvider;
+        this.loadSuccess = Counter.builder("gateway.tenant.status.replica.loads")
+                .description("Full loads of the tenant status hash")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.loadFailure = Counter.builder("gateway.tenant.status.replica.loads")
+                .description("Full loads of the tenant status hash")
+                .tag("result", "failure")
+                .register(meterRegistry);
+        Gauge.builder("gateway.tenant.status.replica.size", statuses, Map::size)
+                .description("Tenants held in the status replica")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        ReactiveRedisConnectionFactory connectionFactory = connectionFactoryProvider != null
+                ? connectionFactoryProvider.getIfAvailable()
+                : null;
+        if (!properties.isEnabled() || connectionFactory == null) {
+            log.info("Tenant status replica disabled, statuses are looked up from platform-service");
+            return;
+        }
+        ReactiveStringRedisTemplate redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+        Mono<Void> load = Mono.defer(() -> load(redisTemplate));
+        ChannelTopic channel = ChannelTopic.of(properties.getChannel());
+
+        subscriptions.add(Flux.defer(() -> {
+            ReactiveRedisMessageListenerContainer container = new ReactiveRedisMessageListenerContainer(
+                    connectionFactory);
+            return container.receiveLater(channel)
+                    // Subscribed first, so no change published during the load is missed
+                    .flatMap(messages -> load.thenReturn(messages))
+                    .flatMapMany(messages -> messages)
+                    // A dropped connection completes the stream: resubscribe like on an error
+                    .concatWith(Flux.error(new IllegalStateException("subscription closed")))
+                    .doFinally(signal -> container.destroyLater().subscribe());
+        })
+                .map(ReactiveSubscription.Message::getMessage)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.warn("Tenant status subscription failed, retrying: {}",
+                                signal.failure().getMessage())))
+                .subscribe(this::apply));
+
+        subscriptions.add(Flux.interval(properties.getResyncInterval(), properties.getResyncInterval())
+                .concatMap(tick -> load.onErrorResume(e -> Mono.empty()))
+                .subscribe());
+    }
+
+    @PreDestroy
+    void stop() {
+        subscriptions.dispose();
+    }
+
+    /**
+     * The tenant's replicated status, or null if not known locally.
+     */
+    public String status(String tenantId) {
+        return loaded ? statuses.get(tenantId) : null;
+    }
+
+    /**
+     * Apply one published change, {@code tenantId:STATUS}.
+     */
+    void apply(String message) {
+        int separator = message.lastIndexOf(':');
+        if (separator <= 0 || separator == message.length() - 1) {
+            log.warn("Ignoring malformed tenant status message: {}", message);
+            return;
+        }
+        String tenantId = message.substring(0, separator);
+        String status = message.substring(separator + 1);
+        statuses.put(tenantId, status);
+        if (loadsInFlight.get() > 0) {
+            changedDuringLoad.put(tenantId, status);
+        }
+        log.debug("Tenant status changed: tenantId={}, status={}", tenantId, status);
+    }
+
+    /**
+     * Mark the start of a full load; changes applied from here on survive
+     * {@link #replaceAll} until {@link #endLoad}.
+     */
+    void beginLoad() {
+        loadsInFlight.incrementAndGet();
+    }
+
+    /**
+     * Mark the end of a full load, however it ended; the changes kept for it
+     * are dropped once no load is in flight.
+     */
+    void endLoad() {
+        if (loadsInFlight.decrementAndGet() == 0) {
+            changedDuringLoad.clear();
+        }
+    }
+
+    /**
+     * Replace the replica with a full snapshot of the hash.
+     */
+    void replaceAll(Map<String, String> snapshot) {
+        Map<String, String> current = new HashMap<>(snapshot);
+        current.putAll(changedDuringLoad);
+        statuses.putAll(current);
+        statuses.keySet().retainAll(current.keySet());
+        loaded = true;
+    }
+
+    Mono<Void> load(ReactiveStringRedisTemplate redisTemplate) {
+        beginLoad();
+        return redisTemplate.<String, String>opsForHash()
+                .entries(properties.getHashKey())
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .doOnNext(snapshot -> {
+                    replaceAll(snapshot);
+                    loadSuccess.increment();
+                    log.debug("Tenant status replica loaded: {} tenants", snapshot.size());
+                })
+                .doOnError(e -> {
+                    loadFailure.increment();
+                    log.warn("Tenant status replica load failed: {}", e.getMessage());
+                })
+                // Also on cancel, e.g. when the subscription drops mid-load
+                .doFinally(signal -> endLoad())
+                .then();
+    }
+}
@@ -22,8 +22,10 @@ import java.util.Set;
  * Global filter that validates tenant status before allowing requests.
  * Blocks requests if tenant is DELETED, DELETING, or SUSPENDED.
  * 
- * Uses Caffeine cache to minimize calls to platform-service.
- * TODO: Migrate to Redis cache for distributed consistency (Phase 6)
+ * Statuses come from the {@link TenantStatusReplica}, which platform-service
+ * keeps current over Redis. Tenants it doesn't know (no Redis, before the
+ * first load, just created) are looked up from platform-service and cached
+ * in Caffeine.
  */
 @Slf4j
 @Component
@@ -45,19 +47,21 @@ public class TenantStatusValidationFilter implements GlobalFilter, Ordered {
 
     private final WebClient webClient;
     private final Cache<String, String> tenantStatusCache;
+    private final TenantStatusReplica statusReplica;
 
     public TenantStatusValidationFilter(
-            @Value("${services.platform-service.url:http://platform-service:8083}") String platformServiceUrl) {
+            @Value("${services.platform-service.url:http://platform-service:8083}") String platformServiceUrl,
+            TenantStatusReplica statusReplica) {
 
+        this.statusReplica = statusReplica;
         this.webClient = WebClient.builder()
                 .baseUrl(platformServiceUrl)
                 .build();
 
-        // Cache tenant status for 5 minutes
-        // TODO: Move to Redis for distributed caching (Phase 6)
+        // Fallback lookups only; the replica is updated as soon as a status changes
         this.tenantStatusCache = Caffeine.newBuilder()
                 .maximumSize(10_000)
-                .expireAfterWrite(Duration.ofMinutes(5))
+                .expireAfterWrite(Duration.ofMinutes(1))
                 .build();
     }
 
@@ -78,7 +82,17 @@ public class TenantStatusValidationFilter implements GlobalFilter, Ordered {
             return chain.filter(exchange);
         }
 
-        // Check cache first
+        // Replicated status first
+        String replicatedStatus = statusReplica.status(tenantId);
+        if (replicatedStatus != null) {
+            if (ACTIVE_STATUS.equals(replicatedStatus)) {
+                return chain.filter(exchange);
+            }
+            log.warn("Blocked request to inactive tenant: tenantId={}, status={}", tenantId, replicatedStatus);
+            return rejectRequest(exchange, replicatedStatus);
+        }
+
+        // Then previously fetched statuses
         String cachedStatus = tenantStatusCache.getIfPresent(tenantId);
         if (cachedStatus != null) {
             if (ACTIVE_STATUS.equals(cachedStatus)) {
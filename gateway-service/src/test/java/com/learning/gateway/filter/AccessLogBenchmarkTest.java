@@ -0,0 +1,174 @@
+package com.learning.gateway.filter;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.learning.common.infra.benchmark.BenchmarkTest;
+import com.learning.common.infra.benchmark.Benchmarks;
+import com.learning.gateway.config.AccessLogProperties;
+import com.learning.gateway.config.LatencyMetricsProperties;
+import com.learning.gateway.support.BaseGatewayFilterTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cost on the request thread of access logging: the previous synchronous
+ * log.info per request against the buffered AccessLogWriter, both writing
+ * through a logback appender to a discarding stream with a slow write
+ * standing in for a stalled stdout or disk.
+ */
+@BenchmarkTest
+class AccessLogBenchmarkTest extends BaseGatewayFilterTest {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 50_000;
+    private static final String SYNC_LOGGER = "benchmark.sync-access";
+
+    private final List<Logger> configured = new ArrayList<>();
+
+    @BeforeEach
+    void discardLogs() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        for (String name : List.of(SYNC_LOGGER, AccessLogWriter.LOGGER_NAME)) {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern("%msg%n");
+            encoder.start();
+            OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+            appender.setContext(context);
+            appender.setEncoder(encoder);
+            appender.setOutputStream(new SlowDiscardingStream());
+            appender.start();
+            Logger logger = context.getLogger(name);
+            logger.detachAndStopAllAppenders();
+            logger.setAdditive(false);
+            logger.addAppender(appender);
+            configured.add(logger);
+        }
+    }
+
+    @AfterEach
+    void restoreLogs() {
+        configured.forEach(logger -> {
+            logger.detachAndStopAllAppenders();
+            logger.setAdditive(true);
+        });
+    }
+
+    @Test
+    @DisplayName("synchronous log line per request vs buffered access log")
+    void compareSyncAndBuffered() throws Exception {
+        Benchmarks.Table table = new Benchmarks.Table("logging", "requests/s", "us/request", "dropped");
+
+        run(table, "none", (exchange, chain) -> chain.filter(exchange), null);
+        run(table, "sync", new SyncLoggingFilter(), null);
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AccessLogWriter writer = new AccessLogWriter(new AccessLogProperties(),
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry))
+                        .getBeanProvider(MeterRegistry.class));
+        try {
+            run(table, "buffered", new EnhancedLoggingGlobalFilter(writer,
+                    new GatewayLatencyMetrics(new LatencyMetricsProperties(), meterRegistry)), meterRegistry);
+        } finally {
+            writer.stop();
+        }
+    }
+
+    private void run(Benchmarks.Table table, String name, GlobalFilter filter, MeterRegistry meterRegistry)
+            throws Exception {
+        requests(filter, REQUESTS_PER_THREAD / 5);
+
+        long start = System.nanoTime();
+        requests(filter, REQUESTS_PER_THREAD);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long total = (long) THREADS * REQUESTS_PER_THREAD;
+        double dropped = meterRegistry == null ? 0
+                : meterRegistry.get("gateway.accesslog.records").tag("result", "dropped").counter().count();
+        table.row(name, (long) (total / seconds), seconds * 1e6 * THREADS / total, (long) dropped);
+    }
+
+    private void requests(GlobalFilter filter, int perThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            tasks.add(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ServerWebExchange exchange = exchange(get("/api/items/" + i)
+                            .header("X-Request-Id", "req-" + i)
+                            .header("X-User-Id", "user-1")
+                            .header("X-Tenant-Id", "acme")
+                            .build());
+                    exchange.getResponse().setStatusCode(HttpStatus.OK);
+                    filter.filter(exchange, chain()).block();
+                }
+                return null;
+            });
+        }
+        for (Future<Void> result : executor.invokeAll(tasks)) {
+            result.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * The access logging EnhancedLoggingGlobalFilter did before the buffered
+     * writer: one formatted log.info on the request thread.
+     */
+    private static final class SyncLoggingFilter implements GlobalFilter {
+
+        private static final org.slf4j.Logger log = LoggerFactory.getLogger(SYNC_LOGGER);
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange,
+                org.springframework.cloud.gateway.filter.GatewayFilterChain chain) {
+            long startMillis = System.currentTimeMillis();
+            return chain.filter(exchange).doOnSuccess(v -> {
+                var headers = exchange.getRequest().getHeaders();
+                log.info("gateway_log {{\"event\":\"request_completed\",\"ts\":\"{}\",\"requestId\":\"{}\",\"userId\":\"{}\",\"tenantId\":\"{}\",\"method\":\"{}\",\"path\":\"{}\",\"status\":{},\"durationMs\":{} }}",
+                        Instant.now(), headers.getFirst("X-Request-Id"), headers.getFirst("X-User-Id"),
+                        headers.getFirst("X-Tenant-Id"), exchange.getRequest().getMethod().name(),
+                        exchange.getRequest().getPath().value(), exchange.getResponse().getStatusCode().value(),
+                        System.currentTimeMillis() - startMillis);
+            });
+        }
+    }
+
+    // Discards output, blocking ~20us+ per write like a busy terminal or disk
+    private static final class SlowDiscardingStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            LockSupport.parkNanos(20_000);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.learning.gateway.filter;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+class AccessLogRingBufferTest {
+
+    @Test
+    @DisplayName("rounds capacity up to a power of two")
+    void roundsCapacity() {
+        Assertions.assertThat(new AccessLogRingBuffer<>(1000).capacity()).isEqualTo(1024);
+        Assertions.assertThat(new AccessLogRingBuffer<>(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    @DisplayName("hands items over in order and reuses slots")
+    void fifo() {
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                Assertions.assertThat(buffer.offer(round * 4 + i)).isTrue();
+            }
+            Assertions.assertThat(buffer.offer(-1)).isFalse();
+            buffer.drain(drained::add, 10);
+        }
+
+        Assertions.assertThat(drained).hasSize(12).isSorted();
+        Assertions.assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("loses nothing with many producers and a draining consumer")
+    void concurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(1024);
+        Set<Integer> received = new HashSet<>();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        while (done.getCount() > 0 || buffer.size() > 0) {
+            buffer.drain(received::add, 256);
+        }
+        executor.shutdown();
+        Assertions.assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        Assertions.assertThat(received).hasSize(producers * perProducer);
+    }
+
+    @Test
+    @DisplayName("keeps draining after the consumer throws")
+    void consumerThrows() {
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(4);
+        buffer.offer(1);
+        buffer.offer(2);
+        List<Integer> drained = new ArrayList<>();
+
+        Assertions.assertThatThrownBy(() -> buffer.drain(item -> {
+            throw new IllegalStateException("sink down");
+        }, 10)).isInstanceOf(IllegalStateException.class);
+
+        Assertions.assertThat(buffer.drain(drained::add, 10)).isEqualTo(1);
+        Assertions.assertThat(drained).containsExactly(2);
+        Assertions.assertThat(buffer.offer(3)).isTrue();
+        Assertions.assertThat(buffer.drain(drained::add, 10)).isEqualTo(1);
+        Assertions.assertThat(drained).containsExactly(2, 3);
+    }
+}
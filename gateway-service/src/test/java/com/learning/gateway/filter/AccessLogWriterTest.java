@@ -0,0 +1,115 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.config.AccessLogProperties;
+import com.learning.gateway.config.AccessLogProperties.RouteSampling;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class AccessLogWriterTest {
+
+    private final List<String> lines = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AccessLogWriter writer(AccessLogProperties properties) {
+        return new AccessLogWriter(properties, lines::add, meterRegistry);
+    }
+
+    private static AccessLogRecord record(String routeId, int status, String error) {
+        return new AccessLogRecord(0, "req-1", "u1", "t1", "GET", "/api/items", routeId, status, 1_500, error);
+    }
+
+    private double records(String result) {
+        return meterRegistry.get("gateway.accesslog.records").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("writes one JSON line per record")
+    void writesJsonLines() {
+        AccessLogWriter writer = writer(new AccessLogProperties());
+        writer.append(new AccessLogRecord(0, "req-1", "u1", "t1", "GET", "/api/\"items\"", "backend-service", 200,
+                12_345, null));
+
+        Assertions.assertThat(writer.drain()).isEqualTo(1);
+
+        Assertions.assertThat(lines).containsExactly("{\"event\":\"request_completed\",\"ts\":\"1970-01-01T00:00:00Z\","
+                + "\"requestId\":\"req-1\",\"userId\":\"u1\",\"tenantId\":\"t1\",\"method\":\"GET\","
+                + "\"path\":\"/api/\\\"items\\\"\",\"route\":\"backend-service\",\"status\":200,\"durationMs\":12.345}");
+        Assertions.assertThat(records("written")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("samples by route and status class, but always writes errors")
+    void samples() {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.getSampling().getStatusRates().put("2xx", 0.0);
+        RouteSampling route = new RouteSampling();
+        route.setRate(0.0);
+        route.setStatusRates(Map.of("4xx", 1.0));
+        properties.getSampling().getRoutes().put("backend-service", route);
+        AccessLogWriter writer = writer(properties);
+
+        Assertions.assertThat(writer.sampled(record("other", 200, null))).isFalse();
+        Assertions.assertThat(writer.sampled(record("other", 404, null))).isTrue();
+        Assertions.assertThat(writer.sampled(record("backend-service", 302, null))).isFalse();
+        Assertions.assertThat(writer.sampled(record("backend-service", 404, null))).isTrue();
+        Assertions.assertThat(writer.sampled(record("backend-service", 503, null))).isTrue();
+        Assertions.assertThat(writer.sampled(record("backend-service", 200, "TimeoutException"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("drops and counts records once the buffer is full")
+    void dropsWhenFull() {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setBufferSize(4);
+        AccessLogWriter writer = writer(properties);
+
+        for (int i = 0; i < 6; i++) {
+            writer.append(record(null, 200, null));
+        }
+
+        Assertions.assertThat(records("dropped")).isEqualTo(2);
+        Assertions.assertThat(writer.drain()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("writes at most one batch per drain")
+    void drainsInBatches() {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setBatchSize(3);
+        AccessLogWriter writer = writer(properties);
+        for (int i = 0; i < 5; i++) {
+            writer.append(record(null, 200, null));
+        }
+
+        Assertions.assertThat(writer.drain()).isEqualTo(3);
+        Assertions.assertThat(writer.drain()).isEqualTo(2);
+        Assertions.assertThat(writer.drain()).isZero();
+    }
+
+    @Test
+    @DisplayName("writes the rest of a batch when the sink throws on one record")
+    void sinkThrows() {
+        AccessLogWriter writer = new AccessLogWriter(new AccessLogProperties(), line -> {
+            if (line.contains("req-bad")) {
+                throw new IllegalStateException("sink down");
+            }
+            lines.add(line);
+        }, meterRegistry);
+        writer.append(new AccessLogRecord(0, "req-bad", "u1", "t1", "GET", "/api/items", "r", 500, 1_000, null));
+        writer.append(record("r", 500, null));
+
+        Assertions.assertThat(writer.drain()).isEqualTo(2);
+        writer.append(record("r", 500, null));
+        Assertions.assertThat(writer.drain()).isEqualTo(1);
+
+        Assertions.assertThat(lines).hasSize(2);
+        Assertions.assertThat(records("written")).isEqualTo(2);
+        Assertions.assertThat(records("failed")).isEqualTo(1);
+    }
+}
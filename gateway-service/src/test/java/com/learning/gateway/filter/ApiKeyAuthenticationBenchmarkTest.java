@@ -0,0 +1,121 @@
+package com.learning.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.learning.common.infra.benchmark.BenchmarkTest;
+import com.learning.common.infra.benchmark.Benchmarks;
+import com.learning.gateway.config.ApiKeyCacheProperties;
+import com.learning.gateway.config.ApiKeyRateLimitProperties;
+import com.learning.gateway.config.ApiKeyUsageProperties;
+import com.learning.gateway.support.BaseGatewayFilterTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local load test of API key authentication against a stub platform-service
+ * (MockWebServer answering validations after a delay standing in for its
+ * hash, DB lookup and usage UPDATE): throughput, p50/p99 latency and
+ * platform-service calls with and without the validation cache.
+ */
+@BenchmarkTest
+class ApiKeyAuthenticationBenchmarkTest extends BaseGatewayFilterTest {
+
+    private static final int KEYS = 200;
+    private static final int REQUESTS = 20_000;
+    private static final int CONCURRENCY = 64;
+    private static final long PLATFORM_DELAY_MILLIS = 3;
+
+    private MockWebServer platform;
+
+    @BeforeEach
+    void startPlatform() throws Exception {
+        platform = new MockWebServer();
+        platform.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setHeadersDelay(PLATFORM_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                        .setBody("""
+                                {"keyId":"key-1","tenantId":"t1","userId":"u1","userEmail":"u1@example.com",
+                                 "rateLimitPerMinute":60,"valid":true,"errorCode":null}
+                                """);
+            }
+        });
+        platform.start();
+    }
+
+    @AfterEach
+    void stopPlatform() throws Exception {
+        platform.shutdown();
+    }
+
+    @Test
+    @DisplayName("API key authentication with and without the validation cache")
+    void compareWithAndWithoutCache() {
+        Result uncached = run(false);
+        Result cached = run(true);
+
+        Benchmarks.Table table = new Benchmarks.Table("cache", "req/s", "p50 (ms)", "p99 (ms)", "platform calls");
+        for (Result result : new Result[] { uncached, cached }) {
+            table.row(result.cache() ? "on" : "off", (long) result.requestsPerSecond(),
+                    result.latencies().percentileMillis(50), result.latencies().percentileMillis(99),
+                    result.platformCalls());
+        }
+
+        Assertions.assertThat(cached.platformCalls()).isLessThanOrEqualTo(KEYS);
+    }
+
+    private record Result(boolean cache, double requestsPerSecond, Benchmarks.Latencies latencies,
+            long platformCalls) {
+    }
+
+    private Result run(boolean cache) {
+        ApiKeyCacheProperties cacheProperties = new ApiKeyCacheProperties();
+        cacheProperties.setEnabled(cache);
+        ApiKeyRateLimitProperties rateLimitProperties = new ApiKeyRateLimitProperties();
+        rateLimitProperties.setEnabled(false);
+        ApiKeyAuthenticationFilter filter = new ApiKeyAuthenticationFilter(WebClient.builder(),
+                platform.url("/").toString().replaceAll("/$", ""),
+                new ApiKeyRateLimiter(rateLimitProperties, new SimpleMeterRegistry(), System::nanoTime),
+                new ApiKeyValidationCache(cacheProperties, new SimpleMeterRegistry(), Ticker.systemTicker(),
+                        Clock.systemUTC()),
+                new ApiKeyUsageRecorder(new ApiKeyUsageProperties(), (counts, lastUsed) -> Mono.empty(),
+                        new SimpleMeterRegistry()));
+
+        // Warm up connections and JIT
+        authenticate(filter, 2_000);
+
+        int callsBefore = platform.getRequestCount();
+        long start = System.nanoTime();
+        Benchmarks.Latencies latencies = authenticate(filter, REQUESTS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new Result(cache, REQUESTS / seconds, latencies, platform.getRequestCount() - callsBefore);
+    }
+
+    private Benchmarks.Latencies authenticate(ApiKeyAuthenticationFilter filter, int requests) {
+        Benchmarks.Latencies latencies = new Benchmarks.Latencies(requests);
+        Flux.range(0, requests)
+                .flatMap(i -> Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    var request = get("/api/items").header("X-API-Key", "sk_live_benchmark_" + (i % KEYS)).build();
+                    return filter.filter(exchange(request), chain())
+                            .doOnTerminate(() -> latencies.record(i, System.nanoTime() - start));
+                }), CONCURRENCY)
+                .blockLast();
+        return latencies;
+    }
+}
@@ -0,0 +1,155 @@
+package com.learning.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.learning.gateway.config.ApiKeyCacheProperties;
+import com.learning.gateway.config.ApiKeyRateLimitProperties;
+import com.learning.gateway.config.ApiKeyUsageProperties;
+import com.learning.gateway.support.BaseGatewayFilterTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ApiKeyAuthenticationFilterTest extends BaseGatewayFilterTest {
+
+    private static final String VALID_KEY = """
+            {"keyId":"key-1","tenantId":"t1","userId":"u1","userEmail":"u1@example.com",
+             "rateLimitPerMinute":10,"valid":true,"errorCode":null}
+            """;
+
+    private final AtomicInteger validations = new AtomicInteger();
+    private final List<ApiKeyUsageRecorder.Pending> usage = new ArrayList<>();
+    private final ApiKeyUsageRecorder usageRecorder = new ApiKeyUsageRecorder(new ApiKeyUsageProperties(),
+            this::usage, new SimpleMeterRegistry());
+
+    private Mono<Void> usage(List<ApiKeyUsageRecorder.Pending> counts, Map<String, Long> lastUsed) {
+        usage.addAll(counts);
+        return Mono.empty();
+    }
+
+    private ApiKeyAuthenticationFilter filter(String validationResponse) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            validations.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(validationResponse)
+                    .build());
+        });
+        ApiKeyRateLimiter rateLimiter = new ApiKeyRateLimiter(new ApiKeyRateLimitProperties(),
+                new SimpleMeterRegistry(), System::nanoTime);
+        ApiKeyValidationCache validationCache = new ApiKeyValidationCache(new ApiKeyCacheProperties(),
+                new SimpleMeterRegistry(), Ticker.systemTicker(), Clock.systemUTC());
+        return new ApiKeyAuthenticationFilter(builder, "http://platform", rateLimiter, validationCache,
+                usageRecorder);
+    }
+
+    @Test
+    @DisplayName("injects identity headers, strips the key and reports rate limit headers")
+    void authenticatesValidKey() {
+        ApiKeyAuthenticationFilter filter = filter(VALID_KEY);
+        var webExchange = exchange(get("/api/items").header("X-API-Key", "sk_live_abc").build());
+        var chain = chain();
+
+        StepVerifier.create(filter.filter(webExchange, chain)).verifyComplete();
+
+        var forwarded = chain.lastRequest().getHeaders();
+        Assertions.assertThat(forwarded.getFirst("X-Tenant-Id")).isEqualTo("t1");
+        Assertions.assertThat(forwarded.getFirst("X-Api-Key-Id")).isEqualTo("key-1");
+        Assertions.assertThat(forwarded.containsKey("X-API-Key")).isFalse();
+
+        var response = webExchange.getResponse().getHeaders();
+        Assertions.assertThat(response.getFirst("RateLimit-Limit")).isEqualTo("10");
+        Assertions.assertThat(response.getFirst("RateLimit-Remaining")).isEqualTo("0");
+        Assertions.assertThat(response.getFirst("RateLimit-Policy")).isEqualTo("10;w=60;burst=1");
+    }
+
+    @Test
+    @DisplayName("returns 429 with Retry-After once the key's quota is spent")
+    void rejectsOverQuota() {
+        ApiKeyAuthenticationFilter filter = filter(VALID_KEY);
+        StepVerifier.create(filter.filter(exchange(get("/api/items").header("X-API-Key", "sk_live_abc").build()),
+                chain())).verifyComplete();
+
+        var webExchange = exchange(get("/api/items").header("X-API-Key", "sk_live_abc").build());
+        var chain = chain();
+        StepVerifier.create(filter.filter(webExchange, chain)).verifyComplete();
+
+        Assertions.assertThat(chain.lastExchange()).isNull();
+        Assertions.assertThat(webExchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        Assertions.assertThat(webExchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("6");
+        Assertions.assertThat(responseBody(webExchange)).contains("API_KEY_RATE_LIMITED");
+    }
+
+    @Test
+    @DisplayName("counts writes against their own bucket")
+    void writesHaveOwnBucket() {
+        ApiKeyAuthenticationFilter filter = filter(VALID_KEY);
+        StepVerifier.create(filter.filter(exchange(get("/api/items").header("X-API-Key", "sk_live_abc").build()),
+                chain())).verifyComplete();
+
+        var webExchange = exchange(post("/api/items").header("X-API-Key", "sk_live_abc").build());
+        var chain = chain();
+        StepVerifier.create(filter.filter(webExchange, chain)).verifyComplete();
+
+        Assertions.assertThat(chain.lastExchange()).isNotNull();
+        Assertions.assertThat(webExchange.getResponse().getHeaders().getFirst("RateLimit-Limit")).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("validates a key with platform-service once, then serves it from the cache")
+    void cachesValidation() {
+        ApiKeyAuthenticationFilter filter = filter(VALID_KEY);
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(filter.filter(exchange(get("/api/items").header("X-API-Key", "sk_live_abc").build()),
+                    chain())).verifyComplete();
+        }
+
+        Assertions.assertThat(validations).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("records usage of accepted requests only")
+    void recordsUsage() {
+        ApiKeyAuthenticationFilter filter = filter(VALID_KEY);
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(filter.filter(exchange(get("/api/items").header("X-API-Key", "sk_live_abc").build()),
+                    chain())).verifyComplete();
+        }
+
+        usageRecorder.flush();
+
+        Assertions.assertThat(usage).containsExactly(
+                new ApiKeyUsageRecorder.Pending("key-1", LocalDate.now(ZoneOffset.UTC), "unrouted", 1));
+    }
+
+    @Test
+    @DisplayName("rejects invalid keys with 401 before rate limiting")
+    void rejectsInvalidKey() {
+        ApiKeyAuthenticationFilter filter = filter("""
+                {"valid":false,"errorCode":"API_KEY_REVOKED"}
+                """);
+        var webExchange = exchange(get("/api/items").header("X-API-Key", "sk_live_abc").build());
+
+        StepVerifier.create(filter.filter(webExchange, chain())).verifyComplete();
+
+        Assertions.assertThat(webExchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        Assertions.assertThat(webExchange.getResponse().getHeaders().containsKey("RateLimit-Limit")).isFalse();
+        Assertions.assertThat(validations).hasValue(1);
+    }
+}
@@ -0,0 +1,64 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.config.ApiKeyRateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ApiKeyRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(-5_000_000_000L); // nanoTime may be negative
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ApiKeyRateLimiter limiter = new ApiKeyRateLimiter(new ApiKeyRateLimitProperties(), meterRegistry,
+            clock::get);
+
+    @Test
+    @DisplayName("allows a burst of a tenth of the quota, then one request per interval")
+    void burstThenSteadyRate() {
+        for (int i = 0; i < 60; i++) {
+            Assertions.assertThat(limiter.tryAcquire("key-1", 600, false).allowed()).isTrue();
+        }
+        ApiKeyRateLimiter.Decision rejected = limiter.tryAcquire("key-1", 600, false);
+        Assertions.assertThat(rejected.allowed()).isFalse();
+        Assertions.assertThat(rejected.retryAfterSeconds()).isEqualTo(1);
+        Assertions.assertThat(rejected.resetSeconds()).isEqualTo(6);
+
+        clock.addAndGet(Duration.ofMillis(100).toNanos());
+        Assertions.assertThat(limiter.tryAcquire("key-1", 600, false).allowed()).isTrue();
+        Assertions.assertThat(meterRegistry.get("gateway.apikey.ratelimit.rejected").tag("bucket", "read")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("reports remaining requests and the policy")
+    void reportsRemaining() {
+        ApiKeyRateLimiter.Decision first = limiter.tryAcquire("key-1", 600, false);
+
+        Assertions.assertThat(first.limit()).isEqualTo(600);
+        Assertions.assertThat(first.remaining()).isEqualTo(59);
+        Assertions.assertThat(first.policy()).isEqualTo("600;w=60;burst=60");
+    }
+
+    @Test
+    @DisplayName("limits writes separately, to their share of the quota")
+    void separateWriteBucket() {
+        for (int i = 0; i < 12; i++) {
+            Assertions.assertThat(limiter.tryAcquire("key-1", 600, true).allowed()).isTrue();
+        }
+        Assertions.assertThat(limiter.tryAcquire("key-1", 600, true).allowed()).isFalse();
+        Assertions.assertThat(limiter.tryAcquire("key-1", 600, false).allowed()).isTrue();
+        Assertions.assertThat(limiter.tryAcquire("key-1", 600, true).limit()).isEqualTo(120);
+    }
+
+    @Test
+    @DisplayName("uses the default quota when the key has none, and follows quota changes")
+    void defaultAndChangedQuota() {
+        Assertions.assertThat(limiter.tryAcquire("key-1", null, false).limit()).isEqualTo(600);
+        Assertions.assertThat(limiter.tryAcquire("key-1", 10, false).limit()).isEqualTo(10);
+        Assertions.assertThat(limiter.tryAcquire("key-1", 10, false).allowed()).isFalse();
+    }
+}
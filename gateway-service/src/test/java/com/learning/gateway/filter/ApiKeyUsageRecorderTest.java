@@ -0,0 +1,103 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.config.ApiKeyUsageProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ApiKeyUsageRecorderTest {
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+
+    private final List<ApiKeyUsageRecorder.Pending> flushedCounts = new ArrayList<>();
+    private final Map<String, Long> flushedLastUsed = new HashMap<>();
+    private final AtomicBoolean redisDown = new AtomicBoolean();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ApiKeyUsageRecorder recorder = new ApiKeyUsageRecorder(new ApiKeyUsageProperties(),
+            (counts, lastUsed) -> {
+                if (redisDown.get()) {
+                    return Mono.error(new IllegalStateException("Redis down"));
+                }
+                flushedCounts.addAll(counts);
+                flushedLastUsed.putAll(lastUsed);
+                return Mono.empty();
+            }, meterRegistry);
+
+    @Test
+    @DisplayName("flushes one count per key and route")
+    void aggregatesPerKeyAndRoute() {
+        for (int i = 0; i < 3; i++) {
+            recorder.record("key-1", "backend-service");
+        }
+        recorder.record("key-1", "platform-service");
+        recorder.record("key-2", "backend-service");
+
+        recorder.flush();
+
+        Assertions.assertThat(flushedCounts).containsExactlyInAnyOrder(
+                new ApiKeyUsageRecorder.Pending("key-1", TODAY, "backend-service", 3),
+                new ApiKeyUsageRecorder.Pending("key-1", TODAY, "platform-service", 1),
+                new ApiKeyUsageRecorder.Pending("key-2", TODAY, "backend-service", 1));
+        Assertions.assertThat(flushedLastUsed).containsOnlyKeys("key-1", "key-2");
+    }
+
+    @Test
+    @DisplayName("names the counter field by key, UTC day and route")
+    void fieldIncludesDay() {
+        ApiKeyUsageRecorder.Pending pending = new ApiKeyUsageRecorder.Pending("key-1", LocalDate.of(2026, 10, 16),
+                "backend-service", 4);
+
+        Assertions.assertThat(pending.field()).isEqualTo("key-1|2026-10-16|backend-service");
+    }
+
+    @Test
+    @DisplayName("sends only what was recorded since the last flush")
+    void flushesDeltas() {
+        recorder.record("key-1", "backend-service");
+        recorder.flush();
+        flushedCounts.clear();
+
+        recorder.record("key-1", "backend-service");
+        recorder.flush();
+
+        Assertions.assertThat(flushedCounts)
+                .containsExactly(new ApiKeyUsageRecorder.Pending("key-1", TODAY, "backend-service", 1));
+    }
+
+    @Test
+    @DisplayName("keeps counts of a failed flush for the next one")
+    void keepsCountsOnFailure() {
+        recorder.record("key-1", "backend-service");
+        redisDown.set(true);
+        recorder.flush();
+
+        recorder.record("key-1", "backend-service");
+        redisDown.set(false);
+        recorder.flush();
+
+        Assertions.assertThat(flushedCounts)
+                .containsExactly(new ApiKeyUsageRecorder.Pending("key-1", TODAY, "backend-service", 2));
+        Assertions.assertThat(meterRegistry.get("gateway.apikey.usage.flushes").tag("result", "failure")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("forgets keys idle for a whole interval")
+    void dropsIdleKeys() {
+        recorder.record("key-1", "backend-service");
+        recorder.flush();
+        recorder.flush();
+
+        Assertions.assertThat(meterRegistry.get("gateway.apikey.usage.keys").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,140 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.config.ApiKeyCacheProperties;
+import com.learning.gateway.filter.ApiKeyAuthenticationFilter.ApiKeyValidationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+class ApiKeyValidationCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String KEY = "sk_live_abcdefghijklmnop";
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ApiKeyValidationCache cache = new ApiKeyValidationCache(new ApiKeyCacheProperties(),
+            new SimpleMeterRegistry(), ticker::get, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    private Function<String, Mono<ApiKeyValidationResult>> loader(ApiKeyValidationResult result) {
+        return key -> Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return result;
+        });
+    }
+
+    private static ApiKeyValidationResult valid(Instant expiresAt) {
+        return new ApiKeyValidationResult("key-1", "t1", "u1", "u1@example.com", 60, expiresAt, true, null);
+    }
+
+    private void advance(Duration duration) {
+        ticker.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("caches valid keys for the TTL")
+    void cachesValidKeys() {
+        var load = loader(valid(NOW.plus(Duration.ofDays(30))));
+
+        cache.get(KEY, load).block();
+        advance(Duration.ofSeconds(59));
+        cache.get(KEY, load).block();
+        Assertions.assertThat(loads).hasValue(1);
+
+        advance(Duration.ofSeconds(1));
+        cache.get(KEY, load).block();
+        Assertions.assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("never caches a valid key past its expiry")
+    void capsTtlAtKeyExpiry() {
+        var load = loader(valid(NOW.plus(Duration.ofSeconds(5))));
+
+        cache.get(KEY, load).block();
+        advance(Duration.ofSeconds(5));
+        cache.get(KEY, load).block();
+
+        Assertions.assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("caches invalid keys for the negative TTL")
+    void cachesInvalidKeys() {
+        var load = loader(new ApiKeyValidationResult(null, null, null, null, null, null, false, "API_KEY_INVALID"));
+
+        cache.get(KEY, load).block();
+        advance(Duration.ofSeconds(9));
+        Assertions.assertThat(cache.get(KEY, load).block().errorCode()).isEqualTo("API_KEY_INVALID");
+        Assertions.assertThat(loads).hasValue(1);
+
+        advance(Duration.ofSeconds(1));
+        cache.get(KEY, load).block();
+        Assertions.assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("does not cache failed validations")
+    void doesNotCacheFailures() {
+        Function<String, Mono<ApiKeyValidationResult>> failing = key -> Mono.defer(() -> {
+            loads.incrementAndGet();
+            return Mono.error(new IllegalStateException("platform-service down"));
+        });
+
+        StepVerifier.create(cache.get(KEY, failing)).expectError(IllegalStateException.class).verify();
+        StepVerifier.create(cache.get(KEY, failing)).expectError(IllegalStateException.class).verify();
+
+        Assertions.assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("drops a key when its hash is invalidated")
+    void invalidatesByHash() {
+        var load = loader(valid(null));
+        cache.get(KEY, load).block();
+
+        cache.invalidate(ApiKeyValidationCache.hash(KEY));
+        cache.get(KEY, load).block();
+
+        Assertions.assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("shares one platform-service call between concurrent misses")
+    void singleFlight() {
+        Sinks.One<ApiKeyValidationResult> response = Sinks.one();
+        Function<String, Mono<ApiKeyValidationResult>> slow = key -> {
+            loads.incrementAndGet();
+            return response.asMono();
+        };
+
+        Mono<ApiKeyValidationResult> first = cache.get(KEY, slow);
+        Mono<ApiKeyValidationResult> second = cache.get(KEY, slow);
+        StepVerifier.create(first.zipWith(second))
+                .then(() -> response.tryEmitValue(valid(null)))
+                .assertNext(both -> Assertions.assertThat(both.getT1()).isEqualTo(both.getT2()))
+                .verifyComplete();
+
+        Assertions.assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("hashes keys as platform-service does")
+    void hashesLikePlatformService() {
+        Assertions.assertThat(ApiKeyValidationCache.hash("sk_live_test"))
+                .hasSize(43)
+                .doesNotContain("=", "+", "/");
+    }
+}
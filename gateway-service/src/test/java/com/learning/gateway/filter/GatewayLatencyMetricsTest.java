@@ -0,0 +1,90 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.config.LatencyMetricsProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+
+class GatewayLatencyMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GatewayLatencyMetrics metrics(int topTenants) {
+        LatencyMetricsProperties properties = new LatencyMetricsProperties();
+        properties.setTopTenants(topTenants);
+        return new GatewayLatencyMetrics(properties, meterRegistry);
+    }
+
+    private Collection<Timer> timers(String tenant) {
+        return meterRegistry.find(GatewayLatencyMetrics.METRIC_NAME).tag("tenant", tenant).timers();
+    }
+
+    @Test
+    @DisplayName("tags route, method and status class")
+    void tagsRequest() {
+        GatewayLatencyMetrics metrics = metrics(2);
+
+        metrics.record("backend", "GET", 201, null, 5_000_000);
+        metrics.record(null, "POST", 503, null, 5_000_000);
+
+        Timer ok = meterRegistry.get(GatewayLatencyMetrics.METRIC_NAME)
+                .tags("route", "backend", "method", "GET", "status", "2xx", "tenant", "none").timer();
+        Assertions.assertThat(ok.count()).isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get(GatewayLatencyMetrics.METRIC_NAME)
+                .tags("route", "unrouted", "status", "5xx").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("collapses tenants into other until they rank in the top K")
+    void collapsesUnrankedTenants() {
+        GatewayLatencyMetrics metrics = metrics(2);
+
+        metrics.record("backend", "GET", 200, "t1", 1_000_000);
+        metrics.record("backend", "GET", 200, "t2", 1_000_000);
+
+        Assertions.assertThat(timers("other")).singleElement()
+                .satisfies(timer -> Assertions.assertThat(timer.count()).isEqualTo(2));
+        Assertions.assertThat(timers("t1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("gives the busiest tenants of the window their own series")
+    void ranksBusiestTenants() {
+        GatewayLatencyMetrics metrics = metrics(2);
+        for (String tenant : new String[] { "t1", "t1", "t1", "t2", "t2", "t3" }) {
+            metrics.record("backend", "GET", 200, tenant, 1_000_000);
+        }
+
+        metrics.rankTenants();
+        for (String tenant : new String[] { "t1", "t2", "t3" }) {
+            metrics.record("backend", "GET", 200, tenant, 1_000_000);
+        }
+
+        Assertions.assertThat(timers("t1")).hasSize(1);
+        Assertions.assertThat(timers("t2")).hasSize(1);
+        Assertions.assertThat(timers("t3")).isEmpty();
+        Assertions.assertThat(timers("other")).singleElement()
+                .satisfies(timer -> Assertions.assertThat(timer.count()).isEqualTo(7));
+    }
+
+    @Test
+    @DisplayName("removes the series of tenants that drop out of the top K")
+    void removesDemotedTenants() {
+        GatewayLatencyMetrics metrics = metrics(1);
+        metrics.record("backend", "GET", 200, "t1", 1_000_000);
+        metrics.rankTenants();
+        metrics.record("backend", "GET", 200, "t1", 1_000_000);
+        Assertions.assertThat(timers("t1")).hasSize(1);
+
+        metrics.record("backend", "GET", 200, "t2", 1_000_000);
+        metrics.record("backend", "GET", 200, "t2", 1_000_000);
+        metrics.rankTenants();
+
+        Assertions.assertThat(timers("t1")).isEmpty();
+        Assertions.assertThat(timers("other")).hasSize(1);
+    }
+}
@@ -0,0 +1,126 @@
+package com.learning.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.learning.common.infra.benchmark.BenchmarkTest;
+import com.learning.common.infra.benchmark.Benchmarks;
+import com.learning.gateway.config.JwtAuthenticationConverter;
+import com.learning.gateway.config.JwtCacheProperties;
+import com.learning.gateway.support.BaseGatewayFilterTest;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Per-request CPU cost of JWT authentication in the gateway: RS256 signature
+ * verification, authority conversion and the JwtAuthentication filter's
+ * claim parsing and header building, with and without the verification
+ * cache. Single-threaded, so time per request is CPU time on one core. The
+ * mock exchange and chain are measured on their own too, as most of the
+ * cached cost is theirs.
+ */
+@BenchmarkTest
+class JwtAuthenticationBenchmarkTest extends BaseGatewayFilterTest {
+
+    private static final int TOKENS = 100;
+    private static final int WARMUP = 20_000;
+    private static final int REQUESTS = 100_000;
+
+    @Test
+    @DisplayName("JWT authentication with and without the verification cache")
+    void compareWithAndWithoutCache() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        ReactiveJwtDecoder verifier = NimbusReactiveJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic())
+                .build();
+        List<String> tokens = tokens(keyPair);
+
+        // The mock exchange and chain alone, to subtract from both
+        Benchmarks.Measurement baseline = Benchmarks.measure(WARMUP, REQUESTS, () -> {
+            var exchange = exchange(get("/api/items").build());
+            chain().filter(exchange).block();
+        });
+        Benchmarks.Measurement uncached = run(false, verifier, tokens);
+        Benchmarks.Measurement cached = run(true, verifier, tokens);
+
+        Benchmarks.Table table = new Benchmarks.Table("cache", "requests/s", "us/request", "bytes/request");
+        table.row("exchange", (long) baseline.opsPerSecond(), baseline.microsPerOp(), baseline.bytesPerOp());
+        table.row("off", (long) uncached.opsPerSecond(), uncached.microsPerOp(), uncached.bytesPerOp());
+        table.row("on", (long) cached.opsPerSecond(), cached.microsPerOp(), cached.bytesPerOp());
+
+        Assertions.assertThat(cached.nanosPerOp()).isLessThan(uncached.nanosPerOp());
+    }
+
+    private Benchmarks.Measurement run(boolean cache, ReactiveJwtDecoder verifier, List<String> tokens)
+            throws Exception {
+        JwtCacheProperties properties = new JwtCacheProperties();
+        properties.setEnabled(cache);
+        JwtVerificationCache verificationCache = new JwtVerificationCache(properties, new SimpleMeterRegistry(),
+                Ticker.systemTicker(), Clock.systemUTC());
+        ReactiveJwtDecoder decoder = verificationCache.decoder(verifier);
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        GatewayFilter filter = new JwtAuthenticationGatewayFilterFactory(verificationCache)
+                .apply(new JwtAuthenticationGatewayFilterFactory.Config());
+
+        int[] next = new int[1];
+        return Benchmarks.measure(WARMUP, REQUESTS,
+                () -> authenticate(decoder, converter, filter, tokens.get(next[0]++ % TOKENS)));
+    }
+
+    // The same steps the security chain and the route filter run for a bearer token
+    private void authenticate(ReactiveJwtDecoder decoder, JwtAuthenticationConverter converter,
+            GatewayFilter filter, String token) {
+        var exchange = exchange(get("/api/items").build());
+        var chain = chain();
+        decoder.decode(token)
+                .flatMap(converter::convert)
+                .flatMap(authentication -> filter.filter(exchange, chain)
+                        .contextWrite(ReactiveSecurityContextHolder.withSecurityContext(
+                                Mono.just(new SecurityContextImpl(authentication)))))
+                .block();
+        if (chain.lastRequest() == null) {
+            throw new IllegalStateException("request rejected");
+        }
+    }
+
+    private static List<String> tokens(KeyPair keyPair) throws Exception {
+        RSASSASigner signer = new RSASSASigner(keyPair.getPrivate());
+        Date expiry = Date.from(Instant.now().plusSeconds(3600));
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < TOKENS; i++) {
+            JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                    .subject("user-" + i)
+                    .claim("username", "user" + i)
+                    .claim("cognito:username", "okta-acme_user" + i + "@example.com")
+                    .claim("cognito:groups", List.of("tenant_acme", "admins", "developers"))
+                    .claim("custom:samlGroups", "[dev, Admins, Readers]")
+                    .expirationTime(expiry)
+                    .build();
+            SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), claims);
+            jwt.sign(signer);
+            tokens.add(jwt.serialize());
+        }
+        return tokens;
+    }
+}
@@ -1,6 +1,9 @@
 package com.learning.gateway.filter;
 
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.learning.gateway.config.JwtCacheProperties;
 import com.learning.gateway.support.BaseGatewayFilterTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +19,7 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Clock;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -35,7 +39,9 @@ class JwtAuthenticationGatewayFilterFactoryTest extends BaseGatewayFilterTest {
 
         @BeforeEach
         void setUp() {
-                factory = new JwtAuthenticationGatewayFilterFactory();
+                factory = new JwtAuthenticationGatewayFilterFactory(new JwtVerificationCache(
+                                new JwtCacheProperties(), new SimpleMeterRegistry(), Ticker.systemTicker(),
+                                Clock.systemUTC()));
         }
 
         @Test
@@ -0,0 +1,119 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.config.JwtCacheProperties;
+import com.learning.gateway.filter.JwtAuthenticationGatewayFilterFactory.Identity;
+import com.learning.gateway.filter.JwtAuthenticationGatewayFilterFactory.TenantExtractionResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class JwtVerificationCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final JwtVerificationCache cache = new JwtVerificationCache(new JwtCacheProperties(),
+            new SimpleMeterRegistry(), ticker::get, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    private ReactiveJwtDecoder verifier(Duration lifetime) {
+        return token -> Mono.fromSupplier(() -> {
+            verifications.incrementAndGet();
+            if (token.startsWith("bad")) {
+                throw new BadJwtException("signature invalid");
+            }
+            return new Jwt(token, NOW, NOW.plus(lifetime), Map.of("alg", "RS256"), Map.of("sub", "user-1"));
+        });
+    }
+
+    private void advance(Duration duration) {
+        ticker.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("verifies each token once until it expires")
+    void cachesUntilExpiry() {
+        ReactiveJwtDecoder decoder = cache.decoder(verifier(Duration.ofMinutes(10)));
+
+        Jwt first = decoder.decode("token-a").block();
+        advance(Duration.ofMinutes(9));
+        Assertions.assertThat(decoder.decode("token-a").block()).isSameAs(first);
+        Assertions.assertThat(verifications).hasValue(1);
+
+        advance(Duration.ofMinutes(1));
+        decoder.decode("token-a").block();
+        Assertions.assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("caps the lifetime at the maximum TTL")
+    void capsAtMaximumTtl() {
+        ReactiveJwtDecoder decoder = cache.decoder(verifier(Duration.ofDays(1)));
+
+        decoder.decode("token-a").block();
+        advance(Duration.ofHours(1));
+        decoder.decode("token-a").block();
+
+        Assertions.assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("verifies rejected tokens every time")
+    void doesNotCacheRejections() {
+        ReactiveJwtDecoder decoder = cache.decoder(verifier(Duration.ofMinutes(10)));
+
+        StepVerifier.create(decoder.decode("bad-token")).verifyError(BadJwtException.class);
+        StepVerifier.create(decoder.decode("bad-token")).verifyError(BadJwtException.class);
+
+        Assertions.assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("builds a cached token's identity once")
+    void cachesIdentity() {
+        Jwt jwt = cache.decoder(verifier(Duration.ofMinutes(10))).decode("token-a").block();
+        AtomicInteger builds = new AtomicInteger();
+        Identity identity = new Identity(TenantExtractionResult.success("acme"), HttpHeaders.EMPTY);
+
+        cache.identity(jwt, () -> {
+            builds.incrementAndGet();
+            return identity;
+        });
+        Identity cached = cache.identity(jwt, () -> {
+            builds.incrementAndGet();
+            return identity;
+        });
+
+        Assertions.assertThat(cached).isSameAs(identity);
+        Assertions.assertThat(builds).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("always verifies when disabled")
+    void disabled() {
+        JwtCacheProperties properties = new JwtCacheProperties();
+        properties.setEnabled(false);
+        ReactiveJwtDecoder decoder = new JwtVerificationCache(properties, new SimpleMeterRegistry(), ticker::get,
+                Clock.fixed(NOW, ZoneOffset.UTC)).decoder(verifier(Duration.ofMinutes(10)));
+
+        decoder.decode("token-a").block();
+        decoder.decode("token-a").block();
+
+        Assertions.assertThat(verifications).hasValue(2);
+    }
+}
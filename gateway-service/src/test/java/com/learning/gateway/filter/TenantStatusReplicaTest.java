@@ -0,0 +1,116 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.config.TenantStatusProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TenantStatusReplicaTest {
+
+    private final TenantStatusReplica replica = new TenantStatusReplica(new TenantStatusProperties(),
+            new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("knows no tenant before the first load")
+    void unknownBeforeLoad() {
+        replica.apply("t1:SUSPENDED");
+
+        Assertions.assertThat(replica.status("t1")).isNull();
+    }
+
+    @Test
+    @DisplayName("serves the loaded snapshot and applies changes on top")
+    void appliesChanges() {
+        replica.beginLoad();
+        replica.replaceAll(Map.of("t1", "ACTIVE", "t2", "ACTIVE"));
+        replica.endLoad();
+
+        replica.apply("t1:SUSPENDED");
+
+        Assertions.assertThat(replica.status("t1")).isEqualTo("SUSPENDED");
+        Assertions.assertThat(replica.status("t2")).isEqualTo("ACTIVE");
+        Assertions.assertThat(replica.status("t3")).isNull();
+    }
+
+    @Test
+    @DisplayName("keeps changes received while a load was in flight")
+    void loadDoesNotRevertChanges() {
+        replica.beginLoad();
+        replica.apply("t1:DELETING");
+        replica.replaceAll(Map.of("t1", "ACTIVE"));
+        replica.endLoad();
+
+        Assertions.assertThat(replica.status("t1")).isEqualTo("DELETING");
+    }
+
+    @Test
+    @DisplayName("drops tenants missing from a new snapshot")
+    void reloadDropsRemovedTenants() {
+        replica.beginLoad();
+        replica.replaceAll(Map.of("t1", "ACTIVE", "t2", "ACTIVE"));
+        replica.endLoad();
+        replica.beginLoad();
+        replica.replaceAll(Map.of("t1", "ACTIVE"));
+        replica.endLoad();
+
+        Assertions.assertThat(replica.status("t2")).isNull();
+    }
+
+    @Test
+    @DisplayName("splits tenant ids containing colons on the last one")
+    void parsesMessages() {
+        replica.beginLoad();
+        replica.replaceAll(Map.of());
+        replica.endLoad();
+
+        replica.apply("org:t1:SUSPENDED");
+        replica.apply("malformed");
+
+        Assertions.assertThat(replica.status("org:t1")).isEqualTo("SUSPENDED");
+        Assertions.assertThat(replica.status("malformed")).isNull();
+    }
+
+    @Test
+    @DisplayName("forgets changes kept for a load once it completes")
+    void completedLoadClearsChanges() {
+        replica.beginLoad();
+        replica.apply("t1:SUSPENDED");
+        replica.replaceAll(Map.of("t1", "ACTIVE"));
+        replica.endLoad();
+
+        // t1 was deleted from the hash since
+        replica.beginLoad();
+        replica.replaceAll(Map.of());
+        replica.endLoad();
+
+        Assertions.assertThat(replica.status("t1")).isNull();
+    }
+
+    @Test
+    @DisplayName("a cancelled load does not leave later loads keeping stale changes")
+    @SuppressWarnings("unchecked")
+    void cancelledLoadEnds() {
+        ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        ReactiveHashOperations<String, String, String> hashOperations = mock(ReactiveHashOperations.class);
+        when(redisTemplate.<String, String>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries("tenant-status")).thenReturn(Flux.never(), Flux.empty());
+
+        Disposable cancelled = replica.load(redisTemplate).subscribe();
+        replica.apply("t1:SUSPENDED");
+        cancelled.dispose();
+
+        replica.load(redisTemplate).block();
+
+        Assertions.assertThat(replica.status("t1")).isNull();
+    }
+}
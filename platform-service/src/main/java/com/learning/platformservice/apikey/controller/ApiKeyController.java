@@ -1,6 +1,7 @@
 package com.learning.platformservice.apikey.controller;
 
 import com.learning.platformservice.apikey.dto.ApiKeyResponse;
+import com.learning.platformservice.apikey.dto.ApiKeyUsageResponse;
 import com.learning.platformservice.apikey.dto.CreateApiKeyRequest;
 import com.learning.platformservice.apikey.dto.CreateApiKeyResponse;
 import com.learning.platformservice.apikey.service.ApiKeyService;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -72,6 +74,20 @@ public class ApiKeyController {
         return ResponseEntity.ok(keys);
     }
 
+    /**
+     * Usage of an API key per day and route, for the last {@code days} days.
+     */
+    @GetMapping("/{keyId}/usage")
+    public ResponseEntity<ApiKeyUsageResponse> getUsage(
+            @RequestHeader("X-Tenant-Id") String tenantId,
+            @PathVariable UUID keyId,
+            @RequestParam(defaultValue = "30") int days) {
+
+        return apiKeyService.getUsage(tenantId, keyId, Math.max(1, Math.min(days, 365)))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Revoke an API key.
      */
@@ -0,0 +1,24 @@
+package com.learning.platformservice.apikey.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Usage of one API key: lifetime totals plus requests per day and route.
+ * Trails live traffic by up to the gateway and platform flush intervals.
+ */
+public record ApiKeyUsageResponse(
+        UUID keyId,
+        Long usageCount,
+        Instant lastUsedAt,
+        List<DailyUsage> daily) {
+
+    public record DailyUsage(
+            LocalDate date,
+            String endpoint, // Gateway route id
+            long requests,
+            Instant lastUsedAt) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.learning.platformservice.apikey.dto;
 
+import java.time.Instant;
+
 /**
  * Internal DTO for validated API key info (used by gateway).
  */
@@ -9,15 +11,16 @@ public record ValidatedApiKey(
         String userId, // Creator's user ID for permission inheritance
         String userEmail,
         Integer rateLimitPerMinute,
+        Instant expiresAt, // Gateways cache a valid key no longer than this
         boolean valid,
         String errorCode // API_KEY_INVALID, API_KEY_EXPIRED, API_KEY_REVOKED, null if valid
 ) {
     public static ValidatedApiKey invalid(String errorCode) {
-        return new ValidatedApiKey(null, null, null, null, null, false, errorCode);
+        return new ValidatedApiKey(null, null, null, null, null, null, false, errorCode);
     }
 
     public static ValidatedApiKey valid(String keyId, String tenantId, String userId,
-            String userEmail, Integer rateLimit) {
-        return new ValidatedApiKey(keyId, tenantId, userId, userEmail, rateLimit, true, null);
+            String userEmail, Integer rateLimit, Instant expiresAt) {
+        return new ValidatedApiKey(keyId, tenantId, userId, userEmail, rateLimit, expiresAt, true, null);
     }
 }
@@ -36,13 +36,6 @@ public interface ApiKeyRepository extends JpaRepository<ApiKey, UUID> {
      */
     long countByTenantIdAndStatus(String tenantId, ApiKeyStatus status);
 
-    /**
-     * Update last used timestamp and increment usage count.
-     */
-    @Modifying
-    @Query("UPDATE ApiKey a SET a.lastUsedAt = :now, a.usageCount = a.usageCount + 1 WHERE a.id = :id")
-    void updateUsage(@Param("id") UUID id, @Param("now") Instant now);
-
     /**
      * Mark expired keys (scheduled job).
      */
@@ -0,0 +1,94 @@
+package com.learning.platformservice.apikey.repository;
+
+import com.learning.platformservice.apikey.dto.ApiKeyUsageResponse.DailyUsage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Batched writes and reads of api_key_usage_daily (plain JDBC: the upserts
+ * add to existing rows, which JPA cannot express).
+ */
+@Repository
+public class ApiKeyUsageRepository {
+
+    private static final String UPSERT_DAILY = """
+            INSERT INTO api_key_usage_daily (api_key_id, usage_date, endpoint, request_count, last_used_at)
+            SELECT ?, ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM api_keys WHERE id = ?)
+            ON CONFLICT (api_key_id, usage_date, endpoint) DO UPDATE
+            SET request_count = api_key_usage_daily.request_count + EXCLUDED.request_count,
+                last_used_at = GREATEST(api_key_usage_daily.last_used_at, EXCLUDED.last_used_at)
+            """;
+
+    private static final String ADD_TOTALS = """
+            UPDATE api_keys
+            SET usage_count = COALESCE(usage_count, 0) + ?, last_used_at = GREATEST(last_used_at, ?)
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ApiKeyUsageRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add request counts to the day's rows. Counts of deleted keys are dropped.
+     */
+    public void addDaily(LocalDate date, List<DailyCount> counts) {
+        jdbcTemplate.batchUpdate(UPSERT_DAILY, counts, counts.size(), (ps, count) -> {
+            ps.setObject(1, count.keyId());
+            ps.setObject(2, date);
+            ps.setString(3, count.endpoint());
+            ps.setLong(4, count.requests());
+            ps.setTimestamp(5, count.lastUsedAt() != null ? Timestamp.from(count.lastUsedAt()) : null);
+            ps.setObject(6, count.keyId());
+        });
+    }
+
+    /**
+     * Add request totals to api_keys.usage_count and move last_used_at forward.
+     */
+    public void addTotals(Map<UUID, Long> requests, Map<UUID, Instant> lastUsedAt) {
+        List<UUID> keyIds = List.copyOf(requests.keySet());
+        jdbcTemplate.batchUpdate(ADD_TOTALS, keyIds, keyIds.size(), (ps, keyId) -> {
+            Instant lastUsed = lastUsedAt.get(keyId);
+            ps.setLong(1, requests.get(keyId));
+            ps.setTimestamp(2, lastUsed != null ? Timestamp.from(lastUsed) : null);
+            ps.setObject(3, keyId);
+        });
+    }
+
+    /**
+     * Requests per day and route since the given date, newest first.
+     */
+    public List<DailyUsage> findDaily(UUID keyId, LocalDate since) {
+        return jdbcTemplate.query("""
+                SELECT usage_date, endpoint, request_count, last_used_at
+                FROM api_key_usage_daily
+                WHERE api_key_id = ? AND usage_date >= ?
+                ORDER BY usage_date DESC, endpoint
+                """,
+                (rs, rowNum) -> {
+                    Timestamp lastUsed = rs.getTimestamp("last_used_at");
+                    return new DailyUsage(
+                            rs.getObject("usage_date", LocalDate.class),
+                            rs.getString("endpoint"),
+                            rs.getLong("request_count"),
+                            lastUsed != null ? lastUsed.toInstant() : null);
+                },
+                keyId, since);
+    }
+
+    /**
+     * Requests of one key on one route, as flushed from Redis.
+     */
+    public record DailyCount(UUID keyId, String endpoint, long requests, Instant lastUsedAt) {
+    }
+}
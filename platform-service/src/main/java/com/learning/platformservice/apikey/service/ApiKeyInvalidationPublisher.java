@@ -0,0 +1,67 @@
+package com.learning.platformservice.apikey.service;
+
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tells gateways that an API key stopped being valid (revoked or expired), so
+ * they drop it from their validation caches without waiting for the TTL.
+ *
+ * <p>
+ * Publishes the key hash as a plain string on a Redis channel, after commit
+ * when inside a transaction. Pub/sub is at-most-once: a gateway that misses
+ * the message still stops accepting the key when its cache entry expires.
+ * </p>
+ */
+@Component
+public class ApiKeyInvalidationPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiKeyInvalidationPublisher.class);
+
+    private final ObjectProvider<RedissonClient> redissonClientProvider;
+    private final String channel;
+
+    public ApiKeyInvalidationPublisher(ObjectProvider<RedissonClient> redissonClientProvider,
+            @Value("${app.api-key.invalidation-channel:api-key-invalidations}") String channel) {
+        this.redissonClientProvider = redissonClientProvider;
+        this.channel = channel;
+    }
+
+    /**
+     * @param keyHash the key's SHA-256 hash, as stored in ApiKey.keyHash
+     */
+    public void publish(String keyHash) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doPublish(keyHash);
+                }
+            });
+        } else {
+            doPublish(keyHash);
+        }
+    }
+
+    private void doPublish(String keyHash) {
+        RedissonClient redissonClient = redissonClientProvider.getIfAvailable();
+        if (redissonClient == null) {
+            log.warn("No Redis client, gateways will drop the API key when their cache entry expires");
+            return;
+        }
+        try {
+            long receivers = redissonClient.getTopic(channel, StringCodec.INSTANCE).publish(keyHash);
+            log.debug("API key invalidation published to {} gateway(s)", receivers);
+        } catch (Exception e) {
+            log.warn("API key invalidation publish failed, gateways will drop the key when their cache entry expires: {}",
+                    e.getMessage());
+        }
+    }
+}
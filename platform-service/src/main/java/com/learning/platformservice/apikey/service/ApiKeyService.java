@@ -1,12 +1,14 @@
 package com.learning.platformservice.apikey.service;
 
 import com.learning.platformservice.apikey.dto.ApiKeyResponse;
+import com.learning.platformservice.apikey.dto.ApiKeyUsageResponse;
 import com.learning.platformservice.apikey.dto.CreateApiKeyRequest;
 import com.learning.platformservice.apikey.dto.CreateApiKeyResponse;
 import com.learning.platformservice.apikey.dto.ValidatedApiKey;
 import com.learning.platformservice.apikey.entity.ApiKey;
 import com.learning.platformservice.apikey.entity.ApiKeyStatus;
 import com.learning.platformservice.apikey.repository.ApiKeyRepository;
+import com.learning.platformservice.apikey.repository.ApiKeyUsageRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -17,6 +19,8 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
 import java.util.List;
@@ -32,9 +36,14 @@ public class ApiKeyService {
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
     private final ApiKeyRepository apiKeyRepository;
+    private final ApiKeyUsageRepository usageRepository;
+    private final ApiKeyInvalidationPublisher invalidationPublisher;
 
-    public ApiKeyService(ApiKeyRepository apiKeyRepository) {
+    public ApiKeyService(ApiKeyRepository apiKeyRepository, ApiKeyUsageRepository usageRepository,
+            ApiKeyInvalidationPublisher invalidationPublisher) {
         this.apiKeyRepository = apiKeyRepository;
+        this.usageRepository = usageRepository;
+        this.invalidationPublisher = invalidationPublisher;
     }
 
     /**
@@ -92,7 +101,7 @@ public class ApiKeyService {
     }
 
     /**
-     * Revoke an API key.
+     * Revoke an API key. Gateways are told to drop it from their caches.
      */
     @Transactional
     public boolean revokeApiKey(String tenantId, UUID keyId) {
@@ -111,6 +120,7 @@ public class ApiKeyService {
         key.setStatus(ApiKeyStatus.REVOKED);
         key.setRevokedAt(Instant.now());
         apiKeyRepository.save(key);
+        invalidationPublisher.publish(key.getKeyHash());
 
         log.info("API key revoked: id={}, tenant={}", keyId, tenantId);
         return true;
@@ -118,7 +128,7 @@ public class ApiKeyService {
 
     /**
      * Validate an API key (called by gateway).
-     * Updates usage tracking on successful validation.
+     * Usage is counted by the gateway and flushed by {@link ApiKeyUsageFlusher}.
      */
     @Transactional
     public ValidatedApiKey validateApiKey(String rawKey) {
@@ -142,18 +152,31 @@ public class ApiKeyService {
         if (Instant.now().isAfter(key.getExpiresAt())) {
             key.setStatus(ApiKeyStatus.EXPIRED);
             apiKeyRepository.save(key);
+            invalidationPublisher.publish(keyHash);
             return ValidatedApiKey.invalid("API_KEY_EXPIRED");
         }
 
-        // Update usage tracking
-        apiKeyRepository.updateUsage(key.getId(), Instant.now());
-
         return ValidatedApiKey.valid(
                 key.getId().toString(),
                 key.getTenantId(),
                 key.getCreatedByUserId(),
                 key.getCreatedByEmail(),
-                key.getRateLimitPerMinute());
+                key.getRateLimitPerMinute(),
+                key.getExpiresAt());
+    }
+
+    /**
+     * Usage of a tenant's API key over the last {@code days} days (UTC).
+     */
+    @Transactional(readOnly = true)
+    public Optional<ApiKeyUsageResponse> getUsage(String tenantId, UUID keyId, int days) {
+        return apiKeyRepository.findById(keyId)
+                .filter(key -> key.getTenantId().equals(tenantId))
+                .map(key -> new ApiKeyUsageResponse(
+                        key.getId(),
+                        key.getUsageCount(),
+                        key.getLastUsedAt(),
+                        usageRepository.findDaily(keyId, LocalDate.now(ZoneOffset.UTC).minusDays(days - 1L))));
     }
 
     /**
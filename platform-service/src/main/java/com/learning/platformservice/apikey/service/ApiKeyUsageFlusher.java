@@ -0,0 +1,206 @@
+package com.learning.platformservice.apikey.service;
+
+import com.learning.common.infra.cache.DistributedLockService;
+import com.learning.platformservice.apikey.repository.ApiKeyUsageRepository;
+import com.learning.platformservice.apikey.repository.ApiKeyUsageRepository.DailyCount;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves API key usage counted by the gateways from Redis to Postgres in
+ * batches, replacing the per-request usage UPDATE that validation used to do.
+ *
+ * <p>
+ * Gateways HINCRBY {@code countsKey keyId|yyyy-MM-dd|routeId n} (the UTC day
+ * the requests were made on) and HSET {@code lastUsedKey keyId epochMillis}.
+ * Fields without a day, from gateways predating it, count on the flush day.
+ * Every flush interval one instance
+ * (under a distributed lock) renames both hashes to processing keys, upserts
+ * them into api_key_usage_daily and api_keys in one transaction and then
+ * deletes the processing keys. A crash between commit and delete counts that
+ * batch twice; a crash before commit leaves the processing keys for the next
+ * flush, which retries them before claiming new counts.
+ * </p>
+ */
+@Component
+public class ApiKeyUsageFlusher {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiKeyUsageFlusher.class);
+    private static final String LOCK_NAME = "api-key-usage-flush";
+    private static final Duration LOCK_LEASE = Duration.ofMinutes(5);
+    private static final String PROCESSING_SUFFIX = ":processing";
+
+    // Claims the live hashes, unless a previous batch is still unflushed
+    private static final String CLAIM_SCRIPT = """
+            if redis.call('EXISTS', KEYS[3]) == 0 and redis.call('EXISTS', KEYS[4]) == 0 then
+                if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('RENAME', KEYS[1], KEYS[3]) end
+                if redis.call('EXISTS', KEYS[2]) == 1 then redis.call('RENAME', KEYS[2], KEYS[4]) end
+            end
+            return redis.call('EXISTS', KEYS[3]) + redis.call('EXISTS', KEYS[4])
+            """;
+
+    private final ObjectProvider<RedissonClient> redissonClientProvider;
+    private final DistributedLockService lockService;
+    private final ApiKeyUsageRepository usageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final String countsKey;
+    private final String lastUsedKey;
+    private ScheduledExecutorService flushExecutor;
+
+    public ApiKeyUsageFlusher(ObjectProvider<RedissonClient> redissonClientProvider,
+            DistributedLockService lockService,
+            ApiKeyUsageRepository usageRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.api-key.usage.enabled:true}") boolean enabled,
+            @Value("${app.api-key.usage.flush-interval:30s}") Duration flushInterval,
+            @Value("${app.api-key.usage.counts-key:api-key-usage:counts}") String countsKey,
+            @Value("${app.api-key.usage.last-used-key:api-key-usage:last-used}") String lastUsedKey) {
+        this.redissonClientProvider = redissonClientProvider;
+        this.lockService = lockService;
+        this.usageRepository = usageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.countsKey = countsKey;
+        this.lastUsedKey = lastUsedKey;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled || redissonClientProvider.getIfAvailable() == null) {
+            log.info("API key usage flushing disabled");
+            return;
+        }
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "api-key-usage-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = flushInterval.toMillis();
+        flushExecutor.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Flush the usage counted since the last run; a no-op on instances that do
+     * not get the lock.
+     */
+    public void flush() {
+        lockService.executeWithLock(LOCK_NAME, Duration.ZERO, LOCK_LEASE, this::flushClaimed);
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("API key usage flush failed, retrying next interval: {}", e.getMessage());
+        }
+    }
+
+    private void flushClaimed() {
+        RedissonClient redissonClient = redissonClientProvider.getObject();
+        String countsProcessing = countsKey + PROCESSING_SUFFIX;
+        String lastUsedProcessing = lastUsedKey + PROCESSING_SUFFIX;
+        Long claimed = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, CLAIM_SCRIPT,
+                RScript.ReturnType.INTEGER, List.<Object>of(countsKey, lastUsedKey, countsProcessing, lastUsedProcessing));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+
+        Map<String, String> counts = redissonClient.<String, String>getMap(countsProcessing, StringCodec.INSTANCE)
+                .readAllMap();
+        Map<String, String> lastUsed = redissonClient.<String, String>getMap(lastUsedProcessing, StringCodec.INSTANCE)
+                .readAllMap();
+        Batch batch = toBatch(counts, lastUsed);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            batch.daily().forEach(usageRepository::addDaily);
+            usageRepository.addTotals(batch.totals(), batch.lastUsedAt());
+        });
+        redissonClient.getKeys().delete(countsProcessing, lastUsedProcessing);
+        log.debug("Flushed API key usage: {} days, {} keys", batch.daily().size(), batch.totals().size());
+    }
+
+    private record Batch(Map<LocalDate, List<DailyCount>> daily, Map<UUID, Long> totals,
+            Map<UUID, Instant> lastUsedAt) {
+    }
+
+    private Batch toBatch(Map<String, String> counts, Map<String, String> lastUsed) {
+        Map<UUID, Instant> lastUsedAt = new HashMap<>();
+        lastUsed.forEach((keyId, millis) -> {
+            UUID id = parseKeyId(keyId);
+            if (id != null) {
+                lastUsedAt.put(id, Instant.ofEpochMilli(Long.parseLong(millis)));
+            }
+        });
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Map<LocalDate, List<DailyCount>> daily = new TreeMap<>();
+        Map<UUID, Long> totals = new HashMap<>();
+        counts.forEach((field, requests) -> {
+            int separator = field.indexOf('|');
+            UUID id = separator > 0 ? parseKeyId(field.substring(0, separator)) : null;
+            if (id == null) {
+                log.warn("Skipping malformed API key usage field: {}", field);
+                return;
+            }
+            String rest = field.substring(separator + 1);
+            int daySeparator = rest.indexOf('|');
+            LocalDate day = daySeparator > 0 ? parseDay(rest.substring(0, daySeparator)) : null;
+            String endpoint = day != null ? rest.substring(daySeparator + 1) : rest;
+            long count = Long.parseLong(requests);
+            daily.computeIfAbsent(day != null ? day : today, d -> new ArrayList<>())
+                    .add(new DailyCount(id, endpoint, count, lastUsedAt.get(id)));
+            totals.merge(id, count, Long::sum);
+        });
+        return new Batch(daily, totals, lastUsedAt);
+    }
+
+    private static LocalDate parseDay(String day) {
+        try {
+            return LocalDate.parse(day);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static UUID parseKeyId(String keyId) {
+        try {
+            return UUID.fromString(keyId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.learning.platformservice.sqs;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.learning.common.dto.TenantDeletedEvent;
+import com.learning.common.infra.tenant.TenantSchemas;
+import com.learning.platformservice.tenant.provision.TenantProvisioner;
 import io.awspring.cloud.sqs.annotation.SqsListener;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,7 +16,7 @@ import java.sql.Statement;
 
 /**
  * Consumes tenant deletion events from the cleanup SQS queue (via SNS fanout).
- * Drops the tenant's dedicated database if it's an ORG tenant.
+ * Drops the tenant's dedicated database (or schema, for SCHEMA mode) if it's an ORG tenant.
  * Personal tenants use shared schema and are skipped.
  */
 @Component
@@ -25,6 +27,7 @@ public class TenantCleanupConsumer {
 
     private final DataSource dataSource;
     private final ObjectMapper objectMapper;
+    private final TenantProvisioner tenantProvisioner;
 
     @SqsListener("tenant-cleanup")
     public void handleTenantDeleted(String message) {
@@ -45,6 +48,13 @@ public class TenantCleanupConsumer {
                 return;
             }
 
+            // SCHEMA tenants live in the shared cluster DB: drop only their schema
+            if (TenantSchemas.isSchemaUrl(event.dbUrl())) {
+                log.info("Dropping tenant schema: tenantId={}", event.tenantId());
+                tenantProvisioner.dropTenantSchema(event.tenantId());
+                return;
+            }
+
             dropTenantDatabase(event);
 
         } catch (Exception e) {
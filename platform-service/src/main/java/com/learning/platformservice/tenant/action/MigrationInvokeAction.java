@@ -23,6 +23,7 @@ import java.util.List;
  * 
  * For SHARED mode (personal tenants): Skips per-tenant migrations (schema exists in shared DB).
  * For DATABASE mode (org tenants): Executes migrations on dedicated tenant DB.
+ * For SCHEMA mode (small org tenants): Executes migrations inside the tenant schema.
  */
 @Component
 @RequiredArgsConstructor
@@ -60,7 +61,7 @@ public class MigrationInvokeAction implements TenantProvisionAction {
             return;
         }
 
-        // DATABASE mode: execute per-tenant migrations
+        // DATABASE / SCHEMA mode: execute per-tenant migrations
         TenantDbConfig dbConfig = buildDbConfig(context);
 
         List<ServiceMigrationStrategy> strategies = List.of(
@@ -97,6 +98,10 @@ public class MigrationInvokeAction implements TenantProvisionAction {
 
     private TenantDbConfig buildDbConfig(TenantProvisionContext context) {
         Tenant tenant = context.getTenant();
+        if (TenantStorageEnum.SCHEMA.name().equals(tenant.getStorageMode())) {
+            // No per-tenant credentials: services migrate through their shared schema pool
+            return new TenantDbConfig(tenant.getJdbcUrl(), null, null, null, TenantStorageEnum.SCHEMA.name());
+        }
         String decryptedPassword = SimpleCryptoUtil.decrypt(tenant.getDbUserPasswordEnc());
         return new TenantDbConfig(
                 tenant.getJdbcUrl(),
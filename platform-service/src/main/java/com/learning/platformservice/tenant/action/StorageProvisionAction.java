@@ -13,6 +13,7 @@ import org.springframework.stereotype.Component;
  * Responsible for physical storage creation (database) and jdbcUrl assignment.
  * 
  * For SHARED mode (personal tenants): Uses pre-configured shared DB URL, no physical storage created.
+ * For SCHEMA mode (small org tenants): Creates a schema in the shared cluster DB, no DB user created.
  * For DATABASE mode (org tenants): Creates dedicated database and tenant DB user.
  */
 @Component
@@ -30,7 +31,7 @@ public class StorageProvisionAction implements TenantProvisionAction {
         TenantStorageEnum mode = TenantStorageEnum.fromString(context.getRequest().storageMode());
 
         try {
-            // Get JDBC URL (for SHARED: returns shared DB URL, for DATABASE: creates new DB)
+            // Get JDBC URL (for SHARED: returns shared DB URL, for SCHEMA: creates schema, for DATABASE: creates new DB)
             String jdbcUrl = tenantProvisioner.provisionTenantStorage(tenantId, mode);
             context.setJdbcUrl(jdbcUrl);
             context.getTenant().setJdbcUrl(jdbcUrl);
@@ -42,6 +43,12 @@ public class StorageProvisionAction implements TenantProvisionAction {
                 return;
             }
 
+            // For SCHEMA mode: services connect with their shared schema pool login
+            if (mode == TenantStorageEnum.SCHEMA) {
+                log.info("storage_provision_schema tenantId={} jdbcUrl={}", tenantId, jdbcUrl);
+                return;
+            }
+
             // For DATABASE mode: create dedicated DB user with credentials
             String dbUsername = ("%s_user".formatted(tenantId)).toLowerCase().replace("-", "_");
             String schemaName = tenantProvisioner.buildDatabaseName(tenantId);
@@ -1,14 +1,21 @@
 package com.learning.platformservice.tenant.api;
 
+import com.learning.common.dto.TenantChange;
+import com.learning.common.dto.TenantChangeFeed;
 import com.learning.common.dto.TenantDbConfig;
+import com.learning.platformservice.tenant.entity.Tenant;
 import com.learning.platformservice.tenant.repo.TenantRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * Internal API for tenant registry lookups.
  * Used by TenantRegistryService implementations in other services
@@ -18,16 +25,47 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/internal/tenants")
 @RequiredArgsConstructor
 public class TenantRegistryController {
+    private static final int MAX_FEED_PAGE_SIZE = 1000;
+
     private final TenantRepository tenantRepository;
 
     @GetMapping("/{tenantId}/db-info")
     public ResponseEntity<TenantDbConfig> getTenantDbInfo(@PathVariable String tenantId) {
         return tenantRepository.findById(tenantId)
-                .map(t -> ResponseEntity.ok(new TenantDbConfig(
-                        t.getJdbcUrl(),
-                        t.getDbUserSecretRef(),
-                        t.getDbUserPasswordEnc(),
-                        t.getFgaStoreId()))) // Include OpenFGA store ID
+                .map(t -> ResponseEntity.ok(toDbConfig(t)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
+
+    /**
+     * Versioned change feed for registry replicas.
+     * Returns tenants changed after {@code since}, oldest first. since=0 pages
+     * through the full registry.
+     */
+    @GetMapping("/changes")
+    public TenantChangeFeed getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_FEED_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page follows
+        List<Tenant> changed = tenantRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(
+                since, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = changed.size() > pageSize;
+        List<TenantChange> changes = changed.stream()
+                .limit(pageSize)
+                .map(t -> new TenantChange(t.getId(), t.getChangeVersion(), t.getStatus(), toDbConfig(t)))
+                .toList();
+        long version = changes.isEmpty() ? since : changes.get(changes.size() - 1).version();
+        return new TenantChangeFeed(version, hasMore, changes);
+    }
+
+    private static TenantDbConfig toDbConfig(Tenant t) {
+        return new TenantDbConfig(
+                t.getJdbcUrl(),
+                t.getDbUserSecretRef(),
+                t.getDbUserPasswordEnc(),
+                t.getFgaStoreId(), // Include OpenFGA store ID
+                t.getStorageMode(),
+                t.getSlaTier());
+    }
 }
@@ -2,8 +2,10 @@ package com.learning.platformservice.tenant.entity;
 
 import com.learning.common.dto.IdpType;
 import com.learning.common.dto.TenantType;
+import com.learning.platformservice.tenant.service.TenantStatusListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
@@ -18,6 +20,7 @@ import java.util.Map;
 
 @Entity
 @Table(name = "tenant")
+@EntityListeners(TenantStatusListener.class)
 @Getter
 @Setter
 public class Tenant {
@@ -127,4 +130,12 @@ public class Tenant {
     // ========== NEW: OpenFGA Fine-Grained Permissions ==========
     @Column(name = "fga_store_id")
     private String fgaStoreId;
+
+    // ========== Change feed ==========
+    /**
+     * Bumped by a database trigger on every insert/update (tenant_change_seq).
+     * Read-only from JPA; exposed through the registry change feed.
+     */
+    @Column(name = "change_version", insertable = false, updatable = false)
+    private Long changeVersion;
 }
@@ -1,5 +1,6 @@
 package com.learning.platformservice.tenant.provision;
 
+import com.learning.common.infra.tenant.TenantSchemas;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Component;
 import javax.sql.DataSource;
 import java.security.SecureRandom;
 import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Base64;
@@ -29,6 +31,11 @@ public class TenantProvisioner {
     private final Counter dbCreateFailure;
     private final String dataSourceUrl;
     private final String personalSharedJdbcUrl;
+    private final String schemaHostJdbcUrl; // cluster database holding SCHEMA mode tenants (blank = disabled)
+    private final String adminUsername;
+    private final String adminPassword;
+    private final Counter schemaCreateSuccess;
+    private final Counter schemaCreateFailure;
 
     private static final String POSTGRES_DUPLICATE_DB_SQL_STATE = "42P04"; // database already exists
     private static final int DB_CREATE_MAX_ATTEMPTS = 2;
@@ -39,18 +46,28 @@ public class TenantProvisioner {
             @Value("${platform.tenant.database-mode.enabled:false}") boolean databaseModeFeatureEnabled,
             @Value("${platform.db-per-tenant.enabled:false}") boolean dbPerTenantEnabled,
             @Value("${spring.datasource.url}") String dataSourceUrl,
-            @Value("${platform.personal-shared.jdbc-url:}") String personalSharedJdbcUrl) {
+            @Value("${platform.personal-shared.jdbc-url:}") String personalSharedJdbcUrl,
+            @Value("${platform.schema-per-tenant.jdbc-url:}") String schemaHostJdbcUrl,
+            @Value("${spring.datasource.username:}") String adminUsername,
+            @Value("${spring.datasource.password:}") String adminPassword) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.databaseModeFeatureEnabled = databaseModeFeatureEnabled;
         this.dbPerTenantEnabled = dbPerTenantEnabled;
         this.dataSourceUrl = dataSourceUrl;
         this.personalSharedJdbcUrl = personalSharedJdbcUrl;
+        this.schemaHostJdbcUrl = schemaHostJdbcUrl;
+        this.adminUsername = adminUsername;
+        this.adminPassword = adminPassword;
         this.dbCreateAttempts = Counter.builder("platform.tenants.db.create.attempts")
                 .description("Database create attempts").register(meterRegistry);
         this.dbCreateSuccess = Counter.builder("platform.tenants.db.create.success")
                 .description("Successful tenant database creates").register(meterRegistry);
         this.dbCreateFailure = Counter.builder("platform.tenants.db.create.failure")
                 .description("Failed tenant database creates").register(meterRegistry);
+        this.schemaCreateSuccess = Counter.builder("platform.tenants.schema.create.success")
+                .description("Successful tenant schema creates").register(meterRegistry);
+        this.schemaCreateFailure = Counter.builder("platform.tenants.schema.create.failure")
+                .description("Failed tenant schema creates").register(meterRegistry);
     }
 
     /**
@@ -58,16 +75,72 @@ public class TenantProvisioner {
      * Returns JDBC URL pointing to tenant isolated storage.
      * 
      * @param tenantId the tenant identifier
-     * @param storageMode DATABASE for dedicated DB, SHARED for shared personal DB
+     * @param storageMode DATABASE for dedicated DB, SCHEMA for a schema in the
+     *                    shared cluster DB, SHARED for shared personal DB
      * @return JDBC URL for tenant data access
      */
     public String provisionTenantStorage(String tenantId, TenantStorageEnum storageMode) {
         return switch (storageMode) {
             case SHARED -> getSharedPersonalDbUrl(tenantId);
+            case SCHEMA -> createSchemaPath(tenantId);
             case DATABASE -> createDatabasePath(tenantId);
         };
     }
 
+    /**
+     * Creates the tenant's schema in the schema host database.
+     * Returns the host URL with currentSchema set (see TenantSchemas).
+     * CREATE SCHEMA IF NOT EXISTS makes retries and re-provisioning idempotent.
+     */
+    private String createSchemaPath(String tenantId) {
+        requireSchemaHost();
+        String schemaName = buildDatabaseName(tenantId);
+        try (Connection conn = openSchemaHostConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE SCHEMA IF NOT EXISTS " + quote(schemaName));
+            schemaCreateSuccess.increment();
+            log.info("schema_create_success tenantId={} schema={}", tenantId, schemaName);
+            return TenantSchemas.withSchema(schemaHostJdbcUrl, schemaName);
+        } catch (SQLException sqlEx) {
+            schemaCreateFailure.increment();
+            log.error("schema_create_failure tenantId={} schema={} sqlState={} error={}", tenantId, schemaName,
+                    sqlEx.getSQLState(), sqlEx.getMessage(), sqlEx);
+            throw new IllegalStateException("Failed to create schema '" + schemaName + "': " + sqlEx.getMessage(),
+                    sqlEx);
+        }
+    }
+
+    public void dropTenantSchema(String tenantId) {
+        if (schemaHostJdbcUrl == null || schemaHostJdbcUrl.isBlank()) {
+            return; // schema mode not configured, nothing to drop
+        }
+        String schemaName = buildDatabaseName(tenantId);
+        try (Connection conn = openSchemaHostConnection(); Statement stmt = conn.createStatement()) {
+            log.debug("schema_drop_start tenantId={} schema={}", tenantId, schemaName);
+            stmt.execute("DROP SCHEMA IF EXISTS " + quote(schemaName) + " CASCADE");
+            log.info("schema_drop_success tenantId={} schema={}", tenantId, schemaName);
+        } catch (Exception e) {
+            log.warn("schema_drop_failure tenantId={} schema={} error={}", tenantId, schemaName, e.getMessage(), e);
+        }
+    }
+
+    private void requireSchemaHost() {
+        if (schemaHostJdbcUrl == null || schemaHostJdbcUrl.isBlank()) {
+            throw new IllegalStateException(
+                    "SCHEMA storageMode requires platform.schema-per-tenant.jdbc-url to be configured");
+        }
+    }
+
+    /**
+     * The schema host is a different database than the platform's own, so it
+     * needs its own (short-lived) connection. Provisioning is rare enough that
+     * a pool is not worth keeping.
+     */
+    private Connection openSchemaHostConnection() throws SQLException {
+        Connection conn = DriverManager.getConnection(schemaHostJdbcUrl, adminUsername, adminPassword);
+        conn.setAutoCommit(true);
+        return conn;
+    }
+
     /**
      * Returns JDBC URL for shared personal database.
      * No physical storage is created - shared DB is pre-provisioned.
@@ -285,6 +358,11 @@ public class TenantProvisioner {
         return switch (mode) {
             case DATABASE -> "ALTER DATABASE %s OWNER TO %s;"
                     .formatted(quote(tenantIdentifier), quote(username));
+            case SCHEMA -> {
+                // Schema tenants are reached through the services' shared schema pool login
+                log.debug("No special grants for SCHEMA mode tenantId={}", tenantIdentifier);
+                yield "";
+            }
             case SHARED -> {
                 // For shared DB, no special grants - rely on application-level tenant filtering
                 log.debug("No special grants for SHARED mode tenantId={}", tenantIdentifier);
@@ -297,6 +375,8 @@ public class TenantProvisioner {
         switch (mode) {
             case DATABASE ->
                 log.info("db_user_granted_database_privileges username={} db={}", username, tenantIdentifier);
+            case SCHEMA ->
+                log.info("tenant_using_shared_schema_pool tenantId={}", tenantIdentifier);
             case SHARED ->
                 log.info("tenant_using_shared_database tenantId={}", tenantIdentifier);
         }
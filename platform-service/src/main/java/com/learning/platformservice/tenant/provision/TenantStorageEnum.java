@@ -7,6 +7,7 @@ import java.util.Locale;
  * 
  * <ul>
  * <li>{@link #DATABASE} - Per-tenant database (organizations)</li>
+ * <li>{@link #SCHEMA} - Per-tenant schema in a shared cluster database (small organizations)</li>
  * <li>{@link #SHARED} - Shared database with tenant_id filtering (personal)</li>
  * </ul>
  */
@@ -16,6 +17,14 @@ public enum TenantStorageEnum {
      * Used for: Organization tenants
      */
     DATABASE,
+
+    /**
+     * Each tenant gets a dedicated schema in a shared cluster database.
+     * Services reach it through one shared pool per cluster, setting
+     * search_path per connection checkout.
+     * Used for: Small organization tenants
+     */
+    SCHEMA,
     
     /**
      * Tenants share a single database with row-level tenant_id filtering.
@@ -1,8 +1,15 @@
 package com.learning.platformservice.tenant.repo;
 
 import com.learning.platformservice.tenant.entity.Tenant;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface TenantRepository extends JpaRepository<Tenant, String> {
 
+    /**
+     * Tenants changed after the given version, oldest change first.
+     */
+    List<Tenant> findByChangeVersionGreaterThanOrderByChangeVersionAsc(long changeVersion, Pageable pageable);
 }
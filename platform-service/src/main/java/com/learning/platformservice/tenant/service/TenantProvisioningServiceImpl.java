@@ -146,6 +146,9 @@ public class TenantProvisioningServiceImpl implements TenantProvisioningService
                     log.warn("tenant_db_drop_failed tenantId={} error={}", tenantId, dropEx.getMessage(), dropEx);
                 }
             }
+            if ("SCHEMA".equalsIgnoreCase(request.storageMode()) && tenantProperties.isDropOnFailure()) {
+                tenantProvisioner.dropTenantSchema(tenantId);
+            }
             log.error("tenant_provision_failed tenantId={} phase={} error={}", tenantId, tenant.getStatus(),
                     e.getMessage(), e);
             throw new TenantProvisioningException(tenantId, "Failed provisioning: " + e.getMessage(), e);
@@ -275,6 +278,9 @@ public class TenantProvisioningServiceImpl implements TenantProvisioningService
                     log.warn("tenant_db_drop_failed tenantId={} error={}", tenantId, dropEx.getMessage(), dropEx);
                 }
             }
+            if ("SCHEMA".equalsIgnoreCase(request.storageMode()) && tenantProperties.isDropOnFailure()) {
+                tenantProvisioner.dropTenantSchema(tenantId);
+            }
             log.error("tenant_async_provision_failed tenantId={} phase={} error={}", tenantId, tenant.getStatus(),
                     e.getMessage(), e);
             throw new TenantProvisioningException(tenantId, "Failed async provisioning: " + e.getMessage(), e);
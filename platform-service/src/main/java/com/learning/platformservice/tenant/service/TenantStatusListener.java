@@ -0,0 +1,35 @@
+package com.learning.platformservice.tenant.service;
+
+import com.learning.platformservice.tenant.entity.Tenant;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener pushing every saved tenant's status, and every removed tenant,
+ * to the gateways through {@link TenantStatusPublisher}, whichever service
+ * changed it.
+ */
+@Component
+public class TenantStatusListener {
+
+    // Lazy: the publisher needs TenantRepository, which is built with this listener
+    private final ObjectProvider<TenantStatusPublisher> statusPublisherProvider;
+
+    public TenantStatusListener(ObjectProvider<TenantStatusPublisher> statusPublisherProvider) {
+        this.statusPublisherProvider = statusPublisherProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void statusSaved(Tenant tenant) {
+        statusPublisherProvider.getObject().publish(tenant.getId(), tenant.getStatus());
+    }
+
+    @PostRemove
+    void tenantRemoved(Tenant tenant) {
+        statusPublisherProvider.getObject().publishRemoved(tenant.getId());
+    }
+}
@@ -0,0 +1,228 @@
+package com.learning.platformservice.tenant.service;
+
+import com.learning.platformservice.tenant.entity.Tenant;
+import com.learning.platformservice.tenant.entity.TenantStatus;
+import com.learning.platformservice.tenant.repo.TenantRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the gateways' replica of tenant statuses current.
+ *
+ * <p>
+ * The statuses live in a Redis hash (tenantId -> status) that gateways load
+ * in one HGETALL; every change is also published as {@code tenantId:STATUS}
+ * on a channel, so suspensions and deletions apply immediately.
+ * </p>
+ *
+ * <p>
+ * Changes are published after commit by {@link TenantStatusListener}; a
+ * removed tenant row drops its hash field and is published as DELETED. Every
+ * sync interval the tenants changed since the last sync (by change_version)
+ * are written to the hash as well, which seeds it on startup and repairs
+ * publishes lost to a Redis outage.
+ * </p>
+ *
+ * <p>
+ * change_version is taken when a row is written, not when it commits, so a
+ * transaction that commits late can land below the last synced version, and
+ * its afterCommit publish can overwrite a newer one. Each sync therefore
+ * re-reads a trailing window of resync-window versions below the last one,
+ * and every full-sync-interval it rewrites every tenant, which catches
+ * anything older, and removes the fields of tenants that no longer have a
+ * row.
+ * </p>
+ */
+@Component
+public class TenantStatusPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantStatusPublisher.class);
+    private static final int SYNC_PAGE_SIZE = 1000;
+
+    private final ObjectProvider<RedissonClient> redissonClientProvider;
+    private final TenantRepository tenantRepository;
+    private final String hashKey;
+    private final String channel;
+    private final Duration syncInterval;
+    private final Duration fullSyncInterval;
+    private final long resyncWindow;
+    private ScheduledExecutorService syncExecutor;
+    private long syncedVersion;
+    private long nextFullSyncAt;
+
+    public TenantStatusPublisher(ObjectProvider<RedissonClient> redissonClientProvider,
+            TenantRepository tenantRepository,
+            @Value("${app.tenant-status.hash-key:tenant-status}") String hashKey,
+            @Value("${app.tenant-status.channel:tenant-status-changes}") String channel,
+            @Value("${app.tenant-status.sync-interval:30s}") Duration syncInterval,
+            @Value("${app.tenant-status.full-sync-interval:10m}") Duration fullSyncInterval,
+            @Value("${app.tenant-status.resync-window:1000}") long resyncWindow) {
+        this.redissonClientProvider = redissonClientProvider;
+        this.tenantRepository = tenantRepository;
+        this.hashKey = hashKey;
+        this.channel = channel;
+        this.syncInterval = syncInterval;
+        this.fullSyncInterval = fullSyncInterval;
+        this.resyncWindow = resyncWindow;
+        this.nextFullSyncAt = System.nanoTime();
+    }
+
+    @PostConstruct
+    void start() {
+        if (redissonClientProvider.getIfAvailable() == null) {
+            log.warn("No Redis client, gateways will look up tenant statuses from platform-service");
+            return;
+        }
+        syncExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tenant-status-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncExecutor.scheduleWithFixedDelay(this::syncSafely, 0, syncInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (syncExecutor != null) {
+            syncExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Publish a tenant's status, after commit when inside a transaction.
+     */
+    public void publish(String tenantId, String status) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doPublish(tenantId, status, false);
+                }
+            });
+        } else {
+            doPublish(tenantId, status, false);
+        }
+    }
+
+    /**
+     * Remove a tenant whose row was deleted from the hash and publish it as
+     * DELETED, after commit when inside a transaction.
+     */
+    public void publishRemoved(String tenantId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doPublish(tenantId, TenantStatus.DELETED.name(), true);
+                }
+            });
+        } else {
+            doPublish(tenantId, TenantStatus.DELETED.name(), true);
+        }
+    }
+
+    /**
+     * @param removed the tenant's row was removed: drop its field
+     */
+    private void doPublish(String tenantId, String status, boolean removed) {
+        RedissonClient redissonClient = redissonClientProvider.getIfAvailable();
+        if (redissonClient == null) {
+            return;
+        }
+        try {
+            RMap<String, String> statuses = redissonClient.getMap(hashKey, StringCodec.INSTANCE);
+            if (removed) {
+                statuses.fastRemove(tenantId);
+            } else {
+                statuses.fastPut(tenantId, status);
+            }
+            redissonClient.getTopic(channel, StringCodec.INSTANCE).publish(tenantId + ":" + status);
+            log.debug("Tenant status published: tenantId={}, status={}", tenantId, status);
+        } catch (Exception e) {
+            log.warn("Tenant status publish failed, next sync will repair it: tenantId={}, error={}",
+                    tenantId, e.getMessage());
+        }
+    }
+
+    private void syncSafely() {
+        try {
+            sync();
+        } catch (Exception e) {
+            log.warn("Tenant status sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write the statuses of tenants changed since resync-window versions
+     * before the last sync to the hash (all tenants on the first run and
+     * every full-sync-interval, which also removes tenants without a row).
+     */
+    void sync() {
+        RMap<String, String> hash = redissonClientProvider.getObject().getMap(hashKey, StringCodec.INSTANCE);
+        long now = System.nanoTime();
+        boolean full = now - nextFullSyncAt >= 0;
+        long since = full ? 0 : Math.max(0, syncedVersion - resyncWindow);
+        Set<String> synced = new HashSet<>();
+        boolean hasMore = true;
+        while (hasMore) {
+            List<Tenant> changed = tenantRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(
+                    since, PageRequest.of(0, SYNC_PAGE_SIZE));
+            if (changed.isEmpty()) {
+                break;
+            }
+            Map<String, String> statuses = new HashMap<>();
+            changed.forEach(tenant -> statuses.put(tenant.getId(), tenant.getStatus()));
+            hash.putAll(statuses);
+            synced.addAll(statuses.keySet());
+            since = changed.get(changed.size() - 1).getChangeVersion();
+            hasMore = changed.size() == SYNC_PAGE_SIZE;
+        }
+        if (full) {
+            removeDeleted(hash, synced);
+            nextFullSyncAt = now + fullSyncInterval.toNanos();
+        }
+        if (since > syncedVersion) {
+            log.debug("Tenant statuses synced to Redis up to version {}", since);
+            syncedVersion = since;
+        }
+    }
+
+    /**
+     * Remove the fields of tenants whose row is gone, e.g. removed while Redis
+     * was down. Fields the full sync did not see are looked up again first,
+     * as a tenant created during the sync may have been published since.
+     */
+    private void removeDeleted(RMap<String, String> hash, Set<String> synced) {
+        Set<String> unseen = new HashSet<>(hash.readAllKeySet());
+        unseen.removeAll(synced);
+        if (unseen.isEmpty()) {
+            return;
+        }
+        tenantRepository.findAllById(unseen).forEach(tenant -> unseen.remove(tenant.getId()));
+        if (!unseen.isEmpty()) {
+            hash.fastRemove(unseen.toArray(new String[0]));
+            log.info("Removed {} tenants without a row from the status hash", unseen.size());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+-- V3: Versioned change feed for tenant registry replication.
+-- Every insert/update of a tenant row takes the next value of tenant_change_seq,
+-- so services can poll GET /internal/tenants/changes?since=<version>.
+
+CREATE SEQUENCE IF NOT EXISTS tenant_change_seq;
+
+ALTER TABLE tenant ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT nextval('tenant_change_seq');
+
+CREATE INDEX IF NOT EXISTS idx_tenant_change_version ON tenant(change_version);
+
+CREATE OR REPLACE FUNCTION tenant_bump_change_version() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_version := nextval('tenant_change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_tenant_change_version ON tenant;
+CREATE TRIGGER trg_tenant_change_version
+    BEFORE INSERT OR UPDATE ON tenant
+    FOR EACH ROW EXECUTE FUNCTION tenant_bump_change_version();
@@ -0,0 +1,14 @@
+-- V4: Daily API key usage per gateway route.
+-- Gateways count requests in Redis; platform-service flushes the counts here in
+-- batches (ApiKeyUsageFlusher) and adds the totals to api_keys.usage_count.
+
+CREATE TABLE IF NOT EXISTS api_key_usage_daily (
+    api_key_id UUID NOT NULL REFERENCES api_keys(id) ON DELETE CASCADE,
+    usage_date DATE NOT NULL,
+    endpoint VARCHAR(255) NOT NULL,          -- Gateway route id (e.g., "backend-service")
+    request_count BIGINT NOT NULL DEFAULT 0,
+    last_used_at TIMESTAMPTZ,
+    PRIMARY KEY (api_key_id, usage_date, endpoint)
+);
+
+CREATE INDEX IF NOT EXISTS idx_api_key_usage_daily_date ON api_key_usage_daily(usage_date);
@@ -0,0 +1,112 @@
+package com.learning.platformservice.apikey.repository;
+
+import com.learning.platformservice.apikey.dto.ApiKeyUsageResponse.DailyUsage;
+import com.learning.platformservice.apikey.repository.ApiKeyUsageRepository.DailyCount;
+import com.learning.platformservice.test.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the usage upserts of ApiKeyUsageRepository against
+ * Postgres.
+ */
+class ApiKeyUsageRepositoryIntegrationTest extends BaseIntegrationTest {
+
+        private static final String TENANT_ID = "usageco";
+        private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+        private static final Instant EARLIER = Instant.parse("2026-10-17T08:00:00Z");
+        private static final Instant LATER = Instant.parse("2026-10-17T09:00:00Z");
+
+        @Autowired
+        private ApiKeyUsageRepository usageRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private UUID keyId;
+
+        @BeforeEach
+        void setUp() {
+                jdbcTemplate.update("""
+                                INSERT INTO tenant (id, name, status, storage_mode, sla_tier)
+                                VALUES (?, 'Usage Co', 'ACTIVE', 'SCHEMA', 'STANDARD')
+                                ON CONFLICT (id) DO NOTHING
+                                """, TENANT_ID);
+                keyId = UUID.randomUUID();
+                jdbcTemplate.update("""
+                                INSERT INTO api_keys (id, tenant_id, name, key_hash, key_prefix,
+                                                      created_by_user_id, created_by_email, expires_at)
+                                VALUES (?, ?, 'CI', ?, 'sk_live_test', 'user-1', 'user@usageco.com', ?)
+                                """, keyId, TENANT_ID, "hash-" + keyId, Timestamp.from(LATER.plus(365, ChronoUnit.DAYS)));
+        }
+
+        @Test
+        @DisplayName("addDaily inserts a row per route, then adds to it")
+        void addDaily_AddsToExistingRow() {
+                // When
+                usageRepository.addDaily(TODAY, List.of(
+                                new DailyCount(keyId, "backend-service", 3, LATER),
+                                new DailyCount(keyId, "payment-service", 1, EARLIER)));
+                usageRepository.addDaily(TODAY, List.of(new DailyCount(keyId, "backend-service", 2, EARLIER)));
+
+                // Then - counts add up, last_used_at never moves back
+                assertThat(usageRepository.findDaily(keyId, TODAY)).containsExactly(
+                                new DailyUsage(TODAY, "backend-service", 5, LATER),
+                                new DailyUsage(TODAY, "payment-service", 1, EARLIER));
+        }
+
+        @Test
+        @DisplayName("addDaily drops counts of deleted keys")
+        void addDaily_DeletedKey_Dropped() {
+                // Given
+                UUID deleted = UUID.randomUUID();
+
+                // When
+                usageRepository.addDaily(TODAY, List.of(new DailyCount(deleted, "backend-service", 3, LATER)));
+
+                // Then
+                assertThat(usageRepository.findDaily(deleted, TODAY)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("findDaily returns days on or after the given date, newest first")
+        void findDaily_NewestFirst() {
+                // Given
+                usageRepository.addDaily(TODAY.minusDays(8), List.of(new DailyCount(keyId, "backend-service", 7, null)));
+                usageRepository.addDaily(TODAY.minusDays(1), List.of(new DailyCount(keyId, "backend-service", 4, null)));
+                usageRepository.addDaily(TODAY, List.of(new DailyCount(keyId, "backend-service", 1, null)));
+
+                // When
+                List<DailyUsage> usage = usageRepository.findDaily(keyId, TODAY.minusDays(7));
+
+                // Then
+                assertThat(usage).extracting(DailyUsage::requests).containsExactly(1L, 4L);
+        }
+
+        @Test
+        @DisplayName("addTotals adds to usage_count and moves last_used_at forward only")
+        void addTotals_AddsAndKeepsLatest() {
+                // When
+                usageRepository.addTotals(Map.of(keyId, 3L), Map.of(keyId, LATER));
+                usageRepository.addTotals(Map.of(keyId, 2L), Map.of(keyId, EARLIER));
+
+                // Then
+                Map<String, Object> row = jdbcTemplate.queryForMap(
+                                "SELECT usage_count, last_used_at FROM api_keys WHERE id = ?", keyId);
+                assertThat(row.get("usage_count")).isEqualTo(5L);
+                assertThat(((Timestamp) row.get("last_used_at")).toInstant()).isEqualTo(LATER);
+        }
+}
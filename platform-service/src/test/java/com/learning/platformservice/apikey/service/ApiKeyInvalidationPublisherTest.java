@@ -0,0 +1,127 @@
+package com.learning.platformservice.apikey.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ApiKeyInvalidationPublisher.
+ * Tests that invalidations go out only once the revoking transaction commits.
+ */
+@ExtendWith(MockitoExtension.class)
+class ApiKeyInvalidationPublisherTest {
+
+    private static final String CHANNEL = "api-key-invalidations";
+    private static final String KEY_HASH = "5e884898da28047151d0e56f8dc6292773603d0d6aabbdd62a11ef721d1542d8";
+
+    @Mock
+    private ObjectProvider<RedissonClient> redissonClientProvider;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RTopic topic;
+
+    private ApiKeyInvalidationPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new ApiKeyInvalidationPublisher(redissonClientProvider, CHANNEL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void givenTopic() {
+        when(redissonClientProvider.getIfAvailable()).thenReturn(redissonClient);
+        when(redissonClient.getTopic(CHANNEL, StringCodec.INSTANCE)).thenReturn(topic);
+    }
+
+    @Test
+    @DisplayName("publish outside a transaction publishes at once")
+    void publish_NoTransaction_PublishesImmediately() {
+        // Given
+        givenTopic();
+
+        // When
+        publisher.publish(KEY_HASH);
+
+        // Then
+        verify(topic).publish(KEY_HASH);
+    }
+
+    @Test
+    @DisplayName("publish inside a transaction waits for the commit")
+    void publish_InTransaction_PublishesAfterCommit() {
+        // Given
+        givenTopic();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        publisher.publish(KEY_HASH);
+
+        // Then - nothing before commit
+        verify(topic, never()).publish(KEY_HASH);
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        verify(topic).publish(KEY_HASH);
+    }
+
+    @Test
+    @DisplayName("publish inside a rolled-back transaction publishes nothing")
+    void publish_RolledBack_DoesNotPublish() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        publisher.publish(KEY_HASH);
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        verifyNoInteractions(redissonClientProvider);
+    }
+
+    @Test
+    @DisplayName("publish without Redis logs and carries on")
+    void publish_NoRedis_DoesNotFail() {
+        // Given
+        when(redissonClientProvider.getIfAvailable()).thenReturn(null);
+
+        // When / Then
+        assertThatCode(() -> publisher.publish(KEY_HASH)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("publish swallows Redis failures so the revoke still commits")
+    void publish_RedisFails_DoesNotFail() {
+        // Given
+        givenTopic();
+        when(topic.publish(KEY_HASH)).thenThrow(new IllegalStateException("connection reset"));
+
+        // When / Then
+        assertThatCode(() -> publisher.publish(KEY_HASH)).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,279 @@
+package com.learning.platformservice.apikey.service;
+
+import com.learning.common.infra.cache.DistributedLockService;
+import com.learning.platformservice.apikey.repository.ApiKeyUsageRepository;
+import com.learning.platformservice.apikey.repository.ApiKeyUsageRepository.DailyCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RKeys;
+import org.redisson.api.RMap;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ApiKeyUsageFlusher.
+ * Tests the flush lock, the claim of the live hashes and what happens to the
+ * claimed batch on success and failure.
+ */
+@ExtendWith(MockitoExtension.class)
+class ApiKeyUsageFlusherTest {
+
+    private static final String COUNTS = "api-key-usage:counts";
+    private static final String LAST_USED = "api-key-usage:last-used";
+    private static final String COUNTS_PROCESSING = COUNTS + ":processing";
+    private static final String LAST_USED_PROCESSING = LAST_USED + ":processing";
+    private static final UUID KEY_ID = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae7");
+    private static final LocalDate DAY = LocalDate.of(2020, 2, 28);
+
+    @Mock
+    private ObjectProvider<RedissonClient> redissonClientProvider;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private DistributedLockService lockService;
+
+    @Mock
+    private ApiKeyUsageRepository usageRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private RScript script;
+
+    @Mock
+    private RKeys keys;
+
+    @Captor
+    private ArgumentCaptor<List<Object>> claimedKeys;
+
+    @Captor
+    private ArgumentCaptor<String> claimScript;
+
+    @Captor
+    private ArgumentCaptor<List<DailyCount>> daily;
+
+    @Captor
+    private ArgumentCaptor<Map<UUID, Long>> totals;
+
+    private ApiKeyUsageFlusher flusher;
+
+    @BeforeEach
+    void setUp() {
+        flusher = new ApiKeyUsageFlusher(redissonClientProvider, lockService, usageRepository, transactionTemplate,
+                true, Duration.ofSeconds(30), COUNTS, LAST_USED);
+    }
+
+    private void givenLockAcquired() {
+        when(lockService.executeWithLock(eq("api-key-usage-flush"), eq(Duration.ZERO), any(Duration.class),
+                any(Runnable.class))).thenAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(3).run();
+                    return true;
+                });
+        when(redissonClientProvider.getObject()).thenReturn(redissonClient);
+        when(redissonClient.getScript(StringCodec.INSTANCE)).thenReturn(script);
+    }
+
+    private void givenClaimed(long hashes) {
+        when(script.<Long>eval(eq(RScript.Mode.READ_WRITE), claimScript.capture(), eq(RScript.ReturnType.INTEGER),
+                claimedKeys.capture())).thenReturn(hashes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenProcessing(Map<String, String> counts, Map<String, String> lastUsed) {
+        RMap<String, String> countsMap = mock(RMap.class);
+        RMap<String, String> lastUsedMap = mock(RMap.class);
+        when(countsMap.readAllMap()).thenReturn(counts);
+        when(lastUsedMap.readAllMap()).thenReturn(lastUsed);
+        when(redissonClient.<String, String>getMap(COUNTS_PROCESSING, StringCodec.INSTANCE)).thenReturn(countsMap);
+        when(redissonClient.<String, String>getMap(LAST_USED_PROCESSING, StringCodec.INSTANCE)).thenReturn(lastUsedMap);
+    }
+
+    private void givenTransactionRuns() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("flush does nothing on an instance without the lock")
+    void flush_LockNotAcquired_DoesNothing() {
+        // Given
+        when(lockService.executeWithLock(eq("api-key-usage-flush"), eq(Duration.ZERO), any(Duration.class),
+                any(Runnable.class))).thenReturn(false);
+
+        // When
+        flusher.flush();
+
+        // Then
+        verifyNoInteractions(redissonClientProvider, usageRepository, transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("flush claims the live hashes by renaming them to the processing keys")
+    void flush_ClaimsLiveHashes() {
+        // Given
+        givenLockAcquired();
+        givenClaimed(0);
+
+        // When
+        flusher.flush();
+
+        // Then - live keys first, processing keys after, renamed only when no batch is pending
+        assertThat(claimedKeys.getValue())
+                .containsExactly(COUNTS, LAST_USED, COUNTS_PROCESSING, LAST_USED_PROCESSING);
+        assertThat(claimScript.getValue())
+                .contains("redis.call('EXISTS', KEYS[3]) == 0 and redis.call('EXISTS', KEYS[4]) == 0")
+                .contains("redis.call('RENAME', KEYS[1], KEYS[3])")
+                .contains("redis.call('RENAME', KEYS[2], KEYS[4])");
+    }
+
+    @Test
+    @DisplayName("flush with nothing counted touches neither Redis hashes nor Postgres")
+    void flush_NothingClaimed_SkipsDatabase() {
+        // Given
+        givenLockAcquired();
+        givenClaimed(0);
+
+        // When
+        flusher.flush();
+
+        // Then
+        verify(redissonClient, never()).getMap(anyString(), any(StringCodec.class));
+        verifyNoInteractions(usageRepository, transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("flush writes the batch in one transaction, then deletes the processing keys")
+    void flush_Claimed_WritesAndDeletesProcessingKeys() {
+        // Given
+        givenLockAcquired();
+        givenClaimed(2);
+        givenProcessing(
+                Map.of(KEY_ID + "|" + DAY + "|backend-service", "3", KEY_ID + "|" + DAY + "|payment-service", "2"),
+                Map.of(KEY_ID.toString(), "1760000000000"));
+        givenTransactionRuns();
+        when(redissonClient.getKeys()).thenReturn(keys);
+
+        // When
+        flusher.flush();
+
+        // Then
+        verify(usageRepository).addDaily(eq(DAY), daily.capture());
+        assertThat(daily.getValue()).containsExactlyInAnyOrder(
+                new DailyCount(KEY_ID, "backend-service", 3, Instant.ofEpochMilli(1760000000000L)),
+                new DailyCount(KEY_ID, "payment-service", 2, Instant.ofEpochMilli(1760000000000L)));
+        verify(usageRepository).addTotals(totals.capture(), eq(Map.of(KEY_ID, Instant.ofEpochMilli(1760000000000L))));
+        assertThat(totals.getValue()).containsExactly(Map.entry(KEY_ID, 5L));
+        verify(keys).delete(COUNTS_PROCESSING, LAST_USED_PROCESSING);
+    }
+
+    @Test
+    @DisplayName("flush adds counts to the day they were made on, and undated fields to today")
+    void flush_CountsPerDay() {
+        // Given - counted before and after midnight, and by a gateway without days
+        givenLockAcquired();
+        givenClaimed(1);
+        givenProcessing(Map.of(
+                KEY_ID + "|" + DAY + "|backend-service", "3",
+                KEY_ID + "|" + DAY.plusDays(1) + "|backend-service", "2",
+                KEY_ID + "|payment-service", "1"), Map.of());
+        givenTransactionRuns();
+        when(redissonClient.getKeys()).thenReturn(keys);
+
+        // When
+        flusher.flush();
+
+        // Then
+        verify(usageRepository).addDaily(DAY, List.of(new DailyCount(KEY_ID, "backend-service", 3, null)));
+        verify(usageRepository).addDaily(DAY.plusDays(1), List.of(new DailyCount(KEY_ID, "backend-service", 2, null)));
+        verify(usageRepository).addDaily(LocalDate.now(ZoneOffset.UTC),
+                List.of(new DailyCount(KEY_ID, "payment-service", 1, null)));
+        verify(usageRepository).addTotals(eq(Map.of(KEY_ID, 6L)), anyMap());
+    }
+
+    @Test
+    @DisplayName("flush skips malformed counter fields")
+    void flush_MalformedField_Skipped() {
+        // Given
+        givenLockAcquired();
+        givenClaimed(1);
+        givenProcessing(Map.of(
+                "not-a-uuid|" + DAY + "|backend-service", "4",
+                KEY_ID + "|" + DAY + "|backend-service", "1"), Map.of());
+        givenTransactionRuns();
+        when(redissonClient.getKeys()).thenReturn(keys);
+
+        // When
+        flusher.flush();
+
+        // Then
+        verify(usageRepository).addDaily(any(LocalDate.class), daily.capture());
+        assertThat(daily.getValue()).containsExactly(new DailyCount(KEY_ID, "backend-service", 1, null));
+    }
+
+    @Test
+    @DisplayName("flush keeps the processing keys when the write fails and retries them next time")
+    void flush_WriteFails_KeepsBatchForRetry() {
+        // Given
+        givenLockAcquired();
+        givenClaimed(2);
+        givenProcessing(Map.of(KEY_ID + "|" + DAY + "|backend-service", "3"), Map.of());
+        givenTransactionRuns();
+        doThrow(new IllegalStateException("connection refused"))
+                .doNothing()
+                .when(usageRepository).addDaily(any(LocalDate.class), any());
+
+        // When - the first flush fails
+        assertThatThrownBy(() -> flusher.flush()).isInstanceOf(IllegalStateException.class);
+
+        // Then - the batch stays in Redis
+        verify(redissonClient, never()).getKeys();
+
+        // When - the next flush finds it still claimed
+        when(redissonClient.getKeys()).thenReturn(keys);
+        flusher.flush();
+
+        // Then
+        verify(usageRepository, times(2)).addDaily(any(LocalDate.class), any());
+        verify(usageRepository).addTotals(eq(Map.of(KEY_ID, 3L)), anyMap());
+        verify(keys).delete(COUNTS_PROCESSING, LAST_USED_PROCESSING);
+    }
+}
@@ -0,0 +1,101 @@
+package com.learning.platformservice.tenant.api;
+
+import com.learning.common.dto.TenantChange;
+import com.learning.common.dto.TenantChangeFeed;
+import com.learning.platformservice.tenant.entity.Tenant;
+import com.learning.platformservice.tenant.repo.TenantRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TenantRegistryControllerTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @InjectMocks
+    private TenantRegistryController controller;
+
+    private static Tenant tenant(String id, long version) {
+        Tenant tenant = new Tenant();
+        tenant.setId(id);
+        tenant.setStatus("ACTIVE");
+        tenant.setStorageMode("DATABASE");
+        tenant.setSlaTier("STANDARD");
+        tenant.setJdbcUrl("jdbc:postgresql://localhost:5432/t_" + id);
+        tenant.setChangeVersion(version);
+        return tenant;
+    }
+
+    @Test
+    @DisplayName("changes returns one page and flags that more follow")
+    void changes_fullPage_hasMore() {
+        // Given - one row beyond the page
+        when(tenantRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(10L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(tenant("a", 11), tenant("b", 12), tenant("c", 13)));
+
+        // When
+        TenantChangeFeed feed = controller.getChanges(10, 2);
+
+        // Then - the extra row is not returned, the next poll starts after b
+        assertThat(feed.hasMore()).isTrue();
+        assertThat(feed.changes()).extracting(TenantChange::tenantId).containsExactly("a", "b");
+        assertThat(feed.version()).isEqualTo(12);
+        assertThat(feed.changes().get(0).dbConfig().storageMode()).isEqualTo("DATABASE");
+    }
+
+    @Test
+    @DisplayName("changes returns the last page without more")
+    void changes_lastPage_noMore() {
+        // Given
+        when(tenantRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(12L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(tenant("c", 13)));
+
+        // When
+        TenantChangeFeed feed = controller.getChanges(12, 2);
+
+        // Then
+        assertThat(feed.hasMore()).isFalse();
+        assertThat(feed.changes()).extracting(TenantChange::tenantId).containsExactly("c");
+        assertThat(feed.version()).isEqualTo(13);
+    }
+
+    @Test
+    @DisplayName("changes keeps the requested version when nothing changed")
+    void changes_empty_keepsVersion() {
+        // Given
+        when(tenantRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(42L, PageRequest.of(0, 501)))
+                .thenReturn(List.of());
+
+        // When
+        TenantChangeFeed feed = controller.getChanges(42, 500);
+
+        // Then
+        assertThat(feed.hasMore()).isFalse();
+        assertThat(feed.changes()).isEmpty();
+        assertThat(feed.version()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("changes clamps the page size")
+    void changes_clampsLimit() {
+        // When
+        controller.getChanges(0, 100_000);
+        controller.getChanges(0, 0);
+
+        // Then
+        verify(tenantRepository).findByChangeVersionGreaterThanOrderByChangeVersionAsc(0L, PageRequest.of(0, 1001));
+        verify(tenantRepository).findByChangeVersionGreaterThanOrderByChangeVersionAsc(0L, PageRequest.of(0, 2));
+    }
+}
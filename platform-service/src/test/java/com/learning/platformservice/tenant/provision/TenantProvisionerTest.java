@@ -22,7 +22,7 @@ class TenantProvisionerTest {
     @DisplayName("SHARED mode returns personal shared JDBC URL")
     void sharedMode_returnsPersonalSharedUrl() {
         TenantProvisioner provisioner = new TenantProvisioner(ds, registry, true, true,
-                BASE_JDBC_URL, PERSONAL_SHARED_JDBC_URL);
+                BASE_JDBC_URL, PERSONAL_SHARED_JDBC_URL, "", "postgres", "postgres");
         String jdbc = provisioner.provisionTenantStorage("personal_user_123", TenantStorageEnum.SHARED);
         assertThat(jdbc).isEqualTo(PERSONAL_SHARED_JDBC_URL);
     }
@@ -31,17 +31,27 @@ class TenantProvisionerTest {
     @DisplayName("DATABASE mode disabled throws flag error before JDBC")
     void databaseMode_disabled() {
         TenantProvisioner provisioner = new TenantProvisioner(ds, registry, false, false,
-                BASE_JDBC_URL, PERSONAL_SHARED_JDBC_URL);
+                BASE_JDBC_URL, PERSONAL_SHARED_JDBC_URL, "", "postgres", "postgres");
         assertThatThrownBy(() -> provisioner.provisionTenantStorage("acme", TenantStorageEnum.DATABASE))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("DATABASE storageMode disabled");
     }
 
+    @Test
+    @DisplayName("SCHEMA mode without a schema host throws before JDBC")
+    void schemaMode_notConfigured() {
+        TenantProvisioner provisioner = new TenantProvisioner(ds, registry, true, true,
+                BASE_JDBC_URL, PERSONAL_SHARED_JDBC_URL, "", "postgres", "postgres");
+        assertThatThrownBy(() -> provisioner.provisionTenantStorage("acme", TenantStorageEnum.SCHEMA))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("platform.schema-per-tenant.jdbc-url");
+    }
+
     @Test
     @DisplayName("Database name sanitization applies length and allowed chars")
     void databaseName_sanitization() throws Exception {
         TenantProvisioner provisioner = new TenantProvisioner(ds, registry, true, true,
-                BASE_JDBC_URL, PERSONAL_SHARED_JDBC_URL);
+                BASE_JDBC_URL, PERSONAL_SHARED_JDBC_URL, "", "postgres", "postgres");
         var method = TenantProvisioner.class.getDeclaredMethod("buildDatabaseName", String.class);
         method.setAccessible(true);
         String name = (String) method.invoke(provisioner, "ACME-*INVALID__LONG_NAME_WITH_CHARS@#$%^&*()+");
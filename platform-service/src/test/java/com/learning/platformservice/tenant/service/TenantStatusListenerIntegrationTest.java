@@ -0,0 +1,96 @@
+package com.learning.platformservice.tenant.service;
+
+import com.learning.platformservice.tenant.entity.Tenant;
+import com.learning.platformservice.tenant.repo.TenantRepository;
+import com.learning.platformservice.test.BaseIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Integration tests for the JPA hooks of TenantStatusListener: every saved
+ * tenant reaches TenantStatusPublisher, however it was changed.
+ */
+class TenantStatusListenerIntegrationTest extends BaseIntegrationTest {
+
+        @Autowired
+        private TenantRepository tenantRepository;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @MockBean
+        private TenantStatusPublisher statusPublisher;
+
+        private static Tenant newTenant(String id) {
+                Tenant tenant = new Tenant();
+                tenant.setId(id);
+                tenant.setName("Status Co");
+                tenant.setStatus("PROVISIONING");
+                tenant.setStorageMode("SCHEMA");
+                tenant.setSlaTier("STANDARD");
+                tenant.setCreatedAt(OffsetDateTime.now());
+                tenant.setUpdatedAt(OffsetDateTime.now());
+                return tenant;
+        }
+
+        @Test
+        @DisplayName("Publishes the status of a tenant when it is inserted")
+        void insert_PublishesStatus() {
+                // When
+                transactionTemplate.executeWithoutResult(status -> tenantRepository.save(newTenant("statusins")));
+
+                // Then
+                verify(statusPublisher).publish("statusins", "PROVISIONING");
+        }
+
+        @Test
+        @DisplayName("Publishes the new status of a tenant when it is updated")
+        void update_PublishesNewStatus() {
+                // Given
+                transactionTemplate.executeWithoutResult(status -> tenantRepository.save(newTenant("statusupd")));
+
+                // When
+                transactionTemplate.executeWithoutResult(status -> {
+                        Tenant tenant = tenantRepository.findById("statusupd").orElseThrow();
+                        tenant.setStatus("SUSPENDED");
+                });
+
+                // Then
+                verify(statusPublisher).publish("statusupd", "SUSPENDED");
+        }
+
+        @Test
+        @DisplayName("Publishes the removal of a tenant when its row is deleted")
+        void delete_PublishesRemoval() {
+                // Given
+                transactionTemplate.executeWithoutResult(status -> tenantRepository.save(newTenant("statusdel")));
+
+                // When
+                transactionTemplate.executeWithoutResult(status -> tenantRepository.deleteById("statusdel"));
+
+                // Then
+                verify(statusPublisher).publishRemoved("statusdel");
+        }
+
+        @Test
+        @DisplayName("Publishes nothing for a tenant that is only read")
+        void read_PublishesNothing() {
+                // Given
+                transactionTemplate.executeWithoutResult(status -> tenantRepository.save(newTenant("statusread")));
+
+                // When
+                transactionTemplate.executeWithoutResult(status -> tenantRepository.findById("statusread"));
+
+                // Then - only the insert published
+                verify(statusPublisher).publish(eq("statusread"), anyString());
+        }
+}
@@ -0,0 +1,196 @@
+package com.learning.platformservice.tenant.service;
+
+import com.learning.platformservice.tenant.entity.Tenant;
+import com.learning.platformservice.tenant.repo.TenantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RMap;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TenantStatusPublisher.
+ * Tests after-commit publishing and the periodic sync of the status hash.
+ */
+@ExtendWith(MockitoExtension.class)
+class TenantStatusPublisherTest {
+
+    private static final String HASH_KEY = "tenant-status";
+    private static final String CHANNEL = "tenant-status-changes";
+    private static final PageRequest PAGE = PageRequest.of(0, 1000);
+
+    @Mock
+    private ObjectProvider<RedissonClient> redissonClientProvider;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private RMap<String, String> statusHash;
+
+    @Mock
+    private RTopic topic;
+
+    @BeforeEach
+    void setUp() {
+        when(redissonClient.<String, String>getMap(HASH_KEY, StringCodec.INSTANCE)).thenReturn(statusHash);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private TenantStatusPublisher publisher(Duration fullSyncInterval) {
+        return new TenantStatusPublisher(redissonClientProvider, tenantRepository, HASH_KEY, CHANNEL,
+                Duration.ofSeconds(30), fullSyncInterval, 100);
+    }
+
+    private static Tenant tenant(String id, String status, long version) {
+        Tenant tenant = new Tenant();
+        tenant.setId(id);
+        tenant.setStatus(status);
+        tenant.setChangeVersion(version);
+        return tenant;
+    }
+
+    @Test
+    @DisplayName("publish inside a transaction writes the hash and the channel after commit")
+    void publish_InTransaction_AfterCommit() {
+        // Given
+        when(redissonClientProvider.getIfAvailable()).thenReturn(redissonClient);
+        when(redissonClient.getTopic(CHANNEL, StringCodec.INSTANCE)).thenReturn(topic);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        publisher(Duration.ofMinutes(10)).publish("acme", "SUSPENDED");
+
+        // Then - nothing before commit
+        verify(statusHash, never()).fastPut("acme", "SUSPENDED");
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        verify(statusHash).fastPut("acme", "SUSPENDED");
+        verify(topic).publish("acme:SUSPENDED");
+    }
+
+    @Test
+    @DisplayName("publishRemoved drops the hash field and publishes DELETED")
+    void publishRemoved_DropsField() {
+        // Given
+        when(redissonClientProvider.getIfAvailable()).thenReturn(redissonClient);
+        when(redissonClient.getTopic(CHANNEL, StringCodec.INSTANCE)).thenReturn(topic);
+
+        // When
+        publisher(Duration.ofMinutes(10)).publishRemoved("acme");
+
+        // Then
+        verify(statusHash).fastRemove("acme");
+        verify(topic).publish("acme:DELETED");
+    }
+
+    @Test
+    @DisplayName("full sync removes hash fields of tenants without a row")
+    void sync_Full_RemovesTenantsWithoutRow() {
+        // Given
+        TenantStatusPublisher publisher = publisher(Duration.ofMinutes(10));
+        when(redissonClientProvider.getObject()).thenReturn(redissonClient);
+        when(tenantRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(0L, PAGE))
+                .thenReturn(List.of(tenant("acme", "ACTIVE", 250)));
+        when(statusHash.readAllKeySet()).thenReturn(Set.of("acme", "gone", "created"));
+        // Created and published after the sync read its page
+        when(tenantRepository.findAllById(Set.of("gone", "created")))
+                .thenReturn(List.of(tenant("created", "PROVISIONING", 260)));
+
+        // When
+        publisher.sync();
+
+        // Then
+        verify(statusHash).fastRemove("gone");
+    }
+
+    @Test
+    @DisplayName("sync writes every tenant on the first run, then re-reads a trailing window")
+    void sync_FirstFullThenTrailingWindow() {
+        // Given
+        TenantStatusPublisher publisher = publisher(Duration.ofMinutes(10));
+        when(redissonClientProvider.getObject()).thenReturn(redissonClient);
+        when(tenantRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(0L, PAGE))
+                .thenReturn(List.of(tenant("acme", "ACTIVE", 250), tenant("globex", "SUSPENDED", 300)));
+        when(tenantRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(200L, PAGE))
+                .thenReturn(List.of(tenant("initech", "DELETING", 240)));
+
+        // When
+        publisher.sync();
+        publisher.sync();
+
+        // Then - the second run picks up a late commit below the last synced version
+        verify(statusHash).putAll(Map.of("acme", "ACTIVE", "globex", "SUSPENDED"));
+        verify(statusHash).putAll(Map.of("initech", "DELETING"));
+    }
+
+    @Test
+    @DisplayName("sync does not move back the synced version")
+    void sync_KeepsHighestVersion() {
+        // Given
+        TenantStatusPublisher publisher = publisher(Duration.ofMinutes(10));
+        when(redissonClientProvider.getObject()).thenReturn(redissonClient);
+        when(tenantRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(0L, PAGE))
+                .thenReturn(List.of(tenant("acme", "ACTIVE", 300)));
+        when(tenantRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(200L, PAGE))
+                .thenReturn(List.of(tenant("initech", "DELETING", 240)));
+
+        // When
+        publisher.sync();
+        publisher.sync();
+        publisher.sync();
+
+        // Then - every later run still starts from the window below 300
+        verify(tenantRepository, times(2))
+                .findByChangeVersionGreaterThanOrderByChangeVersionAsc(200L, PAGE);
+    }
+
+    @Test
+    @DisplayName("sync rewrites every tenant once the full sync interval has passed")
+    void sync_FullSyncInterval() {
+        // Given
+        TenantStatusPublisher publisher = publisher(Duration.ZERO);
+        when(redissonClientProvider.getObject()).thenReturn(redissonClient);
+        when(tenantRepository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(eq(0L), eq(PAGE)))
+                .thenReturn(List.of(tenant("acme", "ACTIVE", 500)));
+
+        // When
+        publisher.sync();
+        publisher.sync();
+
+        // Then
+        verify(tenantRepository, times(2))
+                .findByChangeVersionGreaterThanOrderByChangeVersionAsc(0L, PAGE);
+        verify(tenantRepository, never()).findByChangeVersionGreaterThanOrderByChangeVersionAsc(eq(400L), eq(PAGE));
+    }
+}